@@ -0,0 +1,19 @@
+package com.tdd.parallel.core.batching;
+
+import java.time.Duration;
+
+// limits of a MicroBatcher (implemented by the person.* properties using one)
+public interface BatchLimits {
+
+  // calls per batch
+  int getMaxBatch();
+
+  // a partial batch waits at most this long
+  Duration getMaxDelay();
+
+  // calls waiting for a batch; beyond it, the call fails with 503 (backpressure)
+  int getMaxQueued();
+
+  // batches running at the same time (= pooled connections used)
+  int getMaxInFlight();
+}
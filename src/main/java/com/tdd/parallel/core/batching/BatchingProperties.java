@@ -0,0 +1,28 @@
+package com.tdd.parallel.core.batching;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.batching")
+public class BatchingProperties implements BatchLimits {
+
+  // false: services are not decorated at all
+  private boolean enabled = false;
+
+  // ids per "$in" query
+  private int maxBatch = 64;
+
+  // a partial batch waits at most this long (= added latency of a lone findById)
+  private Duration maxDelay = Duration.ofMillis(1);
+
+  // findById calls waiting for a batch; beyond it, findById fails with 503
+  private int maxQueued = 10_000;
+
+  // "$in" queries running at the same time
+  private int maxInFlight = 4;
+}
@@ -0,0 +1,202 @@
+package com.tdd.parallel.core.batching;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/*
+MICRO-BATCHING
+ - concurrent submits are queued and run together:
+   a batch leaves when it is full (maxBatch) or after maxDelay
+ - at most maxInFlight batches run at once
+ - bounded: beyond maxQueued waiting submits, submit fails with 503
+ - each submit completes with ITS OWN result: the batch answers by position
+   (null = empty); a failed batch is replayed one by one, so only the bad calls fail
+ - a batch failed part way (PartialBatchException, ex. insertMany): the calls it applied keep their
+   results, the calls with their own error fail with it, only the others are replayed
+ - lock-free (no blocking queue): safe on event-loop threads (BlockHound)
+ - metrics: person.batch.size + person.batch (latency) per batcher/service, on the application registry;
+   round trips saved = size.total - size.count
+ */
+@Slf4j
+public class MicroBatcher<K, V> {
+
+  public static final String BATCH = "person.batch";
+  public static final String BATCH_SIZE = "person.batch.size";
+
+  private final Function<List<K>, Mono<List<V>>> batchCall;
+  private final Function<K, Mono<V>> singleCall;
+  private final BatchLimits limits;
+  private final Scheduler timer = Schedulers.parallel();
+  private final DistributionSummary batchSize;
+  private final Timer batchLatency;
+
+  private final Queue<Pending<K, V>> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicBoolean timerArmed = new AtomicBoolean();
+
+
+  public MicroBatcher(Function<List<K>, Mono<List<V>>> batchCall,
+                      Function<K, Mono<V>> singleCall,
+                      BatchLimits limits,
+                      MeterRegistry registry,
+                      Tags tags) {
+    this.batchCall = batchCall;
+    this.singleCall = singleCall;
+    this.limits = limits;
+    this.batchSize = DistributionSummary.builder(BATCH_SIZE)
+                                        .description("Calls per batch")
+                                        .tags(tags)
+                                        .register(registry);
+    this.batchLatency = Timer.builder(BATCH)
+                             .description("Batch round trip")
+                             .tags(tags)
+                             .register(registry);
+  }
+
+
+  public Mono<V> submit(K call) {
+    return Mono.defer(() -> {
+      if (queued.incrementAndGet() > limits.getMaxQueued()) {
+        queued.decrementAndGet();
+        return Mono.error(new ResponseStatusException(SERVICE_UNAVAILABLE,"Batch queue is full"));
+      }
+      Sinks.One<V> result = Sinks.one();
+      queue.offer(new Pending<>(call,result));
+      if (queued.get() >= limits.getMaxBatch()) drain();
+      else armTimer();
+      return result.asMono();
+    });
+  }
+
+
+  private void armTimer() {
+    if (!timerArmed.compareAndSet(false,true)) return;
+    timer.schedule(() -> {
+      timerArmed.set(false);
+      drain();
+    },limits.getMaxDelay()
+            .toMillis(),MILLISECONDS);
+  }
+
+
+  private void drain() {
+    while (!queue.isEmpty()) {
+      if (inFlight.incrementAndGet() > limits.getMaxInFlight()) {
+        // a running batch drains again when it ends
+        inFlight.decrementAndGet();
+        return;
+      }
+      List<Pending<K, V>> batch = poll();
+      if (batch.isEmpty()) {
+        inFlight.decrementAndGet();
+        return;
+      }
+      run(batch);
+    }
+  }
+
+
+  private List<Pending<K, V>> poll() {
+    List<Pending<K, V>> batch = new ArrayList<>(limits.getMaxBatch());
+    Pending<K, V> pending;
+    while (batch.size() < limits.getMaxBatch() && (pending = queue.poll()) != null) {
+      queued.decrementAndGet();
+      batch.add(pending);
+    }
+    return batch;
+  }
+
+
+  private void run(List<Pending<K, V>> batch) {
+    List<K> calls = new ArrayList<>(batch.size());
+    batch.forEach(pending -> calls.add(pending.call));
+    batchSize.record(batch.size());
+    long start = System.nanoTime();
+
+    batchCall.apply(calls)
+             .flatMap(results -> {
+               if (results.size() != batch.size()) return Mono.error(new IllegalStateException(
+                    "Batch returned " + results.size() + " of " + batch.size()));
+               batchLatency.record(System.nanoTime() - start,NANOSECONDS);
+               for (int i = 0; i < batch.size(); i++) complete(batch.get(i).result,results.get(i));
+               return Mono.<Void>empty();
+             })
+             .onErrorResume(error -> {
+               List<Pending<K, V>> unanswered = unanswered(batch,error);
+               log.warn("batch of {} failed, replaying {} one by one: {}",
+                        batch.size(),unanswered.size(),error.toString());
+               return replay(unanswered);
+             })
+             .doFinally(signal -> {
+               inFlight.decrementAndGet();
+               if (queued.get() >= limits.getMaxBatch()) drain();
+               else if (!queue.isEmpty()) armTimer();
+             })
+             .subscribe();
+  }
+
+
+  // a partial batch: answers what it applied or failed; the calls left to replay
+  @SuppressWarnings("unchecked")
+  private List<Pending<K, V>> unanswered(List<Pending<K, V>> batch,Throwable error) {
+    if (!(error instanceof PartialBatchException)) return batch;
+    Map<Integer, Object> applied = ((PartialBatchException) error).getApplied();
+    Map<Integer, Throwable> failed = ((PartialBatchException) error).getFailed();
+    List<Pending<K, V>> unanswered = new ArrayList<>();
+    for (int i = 0; i < batch.size(); i++) {
+      Sinks.One<V> result = batch.get(i).result;
+      if (applied.containsKey(i)) complete(result,(V) applied.get(i));
+      else if (failed.containsKey(i)) result.tryEmitError(failed.get(i));
+      else unanswered.add(batch.get(i));
+    }
+    return unanswered;
+  }
+
+
+  private Mono<Void> replay(List<Pending<K, V>> batch) {
+    return Flux.fromIterable(batch)
+               .concatMap(pending -> singleCall
+                    .apply(pending.call)
+                    .doOnSuccess(result -> complete(pending.result,result))
+                    .doOnError(pending.result::tryEmitError)
+                    .onErrorResume(error -> Mono.empty()))
+               .then();
+  }
+
+
+  private static <V> void complete(Sinks.One<V> result,V value) {
+    if (value == null) result.tryEmitEmpty();
+    else result.tryEmitValue(value);
+  }
+
+
+  @AllArgsConstructor
+  private static class Pending<K, V> {
+    private final K call;
+    private final Sinks.One<V> result;
+  }
+}
@@ -0,0 +1,93 @@
+package com.tdd.parallel.core.batching;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.Getter;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+A BATCH THAT FAILED PART WAY
+ - applied: calls the batch already ran (call index -> result)
+ - failed: calls with their own error (call index -> error)
+ - MicroBatcher answers both as they are and replays only the other calls one by one
+   (a replayed insert of a stored document would fail with a false duplicate key)
+ - insertMany of persons: the stored ones are answered with themselves
+   ordered: stored up to the first write error, the rest is replayed
+   unordered: stored unless they have a write error; a duplicate id fails alone, the others are replayed
+ - insertMany of new persons (no id): the driver generates the ids and the error does not return them
+   ordered: the stored ones fail with the error (answered without an id they would be lost), the rest is replayed
+ */
+@Getter
+public class PartialBatchException extends RuntimeException {
+
+  private static final int DUPLICATE_KEY = 11000;
+
+  private final transient Map<Integer, Object> applied;
+  private final transient Map<Integer, Throwable> failed;
+
+
+  public PartialBatchException(Map<Integer, Object> applied,Map<Integer, Throwable> failed,Throwable cause) {
+    super("Batch failed part way (" + applied.size() + " applied, " + failed.size() + " failed): " +
+          cause.getMessage(),cause);
+    this.applied = applied;
+    this.failed = failed;
+  }
+
+
+  // any error other than a bulk write error: returned as is (nothing known to be stored)
+  public static Throwable orderedWrite(Throwable error,List<?> persons) {
+    MongoBulkWriteException bulk = bulkWriteError(error);
+    if (bulk == null) return error;
+    Map<Integer, Object> applied = new HashMap<>();
+    for (int i = 0; i < firstError(bulk); i++) applied.put(i,persons.get(i));
+    return new PartialBatchException(applied,Map.of(),error);
+  }
+
+
+  public static Throwable orderedInsert(Throwable error,List<?> persons) {
+    MongoBulkWriteException bulk = bulkWriteError(error);
+    if (bulk == null) return error;
+    Map<Integer, Throwable> failed = new HashMap<>();
+    for (int i = 0; i < firstError(bulk); i++) failed.put(i,error);
+    return new PartialBatchException(Map.of(),failed,error);
+  }
+
+
+  public static Throwable unorderedWrite(Throwable error,List<?> persons) {
+    MongoBulkWriteException bulk = bulkWriteError(error);
+    if (bulk == null) return error;
+    Set<Integer> notStored = new HashSet<>();
+    Map<Integer, Throwable> failed = new HashMap<>();
+    for (BulkWriteError writeError : bulk.getWriteErrors()) {
+      notStored.add(writeError.getIndex());
+      // other write errors: replayed one by one
+      if (writeError.getCode() == DUPLICATE_KEY)
+        failed.put(writeError.getIndex(),new DuplicateKeyException(writeError.getMessage()));
+    }
+    Map<Integer, Object> applied = new HashMap<>();
+    for (int i = 0; i < persons.size(); i++) if (!notStored.contains(i)) applied.put(i,persons.get(i));
+    return new PartialBatchException(applied,failed,error);
+  }
+
+
+  private static int firstError(MongoBulkWriteException bulk) {
+    return bulk.getWriteErrors()
+               .stream()
+               .mapToInt(BulkWriteError::getIndex)
+               .min()
+               .orElse(0);
+  }
+
+
+  private static MongoBulkWriteException bulkWriteError(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause())
+      if (cause instanceof MongoBulkWriteException) return (MongoBulkWriteException) cause;
+    return null;
+  }
+}
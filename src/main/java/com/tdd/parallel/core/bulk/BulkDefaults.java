@@ -0,0 +1,26 @@
+package com.tdd.parallel.core.bulk;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BulkDefaults {
+  public static final int BULK_CHUNK_SIZE = 500;
+  public static final boolean BULK_ORDERED = true;
+
+  // one chunk is one insertMany: past this, a few large persons outgrow the 48MB message
+  public static final int BULK_MAX_CHUNK_SIZE = 10_000;
+
+  // @RequestParam(defaultValue) only accepts String constants
+  public static final String BULK_CHUNK_SIZE_PARAM = "" + BULK_CHUNK_SIZE;
+  public static final String BULK_ORDERED_PARAM = "" + BULK_ORDERED;
+
+  // repository styles: their saveAll inserts in order only
+  public static final String UNORDERED_REFUSED = "ordered=false is not supported by the repository styles";
+  public static final String INVALID_CHUNK_SIZE = "chunkSize must be between 1 and " + BULK_MAX_CHUNK_SIZE;
+
+
+  public static boolean validChunkSize(int chunkSize) {
+    return chunkSize >= 1 && chunkSize <= BULK_MAX_CHUNK_SIZE;
+  }
+}
@@ -0,0 +1,10 @@
+package com.tdd.parallel.core.bulk;
+
+// a bulk option the service refuses (chunk size out of range, unordered on a repository style):
+// the resources answer 400
+public class BulkRequestException extends IllegalArgumentException {
+
+  public BulkRequestException(String message) {
+    super(message);
+  }
+}
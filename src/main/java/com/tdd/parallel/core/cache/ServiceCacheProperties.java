@@ -0,0 +1,21 @@
+package com.tdd.parallel.core.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.cache")
+public class ServiceCacheProperties {
+
+  // false: services are not decorated at all
+  private boolean enabled = false;
+
+  // entries per service (one cache per entity/service)
+  private long maximumSize = 10_000;
+
+  private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,58 @@
+package com.tdd.parallel.core.changefeed;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+
+/*
+ONE CHANGE OF THE COLLECTION
+ - id: resume token -> SSE "id" / NDJSON "after"
+ - operation: insert | update | replace | delete
+ - body: null on delete (only documentId is known)
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeFeedEvent<E> {
+
+  // position in the shared cursor (0: dedicated resume cursor)
+  @JsonIgnore
+  private final long seq;
+
+  @JsonIgnore
+  private final BsonValue resumeToken;
+
+  private final String id;
+  private final String operation;
+  private final String documentId;
+  private final E body;
+
+
+  public static <E> ChangeFeedEvent<E> of(long seq,ChangeStreamEvent<E> event) {
+    BsonValue token = event.getResumeToken();
+    return new ChangeFeedEvent<>(
+         seq,
+         token,
+         ChangeFeedToken.encode(token),
+         event.getOperationType() == null ? null : event.getOperationType()
+                                                        .getValue(),
+         documentId(event),
+         event.getBody());
+  }
+
+
+  private static String documentId(ChangeStreamEvent<?> event) {
+    if (event.getRaw() == null || event.getRaw()
+                                       .getDocumentKey() == null) return null;
+    BsonValue id = event.getRaw()
+                        .getDocumentKey()
+                        .get("_id");
+    if (id == null) return null;
+    if (id.isObjectId()) return id.asObjectId()
+                                  .getValue()
+                                  .toHexString();
+    return id.isString() ? id.asString()
+                             .getValue() : id.toString();
+  }
+}
@@ -0,0 +1,186 @@
+package com.tdd.parallel.core.changefeed;
+
+import com.mongodb.MongoException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.springframework.http.HttpStatus.GONE;
+
+/*
+ONE CHANGE-STREAM CURSOR PER COLLECTION
+ - the cursor opens with the 1st subscriber and closes "linger" after the last one leaves:
+   a lone client reconnecting in between is served from the open cursor
+ - every subscriber gets its own bounded buffer (DROP_OLDEST):
+   a slow subscriber never slows the cursor or the other subscribers
+ - cursor errors: reopened from the last resume token (backoff)
+ - the last resume token and the history survive a closed cursor:
+   it reopens after the last event it delivered, or after the older event a reconnect asks for
+   (events after it are delivered again, with new positions: at least once);
+   the events before that point are no longer replayed (dropped from the history)
+ - reconnect (last event id):
+   a) event still in the history window -> replayed from the shared cursor
+   b) older token / server restarted / resume point gone from the oplog -> 410 Gone:
+      the client resyncs (findAll) and subscribes again without it
+      (no cursor per client: a reconnect storm would open one per subscriber)
+ */
+@Slf4j
+public class ChangeFeedHub<E> {
+
+  // the resume token is no longer in the oplog
+  private static final int HISTORY_LOST = 286;
+
+  private final String collection;
+  private final Function<BsonValue, Flux<ChangeStreamEvent<E>>> cursor;
+  private final ChangeFeedProperties properties;
+
+  private final AtomicLong seq = new AtomicLong();
+  private final AtomicBoolean open = new AtomicBoolean();
+  private final AtomicReference<ResumePoint> resume = new AtomicReference<>();
+
+  // encoded token -> seq; mirrors the events held by the replay buffer
+  private final Map<String, Long> history;
+
+  private final Flux<ChangeFeedEvent<E>> shared;
+
+
+  public ChangeFeedHub(ReactiveMongoTemplate template,Class<E> entity,ChangeFeedProperties properties) {
+    this(template.getCollectionName(entity),
+         resumeAfter -> cursor(template,template.getCollectionName(entity),entity,resumeAfter),
+         properties);
+  }
+
+
+  // cursor: the change stream of the collection, after a resume token (null: from now)
+  ChangeFeedHub(String collection,Function<BsonValue, Flux<ChangeStreamEvent<E>>> cursor,
+                ChangeFeedProperties properties) {
+    this.collection = collection;
+    this.cursor = cursor;
+    this.properties = properties;
+    this.history = Collections.synchronizedMap(new LinkedHashMap<>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        return size() > properties.getHistory();
+      }
+    });
+    this.shared =
+         Flux.defer(() -> {
+               ResumePoint from = resume.get();
+               return cursor.apply(from == null ? null : from.getToken());
+             })
+             .map(event -> ChangeFeedEvent.of(seq.incrementAndGet(),event))
+             .doOnNext(event -> {
+               resume.set(new ResumePoint(event.getSeq(),event.getResumeToken()));
+               history.put(event.getId(),event.getSeq());
+             })
+             .retryWhen(Retry.backoff(Long.MAX_VALUE,properties.getRetryMin())
+                             .maxBackoff(properties.getRetryMax())
+                             .doBeforeRetry(signal -> {
+                               log.warn("change stream [{}] reopening: {}",
+                                        collection,
+                                        signal.failure()
+                                              .toString());
+                               if (historyLost(signal.failure())) forget();
+                             }))
+             .doOnSubscribe(subscription -> opened())
+             .doFinally(signal -> open.set(false))
+             .replay(properties.getHistory())
+             .refCount(1,properties.getLinger());
+  }
+
+
+  // lastEventId: null -> only changes after the subscription
+  public Flux<ChangeFeedEvent<E>> changes(String lastEventId) {
+    return Flux.defer(() -> {
+                 if (lastEventId == null) return after(seq.get());
+                 Long from = history.get(lastEventId);
+                 if (from != null) {
+                   if (!open.get()) resumeAfter(from,lastEventId);
+                   return after(from);
+                 }
+                 // a malformed id is still a 400
+                 ChangeFeedToken.decode(lastEventId);
+                 return Flux.error(new ResponseStatusException(GONE,"Last event outside the history: resync"));
+               })
+               .onBackpressureBuffer(
+                    properties.getSubscriberBuffer(),
+                    dropped -> log.warn("change stream [{}] slow subscriber, dropped: {}",
+                                        collection,
+                                        dropped.getId()),
+                    BufferOverflowStrategy.DROP_OLDEST);
+  }
+
+
+  private Flux<ChangeFeedEvent<E>> after(long from) {
+    return shared.filter(event -> event.getSeq() > from);
+  }
+
+
+  // a closed cursor reopens after the oldest event asked for
+  private void resumeAfter(long from,String lastEventId) {
+    ResumePoint asked = new ResumePoint(from,ChangeFeedToken.decode(lastEventId));
+    resume.accumulateAndGet(asked,(current,next) -> current == null || next.getSeq() < current.getSeq()
+                                                    ? next
+                                                    : current);
+  }
+
+
+  // a new replay buffer: the events before the resume point are not in it
+  private void opened() {
+    open.set(true);
+    ResumePoint from = resume.get();
+    if (from == null) return;
+    synchronized (history) {
+      history.values()
+             .removeIf(position -> position < from.getSeq());
+    }
+  }
+
+
+  // reopened from now: nothing before can be replayed
+  private void forget() {
+    resume.set(null);
+    history.clear();
+  }
+
+
+  private static boolean historyLost(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause())
+      if (cause instanceof MongoException && ((MongoException) cause).getCode() == HISTORY_LOST) return true;
+    return false;
+  }
+
+
+  private static <E> Flux<ChangeStreamEvent<E>> cursor(ReactiveMongoTemplate template,String collection,
+                                                       Class<E> entity,BsonValue resumeAfter) {
+    ChangeStreamOptions.ChangeStreamOptionsBuilder options =
+         ChangeStreamOptions.builder()
+                            .returnFullDocumentOnUpdate();
+    if (resumeAfter != null) options.resumeAfter(resumeAfter);
+    return template.changeStream(collection,options.build(),entity);
+  }
+
+
+  @Getter
+  @AllArgsConstructor
+  private static class ResumePoint {
+    private final long seq;
+    private final BsonValue token;
+  }
+}
@@ -0,0 +1,29 @@
+package com.tdd.parallel.core.changefeed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.changefeed")
+public class ChangeFeedProperties {
+
+  // events held for EACH subscriber; a slow subscriber loses the oldest ones
+  private int subscriberBuffer = 256;
+
+  // last events of the shared cursor: reconnects inside this window are resumed,
+  // older ones get 410 Gone (resync)
+  private int history = 1024;
+
+  // the shared cursor stays open this long after its last subscriber leaves
+  // (a reconnect in between is served from it); closed, it resumes from its last token
+  private Duration linger = Duration.ofSeconds(30);
+
+  // shared cursor errors: resumed from the last token with backoff
+  private Duration retryMin = Duration.ofSeconds(1);
+
+  private Duration retryMax = Duration.ofSeconds(30);
+}
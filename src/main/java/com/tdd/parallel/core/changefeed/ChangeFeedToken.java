@@ -0,0 +1,39 @@
+package com.tdd.parallel.core.changefeed;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.json.JsonParseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/*
+OPAQUE RESUME TOKEN
+ - the Mongo resume token (json), base64url: safe as SSE id and query param
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ChangeFeedToken {
+
+  public static String encode(BsonValue resumeToken) {
+    return Base64.getUrlEncoder()
+                 .withoutPadding()
+                 .encodeToString(resumeToken.asDocument()
+                                            .toJson()
+                                            .getBytes(UTF_8));
+  }
+
+
+  public static BsonDocument decode(String token) {
+    try {
+      return BsonDocument.parse(new String(Base64.getUrlDecoder()
+                                                 .decode(token),UTF_8));
+    } catch (IllegalArgumentException | JsonParseException e) {
+      throw new ResponseStatusException(BAD_REQUEST,"Invalid resume token",e);
+    }
+  }
+}
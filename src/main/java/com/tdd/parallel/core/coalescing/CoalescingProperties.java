@@ -0,0 +1,19 @@
+package com.tdd.parallel.core.coalescing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.coalescing")
+public class CoalescingProperties {
+
+  // false: services are not decorated at all
+  private boolean enabled = false;
+
+  // findAll callers arriving within it share one cursor (= added latency of the first one)
+  private Duration findAllWindow = Duration.ofMillis(5);
+}
@@ -0,0 +1,106 @@
+package com.tdd.parallel.core.coalescing;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static reactor.core.publisher.SignalType.CANCEL;
+
+/*
+SINGLE-FLIGHT (in-flight deduplication)
+ - Mono: concurrent calls with the same key share ONE upstream call;
+   a caller joining after the result replays it
+ - Flux: callers arriving within the window share ONE cursor;
+   the cursor opens when the window ends, later callers open a new one
+ - errors reach every caller of the flight
+ - one caller cancelling leaves the others running;
+   the upstream is cancelled only when ALL callers cancelled
+ - callers receive the SAME instances: they must not mutate them
+ */
+public class SingleFlight<K, T> {
+
+  private final Map<K, Mono<T>> calls = new ConcurrentHashMap<>();
+  private final Map<K, Cursor> cursors = new ConcurrentHashMap<>();
+
+
+  public Mono<T> join(K key,Supplier<Mono<T>> call) {
+    return Mono.defer(() -> calls.computeIfAbsent(key,k -> share(k,call)));
+  }
+
+
+  // the bin lock of compute orders joining and opening:
+  // every caller that joined is subscribed BEFORE the cursor opens
+  public Flux<T> join(K key,Duration window,Supplier<Flux<T>> call) {
+    return Flux.from(subscriber -> cursors.compute(key,(k,cursor) -> {
+      if (cursor == null || cursor.closed) cursor = new Cursor(k,window,call.get());
+      cursor.live.incrementAndGet();
+      cursor.shared.subscribe(subscriber);
+      return cursor;
+    }));
+  }
+
+
+  private Mono<T> share(K key,Supplier<Mono<T>> call) {
+    AtomicReference<Mono<T>> self = new AtomicReference<>();
+    Mono<T> shared = call.get()
+                         .doFinally(signal -> calls.remove(key,self.get()))
+                         .flux()
+                         .replay(1)
+                         .refCount()
+                         .singleOrEmpty();
+    self.set(shared);
+    return shared;
+  }
+
+
+  private class Cursor {
+
+    private final K key;
+    private final ConnectableFlux<T> cursor;
+    private final Flux<T> shared;
+    private final AtomicInteger live = new AtomicInteger();
+    private volatile boolean closed;
+    private volatile Disposable connection;
+
+
+    private Cursor(K key,Duration window,Flux<T> source) {
+      this.key = key;
+      this.cursor = source.publish();
+      // doFinally: runs once the caller is detached from the cursor
+      this.shared = cursor.doFinally(signal -> {
+        if (signal == CANCEL) leave();
+      });
+      Schedulers.parallel()
+                .schedule(this::open,window.toMillis(),MILLISECONDS);
+    }
+
+
+    private void open() {
+      cursors.computeIfPresent(key,(k,current) -> current == this ? null : current);
+      closed = true;
+      if (live.get() == 0) return;
+      connection = cursor.connect();
+      // every caller cancelled while connecting
+      if (live.get() == 0) connection.dispose();
+    }
+
+
+    // no map access here: cancel may happen inside compute (onSubscribe)
+    private void leave() {
+      if (live.decrementAndGet() > 0) return;
+      closed = true;
+      Disposable current = connection;
+      if (current != null) current.dispose();
+    }
+  }
+}
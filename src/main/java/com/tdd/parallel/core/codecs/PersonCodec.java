@@ -0,0 +1,159 @@
+package com.tdd.parallel.core.codecs;
+
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.tdd.parallel.entity.IPerson;
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static java.util.stream.Collectors.toList;
+import static org.bson.BsonType.END_OF_DOCUMENT;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
+/*
+HAND-WRITTEN PERSON <-> BSON
+ - the driver reads/writes the wire bytes straight into the entity:
+   no intermediate Document, no reflective mapping (MappingMongoConverter)
+ - same document as MappingMongoConverter, minus "_class":
+   { "_id": ObjectId (valid hex) | String, "name": String, "version": Int64 }, null fields omitted
+ */
+public class PersonCodec<E extends IPerson> implements CollectibleCodec<E> {
+
+  public static final String ID = "_id";
+  public static final String NAME = "name";
+  public static final String VERSION = "version";
+
+  private final Class<E> type;
+  private final BiFunction<String, String, E> create;
+  private final BiConsumer<E, String> setId;
+
+
+  public PersonCodec(Class<E> type,BiFunction<String, String, E> create,BiConsumer<E, String> setId) {
+    this.type = type;
+    this.create = create;
+    this.setId = setId;
+  }
+
+
+  @Override
+  public Class<E> getEncoderClass() {
+    return type;
+  }
+
+
+  @Override
+  public void encode(BsonWriter writer,E person,EncoderContext encoderContext) {
+    writer.writeStartDocument();
+    if (person.getId() != null) {
+      writer.writeName(ID);
+      Object id = bsonId(person.getId());
+      if (id instanceof ObjectId) writer.writeObjectId((ObjectId) id);
+      else writer.writeString((String) id);
+    }
+    if (person.getName() != null) writer.writeString(NAME,person.getName());
+    if (person.getVersion() != null) writer.writeInt64(VERSION,person.getVersion());
+    writer.writeEndDocument();
+  }
+
+
+  @Override
+  public E decode(BsonReader reader,DecoderContext decoderContext) {
+    String id = null;
+    String name = null;
+    Long version = null;
+    reader.readStartDocument();
+    while (reader.readBsonType() != END_OF_DOCUMENT) {
+      String field = reader.readName();
+      if (ID.equals(field)) id = readId(reader);
+      else if (NAME.equals(field) && reader.getCurrentBsonType() == BsonType.STRING) name = reader.readString();
+      else if (VERSION.equals(field) && reader.getCurrentBsonType() == BsonType.INT64) version = reader.readInt64();
+      else if (VERSION.equals(field) && reader.getCurrentBsonType() == BsonType.INT32) version = (long) reader.readInt32();
+      else reader.skipValue();
+    }
+    reader.readEndDocument();
+    E person = create.apply(id,name);
+    person.setVersion(version);
+    return person;
+  }
+
+
+  // the template collection, decoding into the entity with this codec
+  public MongoCollection<E> on(MongoCollection<Document> collection) {
+    return collection.withCodecRegistry(fromRegistries(fromCodecs(this),collection.getCodecRegistry()))
+                     .withDocumentClass(type);
+  }
+
+
+  public static Bson idFilter(String id) {
+    return eq(ID,bsonId(id));
+  }
+
+
+  public static Bson idsFilter(Collection<String> ids) {
+    return in(ID,ids.stream()
+                    .map(PersonCodec::bsonId)
+                    .collect(toList()));
+  }
+
+
+  @Override
+  public E generateIdIfAbsentFromDocument(E person) {
+    if (person.getId() == null) setId.accept(person,new ObjectId().toHexString());
+    return person;
+  }
+
+
+  @Override
+  public boolean documentHasId(E person) {
+    return person.getId() != null;
+  }
+
+
+  @Override
+  public BsonValue getDocumentId(E person) {
+    if (person.getId() == null) throw new IllegalStateException("Person has no id");
+    Object id = bsonId(person.getId());
+    return id instanceof ObjectId
+         ? new BsonObjectId((ObjectId) id)
+         : new BsonString((String) id);
+  }
+
+
+  // the Spring Data rule for String ids: a valid ObjectId hex is stored as ObjectId
+  public static Object bsonId(String id) {
+    return ObjectId.isValid(id) ? new ObjectId(id) : id;
+  }
+
+
+  private static String readId(BsonReader reader) {
+    switch (reader.getCurrentBsonType()) {
+      case OBJECT_ID:
+        return reader.readObjectId()
+                     .toHexString();
+      case STRING:
+        return reader.readString();
+      case NULL:
+        reader.readNull();
+        return null;
+      default:
+        throw new CodecConfigurationException("Unsupported person _id: " + reader.getCurrentBsonType());
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.tdd.parallel.core.codecs;
+
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PersonCodecs {
+
+  public static final PersonCodec<PersonStandard> STANDARD =
+       new PersonCodec<>(PersonStandard.class,PersonStandard::new,PersonStandard::setId);
+
+  public static final PersonCodec<PersonJsonview> JSONVIEW =
+       new PersonCodec<>(PersonJsonview.class,PersonJsonview::new,PersonJsonview::setId);
+
+
+  // MongoClientSettings: raw driver collections of the person classes
+  public static CodecRegistry registry() {
+    return fromCodecs(STANDARD,JSONVIEW);
+  }
+}
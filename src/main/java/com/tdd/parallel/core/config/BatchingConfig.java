@@ -0,0 +1,33 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.batching.BatchingProperties;
+import com.tdd.parallel.service.decorator.BatchingService;
+import com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor.BATCHING_ORDER;
+
+// person.batching.enabled=true -> every IService bean batches findById through a BatchingService
+@Configuration
+@EnableConfigurationProperties(BatchingProperties.class)
+@ConditionalOnProperty(prefix = "person.batching", name = "enabled", havingValue = "true")
+public class BatchingConfig {
+
+  // registry: looked up when a service is decorated, not when this (early) post-processor is created
+  @Bean
+  public static BeanPostProcessor batchingPostProcessor(BatchingProperties properties,
+                                                        ObjectProvider<MeterRegistry> registry) {
+    return new ServiceDecoratorPostProcessor(
+         BATCHING_ORDER,
+         BatchingService.class,
+         (name,service) -> new BatchingService<>(name,service,properties,
+                                                 registry.getIfAvailable(SimpleMeterRegistry::new)));
+  }
+}
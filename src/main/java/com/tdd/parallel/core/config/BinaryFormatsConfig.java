@@ -0,0 +1,35 @@
+package com.tdd.parallel.core.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.core.formats.BinaryFormatEncoder;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class BinaryFormatsConfig {
+
+  // jacksonObjectMapperBuilder (Boot): prototype -> one builder per format
+  @Bean
+  public BinaryFormats binaryFormats(ObjectMapper objectMapper,ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+    return new BinaryFormats(objectMapper,builders::getObject);
+  }
+
+
+  // custom object writers are asked before the default ones:
+  // a JSON encoder goes first, so JSON still wins a tie (Accept: */* or no Accept)
+  @Bean
+  public CodecCustomizer binaryFormatEncoders(BinaryFormats binaryFormats) {
+    return configurer -> {
+      configurer.customCodecs()
+                .register(new Jackson2JsonEncoder(binaryFormats.getObjectMapper()));
+      binaryFormats.getFormats()
+                   .forEach(format -> configurer.customCodecs()
+                                                .register(new BinaryFormatEncoder(binaryFormats,format)));
+    };
+  }
+}
@@ -0,0 +1,10 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.changefeed.ChangeFeedProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+}
@@ -0,0 +1,27 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.coalescing.CoalescingProperties;
+import com.tdd.parallel.service.decorator.CoalescingService;
+import com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor.COALESCING_ORDER;
+
+// person.coalescing.enabled=true -> every IService bean reads through a CoalescingService
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+@ConditionalOnProperty(prefix = "person.coalescing", name = "enabled", havingValue = "true")
+public class CoalescingConfig {
+
+  @Bean
+  public static BeanPostProcessor coalescingPostProcessor(CoalescingProperties properties) {
+    return new ServiceDecoratorPostProcessor(
+         COALESCING_ORDER,
+         CoalescingService.class,
+         (name,service) -> new CoalescingService<>(service,properties));
+  }
+}
@@ -0,0 +1,50 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.etag.EtagProperties;
+import com.tdd.parallel.core.etag.WriteVersions;
+import com.tdd.parallel.service.IService;
+import com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor;
+import com.tdd.parallel.service.decorator.WriteVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import static com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor.WRITE_VERSION_ORDER;
+
+// Etags (controllers) always; person.etag.enabled=true -> every IService bean counts its writes
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(EtagProperties.class)
+public class EtagConfig {
+
+  @Bean
+  public WriteVersions writeVersions(ReactiveMongoTemplate reactiveMongoTemplate,EtagProperties properties) {
+    return new WriteVersions(reactiveMongoTemplate,properties);
+  }
+
+
+  // post-processors are created early: the counters (template) are resolved per decorated service
+  @Bean
+  @ConditionalOnProperty(prefix = "person.etag", name = "enabled", havingValue = "true")
+  public static BeanPostProcessor writeVersionPostProcessor(ObjectProvider<WriteVersions> writeVersions) {
+    return new ServiceDecoratorPostProcessor(
+         WRITE_VERSION_ORDER,
+         WriteVersionService.class,
+         (name,service) -> {
+           Class<?> entity = ResolvableType.forClass(service.getClass())
+                                           .as(IService.class)
+                                           .resolveGeneric(0);
+           if (entity == null) {
+             log.warn("{}: entity not resolved, writes not counted (no findAll ETag change)",name);
+             return service;
+           }
+           return new WriteVersionService<>(service,writeVersions.getObject(),entity);
+         });
+  }
+}
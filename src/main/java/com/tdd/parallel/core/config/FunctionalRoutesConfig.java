@@ -0,0 +1,168 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.codecs.PersonCodec;
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.passthrough.PassthroughWriter;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.resource.functional.PersonHandler;
+import com.tdd.parallel.service.IService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.NotAcceptableStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.tdd.parallel.core.formats.BinaryFormats.BSON;
+import static com.tdd.parallel.core.formats.BinaryFormats.SMILE;
+import static com.tdd.parallel.core.routes.RoutesJsonview.*;
+import static com.tdd.parallel.core.routes.RoutesStandard.*;
+import static com.tdd.parallel.core.views.Views.PersonViews.*;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+
+/*
+FUNCTIONAL ENDPOINTS (spring.profiles.active=functional)
+ - the routes of the annotated Res* controllers (same route constants, same IService beans)
+   as RouterFunctions: the controllers are off under this profile (@Profile("!functional"))
+ - one PersonHandler per service; responses, views, ETags and errors as the controllers
+ - literal paths (/page, /stream, /ids, /bulk, /ingest) before /{id}: first match wins
+ - stream/ids: the "produces" of the controllers is an accept predicate
+   (another Accept goes on to /{id}, as the controllers do)
+ */
+@Configuration
+@Profile(FunctionalRoutesConfig.FUNCTIONAL_PROFILE)
+public class FunctionalRoutesConfig {
+
+  public static final String FUNCTIONAL_PROFILE = "functional";
+
+  private static final List<MediaType> STREAMED =
+       List.of(APPLICATION_NDJSON,TEXT_EVENT_STREAM,APPLICATION_CBOR,SMILE,BSON);
+
+
+  @Bean
+  public RouterFunction<ServerResponse> standardRoutes(
+       IService<PersonStandard> servCrudStandard,
+       IService<PersonStandard> servRepoStandard,
+       IService<PersonStandard> servTemplStandard,
+       IService<PersonStandard> servRawDriverStandard,
+       StreamWriter streamWriter,PassthroughWriter passthroughWriter,Etags etags) {
+    return RouterFunctions
+         .route()
+         .path(STD_REQ_MAP,routes -> routes
+              .add(standard(STD_CRUD,
+                            standardHandler(servCrudStandard,streamWriter,passthroughWriter,etags),true,false))
+              .add(standard(STD_REPO,
+                            standardHandler(servRepoStandard,streamWriter,passthroughWriter,etags),false,false))
+              .add(standard(STD_TEMPL,
+                            standardHandler(servTemplStandard,streamWriter,passthroughWriter,etags),true,true))
+              .add(standard(STD_RAW,
+                            standardHandler(servRawDriverStandard,streamWriter,passthroughWriter,etags),true,true)))
+         .build();
+  }
+
+
+  @Bean
+  public RouterFunction<ServerResponse> jsonviewRoutes(
+       IService<PersonJsonview> servCrudJsonview,
+       IService<PersonJsonview> servRepoJsonview,
+       IService<PersonJsonview> servTemplJsonview,
+       IService<PersonJsonview> servRawDriverJsonview,
+       StreamWriter streamWriter,PassthroughWriter passthroughWriter,Etags etags) {
+    return RouterFunctions
+         .route()
+         .path(JV_REQ_MAP,routes -> routes
+              .add(jsonview(JV_CRUD_ADMIN_POST_REQUEST,JV_CRUD_ADMIN,JV_CRUD_USER,JV_CRUD_DEL,
+                            jsonviewHandler(servCrudJsonview,streamWriter,passthroughWriter,etags),false))
+              .add(jsonview(JV_REPO_ADMIN_POST_REQUEST,JV_REPO_ADMIN,JV_REPO_USER,JV_REPO_DEL,
+                            jsonviewHandler(servRepoJsonview,streamWriter,passthroughWriter,etags),false))
+              .add(jsonview(JV_TEMPL_ADMIN_POST_REQUEST,JV_TEMPL_ADMIN,JV_TEMPL_USER,JV_TEMPL_DEL,
+                            jsonviewHandler(servTemplJsonview,streamWriter,passthroughWriter,etags),true))
+              .add(jsonview(JV_RAW_ADMIN_POST_REQUEST,JV_RAW_ADMIN,JV_RAW_USER,JV_RAW_DEL,
+                            jsonviewHandler(servRawDriverJsonview,streamWriter,passthroughWriter,etags),true)))
+         .build();
+  }
+
+
+  // bulk: POST /bulk (not in the repository style; the crud repository answers ordered=false with 400)
+  // passthrough: GET findAll transcoded from the stored documents (template and driver styles)
+  public static RouterFunction<ServerResponse> standard(String path,PersonHandler<PersonStandard> handler,
+                                                        boolean bulk,boolean passthrough) {
+    RouterFunctions.Builder routes = RouterFunctions
+         .route()
+         .POST(path,handler.save(null,null))
+         .POST(path + STD_INGEST,handler.saveTiered());
+    if (bulk) routes.POST(path + STD_BULK,handler.saveAll());
+    routes.GET(path,passthrough ? handler.findAllRaw(null) : handler.findAll(null));
+    streamed(routes,path + STD_STREAM,handler.findAllStream(null));
+    streamed(routes,path + STD_IDS,handler.findAllById(null));
+    return routes.GET(path + STD_PAGE,handler.findPage(null))
+                 .GET(path + STD_ID_MAPPING,handler.findById(null))
+                 .DELETE(path + STD_ID_MAPPING,handler.deleteById())
+                 .build();
+  }
+
+
+  // passthrough: the admin findAll (the whole person) transcoded from the stored documents
+  public static RouterFunction<ServerResponse> jsonview(String adminPostRequest,String admin,String user,String del,
+                                                        PersonHandler<PersonJsonview> handler,boolean passthrough) {
+    RouterFunctions.Builder routes = RouterFunctions
+         .route()
+         .POST(adminPostRequest,handler.save(PostFilterRequestView.class,AdminResponseView.class))
+         .POST(admin,handler.save(null,AdminResponseView.class))
+         .POST(user,handler.save(null,UserResponseView.class))
+         .GET(admin,passthrough
+                    ? handler.findAllRaw(AdminResponseView.class)
+                    : handler.findAll(AdminResponseView.class))
+         .GET(user,handler.findAll(UserResponseView.class));
+    for (String path : List.of(admin,user)) {
+      Class<?> view = path.equals(admin) ? AdminResponseView.class : UserResponseView.class;
+      streamed(routes,path + JV_STREAM,handler.findAllStream(view));
+      streamed(routes,path + JV_IDS,handler.findAllById(view));
+      routes.GET(path + JV_PAGE,handler.findPage(view))
+            .GET(path + JV_ID_MAPPING,handler.findById(view));
+    }
+    return routes.DELETE(del + JV_ID_MAPPING,handler.deleteById())
+                 .build();
+  }
+
+
+  public static PersonHandler<PersonStandard> standardHandler(IService<PersonStandard> service,
+                                                              StreamWriter streamWriter,
+                                                              PassthroughWriter passthroughWriter,Etags etags) {
+    return handler(PersonStandard.class,PersonCodecs.STANDARD,service,streamWriter,passthroughWriter,etags);
+  }
+
+
+  public static PersonHandler<PersonJsonview> jsonviewHandler(IService<PersonJsonview> service,
+                                                              StreamWriter streamWriter,
+                                                              PassthroughWriter passthroughWriter,Etags etags) {
+    return handler(PersonJsonview.class,PersonCodecs.JSONVIEW,service,streamWriter,passthroughWriter,etags);
+  }
+
+
+  private static <E extends IPerson> PersonHandler<E> handler(Class<E> entity,PersonCodec<E> codec,IService<E> service,
+                                                              StreamWriter streamWriter,
+                                                              PassthroughWriter passthroughWriter,Etags etags) {
+    return new PersonHandler<>(entity,codec,service,streamWriter,passthroughWriter,etags);
+  }
+
+
+  // produces = STREAMED, as @GetMapping(produces): another Accept gets 406 (never findById)
+  private static void streamed(RouterFunctions.Builder routes,String path,HandlerFunction<ServerResponse> handler) {
+    routes.GET(path,accept(STREAMED.toArray(MediaType[]::new)),handler)
+          .GET(path,request -> Mono.error(new NotAcceptableStatusException(STREAMED)));
+  }
+}
@@ -0,0 +1,20 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.http2.Http2Properties;
+import com.tdd.parallel.core.http2.Http2ServerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// person.http2.enabled=true -> the WebFlux server speaks h2c (h2 with TLS) next to HTTP/1.1
+@Configuration
+@EnableConfigurationProperties(Http2Properties.class)
+@ConditionalOnProperty(prefix = "person.http2", name = "enabled", havingValue = "true")
+public class Http2Config {
+
+  @Bean
+  public Http2ServerCustomizer http2ServerCustomizer(Http2Properties properties) {
+    return new Http2ServerCustomizer(properties);
+  }
+}
@@ -0,0 +1,27 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.ingest.IngestProperties;
+import com.tdd.parallel.resource.ingest.ResIngestSocket;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+import static com.tdd.parallel.core.routes.RoutesStandard.*;
+
+// WebSocketHandlerAdapter: WebFluxConfigurationSupport; order -1: before the @RequestMapping routes
+@Configuration
+@EnableConfigurationProperties(IngestProperties.class)
+public class IngestConfig {
+
+  public static final String INGEST_SOCKET_PATH = STD_REQ_MAP + STD_TEMPL + STD_INGEST + STD_WS;
+
+
+  @Bean
+  public HandlerMapping ingestSocketMapping(ResIngestSocket resIngestSocket) {
+    return new SimpleUrlHandlerMapping(Map.of(INGEST_SOCKET_PATH,resIngestSocket),-1);
+  }
+}
@@ -1,38 +1,143 @@
 package com.tdd.parallel.core.config;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
 import com.mongodb.reactivestreams.client.MongoClient;
-import com.mongodb.reactivestreams.client.MongoClients;
-import lombok.AllArgsConstructor;
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.mongo.MongoClientProperties;
+import com.tdd.parallel.core.mongo.PoolCheckoutWaitListener;
+import com.tdd.parallel.core.routing.ReadRoutingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoPropertiesClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
 //https://www.baeldung.com/spring-data-mongodb-reactive
+/*
+ONE MONGO CLIENT (person.mongo.*)
+ - pool / socket / compression from MongoClientProperties
+ - metrics (actuator): Boot's command + pool listeners arrive as
+   MongoClientSettingsBuilderCustomizer, plus the checkout-wait timer
+ - Boot's customizers run first, person.mongo.* last; spring.data.mongodb.* is not applied
+   (its customizer would replace the uri with spring.data.mongodb.uri or localhost/test)
+ - reactiveMongoClient (database factory) and mongoClient are the same instance
+ - read routing: template reads (Templ*, ICrud*, IRepo*) -> secondaryPreferred,
+   writes always go to the primary
+ - person codecs (PersonCodecs) in the client registry: raw driver collections
+   decode straight into PersonStandard/PersonJsonview
+ */
 @Configuration
+@EnableConfigurationProperties({MongoClientProperties.class, ReadRoutingProperties.class})
 @EnableReactiveMongoRepositories(basePackages = {"com.tdd.parallel.repository"})
 public class MongoConfig extends AbstractReactiveMongoConfiguration  {
 
   @Autowired
-  MongoClient mongoClient;
+  MongoClientProperties properties;
+
+  @Autowired
+  ReadRoutingProperties readRouting;
+
+  @Autowired
+  ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers;
+
+  @Autowired
+  ObjectProvider<MeterRegistry> meterRegistry;
 
   @Bean
   public MongoClient mongoClient() {
-    return MongoClients.create();
+    return createReactiveMongoClient(mongoClientSettings());
+  }
+
+
+  @Override
+  public MongoClient reactiveMongoClient() {
+    return mongoClient();
   }
 
+
   @Override
   protected String getDatabaseName() {
-    return "reactive";
+    return properties.getDatabase();
+  }
+
+
+  @Override
+  protected void configureClientSettings(MongoClientSettings.Builder builder) {
+    MongoClientProperties.Pool pool = properties.getPool();
+    MongoClientProperties.Socket socket = properties.getSocket();
+
+    customizers.orderedStream()
+               .filter(customizer -> !(customizer instanceof MongoPropertiesClientSettingsBuilderCustomizer))
+               .forEach(customizer -> customizer.customize(builder));
+
+    builder.applyConnectionString(new ConnectionString(properties.getUri()))
+           .applicationName(properties.getApplicationName())
+           .compressorList(compressors())
+           .codecRegistry(fromRegistries(PersonCodecs.registry(),MongoClientSettings.getDefaultCodecRegistry()))
+           .applyToConnectionPoolSettings(settings -> settings
+                .minSize(pool.getMinSize())
+                .maxSize(pool.getMaxSize())
+                .maxWaitTime(pool.getMaxWaitTime()
+                                 .toMillis(),MILLISECONDS)
+                .maxConnectionIdleTime(pool.getMaxConnectionIdleTime()
+                                           .toMillis(),MILLISECONDS)
+                // pre-warming: minSize connections are opened right after startup
+                .maintenanceInitialDelay(0,MILLISECONDS)
+                .maintenanceFrequency(pool.getMaintenanceFrequency()
+                                          .toMillis(),MILLISECONDS))
+           .applyToSocketSettings(settings -> settings
+                .connectTimeout((int) socket.getConnectTimeout()
+                                            .toMillis(),MILLISECONDS)
+                .readTimeout((int) socket.getReadTimeout()
+                                         .toMillis(),MILLISECONDS));
+
+    meterRegistry.ifAvailable(registry -> builder.applyToConnectionPoolSettings(
+         settings -> settings.addConnectionPoolListener(new PoolCheckoutWaitListener(registry))));
   }
 
 
   @Bean("reactiveMongoTemplate")
   public ReactiveMongoTemplate reactiveMongoTemplate() {
-    return new ReactiveMongoTemplate(mongoClient,"test");
+    ReactiveMongoTemplate template = new ReactiveMongoTemplate(mongoClient(),getDatabaseName());
+    if (readRouting.isEnabled()) template.setReadPreference(readRouting.readPreference());
+    return template;
+  }
+
+
+  private List<MongoCompressor> compressors() {
+    return properties.getCompressors()
+                     .stream()
+                     .map(MongoConfig::compressor)
+                     .collect(Collectors.toList());
+  }
+
+
+  private static MongoCompressor compressor(String name) {
+    switch (name.trim()
+                .toLowerCase()) {
+      case "zstd":
+        return MongoCompressor.createZstdCompressor();
+      case "snappy":
+        return MongoCompressor.createSnappyCompressor();
+      case "zlib":
+        return MongoCompressor.createZlibCompressor();
+      default:
+        throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+    }
   }
 
 }
@@ -0,0 +1,35 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.netty.NettyServerProperties;
+import com.tdd.parallel.core.netty.NettyServerTuning;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// spring.profiles.active=epoll -> the WebFlux server runs on its own loops (NettyServerTuning)
+// defaults of the profile: application-epoll.properties
+@Configuration
+@Profile(NettyServerConfig.EPOLL_PROFILE)
+@EnableConfigurationProperties(NettyServerProperties.class)
+public class NettyServerConfig {
+
+  public static final String EPOLL_PROFILE = "epoll";
+
+
+  @Bean
+  public NettyServerTuning nettyServerTuning(NettyServerProperties properties) {
+    return new NettyServerTuning(properties);
+  }
+
+
+  // customizers of this context only (not the management server's): after the NettyServerCustomizer beans,
+  // so the extra acceptors copy the final server (protocols, HTTP/2 settings)
+  @Bean
+  public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> nettyServerTuningCustomizer(
+       NettyServerTuning nettyServerTuning) {
+    return factory -> factory.addServerCustomizers(nettyServerTuning::apply);
+  }
+}
@@ -0,0 +1,10 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.passthrough.PassthroughProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PassthroughProperties.class)
+public class PassthroughConfig {
+}
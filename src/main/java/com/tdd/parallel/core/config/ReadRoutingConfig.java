@@ -0,0 +1,23 @@
+package com.tdd.parallel.core.config;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.tdd.parallel.core.routing.CausalSessionFilter;
+import com.tdd.parallel.core.routing.ReadRoutingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+person.read-routing.enabled=true
+ - MongoConfig: template reads -> secondaryPreferred(max-staleness)
+ - here: causally consistent session per request (read-your-writes)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "person.read-routing", name = "enabled", havingValue = "true")
+public class ReadRoutingConfig {
+
+  @Bean
+  public CausalSessionFilter causalSessionFilter(MongoClient mongoClient,ReadRoutingProperties properties) {
+    return new CausalSessionFilter(mongoClient,properties);
+  }
+}
@@ -0,0 +1,31 @@
+package com.tdd.parallel.core.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.core.parsing.PersonJsonDecoder;
+import org.springframework.boot.autoconfigure.codec.CodecProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+// person.request-parser.enabled=true -> person @RequestBody read by PersonJsonDecoder
+// (custom typed readers run before the default Jackson reader)
+@Configuration
+@ConditionalOnProperty(prefix = "person.request-parser", name = "enabled", havingValue = "true")
+public class RequestParserConfig {
+
+  // Spring default when spring.codec.max-in-memory-size is not set
+  private static final DataSize DEFAULT_MAX_IN_MEMORY = DataSize.ofKilobytes(256);
+
+
+  @Bean
+  public CodecCustomizer personJsonDecoder(ObjectMapper objectMapper,CodecProperties codecProperties) {
+    DataSize maxInMemory = codecProperties.getMaxInMemorySize() == null
+         ? DEFAULT_MAX_IN_MEMORY
+         : codecProperties.getMaxInMemorySize();
+    return configurer -> configurer
+         .customCodecs()
+         .register(PersonJsonDecoder.persons(objectMapper,(int) maxInMemory.toBytes()));
+  }
+}
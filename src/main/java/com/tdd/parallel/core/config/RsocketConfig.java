@@ -0,0 +1,32 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.rsocket.RsocketProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.rsocket.context.RSocketServerBootstrap;
+import org.springframework.boot.rsocket.netty.NettyRSocketServerFactory;
+import org.springframework.boot.rsocket.server.RSocketServer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+
+// person.rsocket.enabled=true -> ResRsocket
+// WebSocket: Boot, on the WebFlux server (spring.rsocket.server.mapping-path + transport=websocket)
+// TCP: one more listener with the same responder (every @MessageMapping, ResRsocket)
+@Configuration
+@EnableConfigurationProperties(RsocketProperties.class)
+@ConditionalOnClass(RSocketRequester.class)
+@ConditionalOnProperty(prefix = "person.rsocket", name = "enabled", havingValue = "true")
+public class RsocketConfig {
+
+  @Bean
+  @ConditionalOnProperty(prefix = "person.rsocket", name = "tcp-port")
+  public RSocketServerBootstrap rsocketTcpServer(RsocketProperties properties,RSocketMessageHandler messageHandler) {
+    NettyRSocketServerFactory factory = new NettyRSocketServerFactory();
+    factory.setTransport(RSocketServer.Transport.TCP);
+    factory.setPort(properties.getTcpPort());
+    return new RSocketServerBootstrap(factory,messageHandler.responder());
+  }
+}
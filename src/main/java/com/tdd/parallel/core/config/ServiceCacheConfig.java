@@ -0,0 +1,38 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.cache.ServiceCacheProperties;
+import com.tdd.parallel.service.decorator.CachingService;
+import com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor.CACHE_ORDER;
+
+/*
+person.cache.enabled=true
+ - every IService bean (3 standard + 3 jsonview) is wrapped in a CachingService
+ - the bean keeps its name, so controllers still inject it by parameter name
+ - cache metrics (cache.*, tag cache = bean name) on the application registry
+ */
+@Configuration
+@EnableConfigurationProperties(ServiceCacheProperties.class)
+@ConditionalOnProperty(prefix = "person.cache", name = "enabled", havingValue = "true")
+public class ServiceCacheConfig {
+
+  // registry: looked up when a service is decorated, not when this (early) post-processor is created
+  @Bean
+  public static BeanPostProcessor serviceCachePostProcessor(ServiceCacheProperties properties,
+                                                            ObjectProvider<MeterRegistry> registry) {
+    return new ServiceDecoratorPostProcessor(
+         CACHE_ORDER,
+         CachingService.class,
+         (name,service) -> new CachingService<>(name,service,properties,
+                                                registry.getIfAvailable(SimpleMeterRegistry::new)));
+  }
+}
@@ -0,0 +1,36 @@
+package com.tdd.parallel.core.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.core.views.ViewSerializers;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// person.view-serializers.enabled=true -> the Boot ObjectMapper (and so the WebFlux
+// Jackson encoder) writes PersonJsonview/PersonStandard with precompiled ViewSerializers
+@Configuration
+@ConditionalOnProperty(prefix = "person.view-serializers", name = "enabled", havingValue = "true")
+public class ViewSerializerConfig {
+
+  // Module beans are installed by JacksonAutoConfiguration
+  @Bean
+  public Module viewSerializers() {
+    return ViewSerializers.persons();
+  }
+
+
+  // build the serializers at startup, not on the first response
+  @Bean
+  public SmartInitializingSingleton viewSerializersWarmUp(ObjectMapper objectMapper) {
+    return () -> ViewSerializers.ENTITIES.forEach(entity -> {
+      try {
+        objectMapper.getSerializerProviderInstance()
+                    .findValueSerializer(entity);
+      } catch (Exception e) {
+        throw new IllegalStateException("no serializer for " + entity.getSimpleName(),e);
+      }
+    });
+  }
+}
@@ -0,0 +1,33 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.writes.WriteBehindProperties;
+import com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor;
+import com.tdd.parallel.service.decorator.WriteBehindService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.tdd.parallel.service.decorator.ServiceDecoratorPostProcessor.WRITE_BEHIND_ORDER;
+
+// person.write-behind.enabled=true -> every IService bean saves through a WriteBehindService
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "person.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+  // registry: looked up when a service is decorated, not when this (early) post-processor is created
+  @Bean
+  public static BeanPostProcessor writeBehindPostProcessor(WriteBehindProperties properties,
+                                                            ObjectProvider<MeterRegistry> registry) {
+    return new ServiceDecoratorPostProcessor(
+         WRITE_BEHIND_ORDER,
+         WriteBehindService.class,
+         (name,service) -> new WriteBehindService<>(name,service,properties,
+                                                    registry.getIfAvailable(SimpleMeterRegistry::new)));
+  }
+}
@@ -0,0 +1,20 @@
+package com.tdd.parallel.core.etag;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.etag")
+public class EtagProperties {
+
+  // false: no ETag headers, If-None-Match/If-Match ignored, no write counters, no version stored with a person
+  private boolean enabled = false;
+
+  // one write counter per person collection (collection-level findAll ETags)
+  private String collection = "writeversions";
+
+  // person versions reserved per round trip to the counter (1: one findAndModify per save)
+  private int versionBlock = 100;
+}
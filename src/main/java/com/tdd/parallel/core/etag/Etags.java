@@ -0,0 +1,189 @@
+package com.tdd.parallel.core.etag;
+
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.entity.IPerson;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpStatus.*;
+
+/*
+HTTP CONDITIONAL REQUESTS (person.etag.enabled=true)
+ - strong ETag per representation: "<version>:<view|all>:<format>"
+   (a view or a format is another body for the same version)
+ - findById: version = "version" of the person, stamped at each save (WriteVersionService)
+   If-None-Match -> only the version is read (WriteVersions.document):
+   a match is a 304, the document is never loaded nor serialized
+ - findAll: version = write counter of the collection (WriteVersions.current)
+   a match is a 304 before the query
+ - save: If-Match "<version>:..." -> conditional replace (where version = n), no read first
+   another version stored, no such person or a weak/unknown tag -> 412
+   If-Match: * -> the stored version, read first (projection)
+   no If-Match -> 201, as when disabled (a body never carries the version)
+ - disabled: no ETag, no version stored, conditional headers ignored
+ */
+@Component
+@AllArgsConstructor
+public class Etags {
+
+  private static final String ANY = "*";
+  private static final String WEAK = "W/";
+
+  private final EtagProperties properties;
+  private final WriteVersions writeVersions;
+  private final BinaryFormats binaryFormats;
+
+
+  public <E extends IPerson> Mono<ResponseEntity<E>> findById(ServerWebExchange exchange,Class<E> entity,String id,
+                                                              Class<?> view,Mono<E> person) {
+    if (!properties.isEnabled()) return person.map(ResponseEntity::ok);
+
+    String representation = representation(exchange,view);
+    Mono<ResponseEntity<E>> found = person.map(stored -> body(OK,stored,representation));
+    if (ifNoneMatch(exchange).isEmpty()) return found;
+
+    return writeVersions.document(entity,id)
+                        .map(version -> tag(version,representation))
+                        .filter(tag -> notModified(exchange,tag))
+                        .map(tag -> ResponseEntity.status(NOT_MODIFIED)
+                                                  .eTag(tag)
+                                                  .varyBy(ACCEPT)
+                                                  .<E>build())
+                        .switchIfEmpty(found);
+  }
+
+
+  public <E> Mono<ResponseEntity<Flux<E>>> findAll(ServerWebExchange exchange,Class<E> entity,Class<?> view,
+                                                   Flux<E> persons) {
+    if (!properties.isEnabled()) return Mono.just(ResponseEntity.ok(persons));
+
+    String representation = representation(exchange,view);
+    return writeVersions.current(entity)
+                        .map(version -> tag(version,representation))
+                        .map(tag -> notModified(exchange,tag)
+                             ? ResponseEntity.status(NOT_MODIFIED)
+                                             .eTag(tag)
+                                             .varyBy(ACCEPT)
+                                             .build()
+                             : ResponseEntity.ok()
+                                             .eTag(tag)
+                                             .varyBy(ACCEPT)
+                                             .body(persons));
+  }
+
+
+  // findAll written straight to the response (PassthroughWriter)
+  public Mono<Void> writeAll(ServerWebExchange exchange,Class<?> entity,Class<?> view,Supplier<Mono<Void>> write) {
+    if (!properties.isEnabled()) return Mono.defer(write);
+
+    String representation = representation(exchange,view);
+    return writeVersions.current(entity)
+                        .map(version -> tag(version,representation))
+                        .flatMap(tag -> {
+                          ServerHttpResponse response = exchange.getResponse();
+                          response.getHeaders()
+                                  .setETag(tag);
+                          response.getHeaders()
+                                  .setVary(List.of(ACCEPT));
+                          if (!notModified(exchange,tag)) return write.get();
+                          response.setStatusCode(NOT_MODIFIED);
+                          return response.setComplete();
+                        });
+  }
+
+
+  public <E extends IPerson> Mono<ResponseEntity<E>> save(ServerWebExchange exchange,Class<E> entity,Class<?> view,
+                                                          E person,Function<E, Mono<E>> save) {
+    List<String> ifMatch = exchange.getRequest()
+                                   .getHeaders()
+                                   .getIfMatch();
+    if (!properties.isEnabled() || ifMatch.isEmpty())
+      return save.apply(person)
+                 .map(saved -> body(CREATED,saved,properties.isEnabled() ? representation(exchange,view) : null));
+
+    String representation = representation(exchange,view);
+    return matchedVersion(entity,person,ifMatch)
+         .switchIfEmpty(Mono.error(() -> new ResponseStatusException(PRECONDITION_FAILED,"If-Match: " + ifMatch)))
+         .flatMap(version -> save.apply(person)
+                                 .contextWrite(WriteVersions.ifMatch(version)))
+         .map(saved -> body(OK,saved,representation))
+         .onErrorMap(OptimisticLockingFailureException.class,
+                     error -> new ResponseStatusException(PRECONDITION_FAILED,error.getMessage(),error));
+  }
+
+
+  // the version If-Match asks to replace; empty: none can match
+  private <E extends IPerson> Mono<Long> matchedVersion(Class<E> entity,E person,List<String> ifMatch) {
+    if (person.getId() == null || ifMatch.size() != 1) return Mono.empty();
+    String tag = ifMatch.get(0);
+    if (ANY.equals(tag)) return writeVersions.document(entity,person.getId());
+    return Mono.justOrEmpty(version(tag));
+  }
+
+
+  private <E extends IPerson> ResponseEntity<E> body(HttpStatus status,E person,String representation) {
+    if (representation == null || person.getVersion() == null) return ResponseEntity.status(status)
+                                                                                    .body(person);
+    return ResponseEntity.status(status)
+                         .eTag(tag(person.getVersion(),representation))
+                         .varyBy(ACCEPT)
+                         .body(person);
+  }
+
+
+  // view + format of the response body
+  private String representation(ServerWebExchange exchange,Class<?> view) {
+    MediaType format = binaryFormats.negotiate(exchange.getRequest());
+    return (view == null ? "all" : view.getSimpleName()) + ":" + (format == null ? "json" : format.getSubtype());
+  }
+
+
+  // If-None-Match: weak comparison (W/ ignored), * matches any stored version
+  private static boolean notModified(ServerWebExchange exchange,String tag) {
+    for (String candidate : ifNoneMatch(exchange)) {
+      if (ANY.equals(candidate)) return true;
+      if (candidate.startsWith(WEAK)) candidate = candidate.substring(WEAK.length());
+      if (candidate.equals(tag)) return true;
+    }
+    return false;
+  }
+
+
+  private static List<String> ifNoneMatch(ServerWebExchange exchange) {
+    return exchange.getRequest()
+                   .getHeaders()
+                   .getIfNoneMatch();
+  }
+
+
+  static String tag(long version,String representation) {
+    return "\"" + version + ":" + representation + "\"";
+  }
+
+
+  // If-Match: strong comparison -> a weak or foreign tag has no version
+  static Long version(String tag) {
+    if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') return null;
+    int end = tag.indexOf(':');
+    if (end < 0) return null;
+    try {
+      return Long.valueOf(tag.substring(1,end));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
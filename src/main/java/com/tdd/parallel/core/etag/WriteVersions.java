@@ -0,0 +1,222 @@
+package com.tdd.parallel.core.etag;
+
+import com.tdd.parallel.entity.IPerson;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/*
+VERSIONS WITHOUT THE DOCUMENTS
+ - collection: one write counter per person collection { _id: "<collection>", version: n }
+   kept in Mongo, so every instance behind the load balancer tags findAll alike
+   bumped once a write terminates (WriteVersionService);
+   findAll reads it BEFORE the documents: a tag is never newer than its body
+   writes ending while a bump is in flight share the next one: one $inc per round trip, not per write
+ - document: the "version" field of one person (projection)
+   stamped by WriteVersionService from a block of the same counter reserved by this instance (next):
+   unique per collection, one findAndModify per "versionBlock" saves
+   ETags off: never stamped, never stored
+ - If-Match: the expected version rides in the Reactor context down to WriteVersionService,
+   which replaces the person only while that version is stored (replace)
+ */
+@AllArgsConstructor
+public class WriteVersions {
+
+  private static final String ID = "_id";
+  private static final String VERSION = "version";
+  private static final String IF_MATCH = WriteVersions.class.getName() + ".ifMatch";
+
+  private static final FindAndModifyOptions NEXT = FindAndModifyOptions.options()
+                                                                       .upsert(true)
+                                                                       .returnNew(true);
+
+  private final ReactiveMongoTemplate template;
+  private final EtagProperties properties;
+
+  // per collection
+  private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+  private final Map<String, Bump> bumps = new ConcurrentHashMap<>();
+
+
+  public static Function<Context, Context> ifMatch(long version) {
+    return context -> context.put(IF_MATCH,version);
+  }
+
+
+  // empty: unconditional save
+  public static Optional<Long> ifMatch(ContextView context) {
+    return context.getOrEmpty(IF_MATCH);
+  }
+
+
+  // no write counted yet: 0
+  public Mono<Long> current(Class<?> entity) {
+    return template.findById(template.getCollectionName(entity),Document.class,properties.getCollection())
+                   .map(WriteVersions::version)
+                   .defaultIfEmpty(0L);
+  }
+
+
+  // completes once a bump sent after the call has been applied
+  public Mono<Void> increment(Class<?> entity) {
+    return Mono.defer(() -> bumps.computeIfAbsent(collection(entity),collection -> new Bump(bump(collection)))
+                                 .request());
+  }
+
+
+  // the version of the next person write: from the block of this instance, a new block once used up
+  public Mono<Long> next(Class<?> entity) {
+    return Mono.defer(() -> {
+      String collection = collection(entity);
+      Block block = blocks.computeIfAbsent(collection,name -> new Block(properties.getVersionBlock()));
+      Long version = block.take();
+      return version != null
+             ? Mono.just(version)
+             : reserve(collection,properties.getVersionBlock()).map(block::refill);
+    });
+  }
+
+
+  // empty: no such person (or stored while ETags were off)
+  public <E extends IPerson> Mono<Long> document(Class<E> entity,String id) {
+    Query query = query(where(ID).is(id));
+    query.fields()
+         .include(VERSION);
+    return template.findOne(query,entity)
+                   .flatMap(person -> Mono.justOrEmpty(person.getVersion()));
+  }
+
+
+  // the person (already stamped) replaces the stored one only while it is at "expected"; no read first
+  public <E extends IPerson> Mono<E> replace(E person,long expected) {
+    return template.findAndReplace(query(where(ID).is(person.getId())
+                                                  .and(VERSION)
+                                                  .is(expected)),person)
+                   .map(replaced -> person)
+                   .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException(
+                        "Person " + person.getId() + " is not stored with version " + expected)));
+  }
+
+
+  String collection(Class<?> entity) {
+    return template.getCollectionName(entity);
+  }
+
+
+  Mono<Void> bump(String collection) {
+    return template.upsert(counter(collection),new Update().inc(VERSION,1L),properties.getCollection())
+                   .then();
+  }
+
+
+  // the counter moved by a whole block: its last version
+  Mono<Long> reserve(String collection,int size) {
+    return template.findAndModify(counter(collection),new Update().inc(VERSION,(long) size),NEXT,Document.class,
+                                  properties.getCollection())
+                   .map(WriteVersions::version);
+  }
+
+
+  private static Query counter(String collection) {
+    return query(where(ID).is(collection));
+  }
+
+
+  private static long version(Document counter) {
+    return counter.get(VERSION,Number.class)
+                  .longValue();
+  }
+
+
+  // versions reserved by this instance: (next .. last]; concurrent refills waste a block, never reuse a version
+  private static class Block {
+
+    private final int size;
+    private long next;
+    private long last;
+
+
+    Block(int size) {
+      this.size = size;
+    }
+
+
+    // null: used up
+    synchronized Long take() {
+      return next < last ? ++next : null;
+    }
+
+
+    // the 1st version of the new block goes to the caller
+    synchronized long refill(long reservedLast) {
+      next = reservedLast - size + 1;
+      last = reservedLast;
+      return next;
+    }
+  }
+
+
+  // one $inc in flight; the writes ending meanwhile wait together for the next one
+  private static class Bump {
+
+    private final Mono<Void> upsert;
+    private Sinks.Empty<Void> waiting;
+    private boolean inFlight;
+
+
+    Bump(Mono<Void> upsert) {
+      this.upsert = upsert;
+    }
+
+
+    Mono<Void> request() {
+      Sinks.Empty<Void> next;
+      boolean send;
+      synchronized (this) {
+        if (waiting == null) waiting = Sinks.empty();
+        next = waiting;
+        send = !inFlight;
+        if (send) {
+          inFlight = true;
+          waiting = null;
+        }
+      }
+      if (send) send(next);
+      return next.asMono();
+    }
+
+
+    private void send(Sinks.Empty<Void> sent) {
+      upsert.subscribe(null,error -> applied(sent,error),() -> applied(sent,null));
+    }
+
+
+    private void applied(Sinks.Empty<Void> sent,Throwable error) {
+      Sinks.Empty<Void> next;
+      synchronized (this) {
+        next = waiting;
+        waiting = null;
+        inFlight = next != null;
+      }
+      if (next != null) send(next);
+      if (error == null) sent.tryEmitEmpty();
+      else sent.tryEmitError(error);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.tdd.parallel.core.formats;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.util.Map;
+
+/*
+WEBFLUX ENCODER OF ONE BINARY FORMAT (Mono/Flux<entity> handler results)
+ - AbstractJackson2Encoder does the rest as for JSON:
+   @JsonView of the handler -> JSON_VIEW_HINT, a Flux is collected and encoded as one list
+ - the bytes come from BinaryFormats (same writer as StreamWriter/PassthroughWriter)
+ */
+public class BinaryFormatEncoder extends AbstractJackson2Encoder {
+
+  private final BinaryFormats binaryFormats;
+  private final MediaType format;
+
+
+  public BinaryFormatEncoder(BinaryFormats binaryFormats,MediaType format) {
+    super(binaryFormats.getObjectMapper(),format);
+    this.binaryFormats = binaryFormats;
+    this.format = format;
+  }
+
+
+  @Override
+  public DataBuffer encodeValue(Object value,DataBufferFactory bufferFactory,ResolvableType valueType,
+                                MimeType mimeType,Map<String, Object> hints) {
+    Class<?> view = hints == null ? null : (Class<?>) hints.get(JSON_VIEW_HINT);
+    try {
+      return bufferFactory.wrap(binaryFormats.writer(format,view)
+                                             .write(value));
+    } catch (IOException | IllegalArgumentException e) {
+      throw new EncodingException(format + " encoding error: " + e.getMessage(),e);
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package com.tdd.parallel.core.formats;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.MimeType;
+import org.springframework.web.server.NotAcceptableStatusException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.springframework.http.MediaType.*;
+
+/*
+BINARY RESPONSE FORMATS (Accept header)
+ - application/cbor, application/x-jackson-smile: the Boot ObjectMapper settings on a CBOR/Smile factory
+   (jackson-dataformat-cbor/-smile: mvn -Pbinary-formats; absent jar -> format not offered)
+ - application/bson: Jackson tokens (views applied) rewritten as BSON documents (BsonTokens)
+ - @JsonView applies as in JSON: the views filter the properties, the format only encodes them
+ - a list is one CBOR/Smile array, or concatenated BSON documents
+ - JSON wins a tie: a binary format is used only when the client prefers it
+ */
+public class BinaryFormats {
+
+  public static final String SMILE_VALUE = "application/x-jackson-smile";
+  public static final String BSON_VALUE = "application/bson";
+  public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+  public static final MediaType BSON = MediaType.valueOf(BSON_VALUE);
+
+  private static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+  private static final String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+
+  // every binary format, offered or not
+  private static final List<MediaType> BINARY = List.of(APPLICATION_CBOR,SMILE,BSON);
+  private static final List<MediaType> TEXT = List.of(APPLICATION_JSON,APPLICATION_NDJSON,TEXT_EVENT_STREAM);
+
+  private final ObjectMapper objectMapper;
+  private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+  private final List<MediaType> formats = new ArrayList<>();
+
+
+  // builders: a new builder with the Boot Jackson settings (modules, features) per call
+  public BinaryFormats(ObjectMapper objectMapper,Supplier<Jackson2ObjectMapperBuilder> builders) {
+    this.objectMapper = objectMapper;
+    if (ClassUtils.isPresent(CBOR_FACTORY,null))
+      mappers.put(APPLICATION_CBOR,mapper(builders,Jackson2ObjectMapperBuilder.cbor()));
+    if (ClassUtils.isPresent(SMILE_FACTORY,null))
+      mappers.put(SMILE,mapper(builders,Jackson2ObjectMapperBuilder.smile()));
+    formats.addAll(mappers.keySet());
+    formats.add(BSON);
+  }
+
+
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+
+  // the offered formats, in preference order
+  public List<MediaType> getFormats() {
+    return formats;
+  }
+
+
+  // the binary format the client prefers; null: JSON (text) is preferred or acceptable first
+  public MediaType negotiate(ServerHttpRequest request) {
+    List<MediaType> accepted = new ArrayList<>(request.getHeaders()
+                                                      .getAccept());
+    MediaType.sortBySpecificityAndQuality(accepted);
+    for (MediaType accept : accepted) {
+      if (accept.getQualityValue() == 0) continue;
+      MediaType binary = format(accept);
+      if (binary != null) return binary;
+      if (BINARY.stream()
+                .anyMatch(accept::equalsTypeAndSubtype)) throw new NotAcceptableStatusException(formats);
+      if (TEXT.stream()
+              .anyMatch(accept::isCompatibleWith)) return null;
+    }
+    return null;
+  }
+
+
+  // the offered format of a mime type (parameters ignored); null: not offered
+  public MediaType format(MimeType mimeType) {
+    for (MediaType format : formats) {
+      if (format.equalsTypeAndSubtype(mimeType)) return format;
+    }
+    return null;
+  }
+
+
+  // view: @JsonView of the response (null: every field)
+  public ValueWriter writer(MediaType format,Class<?> view) {
+    if (BSON.equalsTypeAndSubtype(format)) {
+      ObjectWriter json = writer(objectMapper,view);
+      return value -> {
+        TokenBuffer tokens = new TokenBuffer(objectMapper,false);
+        json.writeValue(tokens,value);
+        return BsonTokens.documents(tokens);
+      };
+    }
+    MediaType offered = format(format);
+    if (offered == null) throw new IllegalArgumentException(format + " is not an offered format: " + formats);
+    return writer(mappers.get(offered),view)::writeValueAsBytes;
+  }
+
+
+  // a list written element by element (same values as writer(format,view) writing the whole list):
+  // CBOR/Smile -> one array without a length ahead, opened with the first element and closed by end()
+  public ListWriter listWriter(MediaType format,Class<?> view) throws IOException {
+    if (BSON.equalsTypeAndSubtype(format)) {
+      ValueWriter document = writer(format,view);
+      return new ListWriter() {
+        @Override
+        public byte[] next(Object value) throws IOException {
+          return document.write(value);
+        }
+
+
+        @Override
+        public byte[] end() {
+          return new byte[0];
+        }
+      };
+    }
+    MediaType offered = format(format);
+    if (offered == null) throw new IllegalArgumentException(format + " is not an offered format: " + formats);
+    return new ArrayWriter(writer(mappers.get(offered),view));
+  }
+
+
+  private static ObjectWriter writer(ObjectMapper mapper,Class<?> view) {
+    return view == null ? mapper.writer() : mapper.writerWithView(view);
+  }
+
+
+  private static ObjectMapper mapper(Supplier<Jackson2ObjectMapperBuilder> builders,
+                                     Jackson2ObjectMapperBuilder format) {
+    return builders.get()
+                   .factory(format.build()
+                                  .getFactory())
+                   .build();
+  }
+
+
+  @FunctionalInterface
+  public interface ValueWriter {
+
+    byte[] write(Object value) throws IOException;
+  }
+
+
+  // the bytes written since the previous call
+  public interface ListWriter {
+
+    byte[] next(Object value) throws IOException;
+
+    byte[] end() throws IOException;
+  }
+
+
+  // one generator for the whole array (Smile: one header, shared names across the elements)
+  private static class ArrayWriter implements ListWriter {
+
+    private final ByteArrayBuilder bytes = new ByteArrayBuilder();
+    private final SequenceWriter array;
+
+
+    ArrayWriter(ObjectWriter writer) throws IOException {
+      array = writer.writeValuesAsArray(bytes);
+    }
+
+
+    @Override
+    public byte[] next(Object value) throws IOException {
+      array.write(value);
+      return written();
+    }
+
+
+    @Override
+    public byte[] end() throws IOException {
+      array.close();
+      return written();
+    }
+
+
+    private byte[] written() throws IOException {
+      array.flush();
+      byte[] written = bytes.toByteArray();
+      bytes.reset();
+      return written;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.tdd.parallel.core.formats;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryWriter;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.Decimal128;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+
+/*
+JACKSON TOKENS -> BSON
+ - the tokens of the serialized value (serializers and views already applied)
+   are rewritten as BSON: same field names and values as the JSON body
+   (ex. "id" stays a String: the client reads what the JSON client reads)
+ - BSON documents are objects only: an object is one document,
+   an array of objects is the documents one after the other (as mongodump/bsondump)
+ - int -> int32 | long -> int64 | BigInteger, BigDecimal -> decimal128 | float, double -> double
+   byte[] -> binary
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BsonTokens {
+
+  public static byte[] documents(TokenBuffer tokens) throws IOException {
+    BasicOutputBuffer bson = new BasicOutputBuffer();
+    try (JsonParser parser = tokens.asParser()) {
+      JsonToken token = parser.nextToken();
+      if (token == START_ARRAY) {
+        while ((token = parser.nextToken()) != END_ARRAY)
+          document(parser,token,bson);
+      } else {
+        document(parser,token,bson);
+      }
+    }
+    return bson.toByteArray();
+  }
+
+
+  private static void document(JsonParser parser,JsonToken token,BasicOutputBuffer bson) throws IOException {
+    if (token != START_OBJECT)
+      throw new IllegalArgumentException("BSON documents are objects: not a top-level " + token);
+    BsonBinaryWriter writer = new BsonBinaryWriter(bson);
+    writer.writeStartDocument();
+    object(parser,writer);
+  }
+
+
+  // after START_OBJECT
+  private static void object(JsonParser parser,BsonBinaryWriter writer) throws IOException {
+    while (parser.nextToken() == FIELD_NAME) {
+      writer.writeName(parser.getCurrentName());
+      value(parser,parser.nextToken(),writer);
+    }
+    writer.writeEndDocument();
+  }
+
+
+  // after START_ARRAY: the writer names the elements "0", "1", ...
+  private static void array(JsonParser parser,BsonBinaryWriter writer) throws IOException {
+    writer.writeStartArray();
+    JsonToken token;
+    while ((token = parser.nextToken()) != END_ARRAY)
+      value(parser,token,writer);
+    writer.writeEndArray();
+  }
+
+
+  private static void value(JsonParser parser,JsonToken token,BsonBinaryWriter writer) throws IOException {
+    switch (token) {
+      case START_OBJECT:
+        writer.writeStartDocument();
+        object(parser,writer);
+        break;
+      case START_ARRAY:
+        array(parser,writer);
+        break;
+      case VALUE_STRING:
+        writer.writeString(parser.getText());
+        break;
+      case VALUE_NUMBER_INT:
+        integer(parser,writer);
+        break;
+      case VALUE_NUMBER_FLOAT:
+        if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL)
+          writer.writeDecimal128(new Decimal128(parser.getDecimalValue()));
+        else writer.writeDouble(parser.getDoubleValue());
+        break;
+      case VALUE_TRUE:
+      case VALUE_FALSE:
+        writer.writeBoolean(parser.getBooleanValue());
+        break;
+      case VALUE_NULL:
+        writer.writeNull();
+        break;
+      case VALUE_EMBEDDED_OBJECT:
+        Object embedded = parser.getEmbeddedObject();
+        if (embedded instanceof byte[]) writer.writeBinaryData(new BsonBinary((byte[]) embedded));
+        else if (embedded == null) writer.writeNull();
+        else writer.writeString(embedded.toString());
+        break;
+      default:
+        throw new IllegalArgumentException("no BSON value for " + token);
+    }
+  }
+
+
+  private static void integer(JsonParser parser,BsonBinaryWriter writer) throws IOException {
+    switch (parser.getNumberType()) {
+      case INT:
+        writer.writeInt32(parser.getIntValue());
+        break;
+      case LONG:
+        writer.writeInt64(parser.getLongValue());
+        break;
+      default:
+        writer.writeDecimal128(new Decimal128(new BigDecimal(parser.getBigIntegerValue())));
+    }
+  }
+}
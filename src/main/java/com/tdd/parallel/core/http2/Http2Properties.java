@@ -0,0 +1,26 @@
+package com.tdd.parallel.core.http2;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.http2")
+public class Http2Properties {
+
+  // false: HTTP/1.1 only (Boot's server.http2.enabled still applies)
+  private boolean enabled = false;
+
+  // streams in flight per connection (SETTINGS_MAX_CONCURRENT_STREAMS);
+  // Netty's default is unbounded: one client could hold every worker
+  private long maxConcurrentStreams = 256;
+
+  // flow-control window of each stream (SETTINGS_INITIAL_WINDOW_SIZE, HTTP/2 default 64KB):
+  // a findAll response beyond it waits a WINDOW_UPDATE round trip
+  private DataSize initialWindowSize = DataSize.ofMegabytes(1);
+
+  // request headers per stream (SETTINGS_MAX_HEADER_LIST_SIZE)
+  private DataSize maxHeaderListSize = DataSize.ofKilobytes(16);
+}
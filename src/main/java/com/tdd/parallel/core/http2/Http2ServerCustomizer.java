@@ -0,0 +1,42 @@
+package com.tdd.parallel.core.http2;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.core.Ordered;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+/*
+HTTP/2 ON THE WEBFLUX SERVER (Http2Properties)
+ - cleartext: h2c with prior knowledge (the connection starts with the HTTP/2 preface)
+   or HTTP/1.1 "Upgrade: h2c"; plain HTTP/1.1 on the same port
+ - TLS (server.ssl.*): h2 negotiated by ALPN, else HTTP/1.1
+ - many concurrent findById on ONE connection instead of a pool of HTTP/1.1 connections
+ - before NettyServerTuning (added after the NettyServerCustomizer beans): its extra acceptors
+   copy the customized server
+ */
+@AllArgsConstructor
+public class Http2ServerCustomizer implements NettyServerCustomizer, Ordered {
+
+  private final Http2Properties properties;
+
+
+  @Override
+  public HttpServer apply(HttpServer server) {
+    boolean secure = server.configuration()
+                           .sslProvider() != null;
+    return server.protocol(secure ? HttpProtocol.H2 : HttpProtocol.H2C,HttpProtocol.HTTP11)
+                 .http2Settings(settings -> settings
+                      .maxConcurrentStreams(properties.getMaxConcurrentStreams())
+                      .initialWindowSize((int) properties.getInitialWindowSize()
+                                                         .toBytes())
+                      .maxHeaderListSize(properties.getMaxHeaderListSize()
+                                                   .toBytes()));
+  }
+
+
+  @Override
+  public int getOrder() {
+    return 0;
+  }
+}
@@ -0,0 +1,20 @@
+package com.tdd.parallel.core.ingest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+// one per frame, in frame order: {"seq":0,"id":"...","status":201}
+// seq: index of the frame in the connection; status: as the POST would answer
+@Getter
+@AllArgsConstructor
+@JsonInclude(NON_NULL)
+public class IngestAck {
+
+  private final long seq;
+  private final String id;
+  private final int status;
+  private final String error;
+}
@@ -0,0 +1,32 @@
+package com.tdd.parallel.core.ingest;
+
+import com.tdd.parallel.core.batching.BatchLimits;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.ingest")
+public class IngestProperties implements BatchLimits {
+
+  // frames of ONE connection saved and not yet acknowledged;
+  // beyond it the socket is not read (TCP backpressure on the producer)
+  private int window = 1024;
+
+  // persons per insertMany (frames of every connection), at most BULK_MAX_CHUNK_SIZE
+  private int maxBatch = BULK_CHUNK_SIZE;
+
+  // a partial batch waits at most this long (= added latency of a lone frame)
+  private Duration maxDelay = Duration.ofMillis(5);
+
+  // frames waiting for a batch; beyond it Mongo is behind: 503 ack + close 1013
+  private int maxQueued = 10_000;
+
+  // batches written at the same time (= pooled connections used)
+  private int maxInFlight = 4;
+}
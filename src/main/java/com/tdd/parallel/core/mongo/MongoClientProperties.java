@@ -0,0 +1,63 @@
+package com.tdd.parallel.core.mongo;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+MONGO CLIENT (MongoConfig)
+ - uri: hosts + any driver option; the properties below win over the uri
+ - compressors: negotiated with the server in this order
+   zstd -> needs com.github.luben:zstd-jni / snappy -> needs org.xerial.snappy:snappy-java
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.mongo")
+public class MongoClientProperties {
+
+  private String uri = "mongodb://localhost:27017";
+
+  // the ONE database of the template and the repositories
+  private String database = "test";
+
+  private String applicationName = "tdd-parallel";
+
+  private List<String> compressors = new ArrayList<>();
+
+  private final Pool pool = new Pool();
+
+  private final Socket socket = new Socket();
+
+
+  @Getter
+  @Setter
+  public static class Pool {
+
+    // kept open by the pool maintenance, created right after startup (pre-warming)
+    private int minSize = 0;
+
+    private int maxSize = 100;
+
+    // checkout wait before failing with MongoTimeoutException
+    private Duration maxWaitTime = Duration.ofSeconds(5);
+
+    private Duration maxConnectionIdleTime = Duration.ZERO;
+
+    private Duration maintenanceFrequency = Duration.ofMinutes(1);
+  }
+
+
+  @Getter
+  @Setter
+  public static class Socket {
+
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    // zero: no read timeout
+    private Duration readTimeout = Duration.ZERO;
+  }
+}
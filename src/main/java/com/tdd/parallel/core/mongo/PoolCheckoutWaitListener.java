@@ -0,0 +1,76 @@
+package com.tdd.parallel.core.mongo;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+POOL CHECKOUT WAIT -> timer "mongodb.driver.pool.checkout.wait"
+ - pool size / in use / wait queue gauges: Micrometer MongoMetricsConnectionPoolListener
+ - the driver events carry neither the checkout duration nor a request id:
+   start times are queued per pool and matched in order on checked-out/failed
+   (the pool serves its waiters first come, first served)
+ */
+public class PoolCheckoutWaitListener implements ConnectionPoolListener {
+
+  public static final String CHECKOUT_WAIT = "mongodb.driver.pool.checkout.wait";
+
+  private final MeterRegistry registry;
+
+  private final Map<ServerId, Deque<Long>> started = new ConcurrentHashMap<>();
+
+
+  public PoolCheckoutWaitListener(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+
+  @Override
+  public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+    started.computeIfAbsent(event.getServerId(),serverId -> new ConcurrentLinkedDeque<>())
+           .add(System.nanoTime());
+  }
+
+
+  @Override
+  public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+    record(event.getConnectionId()
+                .getServerId(),"success");
+  }
+
+
+  @Override
+  public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+    record(event.getServerId(),"failed");
+  }
+
+
+  @Override
+  public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+    started.remove(event.getServerId());
+  }
+
+
+  private void record(ServerId serverId,String status) {
+    Deque<Long> pending = started.get(serverId);
+    Long start = pending == null ? null : pending.poll();
+    if (start == null) return;
+    Timer.builder(CHECKOUT_WAIT)
+         .description("Time waited for a pooled connection")
+         .tag("cluster.id",serverId.getClusterId()
+                                   .getValue())
+         .tag("server.address",serverId.getAddress()
+                                       .toString())
+         .tag("status",status)
+         .register(registry)
+         .record(System.nanoTime() - start,NANOSECONDS);
+  }
+}
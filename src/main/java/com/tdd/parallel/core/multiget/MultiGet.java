@@ -0,0 +1,34 @@
+package com.tdd.parallel.core.multiget;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/*
+MULTI-GET: GET .../ids?id=a&id=b
+ - one "$in" query (Templ) or findAllById (Crud/Repo) for all ids
+ - persons are streamed as they leave the cursor, in store order
+ - unknown ids are skipped (no 404)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MultiGet {
+
+  public static final int MAX_IDS = 100;
+  public static final String IDS_PARAM = "id";
+
+
+  // repeated ids are fetched once
+  public static Set<String> ids(List<String> ids) {
+    Set<String> distinct = new LinkedHashSet<>(ids);
+    distinct.remove("");
+    if (distinct.isEmpty() || distinct.size() > MAX_IDS)
+      throw new ResponseStatusException(BAD_REQUEST,"Ids must be between 1 and " + MAX_IDS);
+    return distinct;
+  }
+}
@@ -0,0 +1,37 @@
+package com.tdd.parallel.core.netty;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.resources.LoopResources;
+
+/*
+NETTY SERVER TRANSPORT (profile "epoll", NettyServerConfig)
+ - preferNative: epoll when Epoll.isAvailable() (Linux; netty-transport-native-epoll comes with Reactor Netty),
+   else NIO; the effective transport is logged at startup
+ - acceptors > 1: that many listening sockets on the server port (SO_REUSEPORT, epoll only),
+   the kernel spreads the new connections; selectCount >= acceptors gives each one its own thread
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.netty")
+public class NettyServerProperties {
+
+  private boolean preferNative = true;
+
+  private int acceptors = 1;
+
+  // accept threads; -1: the workers accept too (Reactor Netty default)
+  private int selectCount = LoopResources.DEFAULT_IO_SELECT_COUNT;
+
+  // I/O threads of the accepted connections (Reactor Netty default: cores, at least 4)
+  private int workerCount = LoopResources.DEFAULT_IO_WORKER_COUNT;
+
+  // accepted connections
+  private boolean tcpNoDelay = true;
+
+  private boolean keepAlive = true;
+
+  // listening socket: connections waiting for accept (capped by net.core.somaxconn)
+  private int backlog = 1024;
+}
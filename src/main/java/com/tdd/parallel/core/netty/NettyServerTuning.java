@@ -0,0 +1,112 @@
+package com.tdd.parallel.core.netty;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+TRANSPORT OF THE WEBFLUX SERVER (NettyServerProperties)
+ - own LoopResources: selectCount accept threads + workerCount I/O threads, native when available
+ - SO_BACKLOG on the listening socket, TCP_NODELAY/SO_KEEPALIVE on the accepted connections
+ - acceptors > 1 (epoll): Boot's server binds the first socket with SO_REUSEPORT,
+   the others are bound here on the same port, same options and handler, once it is started
+ - the main server only: added to its factory by NettyServerConfig, last
+   (not a NettyServerCustomizer bean: the management child context would apply it too
+   and the acceptors would copy the management server)
+ */
+@Slf4j
+public class NettyServerTuning implements DisposableBean {
+
+  private final NettyServerProperties properties;
+  private final LoopResources loops;
+  private final boolean epoll;
+  private final boolean reusePort;
+  private final List<DisposableServer> acceptors = new CopyOnWriteArrayList<>();
+  private volatile HttpServer server;
+
+
+  public NettyServerTuning(NettyServerProperties properties) {
+    this.properties = properties;
+    this.loops = properties.getSelectCount() > 0
+         ? LoopResources.create("person-http",properties.getSelectCount(),properties.getWorkerCount(),true)
+         : LoopResources.create("person-http",properties.getWorkerCount(),true);
+    this.epoll = properties.isPreferNative() && Epoll.isAvailable();
+    this.reusePort = epoll && properties.getAcceptors() > 1;
+    if (properties.getAcceptors() > 1 && !epoll)
+      log.warn("person.netty.acceptors={} needs epoll (SO_REUSEPORT): one acceptor",properties.getAcceptors());
+  }
+
+
+  public HttpServer apply(HttpServer httpServer) {
+    HttpServer tuned = httpServer.runOn(loops,properties.isPreferNative())
+                                 .option(ChannelOption.SO_BACKLOG,properties.getBacklog())
+                                 .childOption(ChannelOption.TCP_NODELAY,properties.isTcpNoDelay())
+                                 .childOption(ChannelOption.SO_KEEPALIVE,properties.isKeepAlive());
+    if (reusePort) tuned = tuned.option(EpollChannelOption.SO_REUSEPORT,true);
+    server = tuned;
+    return tuned;
+  }
+
+
+  // the management server (other namespace) is not tuned
+  @EventListener
+  public void onStarted(ReactiveWebServerInitializedEvent event) {
+    if (event.getApplicationContext()
+             .getServerNamespace() != null) return;
+    bindAcceptors(event.getWebServer()
+                       .getPort(),event.getApplicationContext()
+                                       .getBean(HttpHandler.class));
+    log.info(describe(event.getWebServer()
+                           .getPort()));
+  }
+
+
+  // Boot's server is the first acceptor
+  public void bindAcceptors(int port,HttpHandler handler) {
+    if (!reusePort || server == null) return;
+    ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(handler);
+    for (int i = 1; i < properties.getAcceptors(); i++)
+      acceptors.add(server.port(port)
+                          .handle(adapter)
+                          .bindNow());
+  }
+
+
+  public int getAcceptors() {
+    return 1 + acceptors.size();
+  }
+
+
+  public String describe(int port) {
+    String transport = epoll ? "epoll" : "nio" + (properties.isPreferNative() && !Epoll.isAvailable()
+         ? " (epoll unavailable: " + Epoll.unavailabilityCause() + ")"
+         : "");
+    return String.format(
+         "netty server :%d transport %s, selectors %s, workers %d, acceptors %d%s, "
+         + "TCP_NODELAY %s, SO_KEEPALIVE %s, SO_BACKLOG %d",
+         port,transport,
+         properties.getSelectCount() < 0 ? "shared with the workers" : properties.getSelectCount(),
+         properties.getWorkerCount(),getAcceptors(),reusePort ? " (SO_REUSEPORT)" : "",
+         properties.isTcpNoDelay(),properties.isKeepAlive(),properties.getBacklog());
+  }
+
+
+  @Override
+  public void destroy() {
+    acceptors.forEach(DisposableServer::disposeNow);
+    loops.disposeLater()
+         .block();
+  }
+}
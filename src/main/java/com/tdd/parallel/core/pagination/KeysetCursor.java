@@ -0,0 +1,65 @@
+package com.tdd.parallel.core.pagination;
+
+import com.tdd.parallel.entity.IPerson;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/*
+OPAQUE NEXT-PAGE TOKEN
+ - keeps the sort of the first page, so the client only sends "after"
+ - the name goes last: it is the only field that can contain the separator
+ - NAME sort: the token always carries a name (one without it is a 400);
+   a person without a name pages as the empty name (lowest string)
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+  private static final String SEPARATOR = "\n";
+
+  private final KeysetSort sort;
+  private final Sort.Direction direction;
+  private final String id;
+  private final String name;
+
+
+  public static KeysetCursor of(IPerson last,KeysetSort sort,Sort.Direction direction) {
+    String name = sort == KeysetSort.NAME && last.getName() == null ? "" : last.getName();
+    return new KeysetCursor(sort,direction,last.getId(),name);
+  }
+
+
+  public static KeysetCursor decode(String token) {
+    try {
+      String[] keys = new String(Base64.getUrlDecoder()
+                                       .decode(token),UTF_8).split(SEPARATOR,4);
+      KeysetSort sort = KeysetSort.valueOf(keys[0]);
+      String name = keys.length > 3 ? keys[3] : null;
+      if (sort == KeysetSort.NAME && name == null)
+        throw new ResponseStatusException(BAD_REQUEST,"Invalid page token: name sort without a name");
+      return new KeysetCursor(
+           sort,
+           Sort.Direction.valueOf(keys[1]),
+           keys[2],
+           name);
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      throw new ResponseStatusException(BAD_REQUEST,"Invalid page token",e);
+    }
+  }
+
+
+  public String encode() {
+    String keys = sort + SEPARATOR + direction + SEPARATOR + id +
+                  (name == null ? "" : SEPARATOR + name);
+    return Base64.getUrlEncoder()
+                 .withoutPadding()
+                 .encodeToString(keys.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,38 @@
+package com.tdd.parallel.core.pagination;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.tdd.parallel.entity.IPerson;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+import static com.tdd.parallel.core.views.Views.PersonViews.UserResponseView;
+
+// UserResponseView: the page envelope is visible in every person-view
+@Getter
+@AllArgsConstructor
+public class KeysetPage<E> {
+
+  @JsonView(UserResponseView.class)
+  private final List<E> content;
+
+  // null: last page
+  @JsonView(UserResponseView.class)
+  private final String next;
+
+
+  // "fetched" comes from a query limited to (limit + 1):
+  // the extra person only signals that a next page exists
+  public static <E extends IPerson> KeysetPage<E> of(List<E> fetched,KeysetRequest request) {
+    if (fetched.size() <= request.getLimit())
+      return new KeysetPage<>(fetched,null);
+
+    List<E> content = fetched.subList(0,request.getLimit());
+    E last = content.get(content.size() - 1);
+    return new KeysetPage<>(
+         content,
+         KeysetCursor.of(last,request.getSort(),request.getDirection())
+                     .encode());
+  }
+}
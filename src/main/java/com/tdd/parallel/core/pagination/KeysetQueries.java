@@ -0,0 +1,118 @@
+package com.tdd.parallel.core.pagination;
+
+import com.tdd.parallel.repository.IKeysetRepository;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Sorts.ascending;
+import static com.mongodb.client.model.Sorts.descending;
+import static com.tdd.parallel.core.codecs.PersonCodec.ID;
+import static com.tdd.parallel.core.codecs.PersonCodec.NAME;
+import static com.tdd.parallel.core.codecs.PersonCodec.bsonId;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/*
+KEYSET: "WHERE key > lastKey ORDER BY key LIMIT n"
+ - ID:   _id > lastId
+ - NAME: name > lastName OR (name = lastName AND _id > lastId)
+ - DESC: same predicates with "<"
+ - (limit + 1) documents are fetched: see KeysetPage.of
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetQueries {
+
+  // ReactiveMongoTemplate
+  public static Query query(KeysetRequest request) {
+    Query query = new Query()
+         .with(request.toSort())
+         .limit(request.getLimit() + 1);
+
+    KeysetCursor after = request.getAfter();
+    if (after == null) return query;
+
+    boolean asc = request.getDirection()
+                         .isAscending();
+
+    if (request.getSort() == KeysetSort.NAME) {
+      Criteria nameAfter = asc
+           ? where("name").gt(after.getName())
+           : where("name").lt(after.getName());
+      Criteria sameNameIdAfter = asc
+           ? where("name").is(after.getName()).and("id").gt(after.getId())
+           : where("name").is(after.getName()).and("id").lt(after.getId());
+      return query.addCriteria(new Criteria().orOperator(nameAfter,sameNameIdAfter));
+    }
+
+    return query.addCriteria(asc
+                                  ? where("id").gt(after.getId())
+                                  : where("id").lt(after.getId()));
+  }
+
+
+  // raw driver (RawDriver*): same predicates on the stored field names
+  public static Bson filter(KeysetRequest request) {
+    KeysetCursor after = request.getAfter();
+    if (after == null) return new Document();
+
+    boolean asc = request.getDirection()
+                         .isAscending();
+    Object afterId = bsonId(after.getId());
+
+    if (request.getSort() == KeysetSort.NAME) {
+      return asc
+           ? or(gt(NAME,after.getName()),and(eq(NAME,after.getName()),gt(ID,afterId)))
+           : or(lt(NAME,after.getName()),and(eq(NAME,after.getName()),lt(ID,afterId)));
+    }
+
+    return asc ? gt(ID,afterId) : lt(ID,afterId);
+  }
+
+
+  public static Bson sort(KeysetRequest request) {
+    List<String> keys = request.getSort() == KeysetSort.NAME
+         ? List.of(NAME,ID)
+         : List.of(ID);
+    return request.getDirection()
+                  .isAscending()
+         ? ascending(keys)
+         : descending(keys);
+  }
+
+
+  // ReactiveCrudRepository + ReactiveMongoRepository
+  public static <E> Flux<E> find(IKeysetRepository<E> repository,KeysetRequest request) {
+    Pageable pageable = PageRequest.of(0,request.getLimit() + 1,request.toSort());
+
+    KeysetCursor after = request.getAfter();
+    if (after == null) return repository.findAllBy(pageable);
+
+    boolean asc = request.getDirection()
+                         .isAscending();
+
+    if (request.getSort() == KeysetSort.NAME) {
+      return asc
+           ? repository.findByNameGreaterThanOrNameAndIdGreaterThan(
+           after.getName(),after.getName(),after.getId(),pageable)
+           : repository.findByNameLessThanOrNameAndIdLessThan(
+           after.getName(),after.getName(),after.getId(),pageable);
+    }
+
+    return asc
+         ? repository.findByIdGreaterThan(after.getId(),pageable)
+         : repository.findByIdLessThan(after.getId(),pageable);
+  }
+}
@@ -0,0 +1,57 @@
+package com.tdd.parallel.core.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+@Getter
+@AllArgsConstructor
+public class KeysetRequest {
+
+  public static final int MAX_LIMIT = 1000;
+
+  // @RequestParam(defaultValue) only accepts String constants
+  public static final String DEFAULT_LIMIT_PARAM = "50";
+  public static final String DEFAULT_SORT_PARAM = "id";
+  public static final String DEFAULT_DIRECTION_PARAM = "asc";
+
+  private final int limit;
+  private final KeysetSort sort;
+  private final Sort.Direction direction;
+  // null: first page
+  private final KeysetCursor after;
+
+
+  public static KeysetRequest of(int limit,String after,String sort,String direction) {
+    if (limit < 1 || limit > MAX_LIMIT)
+      throw new ResponseStatusException(BAD_REQUEST,"Limit must be between 1 and " + MAX_LIMIT);
+
+    // next pages keep the sort of the first page (it travels inside the token)
+    if (after != null) {
+      KeysetCursor cursor = KeysetCursor.decode(after);
+      return new KeysetRequest(limit,cursor.getSort(),cursor.getDirection(),cursor);
+    }
+
+    try {
+      return new KeysetRequest(
+           limit,
+           KeysetSort.valueOf(sort.toUpperCase(Locale.ROOT)),
+           Sort.Direction.fromString(direction),
+           null);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(BAD_REQUEST,"Invalid sort: " + sort + "," + direction,e);
+    }
+  }
+
+
+  public Sort toSort() {
+    return sort == KeysetSort.NAME
+         ? Sort.by(direction,"name","id")
+         : Sort.by(direction,"id");
+  }
+}
@@ -0,0 +1,8 @@
+package com.tdd.parallel.core.pagination;
+
+public enum KeysetSort {
+  // keyset: "_id" (unique by itself)
+  ID,
+  // keyset: "name" + "_id" (the id breaks ties between equal names)
+  NAME
+}
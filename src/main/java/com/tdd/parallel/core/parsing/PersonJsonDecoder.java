@@ -0,0 +1,111 @@
+package com.tdd.parallel.core.parsing;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.HttpMessageDecoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.tdd.parallel.core.views.ViewSerializers.VIEWS;
+import static org.springframework.http.codec.json.Jackson2CodecSupport.JSON_VIEW_HINT;
+
+/*
+PERSON REQUEST BODY DECODER (@RequestBody PersonJsonview | PersonStandard)
+ - one body (Mono): joined, then PersonJsonParser; not a schema body -> Jackson
+ - many bodies (Flux, ex. bulk arrays): Jackson
+ - hints (@JsonView of the parameter), mime types and size limit are Jackson's
+ */
+public class PersonJsonDecoder implements HttpMessageDecoder<Object> {
+
+  private final Map<Class<?>, PersonJsonParser<?>> parsers;
+  private final Jackson2JsonDecoder jackson;
+
+
+  public PersonJsonDecoder(Map<Class<?>, PersonJsonParser<?>> parsers,Jackson2JsonDecoder jackson) {
+    this.parsers = parsers;
+    this.jackson = jackson;
+  }
+
+
+  public static PersonJsonDecoder persons(ObjectMapper objectMapper,int maxInMemorySize) {
+    Jackson2JsonDecoder jackson = new Jackson2JsonDecoder(objectMapper);
+    jackson.setMaxInMemorySize(maxInMemorySize);
+    return new PersonJsonDecoder(parsers(objectMapper),jackson);
+  }
+
+
+  // view rule of the mapper (DEFAULT_VIEW_INCLUSION), views of Views.PersonViews
+  public static Map<Class<?>, PersonJsonParser<?>> parsers(ObjectMapper objectMapper) {
+    boolean defaultViewInclusion = objectMapper.isEnabled(MapperFeature.DEFAULT_VIEW_INCLUSION);
+    return Map.of(
+         PersonJsonview.class,
+         new PersonJsonParser<>(PersonJsonview.class,PersonJsonview::new,
+                                Map.of("id",PersonJsonview::setId,"name",PersonJsonview::setName),
+                                VIEWS,defaultViewInclusion),
+         PersonStandard.class,
+         new PersonJsonParser<>(PersonStandard.class,PersonStandard::new,
+                                Map.of("id",PersonStandard::setId,"name",PersonStandard::setName),
+                                VIEWS,defaultViewInclusion));
+  }
+
+
+  @Override
+  public boolean canDecode(ResolvableType elementType,MimeType mimeType) {
+    return parsers.containsKey(elementType.toClass()) && jackson.canDecode(elementType,mimeType);
+  }
+
+
+  @Override
+  public Flux<Object> decode(Publisher<DataBuffer> input,ResolvableType elementType,MimeType mimeType,
+                             Map<String, Object> hints) {
+    return jackson.decode(input,elementType,mimeType,hints);
+  }
+
+
+  @Override
+  public Mono<Object> decodeToMono(Publisher<DataBuffer> input,ResolvableType elementType,MimeType mimeType,
+                                   Map<String, Object> hints) {
+    return DataBufferUtils.join(input,jackson.getMaxInMemorySize())
+                          .flatMap(body -> Mono.justOrEmpty(decode(body,elementType,mimeType,hints)));
+  }
+
+
+  @Override
+  public Object decode(DataBuffer body,ResolvableType targetType,MimeType mimeType,
+                       Map<String, Object> hints) throws DecodingException {
+    PersonJsonParser<?> parser = parsers.get(targetType.toClass());
+    Object person = parser.parse(body,hints == null ? null : (Class<?>) hints.get(JSON_VIEW_HINT));
+    // Jackson parses (or rejects) and releases the body
+    if (person == null) return jackson.decode(body,targetType,mimeType,hints);
+
+    DataBufferUtils.release(body);
+    return person;
+  }
+
+
+  @Override
+  public Map<String, Object> getDecodeHints(ResolvableType actualType,ResolvableType elementType,
+                                            ServerHttpRequest request,ServerHttpResponse response) {
+    return jackson.getDecodeHints(actualType,elementType,request,response);
+  }
+
+
+  @Override
+  public List<MimeType> getDecodableMimeTypes() {
+    return jackson.getDecodableMimeTypes();
+  }
+}
@@ -0,0 +1,315 @@
+package com.tdd.parallel.core.parsing;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+PERSON REQUEST PARSER (schema: a flat object of string fields)
+ - reads the request bytes in place (DataBuffer): no tokens, no char buffers,
+   only the entity and its field Strings are allocated
+ - fields the active request view excludes are scanned, never turned into Strings
+   (ex. "id" under PostFilterRequestView)
+ - view rule as Jackson: @JsonView value assignable from the active view,
+   no @JsonView -> MapperFeature.DEFAULT_VIEW_INCLUSION
+ - anything outside the schema returns null: the caller falls back to Jackson
+   (unknown field, non-string value, malformed or non-UTF-8 input, trailing bytes, ...)
+   -> every accepted body is parsed as Jackson would parse it
+ */
+public class PersonJsonParser<E> {
+
+  private final Supplier<E> create;
+  private final byte[][] names;
+  private final BiConsumer<E, String>[] setters;
+
+  // views[0] = null (no active view)
+  private final Class<?>[] views;
+  private final boolean[][] visible;
+
+
+  @SuppressWarnings("unchecked")
+  public PersonJsonParser(Class<E> type,Supplier<E> create,Map<String, BiConsumer<E, String>> fields,
+                          List<Class<?>> views,boolean defaultViewInclusion) {
+    this.create = create;
+
+    List<String> fieldNames = List.copyOf(fields.keySet());
+    this.names = new byte[fieldNames.size()][];
+    this.setters = new BiConsumer[fieldNames.size()];
+    for (int field = 0; field < fieldNames.size(); field++) {
+      this.names[field] = fieldNames.get(field)
+                                    .getBytes(UTF_8);
+      this.setters[field] = fields.get(fieldNames.get(field));
+    }
+
+    this.views = new Class<?>[views.size() + 1];
+    this.visible = new boolean[this.views.length][fieldNames.size()];
+    for (int i = 0; i < this.views.length; i++) {
+      this.views[i] = i == 0 ? null : views.get(i - 1);
+      for (int field = 0; field < fieldNames.size(); field++)
+        this.visible[i][field] = visible(type,fieldNames.get(field),this.views[i],defaultViewInclusion);
+    }
+  }
+
+
+  // null: not a person of the schema (or an unknown view) -> parse with Jackson
+  public E parse(DataBuffer body,Class<?> view) {
+    boolean[] visible = visible(view);
+    if (visible == null) return null;
+
+    // absolute reads on a ByteBuffer view (DataBuffer.getByte checks every index)
+    ByteBuffer json = body.asByteBuffer();
+    int limit = json.limit();
+    int pos = skipSpaces(json,json.position(),limit);
+    if (pos >= limit || json.get(pos) != '{') return null;
+
+    E person = create.get();
+    pos = skipSpaces(json,pos + 1,limit);
+    if (pos < limit && json.get(pos) == '}') return end(json,pos + 1,limit) ? person : null;
+
+    while (true) {
+      // "name"
+      if (pos >= limit || json.get(pos) != '"') return null;
+      int nameEnd = stringEnd(json,pos + 1,limit);
+      if (nameEnd < 0) return null;
+      int field = field(json,pos + 1,nameEnd);
+      if (field < 0) return null;
+
+      // :
+      pos = skipSpaces(json,nameEnd + 1,limit);
+      if (pos >= limit || json.get(pos) != ':') return null;
+      pos = skipSpaces(json,pos + 1,limit);
+      if (pos >= limit) return null;
+
+      // "value" | null
+      if (json.get(pos) == '"') {
+        int valueEnd = stringEnd(json,pos + 1,limit);
+        if (valueEnd < 0) return null;
+        if (visible[field]) setters[field].accept(person,string(json,pos + 1,valueEnd));
+        pos = valueEnd + 1;
+      } else if (isNull(json,pos,limit)) {
+        if (visible[field]) setters[field].accept(person,null);
+        pos += 4;
+      } else {
+        return null;
+      }
+
+      // , | }
+      pos = skipSpaces(json,pos,limit);
+      if (pos >= limit) return null;
+      byte next = json.get(pos);
+      if (next == '}') return end(json,pos + 1,limit) ? person : null;
+      if (next != ',') return null;
+      pos = skipSpaces(json,pos + 1,limit);
+    }
+  }
+
+
+  private boolean[] visible(Class<?> view) {
+    for (int i = 0; i < views.length; i++) {
+      if (views[i] == view) return visible[i];
+    }
+    return null;
+  }
+
+
+  private int field(ByteBuffer json,int start,int end) {
+    names:
+    for (int field = 0; field < names.length; field++) {
+      byte[] name = names[field];
+      if (name.length != end - start) continue;
+      for (int i = 0; i < name.length; i++) {
+        if (json.get(start + i) != name[i]) continue names;
+      }
+      return field;
+    }
+    return -1;
+  }
+
+
+  // only spaces after the object
+  private static boolean end(ByteBuffer json,int pos,int limit) {
+    return skipSpaces(json,pos,limit) == limit;
+  }
+
+
+  private static int skipSpaces(ByteBuffer json,int pos,int limit) {
+    while (pos < limit) {
+      byte b = json.get(pos);
+      if (b != ' ' && b != '\n' && b != '\r' && b != '\t') return pos;
+      pos++;
+    }
+    return pos;
+  }
+
+
+  private static boolean isNull(ByteBuffer json,int pos,int limit) {
+    return pos + 4 <= limit &&
+           json.get(pos) == 'n' &&
+           json.get(pos + 1) == 'u' &&
+           json.get(pos + 2) == 'l' &&
+           json.get(pos + 3) == 'l';
+  }
+
+
+  // index of the closing quote; -1: control char, bad escape, bad UTF-8 or no closing quote
+  private static int stringEnd(ByteBuffer json,int pos,int limit) {
+    while (pos < limit) {
+      int b = json.get(pos) & 0xFF;
+      if (b == '"') return pos;
+      if (b < 0x20) return -1;
+      if (b == '\\') {
+        pos = escapeEnd(json,pos + 1,limit);
+      } else if (b < 0x80) {
+        pos++;
+      } else {
+        pos = utf8End(json,pos,b,limit);
+      }
+      if (pos < 0) return -1;
+    }
+    return -1;
+  }
+
+
+  private static int escapeEnd(ByteBuffer json,int pos,int limit) {
+    if (pos >= limit) return -1;
+    switch (json.get(pos)) {
+      case '"':
+      case '\\':
+      case '/':
+      case 'b':
+      case 'f':
+      case 'n':
+      case 'r':
+      case 't':
+        return pos + 1;
+      case 'u':
+        if (pos + 5 > limit) return -1;
+        for (int i = pos + 1; i < pos + 5; i++) {
+          if (hex(json.get(i)) < 0) return -1;
+        }
+        return pos + 5;
+      default:
+        return -1;
+    }
+  }
+
+
+  // well-formed UTF-8 only (no overlong, surrogate or > U+10FFFF sequence)
+  private static int utf8End(ByteBuffer json,int pos,int lead,int limit) {
+    int length;
+    int min = 0x80;
+    int max = 0xBF;
+    if (lead >= 0xC2 && lead <= 0xDF) {
+      length = 2;
+    } else if (lead >= 0xE0 && lead <= 0xEF) {
+      length = 3;
+      if (lead == 0xE0) min = 0xA0;
+      if (lead == 0xED) max = 0x9F;
+    } else if (lead >= 0xF0 && lead <= 0xF4) {
+      length = 4;
+      if (lead == 0xF0) min = 0x90;
+      if (lead == 0xF4) max = 0x8F;
+    } else {
+      return -1;
+    }
+    if (pos + length > limit) return -1;
+
+    int second = json.get(pos + 1) & 0xFF;
+    if (second < min || second > max) return -1;
+    for (int i = pos + 2; i < pos + length; i++) {
+      int next = json.get(i) & 0xFF;
+      if (next < 0x80 || next > 0xBF) return -1;
+    }
+    return pos + length;
+  }
+
+
+  // content of a string validated by stringEnd
+  private static String string(ByteBuffer json,int start,int end) {
+    int escape = start;
+    while (escape < end && json.get(escape) != '\\') escape++;
+    if (escape == end) return utf8(json,start,end);
+
+    StringBuilder value = new StringBuilder(end - start);
+    int run = start;
+    for (int pos = escape; pos < end; ) {
+      if (json.get(pos) != '\\') {
+        pos++;
+        continue;
+      }
+      value.append(utf8(json,run,pos));
+      byte escaped = json.get(pos + 1);
+      switch (escaped) {
+        case 'b':
+          value.append('\b');
+          break;
+        case 'f':
+          value.append('\f');
+          break;
+        case 'n':
+          value.append('\n');
+          break;
+        case 'r':
+          value.append('\r');
+          break;
+        case 't':
+          value.append('\t');
+          break;
+        case 'u':
+          value.append((char) (hex(json.get(pos + 2)) << 12 |
+                               hex(json.get(pos + 3)) << 8 |
+                               hex(json.get(pos + 4)) << 4 |
+                               hex(json.get(pos + 5))));
+          pos += 4;
+          break;
+        default:
+          value.append((char) escaped);
+      }
+      pos += 2;
+      run = pos;
+    }
+    return value.append(utf8(json,run,end))
+                .toString();
+  }
+
+
+  private static String utf8(ByteBuffer json,int start,int end) {
+    if (json.hasArray()) return new String(json.array(),json.arrayOffset() + start,end - start,UTF_8);
+    byte[] bytes = new byte[end - start];
+    json.duplicate()
+        .position(start)
+        .get(bytes);
+    return new String(bytes,UTF_8);
+  }
+
+
+  private static int hex(byte b) {
+    if (b >= '0' && b <= '9') return b - '0';
+    if (b >= 'a' && b <= 'f') return b - 'a' + 10;
+    if (b >= 'A' && b <= 'F') return b - 'A' + 10;
+    return -1;
+  }
+
+
+  private static boolean visible(Class<?> type,String field,Class<?> view,boolean defaultViewInclusion) {
+    if (view == null) return true;
+    JsonView jsonView;
+    try {
+      jsonView = type.getDeclaredField(field)
+                     .getAnnotation(JsonView.class);
+    } catch (NoSuchFieldException e) {
+      throw new IllegalArgumentException(type.getSimpleName() + " has no field " + field,e);
+    }
+    if (jsonView == null) return defaultViewInclusion;
+    return Arrays.stream(jsonView.value())
+                 .anyMatch(fieldView -> fieldView.isAssignableFrom(view));
+  }
+}
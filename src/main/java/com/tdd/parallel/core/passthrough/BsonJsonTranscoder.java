@@ -0,0 +1,200 @@
+package com.tdd.parallel.core.passthrough;
+
+import com.mongodb.client.model.Projections;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.BsonSerializationException;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+BSON -> JSON TRANSCODER (passthrough reads)
+ - walks the stored BSON bytes and writes the JSON bytes into the response buffer:
+   no entity, no Document, no String, no Jackson
+ - only the serialized person fields are written, named as Jackson names them:
+   "_id" -> "id" (ObjectId as 24 hex chars), "name" -> "name"
+ - any other field (ex. "_class") is skipped by its BSON size
+ - a field missing in BSON (null entity fields are not stored) is written as null,
+   as Jackson writes the null entity field
+ - BSON and JSON strings are both UTF-8:
+   bytes are copied, escaping only '"', '\' and control chars
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BsonJsonTranscoder {
+
+  // fetch only what the transcoder writes
+  public static final Bson FIELDS = Projections.include("_id","name");
+
+  private static final byte[][] BSON_NAMES = {bytes("_id"), bytes("name")};
+  private static final byte[][] JSON_NAMES = {bytes("\"id\":"), bytes("\"name\":")};
+
+  private static final byte[] HEX = bytes("0123456789abcdef");
+  private static final byte[] NULL = bytes("null");
+
+  private static final byte STRING = 0x02;
+  private static final byte OBJECT_ID = 0x07;
+  private static final byte NULL_VALUE = 0x0A;
+
+
+  public static void transcode(RawBsonDocument document,DataBuffer json) {
+    ByteBuffer bson = document.getByteBuffer()
+                              .asNIO()
+                              .order(ByteOrder.LITTLE_ENDIAN);
+    // document: int32 size, elements, 0x00
+    int pos = bson.position() + 4;
+    boolean first = true;
+    int written = 0;
+
+    json.write((byte) '{');
+    byte type;
+    while ((type = bson.get(pos++)) != 0) {
+      // element: type, cstring name, value
+      int nameStart = pos;
+      while (bson.get(pos) != 0) pos++;
+      int field = field(bson,nameStart,pos++);
+
+      if (field >= 0) {
+        if (!first) json.write((byte) ',');
+        first = false;
+        json.write(JSON_NAMES[field]);
+        value(bson,pos,type,json);
+        written |= 1 << field;
+      }
+      pos += size(bson,pos,type);
+    }
+
+    for (int field = 0; field < JSON_NAMES.length; field++) {
+      if ((written & 1 << field) != 0) continue;
+      if (!first) json.write((byte) ',');
+      first = false;
+      json.write(JSON_NAMES[field]);
+      json.write(NULL);
+    }
+    json.write((byte) '}');
+  }
+
+
+  private static int field(ByteBuffer bson,int start,int end) {
+    names:
+    for (int field = 0; field < BSON_NAMES.length; field++) {
+      byte[] name = BSON_NAMES[field];
+      if (name.length != end - start) continue;
+      for (int i = 0; i < name.length; i++) {
+        if (bson.get(start + i) != name[i]) continue names;
+      }
+      return field;
+    }
+    return -1;
+  }
+
+
+  private static void value(ByteBuffer bson,int pos,byte type,DataBuffer json) {
+    switch (type) {
+      case STRING:
+        // int32 length (with the trailing 0x00), UTF-8 bytes, 0x00
+        string(bson,pos + 4,pos + 4 + bson.getInt(pos) - 1,json);
+        break;
+      case OBJECT_ID:
+        json.write((byte) '"');
+        for (int i = pos; i < pos + 12; i++) {
+          json.write(HEX[(bson.get(i) >> 4) & 0xF]);
+          json.write(HEX[bson.get(i) & 0xF]);
+        }
+        json.write((byte) '"');
+        break;
+      case NULL_VALUE:
+        json.write(NULL);
+        break;
+      default:
+        throw new BsonSerializationException("no JSON passthrough for BSON type " + type);
+    }
+  }
+
+
+  private static void string(ByteBuffer bson,int start,int end,DataBuffer json) {
+    json.write((byte) '"');
+    int run = start;
+    for (int i = start; i < end; i++) {
+      int b = bson.get(i) & 0xFF;
+      if (b >= 0x20 && b != '"' && b != '\\') continue;
+
+      copy(bson,run,i,json);
+      run = i + 1;
+      json.write((byte) '\\');
+      if (b == '"' || b == '\\') {
+        json.write((byte) b);
+      } else {
+        json.write((byte) 'u');
+        json.write((byte) '0');
+        json.write((byte) '0');
+        json.write(HEX[b >> 4]);
+        json.write(HEX[b & 0xF]);
+      }
+    }
+    copy(bson,run,end,json);
+    json.write((byte) '"');
+  }
+
+
+  private static void copy(ByteBuffer bson,int start,int end,DataBuffer json) {
+    if (start < end) json.write(bson.duplicate()
+                                    .limit(end)
+                                    .position(start));
+  }
+
+
+  // value size in bytes, by BSON type
+  private static int size(ByteBuffer bson,int pos,byte type) {
+    switch (type) {
+      case 0x06: // undefined
+      case 0x0A: // null
+      case 0x7F: // max key
+      case -1:   // min key (0xFF)
+        return 0;
+      case 0x08: // boolean
+        return 1;
+      case 0x10: // int32
+        return 4;
+      case 0x01: // double
+      case 0x09: // date
+      case 0x11: // timestamp
+      case 0x12: // int64
+        return 8;
+      case 0x07: // ObjectId
+        return 12;
+      case 0x13: // decimal128
+        return 16;
+      case 0x02: // string
+      case 0x0D: // javascript
+      case 0x0E: // symbol
+        return 4 + bson.getInt(pos);
+      case 0x03: // document
+      case 0x04: // array
+      case 0x0F: // javascript with scope
+        return bson.getInt(pos);
+      case 0x05: // binary: int32 length, subtype, bytes
+        return 4 + 1 + bson.getInt(pos);
+      case 0x0C: // db pointer: string, ObjectId
+        return 4 + bson.getInt(pos) + 12;
+      case 0x0B: // regex: two cstrings
+        int end = pos;
+        while (bson.get(end) != 0) end++;
+        end++;
+        while (bson.get(end) != 0) end++;
+        return end + 1 - pos;
+      default:
+        throw new BsonSerializationException("unknown BSON type " + type);
+    }
+  }
+
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(UTF_8);
+  }
+}
@@ -0,0 +1,15 @@
+package com.tdd.parallel.core.passthrough;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.passthrough")
+public class PassthroughProperties {
+
+  // false: findAll (template/driver styles) returns the entities, written by WebFlux as in the other styles,
+  // through the service decorators (ex. coalescing)
+  private boolean enabled = false;
+}
@@ -0,0 +1,173 @@
+package com.tdd.parallel.core.passthrough;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tdd.parallel.core.codecs.PersonCodec;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.service.IService;
+import lombok.AllArgsConstructor;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonSerializationException;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/*
+PASSTHROUGH FINDALL (JSON array, person.passthrough.enabled=true)
+ - stored documents arrive as RawBsonDocument (the wire bytes, undecoded): IService.findAllRaw
+ - each one is transcoded into its own buffer from the response factory
+   (pooled Netty buffers on Reactor Netty), released by the server once written
+ - same body as Jackson writing the entities: [{"id":"...","name":"..."},...]
+ - a document the transcoder cannot write (ex. a field of another BSON type) is decoded (PersonCodec)
+   and written by Jackson: the status is already sent, the body must stay valid JSON
+ - Accept: a binary format (BinaryFormats) -> the documents are decoded (PersonCodec)
+   and written one by one (ListWriter), as they leave the cursor
+ - the response is committed with the first document: an error before it is the handler's error (500),
+   an error after it aborts the response (the status is already sent)
+ - disabled, or an Accept neither JSON nor a binary format: handles() is false,
+   the handler returns the entities (IService.findAll, decorators such as coalescing)
+   and WebFlux writes them (content negotiation: 406)
+ */
+@Component
+@AllArgsConstructor
+public class PassthroughWriter {
+
+  private static final byte[] OPEN = "[".getBytes(UTF_8);
+  private static final byte[] CLOSE = "]".getBytes(UTF_8);
+
+  // JSON is about the BSON size: +12 for the hex ObjectId, plus quotes and separators
+  private static final int JSON_OVERHEAD = 32;
+
+  private final BinaryFormats binaryFormats;
+  private final PassthroughProperties properties;
+
+
+  // true: write(...) writes the response; false: the handler returns the entities
+  public boolean handles(ServerWebExchange exchange) {
+    if (!properties.isEnabled()) return false;
+    List<MediaType> accepted = exchange.getRequest()
+                                       .getHeaders()
+                                       .getAccept();
+    return accepted.isEmpty()
+           || binaryFormats.negotiate(exchange.getRequest()) != null
+           || accepted.stream()
+                      .anyMatch(accept -> accept.getQualityValue() > 0 && accept.isCompatibleWith(APPLICATION_JSON));
+  }
+
+
+  // codec: the entities of a binary response or of a fallback; view: their @JsonView (null: every field)
+  public <E extends IPerson> Mono<Void> write(ServerWebExchange exchange,IService<E> service,PersonCodec<E> codec,
+                                              Class<?> view) {
+    MediaType binary = binaryFormats.negotiate(exchange.getRequest());
+    DecoderContext context = DecoderContext.builder()
+                                           .build();
+    Flux<RawBsonDocument> documents = service.findAllRaw();
+    if (binary != null)
+      return writeBinary(exchange,documents.map(document -> decode(codec,document,context)),binary,view);
+
+    ObjectWriter jackson = view == null
+         ? binaryFormats.getObjectMapper()
+                        .writer()
+         : binaryFormats.getObjectMapper()
+                        .writerWithView(view);
+    return writeJson(exchange,documents,(buffers,first,document) -> {
+      DataBuffer json = transcoded(buffers,first,document);
+      return json != null ? json : jackson(buffers,first,jackson,decode(codec,document,context));
+    });
+  }
+
+
+  // "[" goes with the first element (or with "]" when there is none): nothing is sent before the cursor answers
+  private static Mono<Void> writeJson(ServerWebExchange exchange,Flux<RawBsonDocument> documents,
+                                      Element element) {
+    ServerHttpResponse response = exchange.getResponse();
+    DataBufferFactory buffers = response.bufferFactory();
+    response.getHeaders()
+            .setContentType(APPLICATION_JSON);
+
+    Flux<DataBuffer> elements = documents.index((index,document) -> element.write(buffers,index == 0,document));
+
+    return response.writeWith(
+         elements.switchIfEmpty(Mono.fromSupplier(() -> buffers.wrap(OPEN)))
+                 .concatWith(Mono.fromSupplier(() -> buffers.wrap(CLOSE)))
+                 .doOnDiscard(DataBuffer.class,DataBufferUtils::release));
+  }
+
+
+  private <E> Mono<Void> writeBinary(ServerWebExchange exchange,Flux<E> persons,MediaType format,Class<?> view) {
+    ServerHttpResponse response = exchange.getResponse();
+    response.getHeaders()
+            .setContentType(format);
+
+    return Mono.fromCallable(() -> binaryFormats.listWriter(format,view))
+               .flatMap(writer -> response.writeWith(
+                    persons.<byte[]>handle((person,sink) -> {
+                             try {
+                               sink.next(writer.next(person));
+                             } catch (IOException e) {
+                               sink.error(e);
+                             }
+                           })
+                           .concatWith(Mono.fromCallable(writer::end))
+                           .filter(bytes -> bytes.length > 0)
+                           .map(response.bufferFactory()::wrap)));
+  }
+
+
+  // null: a BSON type the transcoder does not write (nothing is written)
+  private static DataBuffer transcoded(DataBufferFactory buffers,boolean first,RawBsonDocument document) {
+    DataBuffer json = buffers.allocateBuffer(document.getByteBuffer()
+                                                     .remaining() + JSON_OVERHEAD);
+    try {
+      json.write(first ? (byte) '[' : (byte) ',');
+      BsonJsonTranscoder.transcode(document,json);
+      return json;
+    } catch (BsonSerializationException e) {
+      DataBufferUtils.release(json);
+      return null;
+    } catch (RuntimeException e) {
+      DataBufferUtils.release(json);
+      throw e;
+    }
+  }
+
+
+  private static DataBuffer jackson(DataBufferFactory buffers,boolean first,ObjectWriter writer,Object person) {
+    try {
+      byte[] json = writer.writeValueAsBytes(person);
+      return buffers.allocateBuffer(json.length + 1)
+                    .write(first ? (byte) '[' : (byte) ',')
+                    .write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+
+  private static <E extends IPerson> E decode(PersonCodec<E> codec,RawBsonDocument document,DecoderContext context) {
+    return codec.decode(new BsonBinaryReader(document.getByteBuffer()
+                                                     .asNIO()),context);
+  }
+
+
+  // one JSON array element, after "[" (first) or ","
+  @FunctionalInterface
+  private interface Element {
+    DataBuffer write(DataBufferFactory buffers,boolean first,RawBsonDocument document);
+  }
+}
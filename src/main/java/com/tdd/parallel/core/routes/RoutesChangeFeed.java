@@ -0,0 +1,14 @@
+package com.tdd.parallel.core.routes;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RoutesChangeFeed {
+  public static final String CF_REQ_MAP = "/changes";
+  public static final String CF_STD = "/personstandard";
+  public static final String CF_JV = "/personjsonview";
+
+  // SSE reconnect header (EventSource sends the id of the last received event)
+  public static final String CF_LAST_EVENT_ID = "Last-Event-ID";
+}
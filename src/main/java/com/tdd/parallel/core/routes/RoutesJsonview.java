@@ -22,5 +22,15 @@ public class RoutesJsonview {
   public static final String JV_TEMPL_USER = "/personTemplJviewUser";
   public static final String JV_TEMPL_DEL = "/personTemplJviewDel";
 
+  public static final String JV_RAW_ADMIN_POST_REQUEST = "/personRawDriverJviewAdminRequestPost";
+  public static final String JV_RAW_ADMIN = "/personRawDriverJviewAdmin";
+  public static final String JV_RAW_USER = "/personRawDriverJviewUser";
+  public static final String JV_RAW_DEL = "/personRawDriverJviewDel";
+
   public static final String JV_ID = "/{id}";
+  // JV_ID in the mappings: never /stream, /ids or /page (another Accept gets 406, not findById("stream"))
+  public static final String JV_ID_MAPPING = "/{id:(?!(?:stream|ids|page)$).+}";
+  public static final String JV_PAGE = "/page";
+  public static final String JV_STREAM = "/stream";
+  public static final String JV_IDS = "/ids";
 }
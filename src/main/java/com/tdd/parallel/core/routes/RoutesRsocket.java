@@ -0,0 +1,19 @@
+package com.tdd.parallel.core.routes;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+// style: crud | repo | templ | rawDriver -> the IService bean serv<Style>Standard / serv<Style>Jsonview
+// view: admin | user
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RoutesRsocket {
+  public static final String RS_STD = "personStd.{style}";
+  public static final String RS_JV = "personJview.{style}";
+  public static final String RS_JV_VIEW = "personJview.{style}.{view}";
+
+  public static final String RS_FIND_BY_ID = ".findById";
+  public static final String RS_FIND_ALL = ".findAll";
+  public static final String RS_SAVE = ".save";
+  public static final String RS_SAVE_ALL = ".saveAll";
+  public static final String RS_DELETE = ".deleteById";
+}
@@ -9,5 +9,14 @@ public class RoutesStandard {
   public static final String STD_CRUD = "/personCrudRepoStd";
   public static final String STD_REPO = "/personRepoStd";
   public static final String STD_TEMPL = "/personTemplStd";
+  public static final String STD_RAW = "/personRawDriverStd";
   public static final String STD_ID = "/{id}";
+  // STD_ID in the mappings: never /stream, /ids or /page (another Accept gets 406, not findById("stream"))
+  public static final String STD_ID_MAPPING = "/{id:(?!(?:stream|ids|page)$).+}";
+  public static final String STD_BULK = "/bulk";
+  public static final String STD_PAGE = "/page";
+  public static final String STD_STREAM = "/stream";
+  public static final String STD_INGEST = "/ingest";
+  public static final String STD_IDS = "/ids";
+  public static final String STD_WS = "/ws";
 }
@@ -0,0 +1,68 @@
+package com.tdd.parallel.core.routing;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import lombok.AllArgsConstructor;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.tdd.parallel.core.routes.RoutesJsonview.*;
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_REQ_MAP;
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_TEMPL;
+
+/*
+one causally consistent session per request; its operation time goes back as the token header
+ - started only when it is used: the request carries a token, or its route reads from a secondary
+   in the request session (template style, CausalSessions.operations)
+ - any other request (repositories, raw driver, change feed, actuator): no session, no token header
+ */
+@AllArgsConstructor
+public class CausalSessionFilter implements WebFilter {
+
+  // the template routes (prefixes: also their sub-paths)
+  public static final List<String> SESSION_ROUTES = List.of(STD_REQ_MAP + STD_TEMPL,
+                                                            JV_REQ_MAP + JV_TEMPL_ADMIN_POST_REQUEST,
+                                                            JV_REQ_MAP + JV_TEMPL_ADMIN,
+                                                            JV_REQ_MAP + JV_TEMPL_USER,
+                                                            JV_REQ_MAP + JV_TEMPL_DEL);
+
+  private final MongoClient mongoClient;
+  private final ReadRoutingProperties properties;
+
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange,WebFilterChain chain) {
+    String token = exchange.getRequest()
+                           .getHeaders()
+                           .getFirst(properties.getTokenHeader());
+    if (token == null && !sessionRoute(exchange)) return chain.filter(exchange);
+    ServerHttpResponse response = exchange.getResponse();
+
+    return CausalSessions
+         .start(mongoClient,token)
+         .flatMap(session -> {
+           response.beforeCommit(() -> Mono.fromRunnable(() -> {
+             String next = CausalSessions.token(session);
+             if (next != null) response.getHeaders()
+                                       .set(properties.getTokenHeader(),next);
+           }));
+           return chain.filter(exchange)
+                       .contextWrite(CausalSessions.with(session))
+                       .doFinally(signal -> session.close());
+         });
+  }
+
+
+  private static boolean sessionRoute(ServerWebExchange exchange) {
+    String path = exchange.getRequest()
+                          .getPath()
+                          .pathWithinApplication()
+                          .value();
+    return SESSION_ROUTES.stream()
+                         .anyMatch(path::startsWith);
+  }
+}
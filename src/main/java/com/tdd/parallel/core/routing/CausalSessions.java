@@ -0,0 +1,81 @@
+package com.tdd.parallel.core.routing;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.MongoClient;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.BsonTimestamp;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/*
+CAUSALLY CONSISTENT SESSIONS (read-your-writes on secondaries)
+ - one session per request, carried in the Reactor context
+ - the template path (Templ*) runs its operations in that session:
+   reads wait until the member has replicated the session operation time
+ - token: operation time of the last write ("seconds-increment"),
+   returned to the client and sent back with its next read
+ - repositories (ICrud/IRepo) cannot take a session: they only get the read preference
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CausalSessions {
+
+  private static final String SESSION = CausalSessions.class.getName();
+  private static final String SEPARATOR = "-";
+
+  private static final ClientSessionOptions CAUSAL =
+       ClientSessionOptions.builder()
+                           .causallyConsistent(true)
+                           .build();
+
+
+  // token: null -> new session, no lower bound
+  public static Mono<ClientSession> start(MongoClient mongoClient,String token) {
+    return Mono.defer(() -> {
+      BsonTimestamp after = token == null ? null : decode(token);
+      return Mono.from(mongoClient.startSession(CAUSAL))
+                 .doOnNext(session -> {
+                   if (after != null) session.advanceOperationTime(after);
+                 });
+    });
+  }
+
+
+  public static Function<Context, Context> with(ClientSession session) {
+    return context -> context.put(SESSION,session);
+  }
+
+
+  // the template bound to the request session (or the template itself)
+  public static Mono<ReactiveMongoOperations> operations(ReactiveMongoTemplate template) {
+    return Mono.deferContextual(context -> Mono.just(
+         context.<ClientSession>getOrEmpty(SESSION)
+                .map(template::withSession)
+                .orElse(template)));
+  }
+
+
+  // null: nothing ran in the session yet
+  public static String token(ClientSession session) {
+    BsonTimestamp time = session.getOperationTime();
+    return time == null ? null : time.getTime() + SEPARATOR + time.getInc();
+  }
+
+
+  private static BsonTimestamp decode(String token) {
+    try {
+      String[] parts = token.split(SEPARATOR,2);
+      return new BsonTimestamp(Integer.parseInt(parts[0]),Integer.parseInt(parts[1]));
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      throw new ResponseStatusException(BAD_REQUEST,"Invalid causal token",e);
+    }
+  }
+}
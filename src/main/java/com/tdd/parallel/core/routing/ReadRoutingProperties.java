@@ -0,0 +1,35 @@
+package com.tdd.parallel.core.routing;
+
+import com.mongodb.ReadPreference;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/*
+READ ROUTING (replica set)
+ - enabled: reads -> secondaryPreferred(maxStaleness), writes -> primary
+ - read-your-writes: CausalSessionFilter + token header (see CausalSessions)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.read-routing")
+public class ReadRoutingProperties {
+
+  private boolean enabled = false;
+
+  // the server accepts 90s or more
+  private Duration maxStaleness = Duration.ofSeconds(90);
+
+  // response: operation time of the request session
+  // request: read only data at least as recent as this token
+  private String tokenHeader = "X-Causal-Token";
+
+
+  public ReadPreference readPreference() {
+    return ReadPreference.secondaryPreferred(maxStaleness.toMillis(),MILLISECONDS);
+  }
+}
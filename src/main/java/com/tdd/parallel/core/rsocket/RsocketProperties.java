@@ -0,0 +1,17 @@
+package com.tdd.parallel.core.rsocket;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.rsocket")
+public class RsocketProperties {
+
+  // false: no @MessageMapping of the persons (ResRsocket), no TCP listener
+  private boolean enabled = false;
+
+  // TCP listener next to the WebSocket endpoint (0: a random port); unset: no TCP listener
+  private Integer tcpPort;
+}
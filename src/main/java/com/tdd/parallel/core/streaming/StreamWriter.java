@@ -0,0 +1,148 @@
+package com.tdd.parallel.core.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.core.formats.BinaryFormats.ValueWriter;
+import lombok.AllArgsConstructor;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+
+/*
+STREAMING FINDALL (NDJSON / SSE / binary)
+ - one line/event per document, written as it leaves the Mongo cursor
+ - Accept: a binary format (BinaryFormats) -> one value per document, back to back
+   (CBOR sequence, Smile values, BSON documents as mongodump)
+ - documents are grouped and flushed by a size/time budget
+   (not one flush per document, not one flush for the whole result)
+ - demand: the socket requests the next group only when it is writable,
+   the cursor is read "prefetch" documents at a time
+   -> a slow client throttles the cursor instead of filling the heap
+ - the budget is checked when a document arrives and by a timer (every flushInterval):
+   a pending group waits at most flushInterval, even when the cursor is idle
+ */
+@Component
+@AllArgsConstructor
+public class StreamWriter {
+
+  private static final byte[] NO_BYTES = new byte[0];
+  private static final byte[] NDJSON_END = "\n".getBytes(UTF_8);
+  private static final byte[] SSE_START = "data:".getBytes(UTF_8);
+  private static final byte[] SSE_END = "\n\n".getBytes(UTF_8);
+
+  // markers merged with the frames (compared by identity, never written)
+  private static final byte[] TICK = new byte[0];
+  private static final byte[] END = new byte[0];
+
+  private final ObjectMapper objectMapper;
+  private final StreamingProperties properties;
+  private final BinaryFormats binaryFormats;
+
+
+  public <E> Mono<Void> write(ServerWebExchange exchange,Flux<E> persons) {
+    return write(exchange,persons,null);
+  }
+
+
+  // view: @JsonView of the response (null: every field)
+  public <E> Mono<Void> write(ServerWebExchange exchange,Flux<E> persons,Class<?> view) {
+    MediaType binary = binaryFormats.negotiate(exchange.getRequest());
+    if (binary != null)
+      return write(exchange,persons,binary,NO_BYTES,binaryFormats.writer(binary,view),NO_BYTES);
+
+    boolean sse = exchange.getRequest()
+                          .getHeaders()
+                          .getAccept()
+                          .stream()
+                          .anyMatch(TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+    ObjectWriter writer = view == null ? objectMapper.writer() : objectMapper.writerWithView(view);
+    return sse
+         ? write(exchange,persons,TEXT_EVENT_STREAM,SSE_START,writer::writeValueAsBytes,SSE_END)
+         : write(exchange,persons,APPLICATION_NDJSON,NO_BYTES,writer::writeValueAsBytes,NDJSON_END);
+  }
+
+
+  private <E> Mono<Void> write(ServerWebExchange exchange,Flux<E> persons,MediaType contentType,
+                               byte[] start,ValueWriter writer,byte[] end) {
+    ServerHttpResponse response = exchange.getResponse();
+    DataBufferFactory buffers = response.bufferFactory();
+    response.getHeaders()
+            .setContentType(contentType);
+
+    FlushBudget budget = new FlushBudget(properties.getFlushSize()
+                                                   .toBytes(),
+                                         properties.getFlushInterval()
+                                                   .toNanos());
+    Flux<byte[]> frames = persons.limitRate(properties.getPrefetch())
+                                 .handle((person,sink) -> {
+                                   try {
+                                     sink.next(frame(start,writer.write(person),end));
+                                   } catch (IOException e) {
+                                     sink.error(e);
+                                   }
+                                 });
+    // no demand (slow socket): the tick is dropped, the pending group leaves with the next write
+    Flux<byte[]> ticks = Flux.interval(properties.getFlushInterval())
+                             .onBackpressureDrop()
+                             .map(tick -> TICK);
+
+    return response.writeAndFlushWith(
+         Flux.merge(frames.concatWith(Mono.just(END)),ticks)
+             .takeUntil(frame -> frame == END)
+             .windowUntil(budget::flushAfter)
+             .map(group -> group.filter(frame -> frame != TICK && frame != END)
+                                .map(buffers::wrap)));
+  }
+
+
+  private static byte[] frame(byte[] start,byte[] value,byte[] end) {
+    byte[] frame = new byte[start.length + value.length + end.length];
+    System.arraycopy(start,0,frame,0,start.length);
+    System.arraycopy(value,0,frame,start.length,value.length);
+    System.arraycopy(end,0,frame,start.length + value.length,end.length);
+    return frame;
+  }
+
+
+  // one per response: windowUntil calls it serially (merge serializes frames and ticks)
+  private static class FlushBudget {
+
+    private final long flushBytes;
+    private final long flushNanos;
+
+    private long bytes;
+    private long started;
+
+
+    FlushBudget(long flushBytes,long flushNanos) {
+      this.flushBytes = flushBytes;
+      this.flushNanos = flushNanos;
+    }
+
+
+    boolean flushAfter(byte[] frame) {
+      if (frame == END) return false;
+      if (frame == TICK) {
+        if (bytes == 0) return false;
+        bytes = 0;
+        return true;
+      }
+      if (bytes == 0) started = System.nanoTime();
+      bytes += frame.length;
+      if (bytes < flushBytes && System.nanoTime() - started < flushNanos) return false;
+      bytes = 0;
+      return true;
+    }
+  }
+}
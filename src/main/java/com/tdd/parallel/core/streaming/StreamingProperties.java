@@ -0,0 +1,23 @@
+package com.tdd.parallel.core.streaming;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.streaming")
+public class StreamingProperties {
+
+  // flush once the pending documents reach this size...
+  private DataSize flushSize = DataSize.ofKilobytes(8);
+
+  // ...or once the oldest pending document waited this long
+  private Duration flushInterval = Duration.ofMillis(50);
+
+  // documents requested from the Mongo cursor per round
+  private int prefetch = 256;
+}
@@ -0,0 +1,108 @@
+package com.tdd.parallel.core.views;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+JSONVIEW -> MONGO FIELD PROJECTION
+ - a field is fetched only if the active view serializes it:
+   same rule as Jackson (@JsonView value assignable from the active view)
+ - fields without @JsonView are not serialized under a view
+   (Spring disables MapperFeature.DEFAULT_VIEW_INCLUSION)
+ - empty projection: the view serializes every field -> full document
+ - the "version" field is always fetched: the ETag of every view (core/etag)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ViewProjection {
+
+  // repository @Query(fields) for UserResponseView:
+  // only "name" + "version" -> index-covered when { name, version } is indexed
+  public static final String USER_VIEW_FIELDS = "{ 'name' : 1, 'version' : 1, '_id' : 0 }";
+
+  private static final String MONGO_ID = "_id";
+  private static final String VERSION = "version";
+
+  private static final Map<List<Class<?>>, Optional<Document>> PROJECTIONS = new ConcurrentHashMap<>();
+
+
+  public static Optional<Document> of(Class<?> entity,Class<?> view) {
+    return PROJECTIONS.computeIfAbsent(List.of(entity,view),key -> compute(entity,view));
+  }
+
+
+  public static boolean matches(Class<?> entity,Class<?> view,String fields) {
+    return of(entity,view)
+         .map(projection -> projection.equals(Document.parse(fields)))
+         .orElse(false);
+  }
+
+
+  public static Query apply(Query query,Class<?> entity,Class<?> view) {
+    of(entity,view).ifPresent(
+         projection -> projection.forEach((field,include) -> {
+           if ((Integer) include == 1) query.fields()
+                                            .include(field);
+           else query.fields()
+                     .exclude(field);
+         }));
+    return query;
+  }
+
+
+  private static Optional<Document> compute(Class<?> entity,Class<?> view) {
+    Document projection = new Document();
+    boolean annotated = false;
+    boolean hidden = false;
+    String version = null;
+
+    for (Class<?> type = entity; type != null && type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) continue;
+        if (field.getName()
+                 .equals(VERSION)) {
+          version = VERSION;
+          continue;
+        }
+
+        JsonView jsonView = field.getAnnotation(JsonView.class);
+        annotated |= jsonView != null;
+
+        boolean visible =
+             jsonView != null &&
+             Arrays.stream(jsonView.value())
+                   .anyMatch(fieldView -> fieldView.isAssignableFrom(view));
+
+        if (visible) projection.put(mongoName(field),1);
+        else hidden = true;
+      }
+    }
+
+    // no @JsonView in the entity, nothing hidden, or nothing visible: full document
+    if (!annotated || !hidden || projection.isEmpty()) return Optional.empty();
+
+    // "_id" is the only field Mongo returns without being included
+    if (version != null) projection.put(version,1);
+    if (!projection.containsKey(MONGO_ID)) projection.put(MONGO_ID,0);
+    return Optional.of(projection);
+  }
+
+
+  private static String mongoName(Field field) {
+    return field.isAnnotationPresent(Id.class) || field.getName()
+                                                       .equals("id")
+         ? MONGO_ID
+         : field.getName();
+  }
+}
@@ -0,0 +1,176 @@
+package com.tdd.parallel.core.views;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/*
+PRECOMPILED @JSONVIEW SERIALIZER (one per entity)
+ - built from the properties Jackson resolved for the entity (its BeanSerializer)
+ - the properties of each view are selected once, with the Jackson rule:
+   @JsonView value assignable from the active view,
+   no @JsonView -> serialized only with MapperFeature.DEFAULT_VIEW_INCLUSION
+ - no active view: every property
+ - getters are bound with LambdaMetafactory (no reflective call per property)
+ - per element: one lookup by active view, then a straight loop over its properties
+   (Jackson checks the view of every property of every element)
+ - a view not given at build time goes to the Jackson serializer
+ */
+public class ViewSerializer<E> extends StdSerializer<E> implements ResolvableSerializer {
+
+  private final BeanSerializer jackson;
+
+  // views[0] = null (no active view)
+  private final Class<?>[] views;
+  private final ViewProperty[][] strict;
+  private final ViewProperty[][] inclusive;
+
+
+  @SuppressWarnings("unchecked")
+  public ViewSerializer(BeanSerializer jackson,List<Class<?>> views) {
+    super((Class<E>) jackson.handledType());
+    this.jackson = jackson;
+
+    List<BeanPropertyWriter> properties = new ArrayList<>();
+    jackson.properties()
+           .forEachRemaining(property -> properties.add((BeanPropertyWriter) property));
+
+    this.views = new Class<?>[views.size() + 1];
+    this.strict = new ViewProperty[this.views.length][];
+    this.inclusive = new ViewProperty[this.views.length][];
+    for (int i = 0; i < this.views.length; i++) {
+      Class<?> view = i == 0 ? null : views.get(i - 1);
+      this.views[i] = view;
+      this.strict[i] = select(properties,view,false);
+      this.inclusive[i] = select(properties,view,true);
+    }
+  }
+
+
+  @Override
+  public void resolve(SerializerProvider provider) throws JsonMappingException {
+    jackson.resolve(provider);
+  }
+
+
+  @Override
+  public void serialize(E person,JsonGenerator generator,SerializerProvider provider) throws IOException {
+    ViewProperty[] properties = properties(provider);
+    if (properties == null) {
+      jackson.serialize(person,generator,provider);
+      return;
+    }
+
+    generator.writeStartObject(person);
+    for (ViewProperty property : properties) {
+      property.write(person,generator,provider);
+    }
+    generator.writeEndObject();
+  }
+
+
+  @Override
+  public void serializeWithType(E person,JsonGenerator generator,SerializerProvider provider,
+                                TypeSerializer typeSerializer) throws IOException {
+    jackson.serializeWithType(person,generator,provider,typeSerializer);
+  }
+
+
+  private ViewProperty[] properties(SerializerProvider provider) {
+    Class<?> view = provider.getActiveView();
+    ViewProperty[][] byView = provider.isEnabled(MapperFeature.DEFAULT_VIEW_INCLUSION) ? inclusive : strict;
+    for (int i = 0; i < views.length; i++) {
+      if (views[i] == view) return byView[i];
+    }
+    return null;
+  }
+
+
+  private static ViewProperty[] select(List<BeanPropertyWriter> properties,Class<?> view,boolean defaultInclusion) {
+    return properties
+         .stream()
+         .filter(property -> view == null || visible(property.getViews(),view,defaultInclusion))
+         .map(ViewProperty::new)
+         .toArray(ViewProperty[]::new);
+  }
+
+
+  private static boolean visible(Class<?>[] propertyViews,Class<?> view,boolean defaultInclusion) {
+    if (propertyViews == null) return defaultInclusion;
+    return Arrays.stream(propertyViews)
+                 .anyMatch(propertyView -> propertyView.isAssignableFrom(view));
+  }
+
+
+  private static class ViewProperty {
+
+    private final SerializableString name;
+    private final Function<Object, Object> getter;
+    private final boolean suppressNulls;
+
+
+    ViewProperty(BeanPropertyWriter property) {
+      this.name = property.getSerializedName();
+      this.getter = getter(property.getMember());
+      this.suppressNulls = property.willSuppressNulls();
+    }
+
+
+    void write(Object person,JsonGenerator generator,SerializerProvider provider) throws IOException {
+      Object value = getter.apply(person);
+      if (value == null) {
+        if (suppressNulls) return;
+        generator.writeFieldName(name);
+        generator.writeNull();
+      } else if (value instanceof String) {
+        generator.writeFieldName(name);
+        generator.writeString((String) value);
+      } else {
+        generator.writeFieldName(name);
+        provider.defaultSerializeValue(value,generator);
+      }
+    }
+
+
+    // getter method -> Function bound once; field (or failure) -> Jackson accessor
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(AnnotatedMember member) {
+      if (!(member instanceof AnnotatedMethod)) return member::getValue;
+      try {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(((AnnotatedMethod) member).getAnnotated());
+        return (Function<Object, Object>) LambdaMetafactory
+             .metafactory(lookup,
+                          "apply",
+                          MethodType.methodType(Function.class),
+                          MethodType.methodType(Object.class,Object.class),
+                          handle,
+                          handle.type()
+                                .wrap())
+             .getTarget()
+             .invoke();
+      } catch (Throwable e) {
+        return member::getValue;
+      }
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.tdd.parallel.core.views;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+
+import java.util.List;
+
+/*
+JACKSON MODULE: ViewSerializer for the given entities
+ - every ObjectMapper with the module uses it
+   (WebFlux Jackson2JsonEncoder, StreamWriter, ...)
+ */
+public class ViewSerializers extends SimpleModule {
+
+  public static final List<Class<?>> ENTITIES = List.of(PersonJsonview.class,PersonStandard.class);
+  public static final List<Class<?>> VIEWS = List.of(Views.PersonViews.class.getDeclaredClasses());
+
+
+  public ViewSerializers(List<Class<?>> entities,List<Class<?>> views) {
+    super(ViewSerializers.class.getSimpleName());
+    setSerializerModifier(new BeanSerializerModifier() {
+      @Override
+      public JsonSerializer<?> modifySerializer(SerializationConfig config,BeanDescription description,
+                                                JsonSerializer<?> serializer) {
+        // only plain bean serializers: the entities have no type id, filter or any-getter
+        if (!entities.contains(description.getBeanClass()) || serializer.getClass() != BeanSerializer.class)
+          return serializer;
+        return new ViewSerializer<>((BeanSerializer) serializer,views);
+      }
+    });
+  }
+
+
+  public static ViewSerializers persons() {
+    return new ViewSerializers(ENTITIES,VIEWS);
+  }
+}
@@ -0,0 +1,80 @@
+package com.tdd.parallel.core.writes;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+ONE TEMPLATE PER WRITE TIER
+ - same database factory + converter as the base template,
+   only the write concern changes
+ - no request session (CausalSessions): the driver refuses
+   unacknowledged writes inside an explicit session
+ - metrics: timer "person.writes" (tier + outcome), registered once per tier on the application
+   registry (none: a registry of its own, not exported)
+ */
+@Component
+public class TieredWrites {
+
+  public static final String WRITES = "person.writes";
+
+  private final Map<WriteTier, ReactiveMongoTemplate> templates = new EnumMap<>(WriteTier.class);
+  private final Map<WriteTier, Timer> succeeded = new EnumMap<>(WriteTier.class);
+  private final Map<WriteTier, Timer> failed = new EnumMap<>(WriteTier.class);
+
+
+  @Autowired
+  public TieredWrites(ReactiveMongoTemplate reactiveMongoTemplate,ObjectProvider<MeterRegistry> registry) {
+    this(reactiveMongoTemplate,registry.getIfAvailable(SimpleMeterRegistry::new));
+  }
+
+
+  public TieredWrites(ReactiveMongoTemplate base,MeterRegistry registry) {
+    for (WriteTier tier : WriteTier.values()) {
+      ReactiveMongoTemplate template = new ReactiveMongoTemplate(base.getMongoDatabaseFactory(),
+                                                                 base.getConverter());
+      template.setWriteConcern(tier.getWriteConcern());
+      templates.put(tier,template);
+      succeeded.put(tier,timer(registry,tier,"success"));
+      failed.put(tier,timer(registry,tier,"error"));
+    }
+  }
+
+
+  public <E> Mono<E> save(E person,WriteTier tier) {
+    return timed(tier,templates.get(tier)
+                               .save(person));
+  }
+
+
+  // also used by the raw driver style (RawDriver*)
+  public <E> Mono<E> timed(WriteTier tier,Mono<E> write) {
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      return write.doOnEach(signal -> {
+        if (!signal.isOnComplete() && !signal.isOnError()) return;
+        (signal.isOnError() ? failed : succeeded).get(tier)
+                                                 .record(System.nanoTime() - start,NANOSECONDS);
+      });
+    });
+  }
+
+
+  private static Timer timer(MeterRegistry registry,WriteTier tier,String outcome) {
+    return Timer.builder(WRITES)
+                .description("Person writes per durability tier")
+                .tag("tier",tier.getParam())
+                .tag("outcome",outcome)
+                .register(registry);
+  }
+}
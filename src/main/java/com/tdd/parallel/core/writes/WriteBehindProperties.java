@@ -0,0 +1,29 @@
+package com.tdd.parallel.core.writes;
+
+import com.tdd.parallel.core.batching.BatchLimits;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "person.write-behind")
+public class WriteBehindProperties implements BatchLimits {
+
+  // false: services are not decorated at all
+  private boolean enabled = false;
+
+  // saves per insertMany, at most BULK_MAX_CHUNK_SIZE (BulkDefaults)
+  private int maxBatch = 200;
+
+  // a partial batch waits at most this long
+  private Duration maxDelay = Duration.ofMillis(5);
+
+  // saves waiting for a batch; beyond it, save fails with 503 (backpressure)
+  private int maxQueued = 10_000;
+
+  // batches written at the same time (= pooled connections used)
+  private int maxInFlight = 2;
+}
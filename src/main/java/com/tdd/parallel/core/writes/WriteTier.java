@@ -0,0 +1,37 @@
+package com.tdd.parallel.core.writes;
+
+import com.mongodb.WriteConcern;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.springframework.http.HttpStatus.*;
+
+/*
+WRITE DURABILITY TIERS
+ - unacknowledged: fire-and-forget, nothing confirms the write -> 202 ACCEPTED
+ - w1: acknowledged by the primary -> 201 CREATED
+ - majority: majority of the members + journal -> 201 CREATED
+ */
+@Getter
+@AllArgsConstructor
+public enum WriteTier {
+  UNACKNOWLEDGED("unacknowledged",WriteConcern.UNACKNOWLEDGED,ACCEPTED),
+  W1("w1",WriteConcern.W1,CREATED),
+  MAJORITY("majority",WriteConcern.MAJORITY.withJournal(true),CREATED);
+
+  public static final String DEFAULT_TIER_PARAM = "w1";
+
+  private final String param;
+  private final WriteConcern writeConcern;
+  private final HttpStatus status;
+
+
+  public static WriteTier of(String param) {
+    for (WriteTier tier : values()) {
+      if (tier.param.equalsIgnoreCase(param)) return tier;
+    }
+    throw new ResponseStatusException(BAD_REQUEST,"Invalid durability: " + param);
+  }
+}
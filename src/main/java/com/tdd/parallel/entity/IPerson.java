@@ -0,0 +1,14 @@
+package com.tdd.parallel.entity;
+
+public interface IPerson {
+  String getId();
+
+  void setId(String id);
+
+  String getName();
+
+  // ETag version (core/etag): null when ETags are off
+  Long getVersion();
+
+  void setVersion(Long version);
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.tdd.parallel.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,8 +18,10 @@ import static com.tdd.parallel.core.views.Views.PersonViews.UserResponseView;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Document(collection = "personjsonview")
-public class PersonJsonview {
+@Document(collection = PersonJsonview.COLLECTION)
+public class PersonJsonview implements IPerson {
+
+  public static final String COLLECTION = "personjsonview";
 
   @Id
   @JsonView(AdminResponseView.class)
@@ -27,4 +30,14 @@ public class PersonJsonview {
   @JsonView(value = {UserResponseView.class, PostFilterRequestView.class})
   private String name;
 
+  // ETag version (person.etag.enabled): set by WriteVersionService, carried by the ETag header only;
+  // ETags off: null, never stored
+  @JsonIgnore
+  private Long version;
+
+
+  public PersonJsonview(String id,String name) {
+    this.id = id;
+    this.name = name;
+  }
 }
\ No newline at end of file
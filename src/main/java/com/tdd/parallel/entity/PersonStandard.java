@@ -1,5 +1,6 @@
 package com.tdd.parallel.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,10 +13,23 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Document(collection = "personstandard")
-public class PersonStandard {
+@Document(collection = PersonStandard.COLLECTION)
+public class PersonStandard implements IPerson {
+
+  public static final String COLLECTION = "personstandard";
 
   @Id
   private String id;
   private String name;
+
+  // ETag version (person.etag.enabled): set by WriteVersionService, carried by the ETag header only;
+  // ETags off: null, never stored
+  @JsonIgnore
+  private Long version;
+
+
+  public PersonStandard(String id,String name) {
+    this.id = id;
+    this.name = name;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.tdd.parallel.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.NoRepositoryBean;
+import reactor.core.publisher.Flux;
+
+/*
+KEYSET PAGINATION - DERIVED QUERIES
+ - shared by the ReactiveCrudRepository and ReactiveMongoRepository interfaces
+ - the Pageable only carries sort + limit (page zero): the keyset replaces "skip"
+ */
+@NoRepositoryBean
+public interface IKeysetRepository<E> {
+  Flux<E> findAllBy(Pageable pageable);
+
+  Flux<E> findByIdGreaterThan(String id,Pageable pageable);
+
+  Flux<E> findByIdLessThan(String id,Pageable pageable);
+
+  Flux<E> findByNameGreaterThanOrNameAndIdGreaterThan(
+       String name,String sameName,String id,Pageable pageable);
+
+  Flux<E> findByNameLessThanOrNameAndIdLessThan(
+       String name,String sameName,String id,Pageable pageable);
+}
@@ -1,13 +1,33 @@
 package com.tdd.parallel.repository;
 
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
+import org.bson.RawBsonDocument;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface ITemplGeneric<E> {
   Mono<E> save(E person);
 
+  // write concern of the tier (WriteTier)
+  Mono<E> save(E person,WriteTier tier);
+
+  Flux<E> saveAll(Flux<E> persons);
+
+  // chunkSize: documents per insertMany round trip
+  // ordered=false: the server keeps inserting the chunk after a failed document
+  Flux<E> saveAll(Flux<E> persons,int chunkSize,boolean ordered);
+
   Flux<E> findAll();
 
+  // stored documents, undecoded, with the passthrough fields (BsonJsonTranscoder.FIELDS)
+  Flux<RawBsonDocument> findAllRaw();
+
+  // (limit + 1) persons after the request keyset
+  Flux<E> findPage(KeysetRequest request);
+
   Mono<Void> deleteById(String id);
 
   Mono<Void> deleteAll();
@@ -15,4 +35,7 @@ public interface ITemplGeneric<E> {
   Mono<Boolean> collectionExists(String collection);
 
   Mono<E> findById(String id);
+
+  // one "$in" query; persons in store order, missing ids are skipped
+  Flux<E> findAllById(Collection<String> ids);
 }
@@ -0,0 +1,13 @@
+package com.tdd.parallel.repository;
+
+import com.tdd.parallel.core.writes.WriteTier;
+import reactor.core.publisher.Mono;
+
+/*
+WRITE TIERS - REPOSITORY FRAGMENT
+ - shared by the ReactiveCrudRepository and ReactiveMongoRepository interfaces
+ - implementation: ITieredWritesImpl (picked up by the "Impl" postfix)
+ */
+public interface ITieredWrites<E> {
+  Mono<E> save(E person,WriteTier tier);
+}
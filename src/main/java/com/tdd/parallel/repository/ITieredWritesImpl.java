@@ -0,0 +1,18 @@
+package com.tdd.parallel.repository;
+
+import com.tdd.parallel.core.writes.TieredWrites;
+import com.tdd.parallel.core.writes.WriteTier;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+public class ITieredWritesImpl<E> implements ITieredWrites<E> {
+
+  private final TieredWrites tieredWrites;
+
+
+  @Override
+  public Mono<E> save(E person,WriteTier tier) {
+    return tieredWrites.save(person,tier);
+  }
+}
@@ -1,10 +1,25 @@
 package com.tdd.parallel.repository.jsonview;
 
 import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.repository.IKeysetRepository;
+import com.tdd.parallel.repository.ITieredWrites;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.tdd.parallel.core.views.ViewProjection.USER_VIEW_FIELDS;
 
 @Repository("iCrudJsonview")
-public interface ICrudJsonview extends ReactiveCrudRepository<PersonJsonview, String> {
+public interface ICrudJsonview extends ReactiveCrudRepository<PersonJsonview, String>,
+     IKeysetRepository<PersonJsonview>,
+     ITieredWrites<PersonJsonview> {
+
+  // UserResponseView projection
+  @Query(value = "{}", fields = USER_VIEW_FIELDS)
+  Flux<PersonJsonview> findAllUserView();
 
+  @Query(value = "{ '_id' : ?0 }", fields = USER_VIEW_FIELDS)
+  Mono<PersonJsonview> findByIdUserView(String id);
 }
\ No newline at end of file
@@ -1,46 +1,137 @@
 package com.tdd.parallel.repository.jsonview;
 
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.routing.CausalSessions;
+import com.tdd.parallel.core.views.ViewProjection;
+import com.tdd.parallel.core.writes.TieredWrites;
+import com.tdd.parallel.core.writes.WriteTier;
 import com.tdd.parallel.entity.PersonJsonview;
 import com.tdd.parallel.repository.ITemplGeneric;
 import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.codecs.PersonCodec.idFilter;
+import static com.tdd.parallel.core.codecs.PersonCodec.idsFilter;
+import static com.tdd.parallel.core.codecs.PersonCodecs.JSONVIEW;
+import static com.tdd.parallel.core.pagination.KeysetQueries.query;
+import static com.tdd.parallel.core.passthrough.BsonJsonTranscoder.FIELDS;
 
 @AllArgsConstructor
 @Repository("templJsonview")
 public class TemplJsonview implements ITemplGeneric<PersonJsonview> {
 
   private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final TieredWrites tieredWrites;
 
 
   @Override
   public Mono<PersonJsonview> save(PersonJsonview person) {
-    return reactiveMongoTemplate.save(person);
+    return operations().flatMap(ops -> ops.save(person));
+  }
+
+
+  @Override
+  public Mono<PersonJsonview> save(PersonJsonview person,WriteTier tier) {
+    return tieredWrites.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> saveAll(Flux<PersonJsonview> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> saveAll(Flux<PersonJsonview> persons,int chunkSize,boolean ordered) {
+    // one insertMany round trip per chunk; concatMap keeps a single chunk in flight
+    return persons
+         .buffer(chunkSize)
+         .concatMap(chunk -> ordered
+              ? operations().flatMapMany(ops -> ops.insert(chunk,PersonJsonview.class))
+              : insertUnordered(chunk));
+  }
+
+
+  private Flux<PersonJsonview> insertUnordered(List<PersonJsonview> chunk) {
+    // ReactiveMongoTemplate.insert(Collection) is always ordered:
+    // unordered inserts go to the driver with the template converter
+    List<Document> documents = new ArrayList<>(chunk.size());
+    chunk.forEach(person -> {
+      Document document = new Document();
+      reactiveMongoTemplate.getConverter()
+                           .write(person,document);
+      documents.add(document);
+    });
+
+    return reactiveMongoTemplate
+         .getCollection(reactiveMongoTemplate.getCollectionName(PersonJsonview.class))
+         .flatMap(collection -> Mono.from(
+              collection.insertMany(documents,new InsertManyOptions().ordered(false))))
+         // the driver adds the generated "_id" to each document
+         .thenMany(Flux.fromIterable(documents))
+         .map(document -> reactiveMongoTemplate.getConverter()
+                                               .read(PersonJsonview.class,document));
   }
 
 
   @Override
   public Flux<PersonJsonview> findAll() {
-    return reactiveMongoTemplate.findAll(PersonJsonview.class);
+    return decoded(MongoCollection::find);
+  }
+
+
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return operations().flatMapMany(ops -> ops.execute(
+         PersonJsonview.class,collection -> collection.withDocumentClass(RawBsonDocument.class)
+                                                .find()
+                                                .projection(FIELDS)));
+  }
+
+
+  public Flux<PersonJsonview> findAll(Class<?> view) {
+    return decoded(collection -> collection.find()
+                                           .projection(projection(view)));
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findPage(KeysetRequest request) {
+    return operations().flatMapMany(ops -> ops.find(query(request),PersonJsonview.class));
   }
 
 
   @Override
   public Mono<Void> deleteById(String id) {
-    return findById(id)
-         .flatMap(reactiveMongoTemplate::remove)
+    return operations()
+         .flatMap(ops -> ops.findById(id,PersonJsonview.class)
+                            .flatMap(ops::remove))
          .then(Mono.empty());
   }
 
 
   @Override
   public Mono<Void> deleteAll() {
-    return reactiveMongoTemplate
-         .remove(new Query(),PersonJsonview.class)
+    return operations()
+         .flatMap(ops -> ops.remove(new Query(),PersonJsonview.class))
          .then(Mono.empty());
   }
 
@@ -54,6 +145,48 @@ public class TemplJsonview implements ITemplGeneric<PersonJsonview> {
 
   @Override
   public Mono<PersonJsonview> findById(String id) {
-    return reactiveMongoTemplate.findById(id,PersonJsonview.class);
+    return decoded(collection -> collection.find(idFilter(id))
+                                           .first())
+         .next();
+  }
+
+
+  public Mono<PersonJsonview> findById(String id,Class<?> view) {
+    return decoded(collection -> collection.find(idFilter(id))
+                                           .projection(projection(view))
+                                           .first())
+         .next();
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findAllById(Collection<String> ids) {
+    return decoded(collection -> collection.find(idsFilter(ids)));
+  }
+
+
+  public Flux<PersonJsonview> findAllById(Collection<String> ids,Class<?> view) {
+    return decoded(collection -> collection.find(idsFilter(ids))
+                                           .projection(projection(view)));
+  }
+
+
+  // null: the view serializes every field
+  private static Document projection(Class<?> view) {
+    return ViewProjection.of(PersonJsonview.class,view)
+                         .orElse(null);
+  }
+
+
+  // reads decoded by PersonCodecs.JSONVIEW: wire bytes -> entity, no Document in between
+  private Flux<PersonJsonview> decoded(Function<MongoCollection<PersonJsonview>, Publisher<PersonJsonview>> find) {
+    return operations().flatMapMany(ops -> ops.execute(
+         PersonJsonview.class,collection -> find.apply(JSONVIEW.on(collection))));
+  }
+
+
+  // bound to the request session when read routing is on (CausalSessions)
+  private Mono<ReactiveMongoOperations> operations() {
+    return CausalSessions.operations(reactiveMongoTemplate);
   }
 }
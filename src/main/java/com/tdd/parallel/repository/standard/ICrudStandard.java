@@ -1,10 +1,14 @@
 package com.tdd.parallel.repository.standard;
 
 import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.repository.IKeysetRepository;
+import com.tdd.parallel.repository.ITieredWrites;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository("iCrudStandard")
-public interface ICrudStandard extends ReactiveCrudRepository<PersonStandard, String> {
+public interface ICrudStandard extends ReactiveCrudRepository<PersonStandard, String>,
+     IKeysetRepository<PersonStandard>,
+     ITieredWrites<PersonStandard> {
 
 }
\ No newline at end of file
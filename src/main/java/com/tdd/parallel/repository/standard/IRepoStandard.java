@@ -1,10 +1,14 @@
 package com.tdd.parallel.repository.standard;
 
 import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.repository.IKeysetRepository;
+import com.tdd.parallel.repository.ITieredWrites;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository("iRepoStandard")
-public interface IRepoStandard extends ReactiveMongoRepository<PersonStandard, String> {
+public interface IRepoStandard extends ReactiveMongoRepository<PersonStandard, String>,
+     IKeysetRepository<PersonStandard>,
+     ITieredWrites<PersonStandard> {
 
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.tdd.parallel.repository.standard;
+
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.tdd.parallel.core.pagination.KeysetQueries;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.TieredWrites;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.repository.ITemplGeneric;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.codecs.PersonCodec.idFilter;
+import static com.tdd.parallel.core.codecs.PersonCodec.idsFilter;
+import static com.tdd.parallel.core.codecs.PersonCodecs.STANDARD;
+import static com.tdd.parallel.core.passthrough.BsonJsonTranscoder.FIELDS;
+
+/*
+RAW DRIVER (baseline): reactive-streams MongoCollection<PersonStandard>
+ - no Spring Data mapping, query mapping, events or exception translation:
+   PersonCodec encodes/decodes, filters are driver Filters
+ - the database factory only hands over the driver MongoDatabase
+ - no request session (CausalSessions) and no template read preference:
+   the client defaults apply
+ */
+@AllArgsConstructor
+@Repository("rawDriverStandard")
+public class RawDriverStandard implements ITemplGeneric<PersonStandard> {
+
+  private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+
+  private final ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory;
+  private final TieredWrites tieredWrites;
+
+
+  @Override
+  public Mono<PersonStandard> save(PersonStandard person) {
+    return collection().flatMap(collection -> save(collection,person));
+  }
+
+
+  @Override
+  public Mono<PersonStandard> save(PersonStandard person,WriteTier tier) {
+    return tieredWrites.timed(tier,collection().flatMap(
+         collection -> save(collection.withWriteConcern(tier.getWriteConcern()),person)));
+  }
+
+
+  // no id: insert (the codec generates it); id: replace or insert (upsert)
+  private static Mono<PersonStandard> save(MongoCollection<PersonStandard> collection,PersonStandard person) {
+    return person.getId() == null
+         ? Mono.from(collection.insertOne(person))
+               .thenReturn(person)
+         : Mono.from(collection.replaceOne(idFilter(person.getId()),person,UPSERT))
+               .thenReturn(person);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons,int chunkSize,boolean ordered) {
+    // one insertMany round trip per chunk; concatMap keeps a single chunk in flight
+    InsertManyOptions options = new InsertManyOptions().ordered(ordered);
+    return persons
+         .buffer(chunkSize)
+         .concatMap(chunk -> collection()
+              .flatMap(collection -> Mono.from(collection.insertMany(chunk,options)))
+              // the codec set the generated ids on the persons
+              .thenMany(Flux.fromIterable(chunk)));
+  }
+
+
+  @Override
+  public Flux<PersonStandard> findAll() {
+    return collection().flatMapMany(MongoCollection::find);
+  }
+
+
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return collection().flatMapMany(collection -> collection.withDocumentClass(RawBsonDocument.class)
+                                                            .find()
+                                                            .projection(FIELDS));
+  }
+
+
+  @Override
+  public Flux<PersonStandard> findPage(KeysetRequest request) {
+    return collection().flatMapMany(
+         collection -> collection.find(KeysetQueries.filter(request))
+                                 .sort(KeysetQueries.sort(request))
+                                 .limit(request.getLimit() + 1));
+  }
+
+
+  @Override
+  public Mono<Void> deleteById(String id) {
+    return collection()
+         .flatMap(collection -> Mono.from(collection.deleteOne(idFilter(id))))
+         .then();
+  }
+
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return collection()
+         .flatMap(collection -> Mono.from(collection.deleteMany(new Document())))
+         .then();
+  }
+
+
+  @Override
+  public Mono<Boolean> collectionExists(String collection) {
+    return reactiveMongoDatabaseFactory
+         .getMongoDatabase()
+         .flatMapMany(database -> database.listCollectionNames())
+         .any(collection::equals);
+  }
+
+
+  @Override
+  public Mono<PersonStandard> findById(String id) {
+    return collection().flatMap(
+         collection -> Mono.from(collection.find(idFilter(id))
+                                           .first()));
+  }
+
+
+  @Override
+  public Flux<PersonStandard> findAllById(Collection<String> ids) {
+    return collection().flatMapMany(collection -> collection.find(idsFilter(ids)));
+  }
+
+
+  private Mono<MongoCollection<PersonStandard>> collection() {
+    return reactiveMongoDatabaseFactory
+         .getMongoDatabase()
+         .map(database -> STANDARD.on(database.getCollection(PersonStandard.COLLECTION)));
+  }
+}
@@ -1,46 +1,130 @@
 package com.tdd.parallel.repository.standard;
 
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.routing.CausalSessions;
+import com.tdd.parallel.core.writes.TieredWrites;
+import com.tdd.parallel.core.writes.WriteTier;
 import com.tdd.parallel.entity.PersonStandard;
 import com.tdd.parallel.repository.ITemplGeneric;
 import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.codecs.PersonCodec.idFilter;
+import static com.tdd.parallel.core.codecs.PersonCodec.idsFilter;
+import static com.tdd.parallel.core.codecs.PersonCodecs.STANDARD;
+import static com.tdd.parallel.core.pagination.KeysetQueries.query;
+import static com.tdd.parallel.core.passthrough.BsonJsonTranscoder.FIELDS;
 
 @AllArgsConstructor
 @Repository("templStandard")
 public class TemplStandard implements ITemplGeneric<PersonStandard> {
 
   private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final TieredWrites tieredWrites;
 
 
   @Override
   public Mono<PersonStandard> save(PersonStandard person) {
-    return reactiveMongoTemplate.save(person);
+    return operations().flatMap(ops -> ops.save(person));
+  }
+
+
+  @Override
+  public Mono<PersonStandard> save(PersonStandard person,WriteTier tier) {
+    return tieredWrites.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons,int chunkSize,boolean ordered) {
+    // one insertMany round trip per chunk; concatMap keeps a single chunk in flight
+    return persons
+         .buffer(chunkSize)
+         .concatMap(chunk -> ordered
+              ? operations().flatMapMany(ops -> ops.insert(chunk,PersonStandard.class))
+              : insertUnordered(chunk));
+  }
+
+
+  private Flux<PersonStandard> insertUnordered(List<PersonStandard> chunk) {
+    // ReactiveMongoTemplate.insert(Collection) is always ordered:
+    // unordered inserts go to the driver with the template converter
+    List<Document> documents = new ArrayList<>(chunk.size());
+    chunk.forEach(person -> {
+      Document document = new Document();
+      reactiveMongoTemplate.getConverter()
+                           .write(person,document);
+      documents.add(document);
+    });
+
+    return reactiveMongoTemplate
+         .getCollection(reactiveMongoTemplate.getCollectionName(PersonStandard.class))
+         .flatMap(collection -> Mono.from(
+              collection.insertMany(documents,new InsertManyOptions().ordered(false))))
+         // the driver adds the generated "_id" to each document
+         .thenMany(Flux.fromIterable(documents))
+         .map(document -> reactiveMongoTemplate.getConverter()
+                                               .read(PersonStandard.class,document));
   }
 
 
   @Override
   public Flux<PersonStandard> findAll() {
-    return reactiveMongoTemplate.findAll(PersonStandard.class);
+    return decoded(MongoCollection::find);
+  }
+
+
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return operations().flatMapMany(ops -> ops.execute(
+         PersonStandard.class,collection -> collection.withDocumentClass(RawBsonDocument.class)
+                                                .find()
+                                                .projection(FIELDS)));
+  }
+
+
+  @Override
+  public Flux<PersonStandard> findPage(KeysetRequest request) {
+    return operations().flatMapMany(ops -> ops.find(query(request),PersonStandard.class));
   }
 
 
   @Override
   public Mono<Void> deleteById(String id) {
-    return findById(id)
-         .flatMap(reactiveMongoTemplate::remove)
+    return operations()
+         .flatMap(ops -> ops.findById(id,PersonStandard.class)
+                            .flatMap(ops::remove))
          .then(Mono.empty());
   }
 
 
   @Override
   public Mono<Void> deleteAll() {
-    return reactiveMongoTemplate
-         .remove(new Query(),PersonStandard.class)
+    return operations()
+         .flatMap(ops -> ops.remove(new Query(),PersonStandard.class))
          .then(Mono.empty());
   }
 
@@ -54,6 +138,27 @@ public class TemplStandard implements ITemplGeneric<PersonStandard> {
 
   @Override
   public Mono<PersonStandard> findById(String id) {
-    return reactiveMongoTemplate.findById(id,PersonStandard.class);
+    return decoded(collection -> collection.find(idFilter(id))
+                                           .first())
+         .next();
+  }
+
+
+  @Override
+  public Flux<PersonStandard> findAllById(Collection<String> ids) {
+    return decoded(collection -> collection.find(idsFilter(ids)));
+  }
+
+
+  // reads decoded by PersonCodecs.STANDARD: wire bytes -> entity, no Document in between
+  private Flux<PersonStandard> decoded(Function<MongoCollection<PersonStandard>, Publisher<PersonStandard>> find) {
+    return operations().flatMapMany(ops -> ops.execute(
+         PersonStandard.class,collection -> find.apply(STANDARD.on(collection))));
+  }
+
+
+  // bound to the request session when read routing is on (CausalSessions)
+  private Mono<ReactiveMongoOperations> operations() {
+    return CausalSessions.operations(reactiveMongoTemplate);
   }
 }
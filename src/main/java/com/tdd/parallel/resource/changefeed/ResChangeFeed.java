@@ -0,0 +1,72 @@
+package com.tdd.parallel.resource.changefeed;
+
+import com.tdd.parallel.core.changefeed.ChangeFeedEvent;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.changefeed.ServChangeFeed;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import static com.tdd.parallel.core.routes.RoutesChangeFeed.*;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
+// replaces polling findAll: one shared change-stream cursor per collection
+// SSE: reconnect with the "Last-Event-ID" header (EventSource does it)
+// NDJSON: reconnect with "after" = id of the last received event
+// an id older than the history (person.changefeed.history) -> 410 Gone: reload, then subscribe without it
+@AllArgsConstructor
+@Slf4j
+@RestController
+@RequestMapping(CF_REQ_MAP)
+public class ResChangeFeed {
+
+  private final ServChangeFeed servChangeFeed;
+
+
+  @GetMapping(value = CF_STD, produces = TEXT_EVENT_STREAM_VALUE)
+  @ResponseStatus(OK)
+  public Flux<ServerSentEvent<ChangeFeedEvent<PersonStandard>>> standardSse(
+       @RequestHeader(value = CF_LAST_EVENT_ID, required = false) String lastEventId) {
+    return servChangeFeed.standard(lastEventId)
+                         .map(ResChangeFeed::sse);
+  }
+
+
+  @GetMapping(value = CF_STD, produces = APPLICATION_NDJSON_VALUE)
+  @ResponseStatus(OK)
+  public Flux<ChangeFeedEvent<PersonStandard>> standardNdjson(
+       @RequestParam(required = false) String after) {
+    return servChangeFeed.standard(after);
+  }
+
+
+  @GetMapping(value = CF_JV, produces = TEXT_EVENT_STREAM_VALUE)
+  @ResponseStatus(OK)
+  public Flux<ServerSentEvent<ChangeFeedEvent<PersonJsonview>>> jsonviewSse(
+       @RequestHeader(value = CF_LAST_EVENT_ID, required = false) String lastEventId) {
+    return servChangeFeed.jsonview(lastEventId)
+                         .map(ResChangeFeed::sse);
+  }
+
+
+  @GetMapping(value = CF_JV, produces = APPLICATION_NDJSON_VALUE)
+  @ResponseStatus(OK)
+  public Flux<ChangeFeedEvent<PersonJsonview>> jsonviewNdjson(
+       @RequestParam(required = false) String after) {
+    return servChangeFeed.jsonview(after);
+  }
+
+
+  private static <E> ServerSentEvent<ChangeFeedEvent<E>> sse(ChangeFeedEvent<E> event) {
+    return ServerSentEvent.<ChangeFeedEvent<E>>builder()
+                          .id(event.getId())
+                          .event(event.getOperation())
+                          .data(event)
+                          .build();
+  }
+}
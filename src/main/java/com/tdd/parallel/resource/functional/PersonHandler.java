@@ -0,0 +1,269 @@
+package com.tdd.parallel.resource.functional;
+
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.codecs.PersonCodec;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.multiget.MultiGet;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.passthrough.PassthroughWriter;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.service.IService;
+import lombok.AllArgsConstructor;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE_PARAM;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED_PARAM;
+import static com.tdd.parallel.core.multiget.MultiGet.IDS_PARAM;
+import static com.tdd.parallel.core.pagination.KeysetRequest.*;
+import static com.tdd.parallel.core.writes.WriteTier.DEFAULT_TIER_PARAM;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
+import static org.springframework.http.codec.json.Jackson2CodecSupport.JSON_VIEW_HINT;
+
+/*
+FUNCTIONAL HANDLERS OF ONE IService (profile "functional", FunctionalRoutesConfig)
+ - same responses as the annotated Res* controllers: same service, writers
+   (StreamWriter, PassthroughWriter), Etags, views and status codes
+ - @JsonView -> JSON_VIEW_HINT on the request/response body
+ - @RequestParam -> query params converted as Spring MVC does (defaults, blank = default, 400 if invalid)
+ - no per-request argument resolvers/return-value handlers: a plain function per route
+ */
+@AllArgsConstructor
+public class PersonHandler<E extends IPerson> {
+
+  private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+  private static final MediaType ALL_APPLICATION = new MediaType("application");
+
+  private final Class<E> entity;
+  private final PersonCodec<E> codec;
+  private final IService<E> service;
+  private final StreamWriter streamWriter;
+  private final PassthroughWriter passthroughWriter;
+  private final Etags etags;
+
+
+  // requestView: @JsonView of the body (null: every field)
+  public HandlerFunction<ServerResponse> save(Class<?> requestView,Class<?> responseView) {
+    return request -> body(request,requestView)
+         .flatMap(person -> etags.save(request.exchange(),entity,responseView,person,service::save))
+         .flatMap(saved -> response(saved,responseView));
+  }
+
+
+  public HandlerFunction<ServerResponse> saveTiered() {
+    return request -> Mono.defer(() -> {
+      WriteTier tier = WriteTier.of(param(request,"durability",DEFAULT_TIER_PARAM,String.class));
+      return body(request,null)
+           .flatMap(person -> service.save(person,tier))
+           .flatMap(saved -> value(ServerResponse.status(tier.getStatus()),saved));
+    });
+  }
+
+
+  public HandlerFunction<ServerResponse> saveAll() {
+    return request -> Mono.defer(() -> {
+      int chunkSize = param(request,"chunkSize",BULK_CHUNK_SIZE_PARAM,Integer.class);
+      boolean ordered = param(request,"ordered",BULK_ORDERED_PARAM,Boolean.class);
+      return values(ServerResponse.status(CREATED),
+                    service.saveAll(request.bodyToFlux(entity),chunkSize,ordered)
+                           .onErrorMap(BulkRequestException.class,
+                                       error -> new ResponseStatusException(BAD_REQUEST,error.getMessage(),error)));
+    });
+  }
+
+
+  public HandlerFunction<ServerResponse> findAll(Class<?> view) {
+    return request -> etags.findAll(request.exchange(),entity,view,
+                                    view == null ? service.findAll() : service.findAll(view))
+                           .flatMap(all -> response(all,view));
+  }
+
+
+  // stored documents transcoded straight to JSON when person.passthrough.enabled (PassthroughWriter)
+  // otherwise (or an Accept PassthroughWriter does not write): findAll(view)
+  public HandlerFunction<ServerResponse> findAllRaw(Class<?> view) {
+    HandlerFunction<ServerResponse> entities = findAll(view);
+    return request -> passthroughWriter.handles(request.exchange())
+         ? written(request,exchange -> etags.writeAll(
+         exchange,entity,view,() -> passthroughWriter.write(exchange,service,codec,view)))
+         : entities.handle(request);
+  }
+
+
+  public HandlerFunction<ServerResponse> findAllStream(Class<?> view) {
+    return request -> written(request,exchange -> streamWriter.write(
+         exchange,view == null ? service.findAll() : service.findAll(view),view));
+  }
+
+
+  public HandlerFunction<ServerResponse> findAllById(Class<?> view) {
+    return request -> Mono.defer(() -> {
+      Set<String> ids = MultiGet.ids(request.queryParams()
+                                            .getOrDefault(IDS_PARAM,List.of()));
+      return written(request,exchange -> streamWriter.write(exchange,service.findAllById(ids),view));
+    });
+  }
+
+
+  public HandlerFunction<ServerResponse> findPage(Class<?> view) {
+    return request -> Mono.defer(() -> {
+      KeysetRequest page = KeysetRequest.of(param(request,"limit",DEFAULT_LIMIT_PARAM,Integer.class),
+                                            request.queryParam("after")
+                                                   .orElse(null),
+                                            param(request,"sort",DEFAULT_SORT_PARAM,String.class),
+                                            param(request,"direction",DEFAULT_DIRECTION_PARAM,String.class));
+      return service.findPage(page)
+                    .flatMap(found -> value(hinted(ServerResponse.ok(),view),found));
+    });
+  }
+
+
+  public HandlerFunction<ServerResponse> findById(Class<?> view) {
+    return request -> {
+      String id = request.pathVariable("id");
+      return etags.findById(request.exchange(),entity,id,view,
+                            view == null ? service.findById(id) : service.findById(id,view))
+                  .flatMap(found -> response(found,view))
+                  .switchIfEmpty(ServerResponse.ok()
+                                               .build());
+    };
+  }
+
+
+  public HandlerFunction<ServerResponse> deleteById() {
+    return request -> service.deleteById(request.pathVariable("id"))
+                             .then(ServerResponse.noContent()
+                                                 .build());
+  }
+
+
+  // @RequestBody: required, decoded with the view hint
+  private Mono<E> body(ServerRequest request,Class<?> view) {
+    Mono<E> body = view == null
+         ? request.bodyToMono(entity)
+         : request.body(BodyExtractors.toMono(entity),Map.of(JSON_VIEW_HINT,view));
+    return body.switchIfEmpty(Mono.error(() -> new ServerWebInputException("No request body")));
+  }
+
+
+  // ResponseEntity of Etags -> ServerResponse (status, ETag/Vary, body with the view)
+  @SuppressWarnings("unchecked")
+  private Mono<ServerResponse> response(ResponseEntity<?> found,Class<?> view) {
+    ServerResponse.BodyBuilder response = hinted(ServerResponse.status(found.getStatusCode()),view)
+         .headers(headers -> headers.addAll(found.getHeaders()));
+    Object body = found.getBody();
+    if (body == null) return response.build();
+    if (body instanceof Flux) return values(response,(Flux<E>) body);
+    return value(response,body);
+  }
+
+
+  private static Mono<ServerResponse> value(ServerResponse.BodyBuilder response,Object body) {
+    return response.body(negotiated(BodyInserters.fromValue(body),ResolvableType.forInstance(body)));
+  }
+
+
+  private Mono<ServerResponse> values(ServerResponse.BodyBuilder response,Flux<E> body) {
+    return response.body(negotiated(BodyInserters.fromPublisher(body,entity),ResolvableType.forClass(entity)));
+  }
+
+
+  // the body inserters take the first writer of the type: negotiated first, as @ResponseBody
+  private static <T> BodyInserter<T, ReactiveHttpOutputMessage> negotiated(
+       BodyInserter<T, ReactiveHttpOutputMessage> body,ResolvableType type) {
+    return (message,context) -> {
+      message.getHeaders()
+             .setContentType(negotiate(context,type));
+      return body.insert(message,context);
+    };
+  }
+
+
+  // Accept x media types of the writers: most specific, then quality (HandlerResultHandlerSupport)
+  private static MediaType negotiate(BodyInserter.Context context,ResolvableType type) {
+    List<MediaType> accepted = context.serverRequest()
+                                      .map(request -> request.getHeaders()
+                                                             .getAccept())
+                                      .filter(accept -> !accept.isEmpty())
+                                      .orElse(List.of(MediaType.ALL));
+    List<MediaType> producible = context.messageWriters()
+                                        .stream()
+                                        .filter(writer -> writer.canWrite(type,null))
+                                        .flatMap(writer -> writer.getWritableMediaTypes(type)
+                                                                 .stream())
+                                        .distinct()
+                                        .collect(Collectors.toList());
+
+    List<MediaType> compatible = new ArrayList<>();
+    for (MediaType accept : accepted)
+      for (MediaType produce : producible)
+        if (accept.isCompatibleWith(produce)) compatible.add(mostSpecific(accept,produce));
+    MediaType.sortBySpecificityAndQuality(compatible);
+    for (MediaType mediaType : compatible) {
+      if (mediaType.isConcrete()) return mediaType.removeQualityValue();
+      if (mediaType.equals(MediaType.ALL) || mediaType.equals(ALL_APPLICATION)) return APPLICATION_OCTET_STREAM;
+    }
+    throw new NotAcceptableStatusException(producible);
+  }
+
+
+  @SuppressWarnings("deprecation")
+  private static MediaType mostSpecific(MediaType accept,MediaType produce) {
+    produce = produce.copyQualityValue(accept);
+    return MediaType.SPECIFICITY_COMPARATOR.compare(accept,produce) <= 0 ? accept : produce;
+  }
+
+
+  // the writers write the exchange response themselves (content type, status, buffers)
+  private static Mono<ServerResponse> written(ServerRequest request,Function<ServerWebExchange, Mono<Void>> write) {
+    BodyInserter<Void, ServerHttpResponse> inserter = (response,context) -> write.apply(request.exchange());
+    return ServerResponse.ok()
+                         .body(inserter);
+  }
+
+
+  private static ServerResponse.BodyBuilder hinted(ServerResponse.BodyBuilder response,Class<?> view) {
+    return view == null ? response : response.hint(JSON_VIEW_HINT,view);
+  }
+
+
+  private static <T> T param(ServerRequest request,String name,String defaultValue,Class<T> type) {
+    String value = request.queryParam(name)
+                          .filter(param -> !param.isEmpty())
+                          .orElse(defaultValue);
+    try {
+      return CONVERSION.convert(value,type);
+    } catch (ConversionException e) {
+      throw new ServerWebInputException("Invalid " + name + ": " + value);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.tdd.parallel.resource.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.core.batching.MicroBatcher;
+import com.tdd.parallel.core.batching.PartialBatchException;
+import com.tdd.parallel.core.ingest.IngestAck;
+import com.tdd.parallel.core.ingest.IngestProperties;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.IService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+
+import static org.springframework.http.HttpStatus.*;
+
+/*
+WEBSOCKET BULK INGEST (IngestConfig.INGEST_SOCKET_PATH): one long-lived connection per producer
+ - a frame (text or binary) = one PersonStandard as JSON
+ - frames of every connection are batched into an unordered insertMany (MicroBatcher + servTemplStandard.saveAll):
+   the write errors answer their own frames (a duplicate id -> 409), every other frame of the batch is stored;
+   a batch failing otherwise (ex. timeout) is replayed one by one, as single inserts
+ - one ack per frame, in frame order: {"seq","id","status"} (+ "error")
+   201 saved | 400 bad frame | 409 duplicate id | 503 Mongo is behind | 500
+   ids are set before the save: a resent frame (no ack before a disconnect) answers 409, not a duplicate
+ - flow control: at most "window" frames per connection waiting for their ack, then the socket
+   is not read; a full batch queue (maxQueued) acks 503 (last ack) and closes with 1013 (try again later)
+ */
+@Slf4j
+@Component
+public class ResIngestSocket implements WebSocketHandler {
+
+  private static final CloseStatus OVERLOADED = CloseStatus.SERVICE_OVERLOAD.withReason("Ingest queue is full");
+
+  private final ObjectMapper objectMapper;
+  private final IngestProperties properties;
+  private final MicroBatcher<PersonStandard, PersonStandard> batcher;
+
+
+  public ResIngestSocket(IService<PersonStandard> servTemplStandard,ObjectMapper objectMapper,
+                         IngestProperties properties,MeterRegistry registry) {
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.batcher = new MicroBatcher<>(
+         persons -> servTemplStandard.saveAll(Flux.fromIterable(persons),persons.size(),false)
+                                     .collectList()
+                                     .onErrorMap(error -> PartialBatchException.unorderedWrite(error,persons)),
+         // an insert, not the upsert of save: a duplicate id is still a 409
+         person -> servTemplStandard.saveAll(Flux.just(person),1,false)
+                                    .next(),
+         properties,
+         registry,
+         Tags.of("batcher","ingest","service","servTemplStandard"));
+  }
+
+
+  @Override
+  public Mono<Void> handle(WebSocketSession session) {
+    // the 503 ack of a full queue: sent last (frames before it may never be acked)
+    Sinks.One<IngestAck> overload = Sinks.one();
+    Flux<IngestAck> ordered = session
+         .receive()
+         // decoded while the frame is held: its buffer is released after this operator
+         .index(this::frame)
+         .flatMapSequential(frame -> save(frame,overload),properties.getWindow(),1)
+         .doOnComplete(overload::tryEmitEmpty);
+    Flux<WebSocketMessage> acks = Flux
+         .merge(ordered,overload.asMono())
+         // takeUntil writes the 503 ack, then cancels the inbound (Reactor Netty closes with no status):
+         // the 1013 close frame goes first
+         .doOnCancel(() -> session.close(OVERLOADED)
+                                  .subscribe())
+         .takeUntil(ack -> ack.getStatus() == SERVICE_UNAVAILABLE.value())
+         .map(ack -> session.textMessage(json(ack)));
+    return session.send(acks);
+  }
+
+
+  private Frame frame(long seq,WebSocketMessage message) {
+    try {
+      PersonStandard person = objectMapper.readValue(message.getPayload()
+                                                            .asInputStream(),PersonStandard.class);
+      if (person == null) return new Frame(seq,null,"Empty frame");
+      if (person.getId() == null) person.setId(new ObjectId().toHexString());
+      return new Frame(seq,person,null);
+    } catch (JsonProcessingException e) {
+      return new Frame(seq,null,e.getOriginalMessage());
+    } catch (IOException e) {
+      return new Frame(seq,null,e.getMessage());
+    }
+  }
+
+
+  private Mono<IngestAck> save(Frame frame,Sinks.One<IngestAck> overload) {
+    if (frame.person == null)
+      return Mono.just(new IngestAck(frame.seq,null,BAD_REQUEST.value(),frame.error));
+    String id = frame.person.getId();
+    return batcher.submit(frame.person)
+                  .map(saved -> new IngestAck(frame.seq,saved.getId(),CREATED.value(),null))
+                  .onErrorResume(error -> {
+                    IngestAck ack = new IngestAck(frame.seq,id,status(error),error.getMessage());
+                    if (ack.getStatus() != SERVICE_UNAVAILABLE.value()) return Mono.just(ack);
+                    overload.tryEmitValue(ack);
+                    return Mono.empty();
+                  });
+  }
+
+
+  private static int status(Throwable error) {
+    if (error instanceof ResponseStatusException) return ((ResponseStatusException) error).getRawStatusCode();
+    if (error instanceof DuplicateKeyException || error instanceof OptimisticLockingFailureException)
+      return CONFLICT.value();
+    log.warn("ingest save failed: {}",error.toString());
+    return INTERNAL_SERVER_ERROR.value();
+  }
+
+
+  private String json(IngestAck ack) {
+    try {
+      return objectMapper.writeValueAsString(ack);
+    } catch (JsonProcessingException e) {
+      throw Exceptions.propagate(e);
+    }
+  }
+
+
+  @AllArgsConstructor
+  private static class Frame {
+    private final long seq;
+    private final PersonStandard person;
+    private final String error;
+  }
+}
@@ -1,34 +1,54 @@
 package com.tdd.parallel.resource.jsonview;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.multiget.MultiGet;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.streaming.StreamWriter;
 import com.tdd.parallel.entity.PersonJsonview;
 import com.tdd.parallel.service.IService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.tdd.parallel.core.config.FunctionalRoutesConfig.FUNCTIONAL_PROFILE;
+import static com.tdd.parallel.core.formats.BinaryFormats.BSON_VALUE;
+import static com.tdd.parallel.core.formats.BinaryFormats.SMILE_VALUE;
+import static com.tdd.parallel.core.multiget.MultiGet.IDS_PARAM;
+import static com.tdd.parallel.core.pagination.KeysetRequest.*;
 import static com.tdd.parallel.core.routes.RoutesJsonview.*;
 import static com.tdd.parallel.core.views.Views.PersonViews.*;
 import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 @AllArgsConstructor
 @Slf4j
 @RestController
+@Profile("!" + FUNCTIONAL_PROFILE)
 @RequestMapping(JV_REQ_MAP)
 public class ResRepoJsonview {
 
   private final IService<PersonJsonview> servRepoJsonview;
+  private final StreamWriter streamWriter;
+  private final Etags etags;
 
 
   @PostMapping(JV_REPO_ADMIN_POST_REQUEST)
   @JsonView(AdminResponseView.class)
-  @ResponseStatus(CREATED)
-  public Mono<PersonJsonview> saveAdminRequestView(
+  public Mono<ResponseEntity<PersonJsonview>> saveAdminRequestView(
        @RequestBody
        @JsonView(PostFilterRequestView.class)
-            PersonJsonview person) {
+            PersonJsonview person,ServerWebExchange exchange) {
     // NO ID PROVIDED:
     // - no Id provided in the ipnput Object (No ID, only Name)
     // - the response will have an ID provided/created from the DB
@@ -37,59 +57,116 @@ public class ResRepoJsonview {
     // Id provided in the Object (Full Object Body: ID + Name)
     // However, because jsonView will nullify this initial Id given
     // in the response, A new ID will be provided/created from the DB
-    return servRepoJsonview.save(person);
+    return etags.save(exchange,PersonJsonview.class,AdminResponseView.class,person,servRepoJsonview::save);
   }
 
 
   @PostMapping(JV_REPO_ADMIN)
   @JsonView(AdminResponseView.class)
-  @ResponseStatus(CREATED)
-  public Mono<PersonJsonview> saveAdmin(@RequestBody PersonJsonview person) {
-    return servRepoJsonview.save(person);
+  public Mono<ResponseEntity<PersonJsonview>> saveAdmin(@RequestBody PersonJsonview person,ServerWebExchange exchange) {
+    return etags.save(exchange,PersonJsonview.class,AdminResponseView.class,person,servRepoJsonview::save);
   }
 
 
   @PostMapping(JV_REPO_USER)
   @JsonView(UserResponseView.class)
-  @ResponseStatus(CREATED)
-  public Mono<PersonJsonview> saveUser(@RequestBody PersonJsonview person) {
-    return servRepoJsonview.save(person);
+  public Mono<ResponseEntity<PersonJsonview>> saveUser(@RequestBody PersonJsonview person,ServerWebExchange exchange) {
+    return etags.save(exchange,PersonJsonview.class,UserResponseView.class,person,servRepoJsonview::save);
   }
 
 
   @GetMapping(JV_REPO_ADMIN)
   @JsonView(AdminResponseView.class)
-  @ResponseStatus(OK)
-  public Flux<PersonJsonview> findAllAdmin() {
-    return servRepoJsonview.findAll();
+  public Mono<ResponseEntity<Flux<PersonJsonview>>> findAllAdmin(ServerWebExchange exchange) {
+    return etags.findAll(exchange,PersonJsonview.class,AdminResponseView.class,
+                         servRepoJsonview.findAll(AdminResponseView.class));
   }
 
 
   @GetMapping(JV_REPO_USER)
   @JsonView(UserResponseView.class)
+  public Mono<ResponseEntity<Flux<PersonJsonview>>> findAllUser(ServerWebExchange exchange) {
+    return etags.findAll(exchange,PersonJsonview.class,UserResponseView.class,
+                         servRepoJsonview.findAll(UserResponseView.class));
+  }
+
+
+  // Accept: application/x-ndjson (default) | text/event-stream | a binary format (BinaryFormats)
+  // each document is written as it leaves the cursor, serialized with the view
+  @GetMapping(value = JV_REPO_ADMIN + JV_STREAM,
+              produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE, APPLICATION_CBOR_VALUE, SMILE_VALUE, BSON_VALUE})
+  @ResponseStatus(OK)
+  public Mono<Void> findAllAdminStream(ServerWebExchange exchange) {
+    return streamWriter.write(exchange,servRepoJsonview.findAll(AdminResponseView.class),AdminResponseView.class);
+  }
+
+
+  @GetMapping(value = JV_REPO_USER + JV_STREAM,
+              produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE, APPLICATION_CBOR_VALUE, SMILE_VALUE, BSON_VALUE})
+  @ResponseStatus(OK)
+  public Mono<Void> findAllUserStream(ServerWebExchange exchange) {
+    return streamWriter.write(exchange,servRepoJsonview.findAll(UserResponseView.class),UserResponseView.class);
+  }
+
+
+  // multi-get: ?id=a&id=b (at most MultiGet.MAX_IDS), serialized with the view
+  @GetMapping(value = JV_REPO_ADMIN + JV_IDS,
+              produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE, APPLICATION_CBOR_VALUE, SMILE_VALUE, BSON_VALUE})
   @ResponseStatus(OK)
-  public Flux<PersonJsonview> findAllUser() {
-    return servRepoJsonview.findAll();
+  public Mono<Void> findAllByIdAdmin(@RequestParam(IDS_PARAM) List<String> ids,ServerWebExchange exchange) {
+    return streamWriter.write(exchange,servRepoJsonview.findAllById(MultiGet.ids(ids)),AdminResponseView.class);
   }
 
 
-  @GetMapping(JV_REPO_ADMIN + JV_ID)
+  @GetMapping(value = JV_REPO_USER + JV_IDS,
+              produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE, APPLICATION_CBOR_VALUE, SMILE_VALUE, BSON_VALUE})
+  @ResponseStatus(OK)
+  public Mono<Void> findAllByIdUser(@RequestParam(IDS_PARAM) List<String> ids,ServerWebExchange exchange) {
+    return streamWriter.write(exchange,servRepoJsonview.findAllById(MultiGet.ids(ids)),UserResponseView.class);
+  }
+
+
+  @GetMapping(JV_REPO_ADMIN + JV_PAGE)
   @JsonView(AdminResponseView.class)
   @ResponseStatus(OK)
-  public Mono<PersonJsonview> findByIdAdmin(@PathVariable String id) {
-    return servRepoJsonview.findById(id);
+  public Mono<KeysetPage<PersonJsonview>> findPageAdmin(
+       @RequestParam(defaultValue = DEFAULT_LIMIT_PARAM) int limit,
+       @RequestParam(required = false) String after,
+       @RequestParam(defaultValue = DEFAULT_SORT_PARAM) String sort,
+       @RequestParam(defaultValue = DEFAULT_DIRECTION_PARAM) String direction) {
+    return servRepoJsonview.findPage(KeysetRequest.of(limit,after,sort,direction));
   }
 
 
-  @GetMapping(JV_REPO_USER + JV_ID)
+  @GetMapping(JV_REPO_USER + JV_PAGE)
   @JsonView(UserResponseView.class)
   @ResponseStatus(OK)
-  public Mono<PersonJsonview> findByIdUser(@PathVariable String id) {
-    return servRepoJsonview.findById(id);
+  public Mono<KeysetPage<PersonJsonview>> findPageUser(
+       @RequestParam(defaultValue = DEFAULT_LIMIT_PARAM) int limit,
+       @RequestParam(required = false) String after,
+       @RequestParam(defaultValue = DEFAULT_SORT_PARAM) String sort,
+       @RequestParam(defaultValue = DEFAULT_DIRECTION_PARAM) String direction) {
+    return servRepoJsonview.findPage(KeysetRequest.of(limit,after,sort,direction));
+  }
+
+
+  @GetMapping(JV_REPO_ADMIN + JV_ID_MAPPING)
+  @JsonView(AdminResponseView.class)
+  public Mono<ResponseEntity<PersonJsonview>> findByIdAdmin(@PathVariable String id,ServerWebExchange exchange) {
+    return etags.findById(exchange,PersonJsonview.class,id,AdminResponseView.class,
+                          servRepoJsonview.findById(id,AdminResponseView.class));
+  }
+
+
+  @GetMapping(JV_REPO_USER + JV_ID_MAPPING)
+  @JsonView(UserResponseView.class)
+  public Mono<ResponseEntity<PersonJsonview>> findByIdUser(@PathVariable String id,ServerWebExchange exchange) {
+    return etags.findById(exchange,PersonJsonview.class,id,UserResponseView.class,
+                          servRepoJsonview.findById(id,UserResponseView.class));
   }
 
 
-  @DeleteMapping(JV_REPO_DEL + JV_ID)
+  @DeleteMapping(JV_REPO_DEL + JV_ID_MAPPING)
   @ResponseStatus(NO_CONTENT)
   public Mono<Void> deleteById(@PathVariable String id) {
     return servRepoJsonview.deleteById(id);
@@ -0,0 +1,189 @@
+package com.tdd.parallel.resource.rsocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.core.formats.BinaryFormats.ValueWriter;
+import com.tdd.parallel.core.streaming.StreamingProperties;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.IService;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.stereotype.Controller;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE_PARAM;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED_PARAM;
+import static com.tdd.parallel.core.routes.RoutesRsocket.*;
+import static com.tdd.parallel.core.views.Views.PersonViews.AdminResponseView;
+import static com.tdd.parallel.core.views.Views.PersonViews.UserResponseView;
+import static org.springframework.util.StringUtils.capitalize;
+
+/*
+RSOCKET ENDPOINT (service-to-service): one connection, many interleaved calls
+ - person.rsocket.enabled=true
+ - TCP (person.rsocket.tcp-port) + WebSocket (spring.rsocket.server.mapping-path): RsocketConfig
+ - request-response: findById, save, deleteById
+ - request-stream: findAll; the requester's demand reaches the Mongo cursor
+   ("prefetch" documents at a time, as StreamWriter): a slow requester throttles the cursor
+ - request-channel: saveAll; persons saved in chunks while they arrive (IService.saveAll)
+ - requests: JSON or CBOR (RSocketStrategies)
+   responses: the data mime type of the connection, JSON or a binary format (BinaryFormats)
+   jsonview responses are serialized with the view of the route
+ */
+@Controller
+@ConditionalOnProperty(prefix = "person.rsocket", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class ResRsocket {
+
+  private static final int CHUNK_SIZE = Integer.parseInt(BULK_CHUNK_SIZE_PARAM);
+  private static final boolean ORDERED = Boolean.parseBoolean(BULK_ORDERED_PARAM);
+  private static final Map<String, Class<?>> VIEWS = Map.of("admin",AdminResponseView.class,
+                                                            "user",UserResponseView.class);
+
+  // bean name -> service
+  private final Map<String, IService<PersonStandard>> standardServices;
+  private final Map<String, IService<PersonJsonview>> jsonviewServices;
+  private final BinaryFormats binaryFormats;
+  private final StreamingProperties streamingProperties;
+
+
+  // PersonStandard: every field
+  @MessageMapping(RS_STD + RS_FIND_BY_ID)
+  public Mono<byte[]> findById(@DestinationVariable String style,@Payload String id,RSocketRequester requester) {
+    ValueWriter writer = writer(requester,null);
+    return standard(style).findById(id)
+                          .map(person -> write(writer,person));
+  }
+
+
+  @MessageMapping(RS_STD + RS_SAVE)
+  public Mono<byte[]> save(@DestinationVariable String style,@Payload PersonStandard person,
+                           RSocketRequester requester) {
+    ValueWriter writer = writer(requester,null);
+    return standard(style).save(person)
+                          .map(saved -> write(writer,saved));
+  }
+
+
+  @MessageMapping(RS_STD + RS_DELETE)
+  public Mono<Void> deleteById(@DestinationVariable String style,@Payload String id) {
+    return standard(style).deleteById(id);
+  }
+
+
+  @MessageMapping(RS_STD + RS_FIND_ALL)
+  public Flux<byte[]> findAll(@DestinationVariable String style,RSocketRequester requester) {
+    ValueWriter writer = writer(requester,null);
+    return standard(style).findAll()
+                          .limitRate(streamingProperties.getPrefetch())
+                          .map(person -> write(writer,person));
+  }
+
+
+  @MessageMapping(RS_STD + RS_SAVE_ALL)
+  public Flux<byte[]> saveAll(@DestinationVariable String style,@Payload Flux<PersonStandard> persons,
+                              RSocketRequester requester) {
+    ValueWriter writer = writer(requester,null);
+    return standard(style).saveAll(persons,CHUNK_SIZE,ORDERED)
+                          .map(saved -> write(writer,saved));
+  }
+
+
+  // PersonJsonview: the view of the route
+  @MessageMapping(RS_JV_VIEW + RS_FIND_BY_ID)
+  public Mono<byte[]> findById(@DestinationVariable String style,@DestinationVariable String view,
+                               @Payload String id,RSocketRequester requester) {
+    Class<?> jsonView = view(view);
+    ValueWriter writer = writer(requester,jsonView);
+    return jsonview(style).findById(id,jsonView)
+                          .map(person -> write(writer,person));
+  }
+
+
+  @MessageMapping(RS_JV_VIEW + RS_SAVE)
+  public Mono<byte[]> save(@DestinationVariable String style,@DestinationVariable String view,
+                           @Payload PersonJsonview person,RSocketRequester requester) {
+    ValueWriter writer = writer(requester,view(view));
+    return jsonview(style).save(person)
+                          .map(saved -> write(writer,saved));
+  }
+
+
+  @MessageMapping(RS_JV + RS_DELETE)
+  public Mono<Void> deleteByIdJsonview(@DestinationVariable String style,@Payload String id) {
+    return jsonview(style).deleteById(id);
+  }
+
+
+  @MessageMapping(RS_JV_VIEW + RS_FIND_ALL)
+  public Flux<byte[]> findAll(@DestinationVariable String style,@DestinationVariable String view,
+                              RSocketRequester requester) {
+    Class<?> jsonView = view(view);
+    ValueWriter writer = writer(requester,jsonView);
+    return jsonview(style).findAll(jsonView)
+                          .limitRate(streamingProperties.getPrefetch())
+                          .map(person -> write(writer,person));
+  }
+
+
+  @MessageMapping(RS_JV_VIEW + RS_SAVE_ALL)
+  public Flux<byte[]> saveAll(@DestinationVariable String style,@DestinationVariable String view,
+                              @Payload Flux<PersonJsonview> persons,RSocketRequester requester) {
+    ValueWriter writer = writer(requester,view(view));
+    return jsonview(style).saveAll(persons,CHUNK_SIZE,ORDERED)
+                          .map(saved -> write(writer,saved));
+  }
+
+
+  private IService<PersonStandard> standard(String style) {
+    return service(standardServices,"serv" + capitalize(style) + "Standard",style);
+  }
+
+
+  private IService<PersonJsonview> jsonview(String style) {
+    return service(jsonviewServices,"serv" + capitalize(style) + "Jsonview",style);
+  }
+
+
+  private static <E> IService<E> service(Map<String, IService<E>> services,String name,String style) {
+    IService<E> service = services.get(name);
+    if (service == null) throw new IllegalArgumentException("Unknown style: " + style);
+    return service;
+  }
+
+
+  private static Class<?> view(String view) {
+    Class<?> jsonView = VIEWS.get(view);
+    if (jsonView == null) throw new IllegalArgumentException("Unknown view: " + view + " " + VIEWS.keySet());
+    return jsonView;
+  }
+
+
+  // the data mime type of the connection: a binary format, else JSON
+  private ValueWriter writer(RSocketRequester requester,Class<?> view) {
+    MediaType format = requester.dataMimeType() == null ? null : binaryFormats.format(requester.dataMimeType());
+    if (format != null) return binaryFormats.writer(format,view);
+    ObjectMapper json = binaryFormats.getObjectMapper();
+    return (view == null ? json.writer() : json.writerWithView(view))::writeValueAsBytes;
+  }
+
+
+  private static byte[] write(ValueWriter writer,Object person) {
+    try {
+      return writer.write(person);
+    } catch (IOException e) {
+      throw Exceptions.propagate(e);
+    }
+  }
+}
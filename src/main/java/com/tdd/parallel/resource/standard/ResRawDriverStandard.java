@@ -0,0 +1,141 @@
+package com.tdd.parallel.resource.standard;
+
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.multiget.MultiGet;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.passthrough.PassthroughWriter;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.IService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE_PARAM;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED_PARAM;
+import static com.tdd.parallel.core.config.FunctionalRoutesConfig.FUNCTIONAL_PROFILE;
+import static com.tdd.parallel.core.formats.BinaryFormats.BSON_VALUE;
+import static com.tdd.parallel.core.formats.BinaryFormats.SMILE_VALUE;
+import static com.tdd.parallel.core.multiget.MultiGet.IDS_PARAM;
+import static com.tdd.parallel.core.pagination.KeysetRequest.*;
+import static com.tdd.parallel.core.routes.RoutesStandard.*;
+import static com.tdd.parallel.core.writes.WriteTier.DEFAULT_TIER_PARAM;
+import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
+@AllArgsConstructor
+@Slf4j
+@RestController
+@Profile("!" + FUNCTIONAL_PROFILE)
+@RequestMapping(STD_REQ_MAP)
+public class ResRawDriverStandard {
+
+  private final IService<PersonStandard> servRawDriverStandard;
+  private final StreamWriter streamWriter;
+  private final PassthroughWriter passthroughWriter;
+  private final Etags etags;
+
+
+  @PostMapping(STD_RAW)
+  public Mono<ResponseEntity<PersonStandard>> save(@RequestBody PersonStandard person,ServerWebExchange exchange) {
+    return etags.save(exchange,PersonStandard.class,null,person,servRawDriverStandard::save);
+  }
+
+
+  // durability: unacknowledged (202 ACCEPTED) | w1 (201) | majority + journal (201)
+  @PostMapping(STD_RAW + STD_INGEST)
+  public Mono<ResponseEntity<PersonStandard>> saveTiered(
+       @RequestBody PersonStandard person,
+       @RequestParam(defaultValue = DEFAULT_TIER_PARAM) String durability) {
+    WriteTier tier = WriteTier.of(durability);
+    return servRawDriverStandard.save(person,tier)
+         .map(saved -> ResponseEntity.status(tier.getStatus())
+                                     .body(saved));
+  }
+
+
+  @PostMapping(STD_RAW + STD_BULK)
+  @ResponseStatus(CREATED)
+  public Flux<PersonStandard> saveAll(
+       @RequestBody Flux<PersonStandard> persons,
+       @RequestParam(defaultValue = BULK_CHUNK_SIZE_PARAM) int chunkSize,
+       @RequestParam(defaultValue = BULK_ORDERED_PARAM) boolean ordered) {
+    // the json-array body is decoded element by element,
+    // so chunks are inserted while the request is still arriving
+    // chunkSize out of 1..BULK_MAX_CHUNK_SIZE -> 400
+    return servRawDriverStandard.saveAll(persons,chunkSize,ordered)
+         .onErrorMap(BulkRequestException.class,
+                     error -> new ResponseStatusException(BAD_REQUEST,error.getMessage(),error));
+  }
+
+
+  // stored documents transcoded straight to JSON when person.passthrough.enabled (no entities, no Jackson)
+  // otherwise (or an Accept PassthroughWriter does not write): the entities, as in the other styles
+  @GetMapping(STD_RAW)
+  public Mono<ResponseEntity<Flux<PersonStandard>>> findAll(ServerWebExchange exchange) {
+    if (!passthroughWriter.handles(exchange))
+      return etags.findAll(exchange,PersonStandard.class,null,servRawDriverStandard.findAll());
+    return etags.writeAll(exchange,PersonStandard.class,null,
+                          () -> passthroughWriter.write(exchange,servRawDriverStandard,PersonCodecs.STANDARD,null))
+                .then(Mono.empty());
+  }
+
+
+  // Accept: application/x-ndjson (default) | text/event-stream | a binary format (BinaryFormats)
+  // each document is written as it leaves the cursor (no json-array held in flight)
+  @GetMapping(value = STD_RAW + STD_STREAM,
+              produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE, APPLICATION_CBOR_VALUE, SMILE_VALUE, BSON_VALUE})
+  @ResponseStatus(OK)
+  public Mono<Void> findAllStream(ServerWebExchange exchange) {
+    return streamWriter.write(exchange,servRawDriverStandard.findAll());
+  }
+
+
+  // multi-get: ?id=a&id=b (at most MultiGet.MAX_IDS), streamed like findAllStream
+  @GetMapping(value = STD_RAW + STD_IDS,
+              produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE, APPLICATION_CBOR_VALUE, SMILE_VALUE, BSON_VALUE})
+  @ResponseStatus(OK)
+  public Mono<Void> findAllById(@RequestParam(IDS_PARAM) List<String> ids,ServerWebExchange exchange) {
+    return streamWriter.write(exchange,servRawDriverStandard.findAllById(MultiGet.ids(ids)));
+  }
+
+
+  // first page: limit + sort (id|name) + direction (asc|desc)
+  // next pages: limit + after (the "next" token of the previous page)
+  @GetMapping(STD_RAW + STD_PAGE)
+  @ResponseStatus(OK)
+  public Mono<KeysetPage<PersonStandard>> findPage(
+       @RequestParam(defaultValue = DEFAULT_LIMIT_PARAM) int limit,
+       @RequestParam(required = false) String after,
+       @RequestParam(defaultValue = DEFAULT_SORT_PARAM) String sort,
+       @RequestParam(defaultValue = DEFAULT_DIRECTION_PARAM) String direction) {
+    return servRawDriverStandard.findPage(KeysetRequest.of(limit,after,sort,direction));
+  }
+
+
+  @GetMapping(STD_RAW + STD_ID_MAPPING)
+  public Mono<ResponseEntity<PersonStandard>> findById(@PathVariable String id,ServerWebExchange exchange) {
+    return etags.findById(exchange,PersonStandard.class,id,null,servRawDriverStandard.findById(id));
+  }
+
+
+  @DeleteMapping(STD_RAW + STD_ID_MAPPING)
+  @ResponseStatus(NO_CONTENT)
+  public Mono<Void> deleteById(@PathVariable String id) {
+    return servRawDriverStandard.deleteById(id);
+  }
+}
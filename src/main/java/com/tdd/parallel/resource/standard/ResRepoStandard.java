@@ -1,47 +1,111 @@
 package com.tdd.parallel.resource.standard;
 
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.multiget.MultiGet;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.core.writes.WriteTier;
 import com.tdd.parallel.entity.PersonStandard;
 import com.tdd.parallel.service.IService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.tdd.parallel.core.config.FunctionalRoutesConfig.FUNCTIONAL_PROFILE;
+import static com.tdd.parallel.core.formats.BinaryFormats.BSON_VALUE;
+import static com.tdd.parallel.core.formats.BinaryFormats.SMILE_VALUE;
+import static com.tdd.parallel.core.multiget.MultiGet.IDS_PARAM;
+import static com.tdd.parallel.core.pagination.KeysetRequest.*;
 import static com.tdd.parallel.core.routes.RoutesStandard.*;
+import static com.tdd.parallel.core.writes.WriteTier.DEFAULT_TIER_PARAM;
 import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 @AllArgsConstructor
 @Slf4j
 @RestController
+@Profile("!" + FUNCTIONAL_PROFILE)
 @RequestMapping(STD_REQ_MAP)
 public class ResRepoStandard {
 
   private final IService<PersonStandard> servRepoStandard;
+  private final StreamWriter streamWriter;
+  private final Etags etags;
 
 
   @PostMapping(STD_REPO)
-  @ResponseStatus(CREATED)
-  public Mono<PersonStandard> save(@RequestBody PersonStandard person) {
-    return servRepoStandard.save(person);
+  public Mono<ResponseEntity<PersonStandard>> save(@RequestBody PersonStandard person,ServerWebExchange exchange) {
+    return etags.save(exchange,PersonStandard.class,null,person,servRepoStandard::save);
+  }
+
+
+  // durability: unacknowledged (202 ACCEPTED) | w1 (201) | majority + journal (201)
+  @PostMapping(STD_REPO + STD_INGEST)
+  public Mono<ResponseEntity<PersonStandard>> saveTiered(
+       @RequestBody PersonStandard person,
+       @RequestParam(defaultValue = DEFAULT_TIER_PARAM) String durability) {
+    WriteTier tier = WriteTier.of(durability);
+    return servRepoStandard.save(person,tier)
+         .map(saved -> ResponseEntity.status(tier.getStatus())
+                                     .body(saved));
   }
 
 
   @GetMapping(STD_REPO)
+  public Mono<ResponseEntity<Flux<PersonStandard>>> findAll(ServerWebExchange exchange) {
+    return etags.findAll(exchange,PersonStandard.class,null,servRepoStandard.findAll());
+  }
+
+
+  // Accept: application/x-ndjson (default) | text/event-stream | a binary format (BinaryFormats)
+  // each document is written as it leaves the cursor (no json-array held in flight)
+  @GetMapping(value = STD_REPO + STD_STREAM,
+              produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE, APPLICATION_CBOR_VALUE, SMILE_VALUE, BSON_VALUE})
   @ResponseStatus(OK)
-  public Flux<PersonStandard> findAll() {
-    return servRepoStandard.findAll();
+  public Mono<Void> findAllStream(ServerWebExchange exchange) {
+    return streamWriter.write(exchange,servRepoStandard.findAll());
   }
 
 
-  @GetMapping(STD_REPO + STD_ID)
+  // multi-get: ?id=a&id=b (at most MultiGet.MAX_IDS), streamed like findAllStream
+  @GetMapping(value = STD_REPO + STD_IDS,
+              produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE, APPLICATION_CBOR_VALUE, SMILE_VALUE, BSON_VALUE})
   @ResponseStatus(OK)
-  public Mono<PersonStandard> findById(@PathVariable String id) {
-    return servRepoStandard.findById(id);
+  public Mono<Void> findAllById(@RequestParam(IDS_PARAM) List<String> ids,ServerWebExchange exchange) {
+    return streamWriter.write(exchange,servRepoStandard.findAllById(MultiGet.ids(ids)));
+  }
+
+
+  // first page: limit + sort (id|name) + direction (asc|desc)
+  // next pages: limit + after (the "next" token of the previous page)
+  @GetMapping(STD_REPO + STD_PAGE)
+  @ResponseStatus(OK)
+  public Mono<KeysetPage<PersonStandard>> findPage(
+       @RequestParam(defaultValue = DEFAULT_LIMIT_PARAM) int limit,
+       @RequestParam(required = false) String after,
+       @RequestParam(defaultValue = DEFAULT_SORT_PARAM) String sort,
+       @RequestParam(defaultValue = DEFAULT_DIRECTION_PARAM) String direction) {
+    return servRepoStandard.findPage(KeysetRequest.of(limit,after,sort,direction));
+  }
+
+
+  @GetMapping(STD_REPO + STD_ID_MAPPING)
+  public Mono<ResponseEntity<PersonStandard>> findById(@PathVariable String id,ServerWebExchange exchange) {
+    return etags.findById(exchange,PersonStandard.class,id,null,servRepoStandard.findById(id));
   }
 
 
-  @DeleteMapping(STD_REPO + STD_ID)
+  @DeleteMapping(STD_REPO + STD_ID_MAPPING)
   @ResponseStatus(NO_CONTENT)
   public Mono<Void> deleteById(@PathVariable String id) {
     return servRepoStandard.deleteById(id);
@@ -1,16 +1,58 @@
 package com.tdd.parallel.service;
 
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
+import org.bson.RawBsonDocument;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface IService<E> {
   Mono<E> save(E person);
 
+  // tier: write concern + response status (WriteTier)
+  Mono<E> save(E person,WriteTier tier);
+
+  Flux<E> saveAll(Flux<E> persons);
+
+  Flux<E> saveAll(Flux<E> persons,int chunkSize,boolean ordered);
+
   Flux<E> findAll();
 
+  // stored documents as BSON, for passthrough responses (PassthroughWriter)
+  // styles reading through the driver collection return them undecoded (template, raw driver);
+  // repository styles re-encode their entities (PersonCodec)
+  Flux<RawBsonDocument> findAllRaw();
+
+  Mono<KeysetPage<E>> findPage(KeysetRequest request);
+
   Mono<Void> deleteById(String id);
 
   Mono<Void> deleteAll();
 
   Mono<E> findById(String id);
+
+  // view: the @JsonView of the response
+  // implementations may fetch only the fields the view serializes;
+  // the full document is always a valid answer
+  default Flux<E> findAll(Class<?> view) {
+    return findAll();
+  }
+
+  default Mono<E> findById(String id,Class<?> view) {
+    return findById(id);
+  }
+
+  // persons in any order, missing ids are skipped
+  // implementations should fetch all ids in ONE round trip
+  default Flux<E> findAllById(Collection<String> ids) {
+    return Flux.fromIterable(ids)
+               .flatMap(this::findById);
+  }
+
+  default Flux<E> findAllById(Collection<String> ids,Class<?> view) {
+    return findAllById(ids);
+  }
 }
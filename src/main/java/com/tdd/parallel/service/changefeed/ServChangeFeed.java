@@ -0,0 +1,36 @@
+package com.tdd.parallel.service.changefeed;
+
+import com.tdd.parallel.core.changefeed.ChangeFeedEvent;
+import com.tdd.parallel.core.changefeed.ChangeFeedHub;
+import com.tdd.parallel.core.changefeed.ChangeFeedProperties;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+// change streams need a replica set (tcContainer: MongoDBContainer.getReplicaSetUrl)
+@Slf4j
+@Service("servChangeFeed")
+public class ServChangeFeed {
+
+  private final ChangeFeedHub<PersonStandard> standard;
+  private final ChangeFeedHub<PersonJsonview> jsonview;
+
+
+  public ServChangeFeed(ReactiveMongoTemplate reactiveMongoTemplate,ChangeFeedProperties properties) {
+    this.standard = new ChangeFeedHub<>(reactiveMongoTemplate,PersonStandard.class,properties);
+    this.jsonview = new ChangeFeedHub<>(reactiveMongoTemplate,PersonJsonview.class,properties);
+  }
+
+
+  public Flux<ChangeFeedEvent<PersonStandard>> standard(String lastEventId) {
+    return standard.changes(lastEventId);
+  }
+
+
+  public Flux<ChangeFeedEvent<PersonJsonview>> jsonview(String lastEventId) {
+    return jsonview.changes(lastEventId);
+  }
+}
@@ -0,0 +1,84 @@
+package com.tdd.parallel.service.decorator;
+
+import com.tdd.parallel.core.batching.BatchingProperties;
+import com.tdd.parallel.core.batching.MicroBatcher;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.service.IService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+DATALOADER-STYLE BATCHING -> IService.findById
+ - findById calls arriving within the tick (maxDelay or maxBatch ids)
+   run as ONE findAllById ("$in" query for Templ services)
+ - each caller gets the person of ITS id; missing id -> empty
+ - findById(id,view): one batcher per view, each batch runs findAllById(ids,view)
+   (the projection of that view)
+ */
+public class BatchingService<E extends IPerson> extends ServiceDecorator<E> {
+
+  private final String name;
+  private final BatchingProperties properties;
+  private final MeterRegistry registry;
+  private final MicroBatcher<String, E> batcher;
+  private final Map<Class<?>, MicroBatcher<String, E>> viewBatchers = new ConcurrentHashMap<>();
+
+
+  public BatchingService(String name,IService<E> delegate,BatchingProperties properties,MeterRegistry registry) {
+    super(delegate);
+    this.name = name;
+    this.properties = properties;
+    this.registry = registry;
+    this.batcher = new MicroBatcher<>(
+         ids -> load(ids,null),
+         delegate::findById,
+         properties,
+         registry,
+         Tags.of("batcher","findById","service",name));
+  }
+
+
+  @Override
+  public Mono<E> findById(String id) {
+    return batcher.submit(id);
+  }
+
+
+  @Override
+  public Mono<E> findById(String id,Class<?> view) {
+    if (view == null) return findById(id);
+    return viewBatchers.computeIfAbsent(view,this::viewBatcher)
+                       .submit(id);
+  }
+
+
+  private MicroBatcher<String, E> viewBatcher(Class<?> view) {
+    return new MicroBatcher<>(
+         ids -> load(ids,view),
+         id -> delegate.findById(id,view),
+         properties,
+         registry,
+         Tags.of("batcher","findById","service",name,"view",view.getSimpleName()));
+  }
+
+
+  // answers by position: one entry per id, null when not found
+  private Mono<List<E>> load(List<String> ids,Class<?> view) {
+    return (view == null
+         ? delegate.findAllById(new HashSet<>(ids))
+         : delegate.findAllById(new HashSet<>(ids),view))
+         .collectMap(IPerson::getId)
+         .map(found -> {
+           List<E> results = new ArrayList<>(ids.size());
+           ids.forEach(id -> results.add(found.get(id)));
+           return results;
+         });
+  }
+}
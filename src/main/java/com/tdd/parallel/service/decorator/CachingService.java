@@ -0,0 +1,128 @@
+package com.tdd.parallel.service.decorator;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tdd.parallel.core.cache.ServiceCacheProperties;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.service.IService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.tdd.parallel.core.writes.WriteTier.UNACKNOWLEDGED;
+
+/*
+READ-THROUGH CACHE -> IService.findById
+ - Caffeine: size bound with W-TinyLFU admission (frequency sketch),
+   so one-off ids do not evict the hot ones
+ - async cache: concurrent misses for the same id share ONE Mongo read,
+   callers never block (passes BlockHound)
+ - empty results are not cached (Caffeine drops null futures)
+ - writes: save/saveAll put the stored entity,
+   deleteById/deleteAll invalidate when the delete terminates
+ - metrics: Caffeine stats bound to the registry per service (cache = bean name):
+   cache.gets (hit/miss), cache.puts, cache.evictions, cache.size
+ */
+@Slf4j
+public class CachingService<E extends IPerson> extends ServiceDecorator<E> {
+
+  @Getter
+  private final String name;
+
+  private final AsyncCache<String, E> cache;
+
+
+  public CachingService(String name,IService<E> delegate,ServiceCacheProperties properties,
+                        MeterRegistry registry) {
+    super(delegate);
+    this.name = name;
+    this.cache = CaffeineCacheMetrics.monitor(registry,
+                                              Caffeine.newBuilder()
+                                                      .maximumSize(properties.getMaximumSize())
+                                                      .expireAfterWrite(properties.getTtl())
+                                                      .recordStats()
+                                                      .<String, E>buildAsync(),
+                                              name,
+                                              Tags.empty());
+  }
+
+
+  @Override
+  public Mono<E> save(E person) {
+    return delegate.save(person)
+                   .doOnNext(this::put);
+  }
+
+
+  // unacknowledged: nothing confirms the write -> not cached
+  @Override
+  public Mono<E> save(E person,WriteTier tier) {
+    return delegate.save(person,tier)
+                   .doOnNext(saved -> {
+                     if (tier == UNACKNOWLEDGED) cache.synchronous()
+                                                      .invalidate(saved.getId());
+                     else put(saved);
+                   });
+  }
+
+
+  @Override
+  public Flux<E> saveAll(Flux<E> persons) {
+    return delegate.saveAll(persons)
+                   .doOnNext(this::put);
+  }
+
+
+  @Override
+  public Flux<E> saveAll(Flux<E> persons,int chunkSize,boolean ordered) {
+    return delegate.saveAll(persons,chunkSize,ordered)
+                   .doOnNext(this::put);
+  }
+
+
+  @Override
+  public Mono<Void> deleteById(String id) {
+    // invalidate AFTER the delete: a read racing with it may have cached the old document
+    return delegate.deleteById(id)
+                   .doFinally(signal -> cache.synchronous()
+                                             .invalidate(id));
+  }
+
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return delegate.deleteAll()
+                   .doFinally(signal -> cache.synchronous()
+                                             .invalidateAll());
+  }
+
+
+  @Override
+  public Mono<E> findById(String id) {
+    return Mono.fromFuture(() -> cache.get(id,(key,executor) -> delegate.findById(key)
+                                                                       .toFuture()));
+  }
+
+
+  // a cached full document is a valid answer for any view;
+  // a miss goes to the (projected) view read and is NOT cached
+  @Override
+  public Mono<E> findById(String id,Class<?> view) {
+    return Mono.defer(() -> {
+      CompletableFuture<E> cached = cache.getIfPresent(id);
+      return cached == null ? delegate.findById(id,view) : Mono.fromFuture(cached);
+    });
+  }
+
+
+  private void put(E person) {
+    if (person.getId() != null) cache.put(person.getId(),CompletableFuture.completedFuture(person));
+  }
+}
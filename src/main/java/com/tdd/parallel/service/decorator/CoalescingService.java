@@ -0,0 +1,59 @@
+package com.tdd.parallel.service.decorator;
+
+import com.tdd.parallel.core.coalescing.CoalescingProperties;
+import com.tdd.parallel.core.coalescing.SingleFlight;
+import com.tdd.parallel.service.IService;
+import org.bson.RawBsonDocument;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/*
+REQUEST COALESCING -> IService.findById + findAll + findAllRaw
+ - concurrent findById(id) -> one Mongo query per id (and per view: findById(id,view))
+ - findAll (or findAllRaw) arriving within the window -> one Mongo cursor
+ - see SingleFlight for errors/cancellation
+ */
+public class CoalescingService<E> extends ServiceDecorator<E> {
+
+  private static final String FIND_ALL = "findAll";
+  private static final String FIND_ALL_RAW = "findAllRaw";
+
+  private final SingleFlight<String, E> findById = new SingleFlight<>();
+  private final SingleFlight<String, E> findAll = new SingleFlight<>();
+  private final SingleFlight<String, RawBsonDocument> findAllRaw = new SingleFlight<>();
+  private final Duration findAllWindow;
+
+
+  public CoalescingService(IService<E> delegate,CoalescingProperties properties) {
+    super(delegate);
+    this.findAllWindow = properties.getFindAllWindow();
+  }
+
+
+  @Override
+  public Flux<E> findAll() {
+    return findAll.join(FIND_ALL,findAllWindow,delegate::findAll);
+  }
+
+
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return findAllRaw.join(FIND_ALL_RAW,findAllWindow,delegate::findAllRaw);
+  }
+
+
+  @Override
+  public Mono<E> findById(String id) {
+    return findById.join(id,() -> delegate.findById(id));
+  }
+
+
+  // keyed on the view too: each view has its own projection
+  @Override
+  public Mono<E> findById(String id,Class<?> view) {
+    if (view == null) return findById(id);
+    return findById.join(id + ":" + view.getName(),() -> delegate.findById(id,view));
+  }
+}
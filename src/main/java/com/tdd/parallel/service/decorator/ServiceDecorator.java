@@ -0,0 +1,107 @@
+package com.tdd.parallel.service.decorator;
+
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.service.IService;
+import lombok.AllArgsConstructor;
+import org.bson.RawBsonDocument;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/*
+SERVICE DECORATOR
+ - forwards every IService call to the decorated service
+ - subclasses override only the calls they change
+ */
+@AllArgsConstructor
+public abstract class ServiceDecorator<E> implements IService<E> {
+
+  protected final IService<E> delegate;
+
+
+  @Override
+  public Mono<E> save(E person) {
+    return delegate.save(person);
+  }
+
+
+  @Override
+  public Mono<E> save(E person,WriteTier tier) {
+    return delegate.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<E> saveAll(Flux<E> persons) {
+    return delegate.saveAll(persons);
+  }
+
+
+  @Override
+  public Flux<E> saveAll(Flux<E> persons,int chunkSize,boolean ordered) {
+    return delegate.saveAll(persons,chunkSize,ordered);
+  }
+
+
+  @Override
+  public Flux<E> findAll() {
+    return delegate.findAll();
+  }
+
+
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return delegate.findAllRaw();
+  }
+
+
+  @Override
+  public Flux<E> findAll(Class<?> view) {
+    return delegate.findAll(view);
+  }
+
+
+  @Override
+  public Mono<KeysetPage<E>> findPage(KeysetRequest request) {
+    return delegate.findPage(request);
+  }
+
+
+  @Override
+  public Mono<Void> deleteById(String id) {
+    return delegate.deleteById(id);
+  }
+
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return delegate.deleteAll();
+  }
+
+
+  @Override
+  public Mono<E> findById(String id) {
+    return delegate.findById(id);
+  }
+
+
+  @Override
+  public Mono<E> findById(String id,Class<?> view) {
+    return delegate.findById(id,view);
+  }
+
+
+  @Override
+  public Flux<E> findAllById(Collection<String> ids) {
+    return delegate.findAllById(ids);
+  }
+
+
+  @Override
+  public Flux<E> findAllById(Collection<String> ids,Class<?> view) {
+    return delegate.findAllById(ids,view);
+  }
+}
@@ -0,0 +1,46 @@
+package com.tdd.parallel.service.decorator;
+
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.service.IService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import java.util.function.BiFunction;
+
+/*
+WRAPS EVERY IService BEAN IN A DECORATOR
+ - the bean keeps its name: controllers still inject it by parameter name
+ - order: lower = closer to the service
+   write-version (every write) first: counts the writes reaching the store, one per write-behind batch
+   write-behind (save) < cache (findById): a cached save is the stored one
+   batching (findById) < coalescing (reads) < cache: only cache misses are coalesced,
+   and only distinct ids reach the batch
+ */
+@AllArgsConstructor
+public class ServiceDecoratorPostProcessor implements BeanPostProcessor, Ordered {
+
+  public static final int WRITE_VERSION_ORDER = 50;
+  public static final int WRITE_BEHIND_ORDER = 100;
+  public static final int BATCHING_ORDER = 120;
+  public static final int COALESCING_ORDER = 150;
+  public static final int CACHE_ORDER = 200;
+
+  private final int order;
+  private final Class<?> decorator;
+  private final BiFunction<String, IService<IPerson>, IService<IPerson>> decorate;
+
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Object postProcessAfterInitialization(Object bean,String beanName) {
+    if (!(bean instanceof IService) || decorator.isInstance(bean)) return bean;
+    return decorate.apply(beanName,(IService<IPerson>) bean);
+  }
+
+
+  @Override
+  public int getOrder() {
+    return order;
+  }
+}
@@ -0,0 +1,55 @@
+package com.tdd.parallel.service.decorator;
+
+import com.tdd.parallel.core.batching.MicroBatcher;
+import com.tdd.parallel.core.batching.PartialBatchException;
+import com.tdd.parallel.core.etag.WriteVersions;
+import com.tdd.parallel.core.writes.WriteBehindProperties;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.service.IService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+WRITE-BEHIND -> IService.save
+ - concurrent saves of NEW persons (no id) are coalesced into one ordered saveAll per batch:
+   one insertMany in every style (Templ insertAll; Crud/Repo saveAll of new entities only)
+ - a person with an id (an update, or an id chosen by the client) is an upsert:
+   it goes straight to the delegate (a batch would be one upsert per person, or a duplicate key)
+ - the caller's Mono completes when ITS batch is written, with the id the insert gave it
+ - a batch failing part way: the persons stored before the failure fail with the batch error
+   (insertMany does not return their generated ids; a replay would store them twice),
+   the failed one and the ones after it are saved again one by one
+ - a save is not ordered with a delete issued before it completes
+ - a conditional save (If-Match, core/etag) replaces one stored version:
+   it goes straight to the delegate
+ */
+public class WriteBehindService<E extends IPerson> extends ServiceDecorator<E> {
+
+  private final MicroBatcher<E, E> batcher;
+
+
+  public WriteBehindService(String name,IService<E> delegate,WriteBehindProperties properties,
+                            MeterRegistry registry) {
+    super(delegate);
+    this.batcher = new MicroBatcher<>(
+         persons -> delegate.saveAll(Flux.fromIterable(persons),persons.size(),true)
+                            .collectList()
+                            .onErrorMap(error -> PartialBatchException.orderedInsert(error,persons)),
+         delegate::save,
+         properties,
+         registry,
+         Tags.of("batcher","save","service",name));
+  }
+
+
+  @Override
+  public Mono<E> save(E person) {
+    return Mono.deferContextual(context -> {
+      if (person.getId() != null || WriteVersions.ifMatch(context)
+                                                 .isPresent()) return delegate.save(person);
+      return batcher.submit(person);
+    });
+  }
+}
@@ -0,0 +1,112 @@
+package com.tdd.parallel.service.decorator;
+
+import com.tdd.parallel.core.etag.WriteVersions;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.service.IService;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/*
+WRITE COUNTER -> IService writes (collection-level ETags, core/etag)
+ - every save/saveAll/delete bumps the counter of the collection
+   once it terminates: completed, failed (maybe partly written) or cancelled
+ - the caller's signal waits for the bump: its next findAll already sees the new tag
+ - unacknowledged saves are bumped when sent, without waiting (fire-and-forget stays so):
+   a findAll in between may tag the old documents with the new count (a client then re-reads once more)
+ - saves stamp the person version from the counter (WriteVersions.next) and store it with the document:
+   saveAll stamps the whole call with one version and bumps once (write-behind: once per batch)
+ - If-Match in the Reactor context: the save is a replace of that stored version instead (WriteVersions.replace)
+ */
+@Slf4j
+public class WriteVersionService<E extends IPerson> extends ServiceDecorator<E> {
+
+  private final WriteVersions writeVersions;
+  private final Class<?> entity;
+
+
+  public WriteVersionService(IService<E> delegate,WriteVersions writeVersions,Class<?> entity) {
+    super(delegate);
+    this.writeVersions = writeVersions;
+    this.entity = entity;
+  }
+
+
+  @Override
+  public Mono<E> save(E person) {
+    return counted(stamped(person,delegate::save));
+  }
+
+
+  @Override
+  public Mono<E> save(E person,WriteTier tier) {
+    Mono<E> save = stamped(person,stamped -> delegate.save(stamped,tier));
+    if (tier != WriteTier.UNACKNOWLEDGED) return counted(save);
+    return save.doFinally(signal -> writeVersions.increment(entity)
+                                                 .subscribe(null,error -> log.warn("{} write counter not bumped: {}",
+                                                                                   entity.getSimpleName(),
+                                                                                   error.toString())));
+  }
+
+
+  @Override
+  public Flux<E> saveAll(Flux<E> persons) {
+    return counted(stamped(persons,delegate::saveAll));
+  }
+
+
+  @Override
+  public Flux<E> saveAll(Flux<E> persons,int chunkSize,boolean ordered) {
+    return counted(stamped(persons,stamped -> delegate.saveAll(stamped,chunkSize,ordered)));
+  }
+
+
+  @Override
+  public Mono<Void> deleteById(String id) {
+    return counted(delegate.deleteById(id));
+  }
+
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return counted(delegate.deleteAll());
+  }
+
+
+  private Mono<E> stamped(E person,Function<E, Mono<E>> save) {
+    return Mono.deferContextual(context -> writeVersions.next(entity)
+                                                        .flatMap(version -> {
+                                                          person.setVersion(version);
+                                                          return WriteVersions.ifMatch(context)
+                                                                              .map(expected -> writeVersions.replace(person,expected))
+                                                                              .orElseGet(() -> save.apply(person));
+                                                        }));
+  }
+
+
+  private Flux<E> stamped(Flux<E> persons,Function<Flux<E>, Flux<E>> saveAll) {
+    return writeVersions.next(entity)
+                        .flatMapMany(version -> saveAll.apply(persons.doOnNext(person -> person.setVersion(version))));
+  }
+
+
+  private <T> Mono<T> counted(Mono<T> write) {
+    return Mono.usingWhen(Mono.just(entity),
+                          entity -> write,
+                          writeVersions::increment,
+                          (entity,error) -> writeVersions.increment(entity),
+                          writeVersions::increment);
+  }
+
+
+  private <T> Flux<T> counted(Flux<T> writes) {
+    return Flux.usingWhen(Mono.just(entity),
+                          entity -> writes,
+                          writeVersions::increment,
+                          (entity,error) -> writeVersions.increment(entity),
+                          writeVersions::increment);
+  }
+}
@@ -0,0 +1,120 @@
+package com.tdd.parallel.service.jsonview;
+
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.repository.jsonview.RawDriverJsonview;
+import com.tdd.parallel.service.IService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.bulk.BulkDefaults.INVALID_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.validChunkSize;
+
+@Slf4j
+@Service("servRawDriverJsonview")
+@AllArgsConstructor
+public class ServRawDriverJsonview implements IService<PersonJsonview> {
+
+
+  private final RawDriverJsonview rawDriverJsonview;
+
+
+  @Override
+  public Mono<PersonJsonview> save(PersonJsonview person) {
+    return rawDriverJsonview.save(person);
+  }
+
+
+  @Override
+  public Mono<PersonJsonview> save(PersonJsonview person,WriteTier tier) {
+    return rawDriverJsonview.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> saveAll(Flux<PersonJsonview> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> saveAll(Flux<PersonJsonview> persons,int chunkSize,boolean ordered) {
+    if (!validChunkSize(chunkSize)) return Flux.error(new BulkRequestException(INVALID_CHUNK_SIZE));
+    return rawDriverJsonview.saveAll(persons,chunkSize,ordered);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findAll() {
+    return rawDriverJsonview.findAll();
+  }
+
+
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return rawDriverJsonview.findAllRaw();
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findAll(Class<?> view) {
+    return rawDriverJsonview.findAll(view);
+  }
+
+
+  @Override
+  public Mono<KeysetPage<PersonJsonview>> findPage(KeysetRequest request) {
+    return rawDriverJsonview.findPage(request)
+         .collectList()
+         .map(fetched -> KeysetPage.of(fetched,request));
+  }
+
+
+  @Override
+  public Mono<PersonJsonview> findById(String id) {
+    return rawDriverJsonview.findById(id);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findAllById(Collection<String> ids) {
+    return rawDriverJsonview.findAllById(ids);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findAllById(Collection<String> ids,Class<?> view) {
+    return rawDriverJsonview.findAllById(ids,view);
+  }
+
+
+  @Override
+  public Mono<PersonJsonview> findById(String id,Class<?> view) {
+    return rawDriverJsonview.findById(id,view);
+  }
+
+
+  public Mono<Void> deleteAll() {
+    return rawDriverJsonview.deleteAll();
+  }
+
+
+  @Override
+  public Mono<Void> deleteById(String id) {
+    return rawDriverJsonview.deleteById(id);
+
+  }
+}
+
+
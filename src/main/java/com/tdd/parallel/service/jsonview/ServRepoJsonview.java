@@ -1,14 +1,31 @@
 package com.tdd.parallel.service.jsonview;
 
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
 import com.tdd.parallel.entity.PersonJsonview;
 import com.tdd.parallel.repository.jsonview.IRepoJsonview;
 import com.tdd.parallel.service.IService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.bulk.BulkDefaults.INVALID_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.UNORDERED_REFUSED;
+import static com.tdd.parallel.core.bulk.BulkDefaults.validChunkSize;
+import static com.tdd.parallel.core.codecs.PersonCodecs.JSONVIEW;
+import static com.tdd.parallel.core.pagination.KeysetQueries.find;
+import static com.tdd.parallel.core.views.ViewProjection.USER_VIEW_FIELDS;
+import static com.tdd.parallel.core.views.ViewProjection.matches;
+
 //TUTORIAL: https://rieckpil.de/mongodb-testcontainers-setup-for-datamongotest/
 @Slf4j
 @Service("servRepoJsonview")
@@ -25,18 +42,79 @@ public class ServRepoJsonview implements IService<PersonJsonview> {
   }
 
 
+  @Override
+  public Mono<PersonJsonview> save(PersonJsonview person,WriteTier tier) {
+    return iRepoJsonview.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> saveAll(Flux<PersonJsonview> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> saveAll(Flux<PersonJsonview> persons,int chunkSize,boolean ordered) {
+    // ReactiveMongoRepository.insert(Iterable) is an ordered insertMany
+    // and no unordered insert: ordered=false is refused rather than run in order
+    if (!validChunkSize(chunkSize)) return Flux.error(new BulkRequestException(INVALID_CHUNK_SIZE));
+    if (!ordered) return Flux.error(new BulkRequestException(UNORDERED_REFUSED));
+    return persons
+         .buffer(chunkSize)
+         .concatMap(iRepoJsonview::insert);
+  }
+
+
   @Override
   public Flux<PersonJsonview> findAll() {
     return iRepoJsonview.findAll();
   }
 
 
+  // no driver collection behind the repository: the entities, re-encoded
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return findAll().map(person -> new RawBsonDocument(person,JSONVIEW));
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findAll(Class<?> view) {
+    return matches(PersonJsonview.class,view,USER_VIEW_FIELDS)
+         ? iRepoJsonview.findAllUserView()
+         : iRepoJsonview.findAll();
+  }
+
+
+  @Override
+  public Mono<KeysetPage<PersonJsonview>> findPage(KeysetRequest request) {
+    return find(iRepoJsonview,request)
+         .collectList()
+         .map(fetched -> KeysetPage.of(fetched,request));
+  }
+
+
   @Override
   public Mono<PersonJsonview> findById(String id) {
     return iRepoJsonview.findById(id);
   }
 
 
+  @Override
+  public Flux<PersonJsonview> findAllById(Collection<String> ids) {
+    return iRepoJsonview.findAllById(ids);
+  }
+
+
+  @Override
+  public Mono<PersonJsonview> findById(String id,Class<?> view) {
+    return matches(PersonJsonview.class,view,USER_VIEW_FIELDS)
+         ? iRepoJsonview.findByIdUserView(id)
+         : iRepoJsonview.findById(id);
+  }
+
+
   public Mono<Void> deleteAll() {
     return iRepoJsonview.deleteAll();
   }
@@ -1,14 +1,26 @@
 package com.tdd.parallel.service.jsonview;
 
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
 import com.tdd.parallel.entity.PersonJsonview;
 import com.tdd.parallel.repository.jsonview.TemplJsonview;
 import com.tdd.parallel.service.IService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.bulk.BulkDefaults.INVALID_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.validChunkSize;
+
 //TUTORIAL: https://rieckpil.de/mongodb-testcontainers-setup-for-datamongotest/
 @Slf4j
 @Service("servTemplJsonview")
@@ -25,18 +37,75 @@ public class ServTemplJsonview implements IService<PersonJsonview> {
   }
 
 
+  @Override
+  public Mono<PersonJsonview> save(PersonJsonview person,WriteTier tier) {
+    return templJsonview.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> saveAll(Flux<PersonJsonview> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> saveAll(Flux<PersonJsonview> persons,int chunkSize,boolean ordered) {
+    if (!validChunkSize(chunkSize)) return Flux.error(new BulkRequestException(INVALID_CHUNK_SIZE));
+    return templJsonview.saveAll(persons,chunkSize,ordered);
+  }
+
+
   @Override
   public Flux<PersonJsonview> findAll() {
     return templJsonview.findAll();
   }
 
 
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return templJsonview.findAllRaw();
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findAll(Class<?> view) {
+    return templJsonview.findAll(view);
+  }
+
+
+  @Override
+  public Mono<KeysetPage<PersonJsonview>> findPage(KeysetRequest request) {
+    return templJsonview.findPage(request)
+         .collectList()
+         .map(fetched -> KeysetPage.of(fetched,request));
+  }
+
+
   @Override
   public Mono<PersonJsonview> findById(String id) {
     return templJsonview.findById(id);
   }
 
 
+  @Override
+  public Flux<PersonJsonview> findAllById(Collection<String> ids) {
+    return templJsonview.findAllById(ids);
+  }
+
+
+  @Override
+  public Flux<PersonJsonview> findAllById(Collection<String> ids,Class<?> view) {
+    return templJsonview.findAllById(ids,view);
+  }
+
+
+  @Override
+  public Mono<PersonJsonview> findById(String id,Class<?> view) {
+    return templJsonview.findById(id,view);
+  }
+
+
   public Mono<Void> deleteAll() {
     return templJsonview.deleteAll();
   }
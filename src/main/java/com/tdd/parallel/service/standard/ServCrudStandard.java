@@ -1,14 +1,29 @@
 package com.tdd.parallel.service.standard;
 
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
 import com.tdd.parallel.entity.PersonStandard;
 import com.tdd.parallel.repository.standard.ICrudStandard;
 import com.tdd.parallel.service.IService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.bulk.BulkDefaults.INVALID_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.UNORDERED_REFUSED;
+import static com.tdd.parallel.core.bulk.BulkDefaults.validChunkSize;
+import static com.tdd.parallel.core.codecs.PersonCodecs.STANDARD;
+import static com.tdd.parallel.core.pagination.KeysetQueries.find;
+
 //TUTORIAL: https://rieckpil.de/mongodb-testcontainers-setup-for-datamongotest/
 @Slf4j
 @Service("servCrudStandard")
@@ -25,18 +40,64 @@ public class ServCrudStandard implements IService<PersonStandard> {
   }
 
 
+  @Override
+  public Mono<PersonStandard> save(PersonStandard person,WriteTier tier) {
+    return iCrudStandard.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons,int chunkSize,boolean ordered) {
+    // ReactiveCrudRepository has no insert:
+    // saveAll(Iterable) is one insertMany only when every person is new (no id)
+    // and no unordered insert: ordered=false is refused rather than run in order
+    if (!validChunkSize(chunkSize)) return Flux.error(new BulkRequestException(INVALID_CHUNK_SIZE));
+    if (!ordered) return Flux.error(new BulkRequestException(UNORDERED_REFUSED));
+    return persons
+         .buffer(chunkSize)
+         .concatMap(iCrudStandard::saveAll);
+  }
+
+
   @Override
   public Flux<PersonStandard> findAll() {
     return iCrudStandard.findAll();
   }
 
 
+  // no driver collection behind the repository: the entities, re-encoded
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return findAll().map(person -> new RawBsonDocument(person,STANDARD));
+  }
+
+
+  @Override
+  public Mono<KeysetPage<PersonStandard>> findPage(KeysetRequest request) {
+    return find(iCrudStandard,request)
+         .collectList()
+         .map(fetched -> KeysetPage.of(fetched,request));
+  }
+
+
   @Override
   public Mono<PersonStandard> findById(String id) {
     return iCrudStandard.findById(id);
   }
 
 
+  @Override
+  public Flux<PersonStandard> findAllById(Collection<String> ids) {
+    return iCrudStandard.findAllById(ids);
+  }
+
+
   public Mono<Void> deleteAll() {
     return iCrudStandard.deleteAll();
   }
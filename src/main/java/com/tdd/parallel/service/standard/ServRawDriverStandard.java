@@ -0,0 +1,102 @@
+package com.tdd.parallel.service.standard;
+
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.repository.ITemplGeneric;
+import com.tdd.parallel.service.IService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.bulk.BulkDefaults.INVALID_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.validChunkSize;
+
+@Slf4j
+@Service("servRawDriverStandard")
+@AllArgsConstructor
+public class ServRawDriverStandard implements IService<PersonStandard>  {
+
+
+  private final ITemplGeneric<PersonStandard> rawDriverStandard;
+
+
+  @Override
+  public Mono<PersonStandard> save(PersonStandard person) {
+    return rawDriverStandard.save(person);
+  }
+
+
+  @Override
+  public Mono<PersonStandard> save(PersonStandard person,WriteTier tier) {
+    return rawDriverStandard.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons,int chunkSize,boolean ordered) {
+    if (!validChunkSize(chunkSize)) return Flux.error(new BulkRequestException(INVALID_CHUNK_SIZE));
+    return rawDriverStandard.saveAll(persons,chunkSize,ordered);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> findAll() {
+    return rawDriverStandard.findAll();
+  }
+
+
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return rawDriverStandard.findAllRaw();
+  }
+
+
+  @Override
+  public Mono<KeysetPage<PersonStandard>> findPage(KeysetRequest request) {
+    return rawDriverStandard.findPage(request)
+         .collectList()
+         .map(fetched -> KeysetPage.of(fetched,request));
+  }
+
+
+  @Override
+  public Mono<Void> deleteById(String id) {
+    return rawDriverStandard.deleteById(id);
+  }
+
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return rawDriverStandard.deleteAll();
+  }
+
+
+  @Override
+  public Mono<PersonStandard> findById(String id) {
+    return rawDriverStandard.findById(id);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> findAllById(Collection<String> ids) {
+    return rawDriverStandard.findAllById(ids);
+  }
+}
+
+
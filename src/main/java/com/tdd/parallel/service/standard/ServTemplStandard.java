@@ -1,14 +1,26 @@
 package com.tdd.parallel.service.standard;
 
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
 import com.tdd.parallel.entity.PersonStandard;
 import com.tdd.parallel.repository.ITemplGeneric;
 import com.tdd.parallel.service.IService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_ORDERED;
+import static com.tdd.parallel.core.bulk.BulkDefaults.INVALID_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.validChunkSize;
+
 @Slf4j
 @Service("servTemplStandard")
 @AllArgsConstructor
@@ -24,12 +36,45 @@ public class ServTemplStandard implements IService<PersonStandard>  {
   }
 
 
+  @Override
+  public Mono<PersonStandard> save(PersonStandard person,WriteTier tier) {
+    return templStandard.save(person,tier);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons) {
+    return saveAll(persons,BULK_CHUNK_SIZE,BULK_ORDERED);
+  }
+
+
+  @Override
+  public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons,int chunkSize,boolean ordered) {
+    if (!validChunkSize(chunkSize)) return Flux.error(new BulkRequestException(INVALID_CHUNK_SIZE));
+    return templStandard.saveAll(persons,chunkSize,ordered);
+  }
+
+
   @Override
   public Flux<PersonStandard> findAll() {
     return templStandard.findAll();
   }
 
 
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return templStandard.findAllRaw();
+  }
+
+
+  @Override
+  public Mono<KeysetPage<PersonStandard>> findPage(KeysetRequest request) {
+    return templStandard.findPage(request)
+         .collectList()
+         .map(fetched -> KeysetPage.of(fetched,request));
+  }
+
+
   @Override
   public Mono<Void> deleteById(String id) {
     return templStandard.deleteById(id);
@@ -46,6 +91,12 @@ public class ServTemplStandard implements IService<PersonStandard>  {
   public Mono<PersonStandard> findById(String id) {
     return templStandard.findById(id);
   }
+
+
+  @Override
+  public Flux<PersonStandard> findAllById(Collection<String> ids) {
+    return templStandard.findAllById(ids);
+  }
 }
 
 
@@ -0,0 +1,125 @@
+package com.tdd.parallel.core.batching;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+COMPATIBILITY: MicroBatcher x insertMany failing part way (MongoBulkWriteException, no Mongo)
+ - ordered: the calls before the first write error are answered, only the failed one onward is replayed
+   (new persons: the calls before it fail, their generated ids are unknown)
+ - unordered: every call is answered from the write errors, nothing is replayed
+ - any other error: the whole batch is replayed
+ */
+@DisplayName("MicroBatcherCompat")
+public class MicroBatcherCompat {
+
+  private static final List<String> BATCH = List.of("a","b","c","d");
+
+  private final Map<String, Integer> replayed = new ConcurrentHashMap<>();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+
+  @Test
+  @DisplayName("OrderedReplaysFromFailedIndex")
+  public void orderedReplaysFromFailedIndex() {
+    Map<String, String> results = submitAll(batcher(
+         calls -> Mono.error(PartialBatchException.orderedWrite(bulkWriteError(1),calls))));
+
+    assertEquals(Map.of("a","a","b","replayed b","c","replayed c","d","replayed d"),results);
+    assertEquals(Map.of("b",1,"c",1,"d",1),replayed);
+    assertEquals(BATCH.size(),registry.get(MicroBatcher.BATCH_SIZE)
+                                      .summary()
+                                      .totalAmount());
+  }
+
+
+  @Test
+  @DisplayName("OrderedInsertFailsStoredWithoutIds")
+  public void orderedInsertFailsStoredWithoutIds() {
+    Map<String, String> results = submitAll(batcher(
+         calls -> Mono.error(PartialBatchException.orderedInsert(bulkWriteError(2),calls))));
+
+    assertEquals(Map.of("a",MongoBulkWriteException.class.getSimpleName(),
+                        "b",MongoBulkWriteException.class.getSimpleName(),
+                        "c","replayed c","d","replayed d"),results);
+    assertEquals(Map.of("c",1,"d",1),replayed);
+  }
+
+
+  @Test
+  @DisplayName("UnorderedAnswersEveryCall")
+  public void unorderedAnswersEveryCall() {
+    Map<String, String> results = submitAll(batcher(
+         calls -> Mono.error(PartialBatchException.unorderedWrite(bulkWriteError(1,3),calls))));
+
+    assertEquals(Map.of("a","a","b",DuplicateKeyException.class.getSimpleName(),
+                        "c","c","d",DuplicateKeyException.class.getSimpleName()),results);
+    assertTrue(replayed.isEmpty());
+  }
+
+
+  @Test
+  @DisplayName("OtherErrorsReplayTheBatch")
+  public void otherErrorsReplayTheBatch() {
+    Map<String, String> results = submitAll(batcher(
+         calls -> Mono.error(PartialBatchException.orderedWrite(new IllegalStateException("timeout"),calls))));
+
+    assertEquals(Map.of("a","replayed a","b","replayed b","c","replayed c","d","replayed d"),results);
+    assertEquals(4,replayed.size());
+  }
+
+
+  // one batch of the 4 calls; single calls answer "replayed <call>"
+  private MicroBatcher<String, String> batcher(Function<List<String>, Mono<List<String>>> batchCall) {
+    BatchingProperties limits = new BatchingProperties();
+    limits.setMaxBatch(BATCH.size());
+    limits.setMaxDelay(Duration.ofSeconds(1));
+    return new MicroBatcher<>(batchCall,
+                              call -> {
+                                replayed.merge(call,1,Integer::sum);
+                                return Mono.just("replayed " + call);
+                              },
+                              limits,
+                              registry,
+                              Tags.of("batcher","compat"));
+  }
+
+
+  // call -> result, or the simple name of its error
+  private static Map<String, String> submitAll(MicroBatcher<String, String> batcher) {
+    return Flux.fromIterable(BATCH)
+               .flatMap(call -> batcher.submit(call)
+                                       .onErrorResume(error -> Mono.just(error.getClass()
+                                                                              .getSimpleName()))
+                                       .map(result -> Map.entry(call,result)))
+               .collectMap(Map.Entry::getKey,Map.Entry::getValue)
+               .block(Duration.ofSeconds(5));
+  }
+
+
+  // duplicate key at each index
+  private static MongoBulkWriteException bulkWriteError(int... indexes) {
+    List<BulkWriteError> errors = new ArrayList<>();
+    for (int index : indexes) errors.add(new BulkWriteError(11000,"E11000 duplicate key",new BsonDocument(),index));
+    return new MongoBulkWriteException(BulkWriteResult.unacknowledged(),errors,null,new ServerAddress());
+  }
+}
@@ -0,0 +1,149 @@
+package com.tdd.parallel.core.changefeed;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpStatus.GONE;
+
+/*
+COMPATIBILITY: ChangeFeedHub x a lone subscriber disconnecting (no Mongo: an in-memory oplog as cursor)
+ - back within the linger: replayed from the open cursor (opened once)
+ - back after the cursor closed: the cursor reopens after its last event, the gap is delivered (no 410)
+ - an id the hub never delivered: 410
+ */
+@DisplayName("ChangeFeedHubCompat")
+public class ChangeFeedHubCompat {
+
+  private static final Duration LINGER = Duration.ofMillis(300);
+  private static final Duration WAIT = Duration.ofSeconds(5);
+
+  private final List<ChangeStreamEvent<PersonStandard>> oplog = new CopyOnWriteArrayList<>();
+  private final Sinks.Many<ChangeStreamEvent<PersonStandard>> live = Sinks.many()
+                                                                         .multicast()
+                                                                         .directBestEffort();
+  // the resume token of every cursor opened (BsonString "now": from now)
+  private final Queue<BsonValue> opened = new ConcurrentLinkedQueue<>();
+  private final ChangeFeedHub<PersonStandard> hub = new ChangeFeedHub<>("compat",this::cursor,properties());
+
+
+  @Test
+  @DisplayName("ReconnectWithinLinger")
+  public void reconnectWithinLinger() {
+    List<ChangeFeedEvent<PersonStandard>> first = new CopyOnWriteArrayList<>();
+    Disposable subscriber = hub.changes(null)
+                               .subscribe(first::add);
+    append(1);
+    append(2);
+    subscriber.dispose();
+
+    List<ChangeFeedEvent<PersonStandard>> resumed = hub.changes(first.get(0)
+                                                                     .getId())
+                                                       .take(1)
+                                                       .collectList()
+                                                       .block(WAIT);
+
+    assertEquals(List.of("2"),documentIds(resumed));
+    assertEquals(1,opened.size());
+  }
+
+
+  @Test
+  @DisplayName("ReconnectAfterCursorClosed")
+  public void reconnectAfterCursorClosed() throws InterruptedException {
+    List<ChangeFeedEvent<PersonStandard>> first = new CopyOnWriteArrayList<>();
+    Disposable subscriber = hub.changes(null)
+                               .subscribe(first::add);
+    append(1);
+    subscriber.dispose();
+    Thread.sleep(LINGER.multipliedBy(3)
+                       .toMillis());
+    // while nobody listens
+    append(2);
+
+    List<ChangeFeedEvent<PersonStandard>> resumed = hub.changes(first.get(0)
+                                                                     .getId())
+                                                       .take(1)
+                                                       .collectList()
+                                                       .block(WAIT);
+
+    assertEquals(List.of("2"),documentIds(resumed));
+    assertEquals(List.of(new BsonString("now"),token(1)),new ArrayList<>(opened));
+  }
+
+
+  @Test
+  @DisplayName("UnknownIdIsGone")
+  public void unknownIdIsGone() {
+    ResponseStatusException gone =
+         assertThrows(ResponseStatusException.class,
+                      () -> hub.changes(ChangeFeedToken.encode(token(99)))
+                               .blockFirst(WAIT));
+
+    assertEquals(GONE,gone.getStatus());
+  }
+
+
+  // the oplog after the resume token, then the live changes
+  private Flux<ChangeStreamEvent<PersonStandard>> cursor(BsonValue resumeAfter) {
+    opened.add(resumeAfter == null ? new BsonString("now") : resumeAfter);
+    int from = 0;
+    for (int i = 0; resumeAfter != null && i < oplog.size(); i++) {
+      if (oplog.get(i)
+               .getResumeToken()
+               .equals(resumeAfter)) from = i + 1;
+    }
+    return Flux.fromIterable(new ArrayList<>(oplog.subList(from,oplog.size())))
+               .concatWith(live.asFlux());
+  }
+
+
+  private void append(int id) {
+    ChangeStreamEvent<PersonStandard> event = new ChangeStreamEvent<>(
+         new ChangeStreamDocument<Document>(OperationType.DELETE,token(id),null,null,null,
+                                            new BsonDocument("_id",new BsonString(String.valueOf(id))),
+                                            null,null,null,null),
+         PersonStandard.class,null);
+    oplog.add(event);
+    live.tryEmitNext(event);
+  }
+
+
+  private static BsonDocument token(int id) {
+    return new BsonDocument("_data",new BsonInt32(id));
+  }
+
+
+  private static List<String> documentIds(List<ChangeFeedEvent<PersonStandard>> events) {
+    List<String> ids = new ArrayList<>();
+    events.forEach(event -> ids.add(event.getDocumentId()));
+    return ids;
+  }
+
+
+  private static ChangeFeedProperties properties() {
+    ChangeFeedProperties properties = new ChangeFeedProperties();
+    properties.setLinger(LINGER);
+    return properties;
+  }
+}
@@ -0,0 +1,68 @@
+package com.tdd.parallel.core.codecs;
+
+import com.mongodb.MongoClientSettings;
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import java.nio.ByteBuffer;
+
+import static testsconfig.utils.Benchmark.*;
+
+// PersonCodec x MappingMongoConverter (ns/op): decode from the wire bytes, encode to them
+@DisplayName("PersonCodecBenchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class PersonCodecBenchmark {
+
+  private static final int OPERATIONS = 1_000_000;
+
+  private final MappingMongoConverter converter = PersonCodecCompat.converter();
+  private final DocumentCodec documentCodec = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+  private final DecoderContext decoder = DecoderContext.builder()
+                                                       .build();
+  private final EncoderContext encoder = EncoderContext.builder()
+                                                       .build();
+
+
+  @Test
+  @DisplayName("ConverterVsCodec")
+  public void converterVsCodec() throws Exception {
+    PersonStandard person = new PersonStandard(new ObjectId().toHexString(),"benchmark name");
+    Document converted = new Document();
+    converter.write(person,converted);
+    byte[] wire = new RawBsonDocument(converted,documentCodec).getByteBuffer()
+                                                             .array();
+
+    rounds("decode | encode (ns/op)",() -> {
+      long converterDecode = nanosPerOp(OPERATIONS,i -> converter.read(
+           PersonStandard.class,documentCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(wire)),decoder)));
+      long codecDecode = nanosPerOp(OPERATIONS,i -> PersonCodecs.STANDARD.decode(
+           new BsonBinaryReader(ByteBuffer.wrap(wire)),decoder));
+      long converterEncode = nanosPerOp(OPERATIONS,i -> {
+        Document document = new Document();
+        converter.write(person,document);
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        documentCodec.encode(new BsonBinaryWriter(buffer),document,encoder);
+        return buffer;
+      });
+      long codecEncode = nanosPerOp(OPERATIONS,i -> {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        PersonCodecs.STANDARD.encode(new BsonBinaryWriter(buffer),person,encoder);
+        return buffer;
+      });
+      return "decode: converter " + converterDecode + " codec " + codecDecode +
+             " | encode: converter " + converterEncode + " codec " + codecEncode;
+    });
+  }
+}
@@ -0,0 +1,136 @@
+package com.tdd.parallel.core.codecs;
+
+import com.mongodb.MongoClientSettings;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/*
+COMPATIBILITY: PersonCodec x MappingMongoConverter (the template/repository mapping)
+ - no Mongo needed: both sides are compared in memory
+ - speed: PersonCodecBenchmark
+ */
+@DisplayName("PersonCodecCompat")
+public class PersonCodecCompat {
+
+  private static final String TYPE_HINT = "_class";
+
+  private final MappingMongoConverter converter = converter();
+  private final DocumentCodec documentCodec = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+
+  static Stream<Arguments> persons() {
+    String objectId = new ObjectId().toHexString();
+    return Stream.of(
+         Arguments.of(new PersonStandard(objectId,"name"),PersonCodecs.STANDARD),
+         Arguments.of(new PersonStandard("not-an-object-id","name"),PersonCodecs.STANDARD),
+         Arguments.of(new PersonStandard(null,"name"),PersonCodecs.STANDARD),
+         Arguments.of(new PersonStandard(objectId,null),PersonCodecs.STANDARD),
+         Arguments.of(new PersonStandard(objectId,"name",0L),PersonCodecs.STANDARD),
+         Arguments.of(new PersonStandard(objectId,"name",Long.MAX_VALUE),PersonCodecs.STANDARD),
+         Arguments.of(new PersonJsonview(objectId,"name"),PersonCodecs.JSONVIEW),
+         Arguments.of(new PersonJsonview("not-an-object-id","name"),PersonCodecs.JSONVIEW),
+         Arguments.of(new PersonJsonview(null,"name"),PersonCodecs.JSONVIEW),
+         Arguments.of(new PersonJsonview(objectId,"name",7L),PersonCodecs.JSONVIEW)
+    );
+  }
+
+
+  @ParameterizedTest
+  @MethodSource("persons")
+  @DisplayName("EncodeSameDocument")
+  public <E extends IPerson> void encodeSameDocument(E person,PersonCodec<E> codec) {
+    Document converted = new Document();
+    converter.write(person,converted);
+    converted.remove(TYPE_HINT);
+
+    assertEquals(toBson(converted),encode(codec,person));
+  }
+
+
+  @ParameterizedTest
+  @MethodSource("persons")
+  @DisplayName("DecodeConverterDocument")
+  public <E extends IPerson> void decodeConverterDocument(E person,PersonCodec<E> codec) {
+    Document converted = new Document();
+    converter.write(person,converted);
+
+    // "_class" is skipped
+    E decoded = codec.decode(new BsonDocumentReader(toBson(converted)),DecoderContext.builder()
+                                                                                  .build());
+    assertSame(person,decoded);
+  }
+
+
+  @ParameterizedTest
+  @MethodSource("persons")
+  @DisplayName("ConverterReadsCodecDocument")
+  public <E extends IPerson> void converterReadsCodecDocument(E person,PersonCodec<E> codec) {
+    Document encoded = documentCodec.decode(new BsonDocumentReader(encode(codec,person)),DecoderContext.builder()
+                                                                                                       .build());
+    assertSame(person,converter.read(codec.getEncoderClass(),encoded));
+  }
+
+
+  @Test
+  @DisplayName("DecodeProjection")
+  public void decodeProjection() {
+    // UserResponseView projection: { name: 1, _id: 0 }
+    BsonDocument projected = toBson(new Document("name","name"));
+
+    PersonJsonview decoded = PersonCodecs.JSONVIEW.decode(new BsonDocumentReader(projected),DecoderContext.builder()
+                                                                                                        .build());
+    assertNull(decoded.getId());
+    assertEquals("name",decoded.getName());
+  }
+
+
+  private static void assertSame(IPerson expected,IPerson actual) {
+    assertEquals(expected.getId(),actual.getId());
+    assertEquals(expected.getName(),actual.getName());
+    assertEquals(expected.getVersion(),actual.getVersion());
+  }
+
+
+  private static <E extends IPerson> BsonDocument encode(PersonCodec<E> codec,E person) {
+    BsonDocument encoded = new BsonDocument();
+    codec.encode(new BsonDocumentWriter(encoded),person,EncoderContext.builder()
+                                                                      .build());
+    return encoded;
+  }
+
+
+  private static BsonDocument toBson(Document document) {
+    return document.toBsonDocument(Document.class,MongoClientSettings.getDefaultCodecRegistry());
+  }
+
+
+  static MappingMongoConverter converter() {
+    MongoMappingContext context = new MongoMappingContext();
+    context.afterPropertiesSet();
+    MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,context);
+    converter.afterPropertiesSet();
+    return converter;
+  }
+}
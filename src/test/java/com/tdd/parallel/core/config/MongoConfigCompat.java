@@ -0,0 +1,92 @@
+package com.tdd.parallel.core.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ServerAddress;
+import com.mongodb.event.CommandListener;
+import com.tdd.parallel.core.mongo.MongoClientProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.autoconfigure.mongo.MongoPropertiesClientSettingsBuilderCustomizer;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+COMPATIBILITY: MongoConfig client settings x Boot's MongoClientSettingsBuilderCustomizer beans (no Mongo)
+ - person.mongo.uri is the effective host, whatever spring.data.mongodb.* says
+ - the other customizers (metrics listeners, ...) still apply; person.mongo.pool.* wins over them
+ */
+@DisplayName("MongoConfigCompat")
+public class MongoConfigCompat {
+
+  private final MongoCommandListener listener = new MongoCommandListener();
+
+
+  @Test
+  @DisplayName("PersonUriIsTheEffectiveHost")
+  public void personUriIsTheEffectiveHost() {
+    MongoProperties boot = new MongoProperties();
+    boot.setUri("mongodb://boot-host:27017/boot");
+
+    MongoClientSettings settings = settings(new MongoPropertiesClientSettingsBuilderCustomizer(boot,
+                                                                                               new StandardEnvironment()));
+
+    assertEquals(List.of(new ServerAddress("person-host",27018)),settings.getClusterSettings()
+                                                                         .getHosts());
+  }
+
+
+  @Test
+  @DisplayName("BootDefaultsDoNotReplaceTheUri")
+  public void bootDefaultsDoNotReplaceTheUri() {
+    // no spring.data.mongodb.uri: Boot's customizer would apply localhost:27017
+    MongoClientSettings settings = settings(new MongoPropertiesClientSettingsBuilderCustomizer(new MongoProperties(),
+                                                                                               new StandardEnvironment()));
+
+    assertEquals(List.of(new ServerAddress("person-host",27018)),settings.getClusterSettings()
+                                                                         .getHosts());
+  }
+
+
+  @Test
+  @DisplayName("OtherCustomizersStillApply")
+  public void otherCustomizersStillApply() {
+    MongoClientSettings settings = settings(builder -> builder.addCommandListener(listener)
+                                                              .applyToConnectionPoolSettings(pool -> pool.maxSize(5)));
+
+    assertTrue(settings.getCommandListeners()
+                       .contains(listener));
+    assertEquals(42,settings.getConnectionPoolSettings()
+                            .getMaxSize());
+  }
+
+
+  private static MongoClientSettings settings(MongoClientSettingsBuilderCustomizer customizer) {
+    MongoClientProperties properties = new MongoClientProperties();
+    properties.setUri("mongodb://person-host:27018");
+    properties.getPool()
+              .setMaxSize(42);
+
+    DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+    beans.registerSingleton("customizer",customizer);
+
+    MongoConfig config = new MongoConfig();
+    config.properties = properties;
+    config.customizers = beans.getBeanProvider(MongoClientSettingsBuilderCustomizer.class);
+    config.meterRegistry = beans.getBeanProvider(MeterRegistry.class);
+
+    MongoClientSettings.Builder builder = MongoClientSettings.builder();
+    config.configureClientSettings(builder);
+    return builder.build();
+  }
+
+
+  private static class MongoCommandListener implements CommandListener {
+  }
+}
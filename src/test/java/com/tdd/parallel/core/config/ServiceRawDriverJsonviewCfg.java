@@ -0,0 +1,31 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.writes.TieredWrites;
+import com.tdd.parallel.repository.jsonview.RawDriverJsonview;
+import com.tdd.parallel.service.jsonview.ServRawDriverJsonview;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+
+@TestConfiguration
+public class ServiceRawDriverJsonviewCfg {
+
+  @Autowired
+  private ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory;
+
+  @Autowired
+  private TieredWrites tieredWrites;
+
+
+  @Bean
+  public ServRawDriverJsonview serviceRawDriver() {
+    return new ServRawDriverJsonview(rawDriverJsonview());
+  }
+
+
+  private RawDriverJsonview rawDriverJsonview() {
+    return new RawDriverJsonview(reactiveMongoDatabaseFactory,tieredWrites);
+  }
+
+}
@@ -0,0 +1,31 @@
+package com.tdd.parallel.core.config;
+
+import com.tdd.parallel.core.writes.TieredWrites;
+import com.tdd.parallel.repository.standard.RawDriverStandard;
+import com.tdd.parallel.service.standard.ServRawDriverStandard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+
+@TestConfiguration
+public class ServiceRawDriverStandardCfg {
+
+  @Autowired
+  private ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory;
+
+  @Autowired
+  private TieredWrites tieredWrites;
+
+
+  @Bean
+  public ServRawDriverStandard serviceRawDriver() {
+    return new ServRawDriverStandard(rawDriverStandard());
+  }
+
+
+  private RawDriverStandard rawDriverStandard() {
+    return new RawDriverStandard(reactiveMongoDatabaseFactory,tieredWrites);
+  }
+
+}
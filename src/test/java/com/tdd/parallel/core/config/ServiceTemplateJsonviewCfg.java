@@ -1,5 +1,6 @@
 package com.tdd.parallel.core.config;
 
+import com.tdd.parallel.core.writes.TieredWrites;
 import com.tdd.parallel.repository.jsonview.TemplJsonview;
 import com.tdd.parallel.service.jsonview.ServTemplJsonview;
 import com.tdd.parallel.service.standard.ServTemplStandard;
@@ -14,6 +15,9 @@ public class ServiceTemplateJsonviewCfg {
   @Autowired
   private ReactiveMongoTemplate reactiveMongoTemplate;
 
+  @Autowired
+  private TieredWrites tieredWrites;
+
 
   @Bean
   public ServTemplJsonview serviceTemplateRepo() {
@@ -22,7 +26,7 @@ public class ServiceTemplateJsonviewCfg {
 
 
   private TemplJsonview templateRepoJsonview() {
-    return new TemplJsonview(reactiveMongoTemplate);
+    return new TemplJsonview(reactiveMongoTemplate,tieredWrites);
   }
 
 }
\ No newline at end of file
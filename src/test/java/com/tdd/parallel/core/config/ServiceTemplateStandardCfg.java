@@ -1,5 +1,6 @@
 package com.tdd.parallel.core.config;
 
+import com.tdd.parallel.core.writes.TieredWrites;
 import com.tdd.parallel.repository.standard.TemplStandard;
 import com.tdd.parallel.service.standard.ServTemplStandard;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,9 @@ public class ServiceTemplateStandardCfg {
   @Autowired
   private ReactiveMongoTemplate reactiveMongoTemplate;
 
+  @Autowired
+  private TieredWrites tieredWrites;
+
 
   @Bean
   public ServTemplStandard serviceTemplateRepo() {
@@ -21,7 +25,7 @@ public class ServiceTemplateStandardCfg {
 
 
   private TemplStandard templateRepoStandard() {
-    return new TemplStandard(reactiveMongoTemplate);
+    return new TemplStandard(reactiveMongoTemplate,tieredWrites);
   }
 
 }
\ No newline at end of file
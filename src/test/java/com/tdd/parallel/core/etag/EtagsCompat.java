@@ -0,0 +1,261 @@
+package com.tdd.parallel.core.etag;
+
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.decorator.WriteVersionService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import testsconfig.utils.InMemoryService;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tdd.parallel.core.views.Views.PersonViews.UserResponseView;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpStatus.*;
+
+/*
+COMPATIBILITY: Etags x HTTP conditional requests (RFC 7232)
+ - no Mongo needed: versions come from an in-memory WriteVersions
+ - saves go through WriteVersionService (stamp, conditional replace) over an InMemoryService
+ - If-None-Match: weak comparison, a match never loads the body
+ - If-Match: strong comparison, the tag version is the optimistic lock of the save
+ */
+@DisplayName("EtagsCompat")
+public class EtagsCompat {
+
+  private final String id = new ObjectId().toHexString();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final Etags etags = etags(true);
+  private final InMemoryService<PersonStandard> stored =
+       new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+  private final WriteVersionService<PersonStandard> service =
+       new WriteVersionService<>(stored,writeVersions(),PersonStandard.class);
+
+
+  @Test
+  @DisplayName("FindByIdTagsRepresentation")
+  public void findByIdTagsRepresentation() {
+    ResponseEntity<PersonStandard> json = etags.findById(exchange(get()),PersonStandard.class,id,null,load(3L))
+                                               .block();
+    assertEquals(OK,json.getStatusCode());
+    assertEquals("\"3:all:json\"",json.getHeaders()
+                                      .getETag());
+
+    ResponseEntity<PersonJsonview> user =
+         etags.findById(exchange(get().header("Accept","application/bson")),PersonJsonview.class,id,
+                        UserResponseView.class,Mono.just(new PersonJsonview(id,"name",3L)))
+              .block();
+    assertEquals("\"3:UserResponseView:bson\"",user.getHeaders()
+                                                  .getETag());
+  }
+
+
+  @Test
+  @DisplayName("IfNoneMatchSkipsBody")
+  public void ifNoneMatchSkipsBody() {
+    for (String ifNoneMatch : List.of("\"3:all:json\"","W/\"3:all:json\"","\"1:all:json\", \"3:all:json\"","*")) {
+      ResponseEntity<PersonStandard> response =
+           etags.findById(exchange(get().header("If-None-Match",ifNoneMatch)),PersonStandard.class,id,null,load(3L))
+                .block();
+      assertEquals(NOT_MODIFIED,response.getStatusCode(),ifNoneMatch);
+      assertNull(response.getBody());
+    }
+    assertEquals(0,loads.get());
+
+    // another version or representation: the body
+    for (String ifNoneMatch : List.of("\"2:all:json\"","\"3:all:bson\"")) {
+      ResponseEntity<PersonStandard> response =
+           etags.findById(exchange(get().header("If-None-Match",ifNoneMatch)),PersonStandard.class,id,null,load(3L))
+                .block();
+      assertEquals(OK,response.getStatusCode(),ifNoneMatch);
+      assertNotNull(response.getBody());
+    }
+  }
+
+
+  @Test
+  @DisplayName("FindAllTagsWriteCounter")
+  public void findAllTagsWriteCounter() {
+    ResponseEntity<Flux<PersonStandard>> all =
+         etags.findAll(exchange(get()),PersonStandard.class,null,Flux.just(new PersonStandard(id,"name",0L)))
+              .block();
+    assertEquals("\"7:all:json\"",all.getHeaders()
+                                     .getETag());
+
+    all = etags.findAll(exchange(get().header("If-None-Match","\"7:all:json\"")),PersonStandard.class,null,
+                        Flux.error(new AssertionError("the documents are not queried")))
+               .block();
+    assertEquals(NOT_MODIFIED,all.getStatusCode());
+
+    MockServerWebExchange written = exchange(get().header("If-None-Match","\"7:all:json\""));
+    etags.writeAll(written,PersonStandard.class,null,() -> Mono.error(new AssertionError("nothing is written")))
+         .block();
+    assertEquals(NOT_MODIFIED,written.getResponse()
+                                     .getStatusCode());
+  }
+
+
+  @Test
+  @DisplayName("IfMatchIsOptimisticLock")
+  public void ifMatchIsOptimisticLock() {
+    ResponseEntity<PersonStandard> updated =
+         etags.save(exchange(post().header("If-Match","\"3:all:json\"")),PersonStandard.class,null,
+                    new PersonStandard(id,"name"),service::save)
+              .block();
+    assertEquals(OK,updated.getStatusCode());
+    assertEquals("\"8:all:json\"",updated.getHeaders()
+                                         .getETag());
+
+    // If-Match: * -> the stored version
+    updated = etags.save(exchange(post().header("If-Match","*")),PersonStandard.class,null,
+                         new PersonStandard(id,"name"),service::save)
+                   .block();
+    assertEquals(8L,updated.getBody()
+                           .getVersion());
+
+    for (String ifMatch : List.of("\"2:all:json\"","W/\"3:all:json\"","\"x:all:json\"","\"3:all:json\", \"4:all:json\"")) {
+      Mono<ResponseEntity<PersonStandard>> stale =
+           etags.save(exchange(post().header("If-Match",ifMatch)),PersonStandard.class,null,
+                      new PersonStandard(id,"name"),service::save);
+      assertEquals(PRECONDITION_FAILED,assertThrows(ResponseStatusException.class,stale::block).getStatus(),ifMatch);
+    }
+  }
+
+
+  @Test
+  @DisplayName("NoIfMatchCreates")
+  public void noIfMatchCreates() {
+    ResponseEntity<PersonStandard> created =
+         etags.save(exchange(post()),PersonStandard.class,null,new PersonStandard(id,"name"),service::save)
+              .block();
+    assertEquals(CREATED,created.getStatusCode());
+    assertEquals("\"8:all:json\"",created.getHeaders()
+                                         .getETag());
+
+    // an existing id: replaced, as with ETags off
+    ResponseEntity<PersonStandard> replaced =
+         etags.save(exchange(post()),PersonStandard.class,null,new PersonStandard(id,"other"),service::save)
+              .block();
+    assertEquals(CREATED,replaced.getStatusCode());
+    assertEquals("other",stored.findById(id)
+                               .block()
+                               .getName());
+  }
+
+
+  @Test
+  @DisplayName("DisabledIgnoresConditions")
+  public void disabledIgnoresConditions() {
+    Etags disabled = etags(false);
+    ResponseEntity<PersonStandard> found =
+         disabled.findById(exchange(get().header("If-None-Match","*")),PersonStandard.class,id,null,load(3L))
+                 .block();
+    assertEquals(OK,found.getStatusCode());
+    assertNull(found.getHeaders()
+                    .getETag());
+
+    ResponseEntity<PersonStandard> saved =
+         disabled.save(exchange(post().header("If-Match","\"2:all:json\"")),PersonStandard.class,null,
+                       new PersonStandard(null,"name"),stored::save)
+                 .block();
+    assertEquals(CREATED,saved.getStatusCode());
+    assertNull(saved.getBody()
+                    .getVersion());
+  }
+
+
+  @Test
+  @DisplayName("TagVersion")
+  public void tagVersion() {
+    assertEquals(42L,Etags.version(Etags.tag(42L,"all:json")));
+    assertEquals(-1L,Etags.version("\"-1:all:json\""));
+    assertNull(Etags.version("W/\"42:all:json\""));
+    assertNull(Etags.version("\"42\""));
+    assertNull(Etags.version("42:all:json"));
+    assertNull(Etags.version("\""));
+  }
+
+
+  // stored: version 3, write counter 7
+  private Etags etags(boolean enabled) {
+    EtagProperties properties = new EtagProperties();
+    properties.setEnabled(enabled);
+    BinaryFormats binaryFormats = new BinaryFormats(Jackson2ObjectMapperBuilder.json()
+                                                                              .build(),
+                                                    Jackson2ObjectMapperBuilder::json);
+    return new Etags(properties,writeVersions(),binaryFormats);
+  }
+
+
+  // stored: version 3, write counter 7 (the next write is version 8)
+  private static WriteVersions writeVersions() {
+    return new WriteVersions(null,new EtagProperties()) {
+      @Override
+      public Mono<Long> current(Class<?> entity) {
+        return Mono.just(7L);
+      }
+
+
+      @Override
+      public Mono<Void> increment(Class<?> entity) {
+        return Mono.empty();
+      }
+
+
+      @Override
+      public Mono<Long> next(Class<?> entity) {
+        return Mono.just(8L);
+      }
+
+
+      @Override
+      public <E extends IPerson> Mono<Long> document(Class<E> entity,String id) {
+        return Mono.just(3L);
+      }
+
+
+      @Override
+      public <E extends IPerson> Mono<E> replace(E person,long expected) {
+        return expected == 3L
+             ? Mono.just(person)
+             : Mono.error(new OptimisticLockingFailureException("stale " + person.getId()));
+      }
+    };
+  }
+
+
+  private Mono<PersonStandard> load(long version) {
+    return Mono.fromCallable(() -> {
+      loads.incrementAndGet();
+      return new PersonStandard(id,"name",version);
+    });
+  }
+
+
+  private static MockServerHttpRequest.BaseBuilder<?> get() {
+    return MockServerHttpRequest.get("/");
+  }
+
+
+  private static MockServerHttpRequest.BaseBuilder<?> post() {
+    return MockServerHttpRequest.post("/");
+  }
+
+
+  private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+    return MockServerWebExchange.from(request.build());
+  }
+}
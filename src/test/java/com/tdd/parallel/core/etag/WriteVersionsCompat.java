@@ -0,0 +1,94 @@
+package com.tdd.parallel.core.etag;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+COMPATIBILITY: WriteVersions x the round trips to the counter (no Mongo: an in-memory counter)
+ - next: one reservation per block, every version unique
+ - increment: the writes ending while a bump is in flight share the next one
+ */
+@DisplayName("WriteVersionsCompat")
+public class WriteVersionsCompat {
+
+  private static final int BLOCK = 4;
+  private static final Duration ROUND_TRIP = Duration.ofMillis(100);
+
+  private final AtomicLong counter = new AtomicLong();
+  private final AtomicInteger reserved = new AtomicInteger();
+  private final AtomicInteger bumped = new AtomicInteger();
+  private final WriteVersions writeVersions = new WriteVersions(null,properties()) {
+    @Override
+    String collection(Class<?> entity) {
+      return entity.getSimpleName();
+    }
+
+
+    @Override
+    Mono<Void> bump(String collection) {
+      return Mono.delay(ROUND_TRIP)
+                 .doOnNext(tick -> {
+                   bumped.incrementAndGet();
+                   counter.incrementAndGet();
+                 })
+                 .then();
+    }
+
+
+    @Override
+    Mono<Long> reserve(String collection,int size) {
+      return Mono.fromCallable(() -> {
+        reserved.incrementAndGet();
+        return counter.addAndGet(size);
+      });
+    }
+  };
+
+
+  @Test
+  @DisplayName("VersionsFromBlocks")
+  public void versionsFromBlocks() {
+    List<Long> versions = Flux.range(0,BLOCK * 2 + 1)
+                              .concatMap(i -> writeVersions.next(Object.class))
+                              .collectList()
+                              .block(Duration.ofSeconds(5));
+
+    assertEquals(BLOCK * 2 + 1,Set.copyOf(versions)
+                                  .size());
+    assertEquals(3,reserved.get());
+  }
+
+
+  @Test
+  @DisplayName("EndingWritesShareBump")
+  public void endingWritesShareBump() {
+    // 1st bump in flight; the 19 writes ending meanwhile: one more
+    Flux.range(0,20)
+        .flatMap(i -> writeVersions.increment(Object.class))
+        .blockLast(Duration.ofSeconds(5));
+
+    assertEquals(2,bumped.get());
+
+    writeVersions.increment(Object.class)
+                 .block(Duration.ofSeconds(5));
+
+    assertEquals(3,bumped.get());
+  }
+
+
+  private static EtagProperties properties() {
+    EtagProperties properties = new EtagProperties();
+    properties.setVersionBlock(BLOCK);
+    return properties;
+  }
+}
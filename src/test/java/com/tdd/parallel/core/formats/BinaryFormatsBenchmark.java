@@ -0,0 +1,93 @@
+package com.tdd.parallel.core.formats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tdd.parallel.entity.PersonJsonview;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tdd.parallel.core.formats.BinaryFormats.BSON;
+import static com.tdd.parallel.core.views.Views.PersonViews.AdminResponseView;
+import static testsconfig.utils.Benchmark.*;
+
+/*
+BinaryFormats x JSON (AdminResponseView): bytes and encode/decode ns per response of 1, 100 and 100k persons
+ - CBOR/Smile only with -Pbinary-formats
+ */
+@DisplayName("BinaryFormatsBenchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class BinaryFormatsBenchmark {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                                       .build();
+  private final BinaryFormats binaryFormats = new BinaryFormats(objectMapper,Jackson2ObjectMapperBuilder::json);
+
+
+  @Test
+  @DisplayName("EncodeDecode")
+  public void encodeDecode() throws Exception {
+    for (int size : List.of(1,100,100_000)) {
+      List<PersonJsonview> persons = BinaryFormatsCompat.persons(size);
+      int operations = Math.max(10,1_000_000 / size);
+
+      ObjectWriter json = objectMapper.writerWithView(AdminResponseView.class);
+      ObjectReader jsonReader = objectMapper.readerFor(PersonJsonview.class);
+      byte[] jsonBytes = json.writeValueAsBytes(persons);
+
+      rounds(size + " persons (bytes, encode ns, decode ns)",() -> {
+        long encode = nanosPerOp(operations,i -> json.writeValueAsBytes(persons));
+        long decode = nanosPerOp(operations,i -> jsonReader.readValues(jsonBytes)
+                                                           .readAll());
+        StringBuilder result = new StringBuilder("json: " + jsonBytes.length + ", " + encode + ", " + decode);
+
+        for (MediaType format : binaryFormats.getFormats()) {
+          BinaryFormats.ValueWriter writer = binaryFormats.writer(format,AdminResponseView.class);
+          byte[] bytes = writer.write(persons);
+          ObjectReader reader = format == BSON ? null : BinaryFormatsCompat.objectMapper(format)
+                                                                           .readerFor(PersonJsonview.class);
+          encode = nanosPerOp(operations,i -> writer.write(persons));
+          decode = nanosPerOp(operations,i -> reader == null ? readBson(bytes) : reader.readValues(bytes)
+                                                                                      .readAll());
+          result.append(" | " + format + ": " + bytes.length + ", " + encode + ", " + decode);
+        }
+        return result.toString();
+      });
+    }
+  }
+
+
+  // the client side of application/bson: one reader per document, fields read into persons
+  private static List<PersonJsonview> readBson(byte[] bson) {
+    List<PersonJsonview> persons = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.wrap(bson)
+                                  .order(ByteOrder.LITTLE_ENDIAN);
+    for (int offset = 0; offset < bson.length; offset += buffer.getInt(offset)) {
+      PersonJsonview person = new PersonJsonview();
+      try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson,offset,buffer.getInt(offset))
+                                                                    .slice())) {
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+          String field = reader.readName();
+          if (reader.getCurrentBsonType() != BsonType.STRING) reader.skipValue();
+          else if ("id".equals(field)) person.setId(reader.readString());
+          else if ("name".equals(field)) person.setName(reader.readString());
+          else reader.skipValue();
+        }
+        reader.readEndDocument();
+      }
+      persons.add(person);
+    }
+    return persons;
+  }
+}
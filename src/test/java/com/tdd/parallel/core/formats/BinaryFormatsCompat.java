@@ -0,0 +1,219 @@
+package com.tdd.parallel.core.formats;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.server.NotAcceptableStatusException;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.tdd.parallel.core.formats.BinaryFormats.BSON;
+import static com.tdd.parallel.core.formats.BinaryFormats.SMILE;
+import static com.tdd.parallel.core.views.Views.PersonViews.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.codec.json.Jackson2CodecSupport.JSON_VIEW_HINT;
+
+/*
+COMPATIBILITY: BinaryFormats x Jackson JSON (the entity responses)
+ - same fields and values as the JSON body, for every entity x view
+ - CBOR/Smile only with jackson-dataformat-cbor/-smile on the classpath (mvn -Pbinary-formats)
+ - speed: BinaryFormatsBenchmark
+ */
+@DisplayName("BinaryFormatsCompat")
+public class BinaryFormatsCompat {
+
+  private static final List<Class<?>> VIEWS =
+       Arrays.asList(null,AdminResponseView.class,UserResponseView.class,PostFilterRequestView.class);
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                                       .build();
+  private final BinaryFormats binaryFormats = new BinaryFormats(objectMapper,Jackson2ObjectMapperBuilder::json);
+
+
+  static Stream<Arguments> personsByView() {
+    String objectId = new ObjectId().toHexString();
+    List<Object> persons = List.of(
+         new PersonJsonview(objectId,"name"),
+         new PersonJsonview(null,"quote\" name"),
+         new PersonStandard(objectId,"name"),
+         new PersonStandard(objectId,null),
+         new PersonJsonview(objectId,"name",3L),
+         new PersonStandard(objectId,"name",Long.MAX_VALUE));
+
+    List<Arguments> arguments = new ArrayList<>();
+    for (Object person : persons)
+      for (Class<?> view : VIEWS)
+        arguments.add(Arguments.of(person,view));
+    return arguments.stream();
+  }
+
+
+  @ParameterizedTest
+  @MethodSource("personsByView")
+  @DisplayName("BsonSameAsJson")
+  public void bsonSameAsJson(Object person,Class<?> view) throws IOException {
+    byte[] bson = binaryFormats.writer(BSON,view)
+                               .write(person);
+
+    assertEquals(json(person,view),objectMapper.readTree(new RawBsonDocument(bson).toJson()));
+  }
+
+
+  @ParameterizedTest
+  @MethodSource("personsByView")
+  @DisplayName("JacksonFormatsSameAsJson")
+  public void jacksonFormatsSameAsJson(Object person,Class<?> view) throws IOException {
+    for (MediaType format : binaryFormats.getFormats()) {
+      if (format == BSON) continue;
+      byte[] bytes = binaryFormats.writer(format,view)
+                                  .write(person);
+      ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                                                       .factory(objectMapper(format).getFactory())
+                                                       .build();
+      assertEquals(json(person,view),mapper.readTree(bytes),format.toString());
+    }
+  }
+
+
+  @Test
+  @DisplayName("BsonListIsDocumentSequence")
+  public void bsonListIsDocumentSequence() throws IOException {
+    List<PersonJsonview> persons = persons(3);
+    byte[] bson = binaryFormats.writer(BSON,UserResponseView.class)
+                               .write(persons);
+
+    List<RawBsonDocument> documents = documents(bson);
+    assertEquals(3,documents.size());
+    for (int i = 0; i < persons.size(); i++) {
+      assertFalse(documents.get(i)
+                           .containsKey("id"));
+      assertEquals(persons.get(i)
+                          .getName(),documents.get(i)
+                                              .getString("name")
+                                              .getValue());
+    }
+    assertEquals(0,binaryFormats.writer(BSON,null)
+                                .write(List.of()).length);
+  }
+
+
+  @Test
+  @DisplayName("BsonRejectsScalar")
+  public void bsonRejectsScalar() {
+    assertThrows(IllegalArgumentException.class,() -> binaryFormats.writer(BSON,null)
+                                                                   .write("name"));
+  }
+
+
+  @Test
+  @DisplayName("EncoderAppliesView")
+  public void encoderAppliesView() {
+    BinaryFormatEncoder encoder = new BinaryFormatEncoder(binaryFormats,BSON);
+    List<PersonJsonview> persons = persons(2);
+
+    // a Flux is collected and encoded as one list
+    DataBuffer encoded = encoder.encode(Flux.fromIterable(persons),new DefaultDataBufferFactory(),
+                                        ResolvableType.forClass(PersonJsonview.class),BSON,
+                                        Map.of(JSON_VIEW_HINT,UserResponseView.class))
+                                .reduce(DataBuffer::write)
+                                .block();
+    assertNotNull(encoded);
+    byte[] bson = new byte[encoded.readableByteCount()];
+    encoded.read(bson);
+    DataBufferUtils.release(encoded);
+
+    List<RawBsonDocument> documents = documents(bson);
+    assertEquals(2,documents.size());
+    assertFalse(documents.get(0)
+                         .containsKey("id"));
+  }
+
+
+  @Test
+  @DisplayName("Negotiate")
+  public void negotiate() {
+    assertNull(binaryFormats.negotiate(request()));
+    assertNull(binaryFormats.negotiate(request("*/*")));
+    assertNull(binaryFormats.negotiate(request("application/*")));
+    assertNull(binaryFormats.negotiate(request("application/json, application/bson;q=0.5")));
+    assertNull(binaryFormats.negotiate(request("text/html")));
+    assertEquals(BSON,binaryFormats.negotiate(request("application/bson")));
+    assertEquals(BSON,binaryFormats.negotiate(request("application/json;q=0.9, application/bson")));
+    assertEquals(BSON,binaryFormats.negotiate(request("application/bson, */*")));
+
+    for (MediaType format : List.of(APPLICATION_CBOR,SMILE)) {
+      MockServerHttpRequest request = request(format.toString());
+      if (binaryFormats.getFormats()
+                       .contains(format)) assertEquals(format,binaryFormats.negotiate(request));
+      else assertThrows(NotAcceptableStatusException.class,() -> binaryFormats.negotiate(request));
+    }
+  }
+
+
+  private JsonNode json(Object person,Class<?> view) throws IOException {
+    return objectMapper.readTree(objectMapper.writerWithView(view)
+                                             .writeValueAsBytes(person));
+  }
+
+
+  // the CBOR/Smile mapper: decode side of the benchmark and the tree comparison
+  static ObjectMapper objectMapper(MediaType format) {
+    return format.equals(APPLICATION_CBOR)
+         ? Jackson2ObjectMapperBuilder.cbor()
+                                      .build()
+         : Jackson2ObjectMapperBuilder.smile()
+                                      .build();
+  }
+
+
+  static List<PersonJsonview> persons(int size) {
+    List<PersonJsonview> persons = new ArrayList<>(size);
+    for (int i = 0; i < size; i++)
+      persons.add(new PersonJsonview(new ObjectId().toHexString(),"benchmark name " + i));
+    return persons;
+  }
+
+
+  private static List<RawBsonDocument> documents(byte[] bson) {
+    List<RawBsonDocument> documents = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.wrap(bson)
+                                  .order(ByteOrder.LITTLE_ENDIAN);
+    while (buffer.hasRemaining()) {
+      int length = buffer.getInt(buffer.position());
+      documents.add(new RawBsonDocument(bson,buffer.position(),length));
+      buffer.position(buffer.position() + length);
+    }
+    return documents;
+  }
+
+
+  private static MockServerHttpRequest request(String... accept) {
+    MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/");
+    if (accept.length > 0) request.header("Accept",accept);
+    return request.build();
+  }
+}
@@ -0,0 +1,87 @@
+package com.tdd.parallel.core.http2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static testsconfig.utils.Benchmark.*;
+
+/*
+findById per concurrency level (the Http2Compat server): HTTP/1.1 pool (one connection per request in flight)
+x ONE multiplexed h2c connection; req/s + p99
+ */
+@DisplayName("Http2Benchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class Http2Benchmark {
+
+  private static final int OPERATIONS = 10_000;
+
+  private final Http2Compat http2 = new Http2Compat();
+
+
+  @BeforeEach
+  public void setUp() {
+    http2.setUp();
+  }
+
+
+  @AfterEach
+  public void tearDown() {
+    http2.tearDown();
+  }
+
+
+  @Test
+  @DisplayName("Http11PoolVsH2c")
+  public void http11PoolVsH2c() throws Exception {
+    // the last level stays under max-concurrent-streams (256): Reactor Netty 1.0 fails the stream acquire
+    // over the limit instead of queueing it
+    for (int concurrency : List.of(1,16,64,192)) {
+      ConnectionProvider pool = ConnectionProvider.builder("http11")
+                                                  .maxConnections(concurrency)
+                                                  .pendingAcquireMaxCount(-1)
+                                                  .build();
+      ConnectionProvider one = ConnectionProvider.create("h2c",1);
+      HttpClient http11 = HttpClient.create(pool);
+      HttpClient h2c = HttpClient.create(one)
+                                 .protocol(HttpProtocol.H2C);
+      try {
+        rounds("findById, " + concurrency + " in flight (req/s, p99 ns)",() -> {
+          long[] http11Latency = new long[OPERATIONS];
+          long[] h2cLatency = new long[OPERATIONS];
+          long http11Throughput = perSecond(OPERATIONS,() -> inFlight(http11,concurrency,http11Latency));
+          long h2cThroughput = perSecond(OPERATIONS,() -> inFlight(h2c,concurrency,h2cLatency));
+          return "HTTP/1.1 pool " + http11Throughput + " " + percentile(http11Latency,99) +
+                 " | h2c 1 connection " + h2cThroughput + " " + percentile(h2cLatency,99);
+        });
+      } finally {
+        pool.disposeLater()
+            .block();
+        one.disposeLater()
+           .block();
+      }
+    }
+  }
+
+
+  // "concurrency" requests in flight; latency of each one into "nanos" (sorted)
+  private void inFlight(HttpClient client,int concurrency,long[] nanos) {
+    Flux.range(0,nanos.length)
+        .flatMap(i -> {
+          long sent = System.nanoTime();
+          return http2.findById(client)
+                      .doOnNext(found -> nanos[i] = System.nanoTime() - sent);
+        },concurrency)
+        .blockLast();
+    Arrays.sort(nanos);
+  }
+}
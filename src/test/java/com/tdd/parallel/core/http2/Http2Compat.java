@@ -0,0 +1,159 @@
+package com.tdd.parallel.core.http2;
+
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.etag.EtagProperties;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.core.passthrough.PassthroughProperties;
+import com.tdd.parallel.core.passthrough.PassthroughWriter;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.core.streaming.StreamingProperties;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.resource.standard.ResTemplStandard;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.DelegatingWebFluxConfiguration;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.function.Tuple2;
+import testsconfig.utils.InMemoryService;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_REQ_MAP;
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_TEMPL;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+COMPATIBILITY: Http2ServerCustomizer x Boot's Netty server (NettyReactiveWebServerFactory, localhost socket, no Mongo)
+ - GET /personStd/personTemplStd/{id}: the same body over h2c prior knowledge, h2c upgrade and HTTP/1.1
+ - many findById in flight over ONE connection (streams)
+ - speed: Http2Benchmark
+ */
+@DisplayName("Http2Compat")
+public class Http2Compat {
+
+  private static final String HTTP11 = "HTTP/1.1";
+  private static final String STREAM_ID = HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text()
+                                                                                           .toString();
+
+  private final InMemoryService<PersonStandard> service =
+       new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+
+  private AnnotationConfigApplicationContext context;
+  private WebServer server;
+  private String id;
+
+
+  @BeforeEach
+  public void setUp() {
+    for (int i = 0; i < 100; i++)
+      service.save(new PersonStandard(new ObjectId().toHexString(),"name " + i))
+             .block();
+    id = service.firstId();
+    start(new Http2Properties());
+  }
+
+
+  @AfterEach
+  public void tearDown() {
+    if (server != null) server.stop();
+    if (context != null) context.close();
+  }
+
+
+  @Test
+  @DisplayName("SameBodyOverEveryProtocol")
+  public void sameBodyOverEveryProtocol() {
+    Tuple2<String, String> http11 = findById(HttpClient.create()).block();
+    Tuple2<String, String> priorKnowledge = findById(HttpClient.create()
+                                                                    .protocol(HttpProtocol.H2C)).block();
+    Tuple2<String, String> upgrade = findById(HttpClient.create()
+                                                             .protocol(HttpProtocol.HTTP11,HttpProtocol.H2C)).block();
+
+    assertEquals(HTTP11,http11.getT1());
+    assertNotEquals(HTTP11,priorKnowledge.getT1());
+    assertNotEquals(HTTP11,upgrade.getT1());
+    assertTrue(http11.getT2()
+                     .contains(id));
+    assertEquals(http11.getT2(),priorKnowledge.getT2());
+    assertEquals(http11.getT2(),upgrade.getT2());
+  }
+
+
+  @Test
+  @DisplayName("StreamsShareOneConnection")
+  public void streamsShareOneConnection() {
+    Set<Object> connections = ConcurrentHashMap.newKeySet();
+    ConnectionProvider one = ConnectionProvider.create("h2c",1);
+    HttpClient client = HttpClient.create(one)
+                                  .protocol(HttpProtocol.H2C)
+                                  .doOnChannelInit((observer,channel,address) -> connections.add(channel.id()));
+    try {
+      List<Tuple2<String, String>> found = Flux.range(0,128)
+                                                    .flatMap(i -> findById(client),128)
+                                                    .collectList()
+                                                    .block();
+      assertEquals(128,found.size());
+      found.forEach(response -> assertTrue(response.getT2()
+                                                   .contains(id)));
+      // one stream per request
+      assertEquals(128,found.stream()
+                            .map(Tuple2::getT1)
+                            .distinct()
+                            .count());
+      assertEquals(1,connections.size());
+    } finally {
+      one.disposeLater()
+         .block();
+    }
+  }
+
+
+  private void start(Http2Properties properties) {
+    BinaryFormats binaryFormats = new BinaryFormats(Jackson2ObjectMapperBuilder.json()
+                                                                              .build(),
+                                                    Jackson2ObjectMapperBuilder::json);
+    StreamWriter streamWriter =
+         new StreamWriter(binaryFormats.getObjectMapper(),new StreamingProperties(),binaryFormats);
+    Etags etags = new Etags(new EtagProperties(),null,binaryFormats);
+    context = new AnnotationConfigApplicationContext();
+    context.register(DelegatingWebFluxConfiguration.class);
+    context.registerBean(ResTemplStandard.class,
+                         () -> new ResTemplStandard(service,streamWriter,
+                                                    new PassthroughWriter(binaryFormats,new PassthroughProperties()),etags));
+    context.refresh();
+
+    NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(0);
+    factory.addServerCustomizers(new Http2ServerCustomizer(properties));
+    server = factory.getWebServer(WebHttpHandlerBuilder.applicationContext(context)
+                                                       .build());
+    server.start();
+  }
+
+
+  // (stream id or HTTP/1.1, body): Reactor Netty converts the HTTP/2 frames to HTTP/1.1 objects (version()),
+  // the stream id is left in an extension header
+  Mono<Tuple2<String, String>> findById(HttpClient client) {
+    return client.get()
+                 .uri("http://localhost:" + server.getPort() + STD_REQ_MAP + STD_TEMPL + "/" + id)
+                 .responseSingle((response,body) -> Mono.justOrEmpty(response.responseHeaders()
+                                                                              .get(STREAM_ID))
+                                                        .defaultIfEmpty(HTTP11)
+                                                        .zipWith(body.asString()));
+  }
+}
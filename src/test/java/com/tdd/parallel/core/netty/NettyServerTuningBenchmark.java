@@ -0,0 +1,97 @@
+package com.tdd.parallel.core.netty;
+
+import com.tdd.parallel.entity.PersonStandard;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static testsconfig.utils.Benchmark.*;
+
+/*
+throughput per worker count (1, 2, 4 .. cores): findById + findAll of ResTemplStandard (the NettyServerTuningCompat server)
+ - req/s and req/s per worker; the client runs on the same host: read the trend, not the peak
+ */
+@Slf4j
+@DisplayName("NettyServerTuningBenchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class NettyServerTuningBenchmark {
+
+  private static final int OPERATIONS = 20_000;
+  private static final int CALLERS = 64;
+
+  private final NettyServerTuningCompat netty = new NettyServerTuningCompat();
+
+
+  @AfterEach
+  public void tearDown() {
+    netty.tearDown();
+  }
+
+
+  @Test
+  @DisplayName("WorkersPerCore")
+  public void workersPerCore() throws Exception {
+    for (int i = 0; i < 100; i++)
+      netty.service.save(new PersonStandard(new ObjectId().toHexString(),"benchmark name " + i))
+                   .block();
+    String id = netty.service.firstId();
+    int cores = Runtime.getRuntime()
+                       .availableProcessors();
+    LoopResources clientLoops = LoopResources.create("benchmark-client",cores,true);
+    ConnectionProvider connections = ConnectionProvider.create("benchmark",CALLERS);
+
+    List<Integer> workerCounts = new ArrayList<>();
+    for (int workers = 1; workers < cores; workers *= 2) workerCounts.add(workers);
+    workerCounts.add(cores);
+
+    try {
+      for (int workers : workerCounts) {
+        NettyServerProperties properties = new NettyServerProperties();
+        properties.setWorkerCount(workers);
+        netty.start(properties);
+        log.info(netty.tuning.describe(netty.server.getPort()));
+        WebClient client = WebClient.builder()
+                                    .clientConnector(new ReactorClientHttpConnector(
+                                         HttpClient.create(connections)
+                                                   .runOn(clientLoops)))
+                                    .baseUrl(netty.baseUrl())
+                                    .build();
+
+        rounds("workers " + workers + " of " + cores + " cores (" + CALLERS + " callers, req/s)",() -> {
+          long findById = perSecond(OPERATIONS,() -> inFlight(client,"/" + id,OPERATIONS));
+          long findAll = perSecond(OPERATIONS / 10,() -> inFlight(client,"",OPERATIONS / 10));
+          return "findById " + findById + " (" + findById / workers + "/worker) | findAll of 100 " + findAll +
+                 " (" + findAll / workers + "/worker)";
+        });
+        netty.stop();
+      }
+    } finally {
+      connections.disposeLater()
+                 .block();
+      clientLoops.disposeLater()
+                 .block();
+    }
+  }
+
+
+  private static void inFlight(WebClient client,String uri,int operations) {
+    Flux.range(0,operations)
+        .flatMap(i -> client.get()
+                            .uri(uri)
+                            .retrieve()
+                            .bodyToMono(byte[].class),CALLERS)
+        .blockLast();
+  }
+}
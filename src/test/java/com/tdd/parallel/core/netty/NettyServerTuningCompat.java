@@ -0,0 +1,143 @@
+package com.tdd.parallel.core.netty;
+
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.etag.EtagProperties;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.core.passthrough.PassthroughProperties;
+import com.tdd.parallel.core.passthrough.PassthroughWriter;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.core.streaming.StreamingProperties;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.resource.standard.ResTemplStandard;
+import io.netty.channel.epoll.Epoll;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.reactive.config.DelegatingWebFluxConfiguration;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.http.client.HttpClient;
+import testsconfig.utils.InMemoryService;
+
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_REQ_MAP;
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_TEMPL;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+COMPATIBILITY: NettyServerTuning x Boot's Netty server (NettyReactiveWebServerFactory, localhost socket, no Mongo)
+ - the person endpoints answer on the tuned server: own loops, options, SO_REUSEPORT acceptors (epoll)
+ - speed: NettyServerTuningBenchmark
+ */
+@Slf4j
+@DisplayName("NettyServerTuningCompat")
+public class NettyServerTuningCompat {
+
+  final InMemoryService<PersonStandard> service =
+       new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+
+  private AnnotationConfigApplicationContext context;
+  WebServer server;
+  NettyServerTuning tuning;
+
+
+  @AfterEach
+  public void tearDown() {
+    stop();
+    if (context != null) context.close();
+  }
+
+
+  @Test
+  @DisplayName("TunedServerServesPersons")
+  public void tunedServerServesPersons() {
+    for (int i = 0; i < 10; i++)
+      service.save(new PersonStandard(new ObjectId().toHexString(),"name " + i))
+             .block();
+    NettyServerProperties properties = new NettyServerProperties();
+    properties.setAcceptors(2);
+    properties.setSelectCount(2);
+    properties.setWorkerCount(2);
+    start(properties);
+
+    int acceptors = Epoll.isAvailable() ? 2 : 1;
+    assertEquals(acceptors,tuning.getAcceptors());
+    String setup = tuning.describe(server.getPort());
+    log.info(setup);
+    assertTrue(setup.contains(Epoll.isAvailable() ? "transport epoll" : "transport nio"),setup);
+
+    // a new connection per request: the kernel spreads them over the acceptors
+    WebClient client = WebClient.builder()
+                                .clientConnector(new ReactorClientHttpConnector(HttpClient.newConnection()))
+                                .baseUrl(baseUrl())
+                                .build();
+    String id = service.firstId();
+    for (int i = 0; i < 20; i++) {
+      PersonStandard found = client.get()
+                                   .uri("/{id}",id)
+                                   .retrieve()
+                                   .bodyToMono(PersonStandard.class)
+                                   .block();
+      assertEquals(id,found.getId());
+    }
+    assertEquals(10,client.get()
+                          .retrieve()
+                          .bodyToFlux(PersonStandard.class)
+                          .count()
+                          .block());
+  }
+
+
+  // Boot's server with the tuning as customizer, then the extra acceptors as on startup
+  void start(NettyServerProperties properties) {
+    if (context == null) context = context();
+    HttpHandler handler = WebHttpHandlerBuilder.applicationContext(context)
+                                               .build();
+    tuning = new NettyServerTuning(properties);
+    NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(0);
+    factory.addServerCustomizers(tuning::apply);
+    server = factory.getWebServer(handler);
+    server.start();
+    tuning.bindAcceptors(server.getPort(),handler);
+  }
+
+
+  void stop() {
+    if (server != null) server.stop();
+    if (tuning != null) tuning.destroy();
+    server = null;
+    tuning = null;
+  }
+
+
+  private AnnotationConfigApplicationContext context() {
+    BinaryFormats binaryFormats = new BinaryFormats(Jackson2ObjectMapperBuilder.json()
+                                                                              .build(),
+                                                    Jackson2ObjectMapperBuilder::json);
+    StreamWriter streamWriter =
+         new StreamWriter(binaryFormats.getObjectMapper(),new StreamingProperties(),binaryFormats);
+    Etags etags = new Etags(new EtagProperties(),null,binaryFormats);
+
+    AnnotationConfigApplicationContext webContext = new AnnotationConfigApplicationContext();
+    webContext.register(DelegatingWebFluxConfiguration.class);
+    webContext.registerBean(ResTemplStandard.class,
+                            () -> new ResTemplStandard(service,streamWriter,
+                                                       new PassthroughWriter(binaryFormats,new PassthroughProperties()),
+                                                       etags));
+    webContext.refresh();
+    return webContext;
+  }
+
+
+  String baseUrl() {
+    return "http://localhost:" + server.getPort() + STD_REQ_MAP + STD_TEMPL;
+  }
+}
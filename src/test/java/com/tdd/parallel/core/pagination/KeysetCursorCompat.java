@@ -0,0 +1,74 @@
+package com.tdd.parallel.core.pagination;
+
+import com.tdd.parallel.entity.PersonStandard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/*
+COMPATIBILITY: KeysetCursor tokens
+ - encode/decode round trip (a name may contain the separator)
+ - NAME sort: a token without a name is a 400; a person without a name gets the empty one
+ - ID sort: no name needed
+ */
+@DisplayName("KeysetCursorCompat")
+public class KeysetCursorCompat {
+
+  @Test
+  @DisplayName("RoundTrip")
+  public void roundTrip() {
+    KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(new PersonStandard("id1","two\nlines"),
+                                                              KeysetSort.NAME,DESC)
+                                                          .encode());
+
+    assertEquals(KeysetSort.NAME,cursor.getSort());
+    assertEquals(DESC,cursor.getDirection());
+    assertEquals("id1",cursor.getId());
+    assertEquals("two\nlines",cursor.getName());
+  }
+
+
+  @Test
+  @DisplayName("NameSortWithoutNameRejected")
+  public void nameSortWithoutNameRejected() {
+    ResponseStatusException invalid = assertThrows(ResponseStatusException.class,
+                                                   () -> KeysetCursor.decode(token("NAME\nASC\nid1")));
+
+    assertEquals(BAD_REQUEST,invalid.getStatus());
+  }
+
+
+  @Test
+  @DisplayName("PersonWithoutNameGetsEmptyName")
+  public void personWithoutNameGetsEmptyName() {
+    KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(new PersonStandard("id1",null),KeysetSort.NAME,ASC)
+                                                          .encode());
+
+    assertEquals("",cursor.getName());
+  }
+
+
+  @Test
+  @DisplayName("IdSortNeedsNoName")
+  public void idSortNeedsNoName() {
+    KeysetCursor cursor = KeysetCursor.decode(token("ID\nASC\nid1"));
+
+    assertEquals("id1",cursor.getId());
+    assertNull(cursor.getName());
+  }
+
+
+  private static String token(String keys) {
+    return Base64.getUrlEncoder()
+                 .withoutPadding()
+                 .encodeToString(keys.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,45 @@
+package com.tdd.parallel.core.parsing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.tdd.parallel.entity.PersonJsonview;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static com.tdd.parallel.core.views.Views.PersonViews.PostFilterRequestView;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static testsconfig.utils.Benchmark.*;
+
+// PersonJsonParser x Jackson databind (ns/op): a PostFilterRequestView body
+@DisplayName("PersonJsonParserBenchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class PersonJsonParserBenchmark {
+
+  private static final int OPERATIONS = 1_000_000;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                                       .build();
+
+
+  @Test
+  @DisplayName("JacksonVsParser")
+  public void jacksonVsParser() throws Exception {
+    byte[] body = ("{\"id\":\"" + new ObjectId().toHexString() + "\",\"name\":\"benchmark name\"}").getBytes(UTF_8);
+    PersonJsonParser<?> parser = PersonJsonDecoder.parsers(objectMapper)
+                                                  .get(PersonJsonview.class);
+    ObjectReader reader = objectMapper.readerFor(PersonJsonview.class)
+                                      .withView(PostFilterRequestView.class);
+    DataBuffer buffer = new DefaultDataBufferFactory().wrap(body);
+
+    rounds("PostFilterRequestView body (ns/op)",() -> {
+      long jackson = nanosPerOp(OPERATIONS,i -> reader.readValue(body));
+      long parsed = nanosPerOp(OPERATIONS,i -> parser.parse(buffer,PostFilterRequestView.class));
+      return "jackson " + jackson + " | parser " + parsed;
+    });
+  }
+}
@@ -0,0 +1,211 @@
+package com.tdd.parallel.core.parsing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.tdd.parallel.core.views.Views.PersonViews.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.codec.json.Jackson2CodecSupport.JSON_VIEW_HINT;
+
+/*
+COMPATIBILITY: PersonJsonParser x Jackson databind (fuzz)
+ - random person bodies (field order, spaces, escapes, unicode, nulls, extra fields)
+   and random byte mutations of them
+ - a body the parser accepts must give the person Jackson gives, for every view
+ - a plain schema body must never fall back
+ - speed: PersonJsonParserBenchmark
+ */
+@Slf4j
+@DisplayName("PersonJsonParserCompat")
+public class PersonJsonParserCompat {
+
+  private static final List<Class<?>> VIEWS =
+       Arrays.asList(null,AdminResponseView.class,UserResponseView.class,PostFilterRequestView.class);
+  private static final List<Class<? extends IPerson>> TYPES = List.of(PersonJsonview.class,PersonStandard.class);
+  private static final String[] FRAGMENTS =
+       {"a", "Z", "0", " ", "\\\"", "\\\\", "\\/", "\\n", "\\t", "\\u00e9", "\\ud83d\\ude00", "é", "名", "😀"};
+  private static final String[] SPACES = {"", "", " ", "\n", "\t", "\r\n"};
+  private static final int BODIES = 20_000;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                                       .build();
+  private final Map<Class<?>, PersonJsonParser<?>> parsers = PersonJsonDecoder.parsers(objectMapper);
+  private final PersonJsonDecoder decoder = PersonJsonDecoder.persons(objectMapper,256 * 1024);
+  private final DefaultDataBufferFactory buffers = new DefaultDataBufferFactory();
+  private final Random random = new Random(42);
+
+
+  @Test
+  @DisplayName("FuzzSameAsJackson")
+  public void fuzzSameAsJackson() {
+    int accepted = 0;
+    for (int i = 0; i < BODIES; i++) {
+      boolean schema = random.nextInt(4) != 0;
+      String body = body(schema);
+      byte[] bytes = body.getBytes(UTF_8);
+      if (random.nextInt(3) == 0) bytes = mutate(bytes);
+      boolean mutated = !Arrays.equals(bytes,body.getBytes(UTF_8));
+
+      for (Class<? extends IPerson> type : TYPES)
+        for (Class<?> view : VIEWS) {
+          IPerson parsed = (IPerson) parser(type).parse(buffer(bytes),view);
+          if (parsed != null) assertSamePerson(jackson(bytes,type,view),parsed,body);
+          else assertFalse(schema && !mutated,body);
+        }
+      if (parser(PersonJsonview.class).parse(buffer(bytes),null) != null) accepted++;
+    }
+    log.info("{} bodies, {} parsed without Jackson",BODIES,accepted);
+  }
+
+
+  @Test
+  @DisplayName("RequestViewSkipsId")
+  public void requestViewSkipsId() {
+    String id = new ObjectId().toHexString();
+    byte[] body = ("{\"id\":\"" + id + "\",\"name\":\"name\"}").getBytes(UTF_8);
+
+    PersonJsonview parsed = (PersonJsonview) parser(PersonJsonview.class).parse(buffer(body),PostFilterRequestView.class);
+    assertNull(parsed.getId());
+    assertEquals("name",parsed.getName());
+
+    parsed = (PersonJsonview) parser(PersonJsonview.class).parse(buffer(body),AdminResponseView.class);
+    assertEquals(id,parsed.getId());
+  }
+
+
+  @Test
+  @DisplayName("DecoderUsesRequestView")
+  public void decoderUsesRequestView() {
+    byte[] body = ("{\"id\":\"" + new ObjectId().toHexString() + "\",\"name\":\"name\"}").getBytes(UTF_8);
+
+    PersonJsonview decoded =
+         (PersonJsonview) decoder.decode(buffer(body),ResolvableType.forClass(PersonJsonview.class),APPLICATION_JSON,
+                                         Map.of(JSON_VIEW_HINT,PostFilterRequestView.class));
+    assertNull(decoded.getId());
+    assertEquals("name",decoded.getName());
+  }
+
+
+  @Test
+  @DisplayName("UnknownFieldFallsBack")
+  public void unknownFieldFallsBack() {
+    byte[] body = "{\"name\":\"name\",\"age\":10}".getBytes(UTF_8);
+    assertNull(parser(PersonStandard.class).parse(buffer(body),null));
+
+    // Jackson (FAIL_ON_UNKNOWN_PROPERTIES off) ignores "age"
+    PersonStandard decoded =
+         (PersonStandard) decoder.decodeToMono(Mono.just(buffer(body)),ResolvableType.forClass(PersonStandard.class),
+                                               APPLICATION_JSON,Map.of())
+                                 .block();
+    assertNotNull(decoded);
+    assertEquals("name",decoded.getName());
+  }
+
+
+  private PersonJsonParser<?> parser(Class<?> type) {
+    return parsers.get(type);
+  }
+
+
+  // null: Jackson rejects the body
+  private IPerson jackson(byte[] body,Class<? extends IPerson> type,Class<?> view) {
+    try {
+      return objectMapper.readerFor(type)
+                         .withView(view)
+                         .readValue(body);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+
+  private String body(boolean schema) {
+    List<String> fields = new ArrayList<>();
+    if (random.nextInt(5) != 0) fields.add(field("id"));
+    if (random.nextInt(5) != 0) fields.add(field("name"));
+    if (random.nextInt(8) == 0) fields.add(field(fields.isEmpty() ? "id" : "name"));
+    if (!schema) fields.add(random.nextBoolean()
+                                 ? space() + "\"extra\"" + space() + ":" + space() + random.nextInt()
+                                 : space() + "\"name\":" + (random.nextBoolean() ? "1" : "{}"));
+    Collections.shuffle(fields,random);
+    return space() + "{" + String.join(",",fields) + space() + "}" + space();
+  }
+
+
+  private String field(String name) {
+    String value = random.nextInt(6) == 0 ? "null" : "\"" + text() + "\"";
+    return space() + "\"" + name + "\"" + space() + ":" + space() + value + space();
+  }
+
+
+  private String text() {
+    StringBuilder text = new StringBuilder();
+    for (int i = random.nextInt(8); i > 0; i--)
+      text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+    return text.toString();
+  }
+
+
+  private String space() {
+    return SPACES[random.nextInt(SPACES.length)];
+  }
+
+
+  // truncate, drop, flip or insert one byte
+  private byte[] mutate(byte[] body) {
+    if (body.length == 0) return body;
+    int pos = random.nextInt(body.length);
+    switch (random.nextInt(4)) {
+      case 0:
+        return Arrays.copyOf(body,pos);
+      case 1:
+        byte[] dropped = new byte[body.length - 1];
+        System.arraycopy(body,0,dropped,0,pos);
+        System.arraycopy(body,pos + 1,dropped,pos,body.length - pos - 1);
+        return dropped;
+      case 2:
+        byte[] flipped = body.clone();
+        flipped[pos] = (byte) random.nextInt(256);
+        return flipped;
+      default:
+        byte[] inserted = new byte[body.length + 1];
+        System.arraycopy(body,0,inserted,0,pos);
+        inserted[pos] = (byte) random.nextInt(256);
+        System.arraycopy(body,pos,inserted,pos + 1,body.length - pos);
+        return inserted;
+    }
+  }
+
+
+  private DataBuffer buffer(byte[] bytes) {
+    return buffers.wrap(bytes);
+  }
+
+
+  private static void assertSamePerson(IPerson expected,IPerson actual,String body) {
+    assertNotNull(expected,body);
+    assertEquals(expected.getId(),actual.getId(),body);
+    assertEquals(expected.getName(),actual.getName(),body);
+  }
+}
@@ -0,0 +1,80 @@
+package com.tdd.parallel.core.passthrough;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.stream.Stream;
+
+import static com.tdd.parallel.core.views.Views.PersonViews.AdminResponseView;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+COMPATIBILITY: BsonJsonTranscoder x Jackson (the entity responses)
+ - no Mongo needed: the stored document is written by the template converter
+   ("_class" included) and both JSON outputs are compared as trees
+ */
+@DisplayName("BsonJsonTranscoderCompat")
+public class BsonJsonTranscoderCompat {
+
+  private final MappingMongoConverter converter = converter();
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                                       .build();
+
+
+  static Stream<Arguments> persons() {
+    String objectId = new ObjectId().toHexString();
+    return Stream.of(
+         Arguments.of(new PersonStandard(objectId,"name")),
+         Arguments.of(new PersonStandard("not-an-object-id","name")),
+         Arguments.of(new PersonStandard(objectId,null)),
+         Arguments.of(new PersonStandard(objectId,"quote\" backslash\\ tab\t nul\u0000")),
+         Arguments.of(new PersonStandard(objectId,"ação 名前 😀")),
+         Arguments.of(new PersonJsonview(objectId,"name")),
+         Arguments.of(new PersonJsonview("not-an-object-id","name"))
+    );
+  }
+
+
+  @ParameterizedTest
+  @MethodSource("persons")
+  @DisplayName("SameJsonAsJackson")
+  public void sameJsonAsJackson(Object person) throws Exception {
+    Document stored = new Document();
+    converter.write(person,stored);
+
+    DataBuffer json = new DefaultDataBufferFactory().allocateBuffer(64);
+    BsonJsonTranscoder.transcode(new RawBsonDocument(stored,new DocumentCodec()),json);
+
+    // the admin view serializes every jsonview field
+    byte[] expected = person instanceof PersonJsonview
+         ? objectMapper.writerWithView(AdminResponseView.class)
+                       .writeValueAsBytes(person)
+         : objectMapper.writeValueAsBytes(person);
+    assertEquals(objectMapper.readTree(expected),objectMapper.readTree(json.toString(UTF_8)));
+  }
+
+
+  private static MappingMongoConverter converter() {
+    MongoMappingContext context = new MongoMappingContext();
+    context.afterPropertiesSet();
+    MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,context);
+    converter.afterPropertiesSet();
+    return converter;
+  }
+}
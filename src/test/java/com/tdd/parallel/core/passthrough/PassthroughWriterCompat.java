@@ -0,0 +1,220 @@
+package com.tdd.parallel.core.passthrough;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import testsconfig.utils.InMemoryService;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+
+/*
+COMPATIBILITY: PassthroughWriter x Jackson writing the entities (no Mongo: InMemoryService)
+ - same JSON array, same CBOR array (written one document at a time)
+ - a document of a BSON type the transcoder does not write still gives valid JSON (entity fallback)
+ - disabled or an Accept it does not write: the handler returns the entities (handles() is false)
+ - nothing is committed before the first document: an error of the cursor is the handler's error
+ */
+@DisplayName("PassthroughWriterCompat")
+public class PassthroughWriterCompat {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                                       .build();
+  private final BinaryFormats binaryFormats = new BinaryFormats(objectMapper,Jackson2ObjectMapperBuilder::json);
+  private final InMemoryService<PersonStandard> service =
+       new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+
+
+  @BeforeEach
+  public void setUp() {
+    for (int i = 0; i < 10; i++)
+      service.save(new PersonStandard(new ObjectId().toHexString(),"name " + i))
+             .block();
+  }
+
+
+  @Test
+  @DisplayName("SameBodyAsEntities")
+  public void sameBodyAsEntities() throws Exception {
+    String body = write(service,MockServerHttpRequest.get("/")).getBodyAsString()
+                                                              .block();
+
+    assertEquals(10,objectMapper.readTree(body)
+                                .size());
+    assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(service.findAll()
+                                                                              .collectList()
+                                                                              .block())),
+                 objectMapper.readTree(body));
+  }
+
+
+  @Test
+  @DisplayName("SameCborAsEntities")
+  public void sameCborAsEntities() throws Exception {
+    MockServerHttpResponse response = write(service,MockServerHttpRequest.get("/")
+                                                                         .accept(APPLICATION_CBOR));
+    byte[] body = DataBufferUtils.join(response.getBody())
+                                 .map(buffer -> {
+                                   byte[] bytes = new byte[buffer.readableByteCount()];
+                                   buffer.read(bytes);
+                                   DataBufferUtils.release(buffer);
+                                   return bytes;
+                                 })
+                                 .block();
+
+    assertEquals(APPLICATION_CBOR,response.getHeaders()
+                                          .getContentType());
+    // the same values (the array has no length ahead: CBOR indefinite-length array)
+    ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor()
+                                                  .build();
+    assertEquals(cbor.readTree(binaryFormats.writer(APPLICATION_CBOR,null)
+                                            .write(service.findAll()
+                                                          .collectList()
+                                                          .block())),cbor.readTree(body));
+  }
+
+
+  @Test
+  @DisplayName("CborWrittenPerDocument")
+  public void cborWrittenPerDocument() {
+    InMemoryService<PersonStandard> endless =
+         new InMemoryService<PersonStandard>(PersonCodecs.STANDARD,PersonStandard::setId) {
+           @Override
+           public Flux<RawBsonDocument> findAllRaw() {
+             return service.findAllRaw()
+                           .take(1)
+                           .concatWith(Flux.never());
+           }
+         };
+    Sinks.Many<DataBuffer> written = Sinks.many()
+                                          .replay()
+                                          .all();
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                                                                                     .accept(APPLICATION_CBOR));
+    exchange.getResponse()
+            .setWriteHandler(body -> body.doOnNext(written::tryEmitNext)
+                                         .then());
+
+    Disposable writing = enabled().write(exchange,endless,PersonCodecs.STANDARD,null)
+                                  .subscribe();
+    try {
+      DataBuffer first = written.asFlux()
+                                .next()
+                                .block(Duration.ofSeconds(2));
+      assertTrue(first.readableByteCount() > 0);
+    } finally {
+      writing.dispose();
+    }
+  }
+
+
+  @Test
+  @DisplayName("HandlesOnlyWhenEnabledAndAccepted")
+  public void handlesOnlyWhenEnabledAndAccepted() {
+    PassthroughWriter disabled = new PassthroughWriter(binaryFormats,new PassthroughProperties());
+
+    assertFalse(disabled.handles(MockServerWebExchange.from(MockServerHttpRequest.get("/"))));
+    assertTrue(enabled().handles(MockServerWebExchange.from(MockServerHttpRequest.get("/"))));
+    assertTrue(enabled().handles(MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                                                                                 .accept(APPLICATION_JSON))));
+    assertTrue(enabled().handles(MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                                                                                 .accept(APPLICATION_CBOR))));
+    assertFalse(enabled().handles(MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                                                                                  .accept(TEXT_PLAIN))));
+  }
+
+
+  @Test
+  @DisplayName("ErrorBeforeFirstDocumentNotCommitted")
+  public void errorBeforeFirstDocumentNotCommitted() {
+    InMemoryService<PersonStandard> failing =
+         new InMemoryService<PersonStandard>(PersonCodecs.STANDARD,PersonStandard::setId) {
+           @Override
+           public Flux<RawBsonDocument> findAllRaw() {
+             return Flux.error(new IllegalStateException("cursor"));
+           }
+         };
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+    assertThrows(IllegalStateException.class,() -> enabled().write(exchange,failing,PersonCodecs.STANDARD,null)
+                                                            .block());
+    assertFalse(exchange.getResponse()
+                        .isCommitted());
+  }
+
+
+  @Test
+  @DisplayName("EmptyArray")
+  public void emptyArray() {
+    InMemoryService<PersonStandard> empty = new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+
+    assertEquals("[]",write(empty,MockServerHttpRequest.get("/")).getBodyAsString()
+                                                                .block());
+  }
+
+
+  @Test
+  @DisplayName("UnsupportedTypeFallsBackToEntity")
+  public void unsupportedTypeFallsBackToEntity() throws Exception {
+    String id = new ObjectId().toHexString();
+    BsonDocument stored = new BsonDocument("_id",new BsonObjectId(new ObjectId(id)))
+         .append("name",new BsonString("name"))
+         .append("age",new BsonInt32(42));
+    InMemoryService<PersonStandard> withInt32 =
+         new InMemoryService<PersonStandard>(PersonCodecs.STANDARD,PersonStandard::setId) {
+           @Override
+           public Flux<RawBsonDocument> findAllRaw() {
+             return Flux.concat(service.findAllRaw(),Flux.just(new RawBsonDocument(stored,new BsonDocumentCodec())));
+           }
+         };
+
+    String body = write(withInt32,MockServerHttpRequest.get("/")).getBodyAsString()
+                                                                .block();
+
+    assertEquals(11,objectMapper.readTree(body)
+                                .size());
+    assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(new PersonStandard(id,"name"))),
+                 objectMapper.readTree(body)
+                             .get(10));
+  }
+
+
+  private MockServerHttpResponse write(InMemoryService<PersonStandard> from,
+                                       MockServerHttpRequest.BaseBuilder<?> request) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(request);
+    enabled().write(exchange,from,PersonCodecs.STANDARD,null)
+             .block();
+    return exchange.getResponse();
+  }
+
+
+  private PassthroughWriter enabled() {
+    PassthroughProperties properties = new PassthroughProperties();
+    properties.setEnabled(true);
+    return new PassthroughWriter(binaryFormats,properties);
+  }
+}
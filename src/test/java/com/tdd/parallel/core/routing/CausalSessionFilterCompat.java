@@ -0,0 +1,138 @@
+package com.tdd.parallel.core.routing;
+
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.tdd.parallel.core.routes.RoutesJsonview.JV_REQ_MAP;
+import static com.tdd.parallel.core.routes.RoutesJsonview.JV_TEMPL_USER;
+import static com.tdd.parallel.core.routes.RoutesStandard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+COMPATIBILITY: CausalSessionFilter x the requests that start a session (no Mongo: a counting client)
+ - template routes: a session, its operation time back as the token header
+ - a token on any route: a session advanced to it
+ - other routes without a token: no session, no header
+ */
+@DisplayName("CausalSessionFilterCompat")
+public class CausalSessionFilterCompat {
+
+  private static final String TOKEN = "1700000000-3";
+
+  private final ReadRoutingProperties properties = new ReadRoutingProperties();
+  private final AtomicInteger started = new AtomicInteger();
+  private final AtomicReference<BsonTimestamp> advanced = new AtomicReference<>();
+  private final CausalSessionFilter filter = new CausalSessionFilter(mongoClient(),properties);
+
+
+  @Test
+  @DisplayName("TemplateRouteStartsSession")
+  public void templateRouteStartsSession() {
+    for (String path : new String[]{STD_REQ_MAP + STD_TEMPL + "/1",JV_REQ_MAP + JV_TEMPL_USER}) {
+      MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(path));
+
+      assertTrue(filtered(exchange));
+      assertEquals(TOKEN,exchange.getResponse()
+                                 .getHeaders()
+                                 .getFirst(properties.getTokenHeader()));
+    }
+    assertEquals(2,started.get());
+  }
+
+
+  @Test
+  @DisplayName("TokenStartsSession")
+  public void tokenStartsSession() {
+    MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(STD_REQ_MAP + STD_CRUD)
+                                                                   .header(properties.getTokenHeader(),TOKEN));
+
+    assertTrue(filtered(exchange));
+    assertEquals(1,started.get());
+    assertEquals(new BsonTimestamp(1700000000,3),advanced.get());
+  }
+
+
+  @Test
+  @DisplayName("OtherRouteNoSession")
+  public void otherRouteNoSession() {
+    MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(STD_REQ_MAP + STD_CRUD));
+
+    assertFalse(filtered(exchange));
+    assertEquals(0,started.get());
+    assertNull(exchange.getResponse()
+                       .getHeaders()
+                       .getFirst(properties.getTokenHeader()));
+  }
+
+
+  // true: the handler ran in a session
+  private boolean filtered(MockServerWebExchange exchange) {
+    AtomicReference<Boolean> inSession = new AtomicReference<>();
+    filter.filter(exchange,filtered -> Mono.deferContextual(context -> {
+                                             inSession.set(hasSession(context));
+                                             return filtered.getResponse()
+                                                            .setComplete();
+                                           }))
+          .block(Duration.ofSeconds(5));
+    return inSession.get();
+  }
+
+
+  private static boolean hasSession(ContextView context) {
+    return context.hasKey(CausalSessions.class.getName());
+  }
+
+
+  private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+    return MockServerWebExchange.from(request.build());
+  }
+
+
+  // startSession -> a session whose operation time is TOKEN; any other call fails
+  private MongoClient mongoClient() {
+    ClientSession session = proxy(ClientSession.class,(method,args) -> {
+      switch (method) {
+        case "getOperationTime":
+          return new BsonTimestamp(1700000000,3);
+        case "advanceOperationTime":
+          advanced.set((BsonTimestamp) args[0]);
+          return null;
+        case "close":
+          return null;
+        default:
+          throw new UnsupportedOperationException(method);
+      }
+    });
+    return proxy(MongoClient.class,(method,args) -> {
+      if (!method.equals("startSession")) throw new UnsupportedOperationException(method);
+      started.incrementAndGet();
+      return Mono.just(session);
+    });
+  }
+
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type,Call call) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(),new Class<?>[]{type},
+                                      (proxy,method,args) -> call.invoke(method.getName(),args));
+  }
+
+
+  @FunctionalInterface
+  private interface Call {
+
+    Object invoke(String method,Object[] args);
+  }
+}
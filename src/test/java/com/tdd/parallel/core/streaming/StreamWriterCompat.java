@@ -0,0 +1,95 @@
+package com.tdd.parallel.core.streaming;
+
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+COMPATIBILITY: StreamWriter flush groups (no server, no Mongo)
+ - a document waiting in a group is flushed by the timer while the cursor is idle,
+   not by the next document or the end of the cursor
+ */
+@DisplayName("StreamWriterCompat")
+public class StreamWriterCompat {
+
+  private final BinaryFormats binaryFormats = new BinaryFormats(Jackson2ObjectMapperBuilder.json()
+                                                                                          .build(),
+                                                                Jackson2ObjectMapperBuilder::json);
+  private final StreamWriter streamWriter =
+       new StreamWriter(binaryFormats.getObjectMapper(),new StreamingProperties(),binaryFormats);
+
+
+  @Test
+  @DisplayName("IdleCursorFlushedByTimer")
+  public void idleCursorFlushedByTimer() {
+    String id = new ObjectId().toHexString();
+    Sinks.Many<String> flushed = Sinks.many()
+                                      .replay()
+                                      .all();
+    FlushedGroups response = new FlushedGroups(flushed);
+    DefaultServerWebExchange exchange =
+         new DefaultServerWebExchange(MockServerHttpRequest.get("/")
+                                                           .build(),response,new DefaultWebSessionManager(),
+                                      ServerCodecConfigurer.create(),new AcceptHeaderLocaleContextResolver());
+
+    // one document, then a cursor that never ends
+    Disposable writing = streamWriter.write(exchange,Flux.just(new PersonStandard(id,"name"))
+                                                         .concatWith(Flux.never()))
+                                     .subscribe();
+    try {
+      String group = flushed.asFlux()
+                            .next()
+                            .block(Duration.ofSeconds(2));
+      assertTrue(group.contains(id));
+    } finally {
+      writing.dispose();
+    }
+  }
+
+
+  // each group written by writeAndFlushWith, once flushed (completed)
+  private static class FlushedGroups extends MockServerHttpResponse {
+
+    private final Sinks.Many<String> flushed;
+
+
+    FlushedGroups(Sinks.Many<String> flushed) {
+      this.flushed = flushed;
+    }
+
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+      return Flux.from(body)
+                 .concatMap(group -> DataBufferUtils.join(group)
+                                                    .map(buffer -> {
+                                                      String written = buffer.toString(UTF_8);
+                                                      DataBufferUtils.release(buffer);
+                                                      return written;
+                                                    }))
+                 .doOnNext(flushed::tryEmitNext)
+                 .then();
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.tdd.parallel.core.views;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tdd.parallel.entity.PersonJsonview;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tdd.parallel.core.views.Views.PersonViews.AdminResponseView;
+import static testsconfig.utils.Benchmark.*;
+
+/*
+ViewSerializer (ns/list of 100 persons, AdminResponseView):
+@JsonView | precompiled (ViewSerializer) | hand-written JsonGenerator writer
+ */
+@DisplayName("ViewSerializerBenchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class ViewSerializerBenchmark {
+
+  private static final int OPERATIONS = 100_000;
+
+  private final ObjectMapper jackson = ViewSerializerCompat.mapper(false,false);
+  private final ObjectMapper precompiled = ViewSerializerCompat.mapper(false,true);
+
+
+  @Test
+  @DisplayName("JsonViewVsPrecompiled")
+  public void jsonViewVsPrecompiled() throws Exception {
+    List<PersonJsonview> persons = new ArrayList<>();
+    for (int i = 0; i < 100; i++)
+      persons.add(new PersonJsonview(new ObjectId().toHexString(),"benchmark name " + i));
+    ObjectWriter jsonView = jackson.writerWithView(AdminResponseView.class);
+    ObjectWriter viewSerializer = precompiled.writerWithView(AdminResponseView.class);
+
+    rounds("list of " + persons.size() + " (ns/list)",() -> {
+      long jsonViewTime = nanosPerOp(OPERATIONS,i -> jsonView.writeValueAsBytes(persons));
+      long precompiledTime = nanosPerOp(OPERATIONS,i -> viewSerializer.writeValueAsBytes(persons));
+      long handWrittenTime = nanosPerOp(OPERATIONS,i -> handWritten(persons));
+      return "@JsonView " + jsonViewTime + " | precompiled " + precompiledTime + " | hand-written " + handWrittenTime;
+    });
+  }
+
+
+  // AdminResponseView by hand, straight on a JsonGenerator
+  private byte[] handWritten(List<PersonJsonview> persons) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (JsonGenerator generator = jackson.getFactory()
+                                          .createGenerator(bytes)) {
+      generator.writeStartArray();
+      for (PersonJsonview person : persons) {
+        generator.writeStartObject();
+        generator.writeStringField("id",person.getId());
+        generator.writeStringField("name",person.getName());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,84 @@
+package com.tdd.parallel.core.views;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.tdd.parallel.core.views.Views.PersonViews.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+COMPATIBILITY: ViewSerializer x Jackson @JsonView filtering
+ - same bytes for every entity x view, with and without DEFAULT_VIEW_INCLUSION
+ - speed: ViewSerializerBenchmark
+ */
+@DisplayName("ViewSerializerCompat")
+public class ViewSerializerCompat {
+
+  private final ObjectMapper jackson = mapper(false,false);
+  private final ObjectMapper precompiled = mapper(false,true);
+
+
+  static Stream<Arguments> personsByView() {
+    String objectId = new ObjectId().toHexString();
+    List<Object> persons = List.of(
+         new PersonJsonview(objectId,"name"),
+         new PersonJsonview(null,"quote\" name"),
+         new PersonStandard(objectId,"name"),
+         new PersonStandard(objectId,null),
+         new PersonJsonview(objectId,"name",3L),
+         new PersonStandard(objectId,"name",Long.MAX_VALUE));
+    List<Class<?>> views = Arrays.asList(null,AdminResponseView.class,UserResponseView.class,PostFilterRequestView.class);
+
+    List<Arguments> arguments = new ArrayList<>();
+    for (boolean inclusion : List.of(true,false))
+      for (Object person : persons)
+        for (Class<?> view : views)
+          arguments.add(Arguments.of(person,view,inclusion));
+    return arguments.stream();
+  }
+
+
+  @ParameterizedTest
+  @MethodSource("personsByView")
+  @DisplayName("SameBytesAsJsonView")
+  public void sameBytesAsJsonView(Object person,Class<?> view,boolean inclusion) throws IOException {
+    ObjectWriter expected = mapper(inclusion,false).writerWithView(view);
+    ObjectWriter actual = mapper(inclusion,true).writerWithView(view);
+
+    assertArrayEquals(expected.writeValueAsBytes(person),actual.writeValueAsBytes(person));
+  }
+
+
+  @Test
+  @DisplayName("ModuleInstalled")
+  public void moduleInstalled() throws IOException {
+    assertEquals(ViewSerializer.class,precompiled.getSerializerProviderInstance()
+                                                 .findValueSerializer(PersonJsonview.class)
+                                                 .getClass());
+  }
+
+
+  // Boot default: DEFAULT_VIEW_INCLUSION disabled
+  static ObjectMapper mapper(boolean defaultViewInclusion,boolean viewSerializers) {
+    Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                                                                     .defaultViewInclusion(defaultViewInclusion);
+    if (viewSerializers) builder.modulesToInstall(ViewSerializers.persons());
+    return builder.build();
+  }
+}
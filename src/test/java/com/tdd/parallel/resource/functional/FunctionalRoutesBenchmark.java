@@ -0,0 +1,88 @@
+package com.tdd.parallel.resource.functional;
+
+import com.tdd.parallel.entity.PersonStandard;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import testsconfig.utils.InMemoryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.tdd.parallel.core.routes.RoutesStandard.*;
+import static testsconfig.utils.Benchmark.*;
+
+/*
+functional routes x annotated controllers (the FunctionalRoutesCompat clients)
+ - in-process (WebTestClient bound to the handler, no socket): only the dispatch differs
+ - sequential latency (findById) + throughput of concurrent callers (findAll of 100)
+ */
+@DisplayName("FunctionalRoutesBenchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class FunctionalRoutesBenchmark {
+
+  private static final int OPERATIONS = 10_000;
+  private static final int CALLERS = 8;
+
+  private final FunctionalRoutesCompat clients = new FunctionalRoutesCompat();
+
+
+  @Test
+  @DisplayName("AnnotatedVsFunctional")
+  public void annotatedVsFunctional() throws Exception {
+    InMemoryService<PersonStandard> annotatedService = FunctionalRoutesCompat.standardService();
+    InMemoryService<PersonStandard> functionalService = FunctionalRoutesCompat.standardService();
+    for (int i = 0; i < 100; i++) {
+      String id = new ObjectId().toHexString();
+      annotatedService.save(new PersonStandard(id,"benchmark name " + i))
+                      .block();
+      functionalService.save(new PersonStandard(id,"benchmark name " + i))
+                       .block();
+    }
+    WebTestClient annotated = clients.standardControllers(annotatedService);
+    WebTestClient functional = clients.standardRoutes(functionalService);
+    String findById = STD_REQ_MAP + STD_TEMPL + "/" + annotatedService.firstId();
+    String findAll = STD_REQ_MAP + STD_CRUD;
+    ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    try {
+      rounds("findById (ns mean/p50/p99)",() -> {
+        long[] annotatedLatency = latencies(OPERATIONS,i -> get(annotated,findById));
+        long[] functionalLatency = latencies(OPERATIONS,i -> get(functional,findById));
+        return "annotated " + summary(annotatedLatency) + " | functional " + summary(functionalLatency);
+      });
+      rounds("findAll of 100 (" + CALLERS + " callers, req/s)",() -> {
+        long annotatedThroughput = perSecond(OPERATIONS,() -> callers(executor,annotated,findAll));
+        long functionalThroughput = perSecond(OPERATIONS,() -> callers(executor,functional,findAll));
+        return "annotated " + annotatedThroughput + " | functional " + functionalThroughput;
+      });
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+
+  private static void callers(ExecutorService executor,WebTestClient client,String uri) throws Exception {
+    List<Future<?>> running = new ArrayList<>();
+    for (int caller = 0; caller < CALLERS; caller++)
+      running.add(executor.submit(() -> {
+        for (int i = 0; i < OPERATIONS / CALLERS; i++)
+          get(client,uri);
+      }));
+    for (Future<?> caller : running) caller.get();
+  }
+
+
+  private static WebTestClient.ResponseSpec get(WebTestClient client,String uri) {
+    return client.get()
+                 .uri(uri)
+                 .exchange()
+                 .expectStatus()
+                 .isOk();
+  }
+}
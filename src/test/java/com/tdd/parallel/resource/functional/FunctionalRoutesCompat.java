@@ -0,0 +1,385 @@
+package com.tdd.parallel.resource.functional;
+
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.config.FunctionalRoutesConfig;
+import com.tdd.parallel.core.etag.EtagProperties;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.etag.WriteVersions;
+import com.tdd.parallel.core.formats.BinaryFormatEncoder;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.core.passthrough.PassthroughProperties;
+import com.tdd.parallel.core.passthrough.PassthroughWriter;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.core.streaming.StreamingProperties;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.resource.jsonview.ResCrudJsonview;
+import com.tdd.parallel.resource.jsonview.ResRawDriverJsonview;
+import com.tdd.parallel.resource.jsonview.ResRepoJsonview;
+import com.tdd.parallel.resource.jsonview.ResTemplJsonview;
+import com.tdd.parallel.resource.standard.ResCrudStandard;
+import com.tdd.parallel.resource.standard.ResRawDriverStandard;
+import com.tdd.parallel.resource.standard.ResRepoStandard;
+import com.tdd.parallel.resource.standard.ResTemplStandard;
+import com.tdd.parallel.service.IService;
+import com.tdd.parallel.service.decorator.WriteVersionService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import testsconfig.utils.InMemoryService;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.BULK_MAX_CHUNK_SIZE;
+import static com.tdd.parallel.core.formats.BinaryFormats.BSON;
+import static com.tdd.parallel.core.routes.RoutesJsonview.*;
+import static com.tdd.parallel.core.routes.RoutesStandard.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpStatus.NOT_ACCEPTABLE;
+import static org.springframework.http.MediaType.*;
+
+/*
+COMPATIBILITY: functional routes (FunctionalRoutesConfig) x annotated controllers (Res*)
+ - no Mongo needed: both sides share the writers, Etags and an in-memory IService
+   (versioned by WriteVersionService, as with person.etag.enabled=true)
+ - the same requests on both sides: same status; for a success the same
+   Content-Type, ETag and body bytes
+ - speed: FunctionalRoutesBenchmark
+ */
+@DisplayName("FunctionalRoutesCompat")
+public class FunctionalRoutesCompat {
+
+  private final BinaryFormats binaryFormats = new BinaryFormats(Jackson2ObjectMapperBuilder.json()
+                                                                                         .build(),
+                                                                Jackson2ObjectMapperBuilder::json);
+  private final StreamWriter streamWriter =
+       new StreamWriter(binaryFormats.getObjectMapper(),new StreamingProperties(),binaryFormats);
+  private final PassthroughWriter passthroughWriter =
+       new PassthroughWriter(binaryFormats,new PassthroughProperties());
+
+  private final String id1 = new ObjectId().toHexString();
+  private final String id2 = new ObjectId().toHexString();
+  private final String missing = new ObjectId().toHexString();
+
+
+  @Test
+  @DisplayName("StandardRoutesMatchControllers")
+  public void standardRoutesMatchControllers() {
+    WebTestClient annotated = standardControllers(standardService());
+    WebTestClient functional = standardRoutes(standardService());
+
+    for (String path : List.of(STD_CRUD,STD_REPO,STD_TEMPL,STD_RAW))
+      compare(annotated,functional,standardRequests(STD_REQ_MAP + path,!path.equals(STD_REPO)));
+  }
+
+
+  @Test
+  @DisplayName("JsonviewRoutesMatchControllers")
+  public void jsonviewRoutesMatchControllers() {
+    WebTestClient annotated = jsonviewControllers(jsonviewService());
+    WebTestClient functional = jsonviewRoutes(jsonviewService());
+
+    compare(annotated,functional,jsonviewRequests(JV_CRUD_ADMIN_POST_REQUEST,JV_CRUD_ADMIN,JV_CRUD_USER,JV_CRUD_DEL));
+    compare(annotated,functional,jsonviewRequests(JV_REPO_ADMIN_POST_REQUEST,JV_REPO_ADMIN,JV_REPO_USER,JV_REPO_DEL));
+    compare(annotated,functional,
+            jsonviewRequests(JV_TEMPL_ADMIN_POST_REQUEST,JV_TEMPL_ADMIN,JV_TEMPL_USER,JV_TEMPL_DEL));
+    compare(annotated,functional,jsonviewRequests(JV_RAW_ADMIN_POST_REQUEST,JV_RAW_ADMIN,JV_RAW_USER,JV_RAW_DEL));
+  }
+
+
+  @Test
+  @DisplayName("StreamedPathsNeverFindById")
+  public void streamedPathsNeverFindById() {
+    for (WebTestClient client : List.of(standardControllers(standardService()),standardRoutes(standardService())))
+      for (String path : List.of(STD_STREAM,STD_IDS))
+        client.get()
+              .uri(STD_REQ_MAP + STD_TEMPL + path)
+              .accept(APPLICATION_JSON)
+              .exchange()
+              .expectStatus()
+              .isEqualTo(NOT_ACCEPTABLE);
+  }
+
+
+  @Test
+  @DisplayName("BulkChunkSizeOutOfRange")
+  public void bulkChunkSizeOutOfRange() {
+    for (WebTestClient client : List.of(standardControllers(standardService()),standardRoutes(standardService())))
+      for (int chunkSize : new int[]{0,BULK_MAX_CHUNK_SIZE + 1})
+        post(client,STD_REQ_MAP + STD_TEMPL + STD_BULK + "?chunkSize=" + chunkSize,"[{\"name\":\"i\"}]")
+             .exchange()
+             .expectStatus()
+             .isBadRequest();
+  }
+
+
+  private List<Function<WebTestClient, WebTestClient.RequestHeadersSpec<?>>> standardRequests(
+       String path,boolean bulk) {
+    return List.of(
+         client -> post(client,path,"{\"id\":\"%s\",\"name\":\"a\"}"),
+         client -> post(client,path,"{\"name\":\"b\"}"),
+         client -> post(client,path + STD_INGEST + "?durability=unacknowledged","{\"name\":\"c\"}"),
+         client -> post(client,path + STD_INGEST + "?durability=","{\"name\":\"d\"}"),
+         client -> post(client,path + STD_INGEST + "?durability=sometimes","{\"name\":\"e\"}"),
+         client -> bulk ? post(client,path + STD_BULK + "?chunkSize=1","[{\"name\":\"f\"},{\"name\":\"g\"}]")
+                        : client.get().uri(path),
+         client -> bulk ? post(client,path + STD_BULK + "?chunkSize=many","[]") : client.get().uri(path),
+         client -> bulk ? post(client,path + STD_BULK + "?chunkSize=0","[]") : client.get().uri(path),
+         client -> bulk ? post(client,path + STD_BULK + "?ordered=false","[{\"name\":\"h\"}]")
+                        : client.get().uri(path),
+         client -> client.post().uri(path).contentType(APPLICATION_JSON),
+         client -> client.get().uri(path),
+         client -> client.get().uri(path).accept(APPLICATION_CBOR),
+         client -> client.get().uri(path).accept(BSON),
+         client -> client.get().uri(path).accept(TEXT_PLAIN),
+         client -> client.get().uri(path + STD_STREAM),
+         client -> client.get().uri(path + STD_STREAM).accept(TEXT_EVENT_STREAM),
+         client -> client.get().uri(path + STD_STREAM).accept(APPLICATION_CBOR),
+         client -> client.get().uri(path + STD_STREAM).accept(APPLICATION_JSON),
+         client -> client.get().uri(path + STD_IDS + "?id=%s&id=%s&id=%s"),
+         client -> client.get().uri(path + STD_IDS),
+         client -> client.get().uri(path + STD_PAGE + "?limit=2"),
+         client -> client.get().uri(path + STD_PAGE + "?limit=&sort=name&direction=desc"),
+         client -> client.get().uri(path + STD_PAGE + "?limit=x"),
+         client -> client.get().uri(path + STD_PAGE + "?direction=sideways"),
+         client -> client.get().uri(path + "/%s"),
+         client -> client.get().uri(path + "/%3$s"),
+         client -> client.get().uri(path + "/%s").header("If-None-Match","\"0:all:json\""),
+         client -> post(client,path,"{\"id\":\"%s\",\"name\":\"a2\"}").header("If-Match","\"0:all:json\""),
+         client -> post(client,path,"{\"id\":\"%s\",\"name\":\"a3\"}").header("If-Match","\"0:all:json\""),
+         client -> client.delete().uri(path + "/%2$s"),
+         client -> client.get().uri(path));
+  }
+
+
+  private List<Function<WebTestClient, WebTestClient.RequestHeadersSpec<?>>> jsonviewRequests(
+       String adminPostRequest,String admin,String user,String del) {
+    String adminPath = JV_REQ_MAP + admin;
+    String userPath = JV_REQ_MAP + user;
+    return List.of(
+         client -> post(client,JV_REQ_MAP + adminPostRequest,"{\"id\":\"%s\",\"name\":\"request\"}"),
+         client -> post(client,adminPath,"{\"id\":\"%s\",\"name\":\"a\"}"),
+         client -> post(client,userPath,"{\"id\":\"%2$s\",\"name\":\"b\"}"),
+         client -> client.get().uri(adminPath),
+         client -> client.get().uri(userPath),
+         client -> client.get().uri(userPath).accept(APPLICATION_CBOR),
+         client -> client.get().uri(adminPath + JV_STREAM),
+         client -> client.get().uri(userPath + JV_STREAM).accept(BSON),
+         client -> client.get().uri(userPath + JV_STREAM).accept(APPLICATION_JSON),
+         client -> client.get().uri(adminPath + JV_IDS + "?id=%s&id=%s"),
+         client -> client.get().uri(userPath + JV_IDS + "?id=%s&id=%s").accept(TEXT_EVENT_STREAM),
+         client -> client.get().uri(adminPath + JV_PAGE + "?limit=1"),
+         client -> client.get().uri(userPath + JV_PAGE + "?limit=1&sort=name"),
+         client -> client.get().uri(userPath + JV_PAGE + "?limit=-1"),
+         client -> client.get().uri(adminPath + "/%s"),
+         client -> client.get().uri(userPath + "/%s"),
+         client -> client.get().uri(userPath + "/%s").header("If-None-Match","\"0:UserResponseView:json\""),
+         client -> post(client,userPath,"{\"id\":\"%s\",\"name\":\"a2\"}").header("If-Match","*"),
+         client -> client.delete().uri(JV_REQ_MAP + del + "/%s"),
+         client -> client.get().uri(adminPath + "/%s"));
+  }
+
+
+  // the uris/bodies are formats of (id1, id2, missing)
+  private void compare(WebTestClient annotated,WebTestClient functional,
+                       List<Function<WebTestClient, WebTestClient.RequestHeadersSpec<?>>> requests) {
+    for (Function<WebTestClient, WebTestClient.RequestHeadersSpec<?>> request : requests) {
+      EntityExchangeResult<byte[]> expected = exchange(request.apply(annotated));
+      EntityExchangeResult<byte[]> actual = exchange(request.apply(functional));
+      String description = expected.getMethod() + " " + expected.getUrl();
+
+      assertEquals(expected.getStatus(),actual.getStatus(),description);
+      if (expected.getStatus()
+                  .isError()) continue;
+      assertEquals(expected.getResponseHeaders()
+                           .getContentType(),
+                   actual.getResponseHeaders()
+                         .getContentType(),description);
+      assertEquals(expected.getResponseHeaders()
+                           .getETag(),
+                   actual.getResponseHeaders()
+                         .getETag(),description);
+      assertArrayEquals(body(expected),body(actual),description);
+    }
+  }
+
+
+  private static EntityExchangeResult<byte[]> exchange(WebTestClient.RequestHeadersSpec<?> request) {
+    return request.exchange()
+                  .expectBody()
+                  .returnResult();
+  }
+
+
+  private WebTestClient.RequestHeadersSpec<?> post(WebTestClient client,String uri,String body) {
+    return client.post()
+                 .uri(uri)
+                 .contentType(APPLICATION_JSON)
+                 .bodyValue(String.format(body,id1,id2,missing));
+  }
+
+
+  private static byte[] body(EntityExchangeResult<byte[]> result) {
+    return result.getResponseBody() == null ? new byte[0] : result.getResponseBody();
+  }
+
+
+  WebTestClient standardControllers(InMemoryService<PersonStandard> stored) {
+    WriteVersions writeVersions = writeVersions(stored);
+    IService<PersonStandard> service = new WriteVersionService<>(stored,writeVersions,PersonStandard.class);
+    Etags etags = etags(writeVersions);
+    return WebTestClient.bindToController(new ResCrudStandard(service,streamWriter,etags),
+                                          new ResRepoStandard(service,streamWriter,etags),
+                                          new ResTemplStandard(service,streamWriter,passthroughWriter,etags),
+                                          new ResRawDriverStandard(service,streamWriter,passthroughWriter,etags))
+                        .httpMessageCodecs(this::codecs)
+                        .configureClient()
+                        .uriBuilderFactory(new Ids(id1,id2,missing))
+                        .build();
+  }
+
+
+  WebTestClient standardRoutes(InMemoryService<PersonStandard> stored) {
+    WriteVersions writeVersions = writeVersions(stored);
+    IService<PersonStandard> service = new WriteVersionService<>(stored,writeVersions,PersonStandard.class);
+    return routes(new FunctionalRoutesConfig().standardRoutes(service,service,service,service,streamWriter,
+                                                               passthroughWriter,etags(writeVersions)));
+  }
+
+
+  private WebTestClient jsonviewControllers(InMemoryService<PersonJsonview> stored) {
+    WriteVersions writeVersions = writeVersions(stored);
+    IService<PersonJsonview> service = new WriteVersionService<>(stored,writeVersions,PersonJsonview.class);
+    Etags etags = etags(writeVersions);
+    return WebTestClient.bindToController(new ResCrudJsonview(service,streamWriter,etags),
+                                          new ResRepoJsonview(service,streamWriter,etags),
+                                          new ResTemplJsonview(service,streamWriter,passthroughWriter,etags),
+                                          new ResRawDriverJsonview(service,streamWriter,passthroughWriter,etags))
+                        .httpMessageCodecs(this::codecs)
+                        .configureClient()
+                        .uriBuilderFactory(new Ids(id1,id2,missing))
+                        .build();
+  }
+
+
+  private WebTestClient jsonviewRoutes(InMemoryService<PersonJsonview> stored) {
+    WriteVersions writeVersions = writeVersions(stored);
+    IService<PersonJsonview> service = new WriteVersionService<>(stored,writeVersions,PersonJsonview.class);
+    return routes(new FunctionalRoutesConfig().jsonviewRoutes(service,service,service,service,streamWriter,
+                                                               passthroughWriter,etags(writeVersions)));
+  }
+
+
+  private WebTestClient routes(RouterFunction<ServerResponse> routes) {
+    return WebTestClient.bindToRouterFunction(routes)
+                        .handlerStrategies(HandlerStrategies.builder()
+                                                            .codecs(this::codecs)
+                                                            .build())
+                        .configureClient()
+                        .uriBuilderFactory(new Ids(id1,id2,missing))
+                        .build();
+  }
+
+
+  // as BinaryFormatsConfig: JSON first, then the binary formats
+  private void codecs(ServerCodecConfigurer configurer) {
+    configurer.customCodecs()
+              .register(new Jackson2JsonEncoder(binaryFormats.getObjectMapper()));
+    binaryFormats.getFormats()
+                 .forEach(format -> configurer.customCodecs()
+                                              .register(new BinaryFormatEncoder(binaryFormats,format)));
+  }
+
+
+  private Etags etags(WriteVersions writeVersions) {
+    EtagProperties properties = new EtagProperties();
+    properties.setEnabled(true);
+    return new Etags(properties,writeVersions,binaryFormats);
+  }
+
+
+  // collection counter: 7, document versions: 0, 1, ... in save order (the same on both sides)
+  private static <E extends IPerson> WriteVersions writeVersions(IService<E> stored) {
+    AtomicLong versions = new AtomicLong();
+    return new WriteVersions(null,new EtagProperties()) {
+      @Override
+      public Mono<Long> current(Class<?> entity) {
+        return Mono.just(7L);
+      }
+
+
+      @Override
+      public Mono<Void> increment(Class<?> entity) {
+        return Mono.empty();
+      }
+
+
+      @Override
+      public Mono<Long> next(Class<?> entity) {
+        return Mono.fromCallable(versions::getAndIncrement);
+      }
+
+
+      @Override
+      public <T extends IPerson> Mono<Long> document(Class<T> entity,String id) {
+        return stored.findById(id)
+                     .flatMap(person -> Mono.justOrEmpty(person.getVersion()));
+      }
+
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public <T extends IPerson> Mono<T> replace(T person,long expected) {
+        return stored.findById(person.getId())
+                     .filter(current -> Objects.equals(current.getVersion(),expected))
+                     .flatMap(current -> stored.save((E) person))
+                     .map(saved -> person)
+                     .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException("stale " + person.getId())));
+      }
+    };
+  }
+
+
+  static InMemoryService<PersonStandard> standardService() {
+    return new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+  }
+
+
+  private static InMemoryService<PersonJsonview> jsonviewService() {
+    return new InMemoryService<>(PersonCodecs.JSONVIEW,PersonJsonview::setId);
+  }
+
+
+  // formats the uris with (id1, id2, missing) before they are parsed
+  private static class Ids extends DefaultUriBuilderFactory {
+
+    private final Object[] ids;
+
+
+    Ids(Object... ids) {
+      this.ids = ids;
+    }
+
+
+    @Override
+    public URI expand(String uriTemplate,Object... uriVars) {
+      return super.expand(String.format(uriTemplate,ids),uriVars);
+    }
+  }
+}
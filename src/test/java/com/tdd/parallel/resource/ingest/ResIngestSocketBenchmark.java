@@ -0,0 +1,61 @@
+package com.tdd.parallel.resource.ingest;
+
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.ingest.IngestProperties;
+import com.tdd.parallel.entity.PersonStandard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import testsconfig.utils.InMemoryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_REQ_MAP;
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_TEMPL;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static testsconfig.utils.Benchmark.*;
+
+// persons per second: WebSocket frames x POST of ResTemplStandard (concurrent callers), same server (ResIngestSocketCompat)
+@DisplayName("ResIngestSocketBenchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class ResIngestSocketBenchmark {
+
+  private static final int PERSONS = 20_000;
+  private static final int CALLERS = 64;
+
+  private final ResIngestSocketCompat ingest = new ResIngestSocketCompat();
+
+
+  @AfterEach
+  public void tearDown() {
+    ingest.tearDown();
+  }
+
+
+  @Test
+  @DisplayName("SocketVsPost")
+  public void socketVsPost() throws Exception {
+    ingest.start(new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId),new IngestProperties());
+    WebClient rest = WebClient.create("http://localhost:" + ingest.server.port() + STD_REQ_MAP + STD_TEMPL);
+    List<String> frames = new ArrayList<>(PERSONS);
+    for (int i = 0; i < PERSONS; i++) frames.add("{\"name\":\"benchmark name " + i + "\"}");
+
+    rounds("persons/s",() -> {
+      long post = perSecond(PERSONS,() -> Flux.fromIterable(frames)
+                                              .flatMap(frame -> rest.post()
+                                                                    .contentType(APPLICATION_JSON)
+                                                                    .bodyValue(frame)
+                                                                    .retrieve()
+                                                                    .toBodilessEntity(),CALLERS)
+                                              .blockLast());
+      long socket = perSecond(PERSONS,() -> ingest.execute(frames,new AtomicReference<>())
+                                                  .blockLast());
+      return "POST (" + CALLERS + " callers) " + post + " | WebSocket (1 connection) " + socket;
+    });
+  }
+}
@@ -0,0 +1,256 @@
+package com.tdd.parallel.resource.ingest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.config.IngestConfig;
+import com.tdd.parallel.core.etag.EtagProperties;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.core.ingest.IngestProperties;
+import com.tdd.parallel.core.passthrough.PassthroughProperties;
+import com.tdd.parallel.core.passthrough.PassthroughWriter;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.core.streaming.StreamingProperties;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.resource.standard.ResTemplStandard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.config.DelegatingWebFluxConfiguration;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import testsconfig.utils.InMemoryService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.tdd.parallel.core.config.IngestConfig.INGEST_SOCKET_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+COMPATIBILITY: ResIngestSocket x IService (WebSocket over a localhost socket, no Mongo)
+ - one ack per frame, in frame order; bad frames acked 400 without stopping the connection
+ - a duplicate id in a batch: only its frame is acked 409, the others are stored once
+ - a stalled service: acks 503 and closes with 1013 instead of queueing without bound
+ - speed: ResIngestSocketBenchmark
+ */
+@DisplayName("ResIngestSocketCompat")
+public class ResIngestSocketCompat {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                                       .build();
+  private final ReactorNettyWebSocketClient client = new ReactorNettyWebSocketClient();
+
+  private AnnotationConfigApplicationContext context;
+  DisposableServer server;
+
+
+  @AfterEach
+  public void tearDown() {
+    if (server != null) server.disposeNow();
+    if (context != null) context.close();
+  }
+
+
+  @Test
+  @DisplayName("AckPerFrameInOrder")
+  public void ackPerFrameInOrder() throws IOException {
+    InMemoryService<PersonStandard> service = standardService();
+    start(service,new IngestProperties());
+
+    List<String> frames = new ArrayList<>();
+    for (int i = 0; i < 1000; i++)
+      frames.add(i == 10 ? "{\"name\":" : i == 20 ? "null" : "{\"name\":\"name " + i + "\"}");
+    List<JsonNode> acks = ingest(frames,new AtomicReference<>());
+
+    assertEquals(1000,acks.size());
+    for (int i = 0; i < acks.size(); i++) {
+      JsonNode ack = acks.get(i);
+      assertEquals(i,ack.get("seq")
+                        .asLong());
+      if (i == 10 || i == 20) {
+        assertEquals(400,ack.get("status")
+                            .asInt());
+        assertTrue(ack.has("error"));
+        continue;
+      }
+      assertEquals(201,ack.get("status")
+                          .asInt());
+      PersonStandard saved = service.findById(ack.get("id")
+                                                 .asText())
+                                    .block();
+      assertEquals("name " + i,saved.getName());
+    }
+    assertEquals(998L,service.findAll()
+                             .count()
+                             .block());
+  }
+
+
+  @Test
+  @DisplayName("DuplicateIdAcksOnlyItsFrame")
+  public void duplicateIdAcksOnlyItsFrame() throws IOException {
+    Map<String, Integer> inserts = new ConcurrentHashMap<>();
+    InMemoryService<PersonStandard> service = new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId) {
+      // insertMany: stores every new id, a write error per known id
+      @Override
+      public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons,int chunkSize,boolean ordered) {
+        assertFalse(ordered);
+        return persons.collectList()
+                      .flatMapMany(list -> {
+                        List<BulkWriteError> errors = new ArrayList<>();
+                        for (int i = 0; i < list.size(); i++) {
+                          PersonStandard person = list.get(i);
+                          if (findById(person.getId()).block() != null) {
+                            errors.add(new BulkWriteError(11000,"E11000 duplicate key",new BsonDocument(),i));
+                            continue;
+                          }
+                          inserts.merge(person.getId(),1,Integer::sum);
+                          save(person).block();
+                        }
+                        return errors.isEmpty()
+                             ? Flux.fromIterable(list)
+                             : Flux.error(new MongoBulkWriteException(BulkWriteResult.unacknowledged(),errors,null,
+                                                                      new ServerAddress()));
+                      });
+      }
+    };
+    String stored = new ObjectId().toHexString();
+    service.save(new PersonStandard(stored,"stored"))
+           .block();
+    start(service,new IngestProperties());
+
+    List<String> frames = new ArrayList<>();
+    for (int i = 0; i < 100; i++)
+      frames.add("{\"id\":\"" + (i % 10 == 5 ? stored : new ObjectId().toHexString()) + "\",\"name\":\"name " + i + "\"}");
+    List<JsonNode> acks = ingest(frames,new AtomicReference<>());
+
+    assertEquals(100,acks.size());
+    for (int i = 0; i < acks.size(); i++)
+      assertEquals(i % 10 == 5 ? 409 : 201,acks.get(i)
+                                             .get("status")
+                                             .asInt(),"frame " + i);
+    assertEquals("stored",service.findById(stored)
+                                 .block()
+                                 .getName());
+    // the stored frames of a failed batch are not inserted again
+    assertEquals(90,inserts.size());
+    assertTrue(inserts.values()
+                      .stream()
+                      .allMatch(count -> count == 1));
+  }
+
+
+  @Test
+  @DisplayName("StalledServiceClosesWithOverload")
+  public void stalledServiceClosesWithOverload() throws IOException {
+    InMemoryService<PersonStandard> stalled = new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId) {
+      @Override
+      public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons,int chunkSize,boolean ordered) {
+        return Flux.never();
+      }
+    };
+    IngestProperties properties = new IngestProperties();
+    properties.setMaxBatch(1);
+    properties.setMaxInFlight(1);
+    properties.setMaxQueued(2);
+    start(stalled,properties);
+
+    List<String> frames = new ArrayList<>();
+    for (int i = 0; i < 10; i++) frames.add("{\"name\":\"name " + i + "\"}");
+    AtomicReference<CloseStatus> closed = new AtomicReference<>();
+    List<JsonNode> acks = ingest(frames,closed);
+
+    // frame 0 in the stalled batch, frames 1-2 queued: frame 3 finds the queue full
+    JsonNode overloaded = acks.get(acks.size() - 1);
+    assertEquals(503,overloaded.get("status")
+                               .asInt());
+    assertEquals(3,overloaded.get("seq")
+                             .asLong());
+    assertEquals(CloseStatus.SERVICE_OVERLOAD.getCode(),closed.get()
+                                                              .getCode());
+  }
+
+
+  void start(InMemoryService<PersonStandard> service,IngestProperties properties) {
+    BinaryFormats binaryFormats = new BinaryFormats(objectMapper,Jackson2ObjectMapperBuilder::json);
+    StreamWriter streamWriter = new StreamWriter(objectMapper,new StreamingProperties(),binaryFormats);
+    Etags etags = new Etags(new EtagProperties(),null,binaryFormats);
+
+    context = new AnnotationConfigApplicationContext();
+    context.register(DelegatingWebFluxConfiguration.class);
+    context.registerBean(ResTemplStandard.class,
+                         () -> new ResTemplStandard(service,streamWriter,
+                                                    new PassthroughWriter(binaryFormats,new PassthroughProperties()),etags));
+    context.registerBean(ResIngestSocket.class,() -> new ResIngestSocket(service,objectMapper,properties,new SimpleMeterRegistry()));
+    context.registerBean(HandlerMapping.class,() -> new IngestConfig().ingestSocketMapping(
+         context.getBean(ResIngestSocket.class)));
+    context.refresh();
+    server = HttpServer.create()
+                       .host("localhost")
+                       .port(0)
+                       .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder.applicationContext(context)
+                                                                                  .build()))
+                       .bindNow();
+  }
+
+
+  private List<JsonNode> ingest(List<String> frames,AtomicReference<CloseStatus> closed) throws IOException {
+    List<JsonNode> acks = new ArrayList<>();
+    for (String ack : execute(frames,closed).collectList()
+                                           .block())
+      acks.add(objectMapper.readTree(ack));
+    return acks;
+  }
+
+
+  // sends the frames, collects the acks until the server closes or every frame is acked
+  Flux<String> execute(List<String> frames,AtomicReference<CloseStatus> closed) {
+    URI uri = URI.create("ws://localhost:" + server.port() + INGEST_SOCKET_PATH);
+    List<String> acks = new ArrayList<>(frames.size());
+    return client.execute(uri,session -> session
+                      .send(Flux.fromIterable(frames)
+                                .map(session::textMessage))
+                      .and(session.receive()
+                                  .map(WebSocketMessage::getPayloadAsText)
+                                  .take(frames.size())
+                                  .doOnNext(acks::add))
+                      // every frame acked: the client closes
+                      .then(Mono.defer(() -> acks.size() == frames.size()
+                           ? Mono.empty()
+                           : session.closeStatus()
+                                    .doOnNext(closed::set)
+                                    .then())))
+                 .timeout(Duration.ofSeconds(30))
+                 .thenMany(Flux.defer(() -> Flux.fromIterable(acks)));
+  }
+
+
+  private static InMemoryService<PersonStandard> standardService() {
+    return new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+  }
+}
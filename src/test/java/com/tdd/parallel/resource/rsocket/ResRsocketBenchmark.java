@@ -0,0 +1,120 @@
+package com.tdd.parallel.resource.rsocket;
+
+import com.tdd.parallel.core.etag.EtagProperties;
+import com.tdd.parallel.core.etag.Etags;
+import com.tdd.parallel.core.passthrough.PassthroughProperties;
+import com.tdd.parallel.core.passthrough.PassthroughWriter;
+import com.tdd.parallel.core.streaming.StreamWriter;
+import com.tdd.parallel.core.streaming.StreamingProperties;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.resource.standard.ResTemplStandard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.config.DelegatingWebFluxConfiguration;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.function.Supplier;
+
+import static com.tdd.parallel.core.routes.RoutesRsocket.RS_FIND_BY_ID;
+import static com.tdd.parallel.core.routes.RoutesRsocket.RS_STD;
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_REQ_MAP;
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_TEMPL;
+import static testsconfig.utils.Benchmark.*;
+
+/*
+findById: RSocket request-response x REST (ResTemplStandard, HTTP/1.1), both over localhost sockets
+ - the RSocket server of ResRsocketCompat
+ - sequential latency + throughput of concurrent callers
+ */
+@DisplayName("ResRsocketBenchmark")
+@EnabledIfSystemProperty(named = ENABLED, matches = "true")
+public class ResRsocketBenchmark {
+
+  private static final int OPERATIONS = 10_000;
+  private static final int CALLERS = 64;
+
+  private final ResRsocketCompat rsocket = new ResRsocketCompat();
+
+
+  @BeforeEach
+  public void setUp() {
+    rsocket.setUp();
+  }
+
+
+  @AfterEach
+  public void tearDown() {
+    rsocket.tearDown();
+  }
+
+
+  @Test
+  @DisplayName("RsocketVsRest")
+  public void rsocketVsRest() throws Exception {
+    for (int i = 0; i < 100; i++)
+      rsocket.standard.save(new PersonStandard(null,"benchmark name " + i))
+                      .block();
+    String id = rsocket.standard.firstId();
+
+    StreamWriter streamWriter = new StreamWriter(rsocket.binaryFormats.getObjectMapper(),new StreamingProperties(),
+                                                 rsocket.binaryFormats);
+    Etags etags = new Etags(new EtagProperties(),null,rsocket.binaryFormats);
+    AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    context.register(DelegatingWebFluxConfiguration.class);
+    context.registerBean(ResTemplStandard.class,
+                         () -> new ResTemplStandard(rsocket.standard,streamWriter,
+                                                    new PassthroughWriter(rsocket.binaryFormats,
+                                                                          new PassthroughProperties()),etags));
+    context.refresh();
+    DisposableServer http = HttpServer.create()
+                                      .host("localhost")
+                                      .port(0)
+                                      .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder.applicationContext(context)
+                                                                                                 .build()))
+                                      .bindNow();
+    WebClient rest = WebClient.create("http://localhost:" + http.port() + STD_REQ_MAP + STD_TEMPL);
+
+    Supplier<Mono<byte[]>> restCall = () -> rest.get()
+                                                .uri("/{id}",id)
+                                                .retrieve()
+                                                .bodyToMono(byte[].class);
+    Supplier<Mono<byte[]>> rsocketCall = () -> rsocket.requester.route(RS_STD + RS_FIND_BY_ID,"templ")
+                                                                .data(id)
+                                                                .retrieveMono(byte[].class);
+
+    try {
+      rounds("findById (ns mean/p50/p99)",() -> {
+        long[] restLatency = latencies(OPERATIONS,i -> restCall.get()
+                                                               .block());
+        long[] rsocketLatency = latencies(OPERATIONS,i -> rsocketCall.get()
+                                                                     .block());
+        return "REST " + summary(restLatency) + " | RSocket " + summary(rsocketLatency);
+      });
+      rounds("findById (" + CALLERS + " in flight, req/s)",() -> {
+        long restThroughput = perSecond(OPERATIONS,() -> inFlight(restCall));
+        long rsocketThroughput = perSecond(OPERATIONS,() -> inFlight(rsocketCall));
+        return "REST " + restThroughput + " | RSocket " + rsocketThroughput;
+      });
+    } finally {
+      http.disposeNow();
+      context.close();
+    }
+  }
+
+
+  private static void inFlight(Supplier<Mono<byte[]>> call) {
+    Flux.range(0,OPERATIONS)
+        .flatMap(i -> call.get(),CALLERS)
+        .blockLast();
+  }
+}
@@ -0,0 +1,227 @@
+package com.tdd.parallel.resource.rsocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.formats.BinaryFormats;
+import com.tdd.parallel.core.streaming.StreamingProperties;
+import com.tdd.parallel.entity.PersonJsonview;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.IService;
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import testsconfig.utils.InMemoryService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static com.tdd.parallel.core.routes.RoutesRsocket.*;
+import static com.tdd.parallel.core.views.Views.PersonViews.AdminResponseView;
+import static com.tdd.parallel.core.views.Views.PersonViews.UserResponseView;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/*
+COMPATIBILITY: ResRsocket x IService (RSocket over TCP, in-process, no Mongo)
+ - request-response, request-stream and request-channel; payloads with the view of the route
+ - request-stream: the requester's demand bounds what is read from the service
+ - speed: ResRsocketBenchmark
+ */
+@DisplayName("ResRsocketCompat")
+public class ResRsocketCompat {
+
+  private static final int PREFETCH = 16;
+
+  final BinaryFormats binaryFormats = new BinaryFormats(Jackson2ObjectMapperBuilder.json()
+                                                                                         .build(),
+                                                                Jackson2ObjectMapperBuilder::json);
+  final InMemoryService<PersonStandard> standard =
+       new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+  private final InMemoryService<PersonJsonview> jsonview =
+       new InMemoryService<>(PersonCodecs.JSONVIEW,PersonJsonview::setId);
+  private final RSocketStrategies strategies =
+       RSocketStrategies.builder()
+                        .encoders(encoders -> encoders.add(new Jackson2JsonEncoder(binaryFormats.getObjectMapper())))
+                        .decoders(decoders -> {
+                          decoders.add(new Jackson2JsonDecoder(binaryFormats.getObjectMapper()));
+                          decoders.add(new Jackson2CborDecoder());
+                        })
+                        .build();
+
+  private CloseableChannel server;
+  RSocketRequester requester;
+
+
+  @BeforeEach
+  public void setUp() {
+    StreamingProperties streamingProperties = new StreamingProperties();
+    streamingProperties.setPrefetch(PREFETCH);
+    ResRsocket controller = new ResRsocket(Map.<String, IService<PersonStandard>>of("servTemplStandard",standard),
+                                           Map.<String, IService<PersonJsonview>>of("servTemplJsonview",jsonview),
+                                           binaryFormats,streamingProperties);
+    RSocketMessageHandler messageHandler = new RSocketMessageHandler();
+    messageHandler.setRSocketStrategies(strategies);
+    messageHandler.setHandlers(List.of(controller));
+    messageHandler.afterPropertiesSet();
+
+    server = io.rsocket.core.RSocketServer.create(messageHandler.responder())
+                                          .bind(TcpServerTransport.create("localhost",0))
+                                          .block();
+    requester = requester(APPLICATION_JSON);
+  }
+
+
+  @AfterEach
+  public void tearDown() {
+    requester.rsocketClient()
+             .dispose();
+    server.dispose();
+  }
+
+
+  @Test
+  @DisplayName("RequestResponse")
+  public void requestResponse() {
+    PersonStandard saved = requester.route(RS_STD + RS_SAVE,"templ")
+                                    .data(new PersonStandard(null,"name"))
+                                    .retrieveMono(PersonStandard.class)
+                                    .block();
+    assertNotNull(saved.getId());
+
+    PersonStandard found = findById(saved.getId()).block();
+    assertEquals("name",found.getName());
+
+    requester.route(RS_STD + RS_DELETE,"templ")
+             .data(saved.getId())
+             .retrieveMono(Void.class)
+             .block();
+    assertNull(findById(saved.getId()).block());
+
+    Mono<String> unknownStyle = requester.route(RS_STD + RS_FIND_BY_ID,"nosuch")
+                                         .data(saved.getId())
+                                         .retrieveMono(String.class);
+    assertThrows(ApplicationErrorException.class,unknownStyle::block);
+  }
+
+
+  @Test
+  @DisplayName("PayloadsWithView")
+  public void payloadsWithView() throws IOException {
+    PersonJsonview person = jsonview.save(new PersonJsonview(new ObjectId().toHexString(),"name"))
+                                    .block();
+
+    for (Class<?> view : List.of(AdminResponseView.class,UserResponseView.class)) {
+      String json = requester.route(RS_JV_VIEW + RS_FIND_BY_ID,"templ",route(view))
+                             .data(person.getId())
+                             .retrieveMono(String.class)
+                             .block();
+      assertEquals(json(person,view),json);
+    }
+
+    // the data mime type of the connection
+    if (binaryFormats.format(APPLICATION_CBOR) == null) return;
+    RSocketRequester cbor = requester(APPLICATION_CBOR);
+    try {
+      byte[] user = cbor.route(RS_JV_VIEW + RS_FIND_BY_ID,"templ","user")
+                        .data(person.getId())
+                        .retrieveMono(byte[].class)
+                        .block();
+      assertArrayEquals(binaryFormats.writer(APPLICATION_CBOR,UserResponseView.class)
+                                     .write(person),user);
+    } finally {
+      cbor.rsocketClient()
+          .dispose();
+    }
+  }
+
+
+  @Test
+  @DisplayName("RequestStreamFollowsDemand")
+  public void requestStreamFollowsDemand() {
+    for (int i = 0; i < 1000; i++)
+      standard.save(new PersonStandard(null,"name " + i))
+              .block();
+
+    Flux<PersonStandard> all = requester.route(RS_STD + RS_FIND_ALL,"templ")
+                                        .retrieveFlux(PersonStandard.class);
+    StepVerifier.create(all,5)
+                .expectNextCount(5)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    // a slow requester: "prefetch" documents read ahead, not the whole collection
+    assertTrue(standard.requested() <= 2 * PREFETCH,"requested " + standard.requested());
+
+    assertEquals(1000L,requester.route(RS_STD + RS_FIND_ALL,"templ")
+                                .retrieveFlux(PersonStandard.class)
+                                .count()
+                                .block());
+  }
+
+
+  @Test
+  @DisplayName("RequestChannel")
+  public void requestChannel() throws JsonProcessingException {
+    Flux<PersonJsonview> persons = Flux.range(0,10)
+                                       .map(i -> new PersonJsonview(null,"name " + i));
+    List<String> saved = requester.route(RS_JV_VIEW + RS_SAVE_ALL,"templ","user")
+                                  .data(persons,PersonJsonview.class)
+                                  .retrieveFlux(String.class)
+                                  .collectList()
+                                  .block();
+
+    List<PersonJsonview> stored = jsonview.findAll()
+                                          .collectList()
+                                          .block();
+    assertEquals(10,saved.size());
+    assertEquals(10,stored.size());
+    for (PersonJsonview person : stored)
+      assertTrue(saved.contains(json(person,UserResponseView.class)),person.getName());
+  }
+
+
+  private Mono<PersonStandard> findById(String id) {
+    return requester.route(RS_STD + RS_FIND_BY_ID,"templ")
+                    .data(id)
+                    .retrieveMono(PersonStandard.class);
+  }
+
+
+  private RSocketRequester requester(MimeType dataMimeType) {
+    return RSocketRequester.builder()
+                           .rsocketStrategies(strategies)
+                           .dataMimeType(dataMimeType)
+                           .tcp("localhost",server.address()
+                                                  .getPort());
+  }
+
+
+  private String json(Object person,Class<?> view) throws JsonProcessingException {
+    return binaryFormats.getObjectMapper()
+                        .writerWithView(view)
+                        .writeValueAsString(person);
+  }
+
+
+  private static String route(Class<?> view) {
+    return view == AdminResponseView.class ? "admin" : "user";
+  }
+}
@@ -0,0 +1,399 @@
+package com.tdd.parallel.resource.standard;
+
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.IService;
+import com.tdd.parallel.service.standard.ServRawDriverStandard;
+import testsconfig.annotations.MergedResource;
+import testsconfig.tcCompose.TcComposeConfig;
+import testsconfig.utils.TestDbUtils;
+import io.restassured.http.ContentType;
+import io.restassured.module.webtestclient.RestAssuredWebTestClient;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.EnabledIf;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.DockerComposeContainer;
+import org.testcontainers.junit.jupiter.Container;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.tdd.parallel.core.multiget.MultiGet.MAX_IDS;
+import static com.tdd.parallel.core.routes.RoutesStandard.*;
+import static testsconfig.utils.TestUtils.*;
+import static testsconfig.databuilder.PersonStandardBuilder.personWithIdAndNameStandard;
+import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static java.util.stream.Collectors.toList;
+
+@DisplayName("ResRawStd")
+@Import({ServRawDriverStandard.class})
+@MergedResource
+public class ResRawStd {
+
+  //STATIC: one service for ALL tests -> SUPER FASTER
+  //NON-STATIC: one service for EACH test
+  @Container
+  private static final DockerComposeContainer<?> compose = new TcComposeConfig().getTcCompose();
+
+  final ContentType CONT_ANY = ContentType.ANY;
+  final ContentType CONT_JSON = ContentType.JSON;
+  final private String enabledTest = "true";
+  final private int repet = 1;
+  private final TestDbUtils<PersonStandard> utils = new TestDbUtils<>();
+  // WEB-TEST-CLIENT(non-blocking client)'
+  // SHOULD BE USED WITH 'TEST-CONTAINERS'
+  // BECAUSE THERE IS NO 'REAL-SERVER' CREATED VIA DOCKER-COMPOSE
+  @Autowired
+  WebTestClient mockedWebClient;
+
+  @Autowired
+  private IService<PersonStandard> servRawDriverStandard;
+
+
+  @BeforeAll
+  public static void beforeAll(TestInfo testInfo) {
+    globalBeforeAll();
+    globalTestMessage(testInfo.getDisplayName(),"class-start");
+  }
+
+
+  @AfterAll
+  public static void afterAll(TestInfo testInfo) {
+    globalAfterAll();
+    globalTestMessage(testInfo.getDisplayName(),"class-end");
+  }
+
+
+  @BeforeEach
+  public void setUp(TestInfo testInfo) {
+    globalTestMessage(testInfo.getTestMethod()
+                              .toString(),"method-start");
+
+    RestAssuredWebTestClient.reset();
+    //REAL-SERVER INJECTED IN WEB-TEST-CLIENT(non-blocking client)'
+    //SHOULD BE USED WHEN 'DOCKER-COMPOSE' UP A REAL-WEB-SERVER
+    //BECAUSE THERE IS 'REAL-SERVER' CREATED VIA DOCKER-COMPOSE
+    // realWebClient = WebTestClient.bindToServer()
+    //                      .baseUrl("http://localhost:8080/customer")
+    //                      .build();
+  }
+
+
+  @AfterEach
+  void tearDown(TestInfo testInfo) {
+    globalTestMessage(testInfo.getTestMethod()
+                              .toString(),"method-end");
+  }
+
+
+  @Test
+  @DisplayName("Save")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void save() {
+    PersonStandard localPerson = utils.personStandard_save_check(servRawDriverStandard);
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+         .header("Content-type",CONT_JSON)
+
+         .body(localPerson)
+
+         .when()
+         .post(STD_REQ_MAP + STD_RAW)
+
+         .then()
+         .statusCode(CREATED.value())
+         .contentType(CONT_JSON)
+         .log()
+         .headers()
+         .and()
+         .log()
+
+         .body()
+         .body("$",hasKey("id"))
+         .body("$",hasKey("name"))
+         .body("id",containsString(localPerson.getId()))
+         .body("name",containsString(localPerson.getName()))
+         .body(matchesJsonSchemaInClasspath("contracts/person/admin.json"))
+    ;
+
+    utils.findPersonInDb(servRawDriverStandard.findById(localPerson.getId()),1L);
+  }
+
+
+  @Test
+  @DisplayName("FindAll")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  void findAll() {
+    PersonStandard localPerson = utils.personStandard_save_check(servRawDriverStandard);
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+         .header("Content-type",CONT_JSON)
+
+         .when()
+         .get(STD_REQ_MAP + STD_RAW)
+
+         .then()
+         .statusCode(OK.value())
+         .log()
+         .headers()
+         .and()
+         .log()
+
+         .body()
+         .body("[0]",hasKey("id"))
+         .body("[0]",hasKey("name"))
+         .body("[0].id",containsString(localPerson.getId()))
+         .body("[0].name",containsString(localPerson.getName()))
+         .body("id",hasItem(localPerson.getId()))
+         .body("name",hasItem(localPerson.getName()))
+         .body(matchesJsonSchemaInClasspath("contracts/person/adminList.json"))
+    ;
+  }
+
+
+  @Test
+  @DisplayName("FindById")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findById() {
+    PersonStandard localPerson = utils.personStandard_save_check(servRawDriverStandard);
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+         .header("Content-type",CONT_JSON)
+
+         .when()
+         .get(STD_REQ_MAP + STD_RAW + STD_ID,localPerson.getId())
+
+         .then()
+         .statusCode(OK.value())
+         .log()
+         .headers()
+         .and()
+         .log()
+
+         .body()
+         .body("$",hasKey("id"))
+         .body("$",hasKey("name"))
+         .body("id",containsString(localPerson.getId()))
+         .body("name",containsString(localPerson.getName()))
+         .body(matchesJsonSchemaInClasspath("contracts/person/admin.json"))
+    ;
+
+    utils.findPersonInDb(servRawDriverStandard.findById(localPerson.getId()),1L);
+  }
+
+
+  @Test
+  @DisplayName("DeleteById")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void deleteById() {
+    PersonStandard localPerson = utils.personStandard_save_check(servRawDriverStandard);
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+         .header("Content-type",CONT_JSON)
+
+         .body(localPerson)
+
+         .when()
+         .delete(STD_REQ_MAP + STD_RAW + STD_ID,localPerson.getId())
+
+         .then()
+         .log()
+         .headers()
+         .statusCode(NO_CONTENT.value())
+    ;
+
+    utils.findPersonInDb(servRawDriverStandard.findById(localPerson.getId()),0L);
+  }
+
+
+  @Test
+  @DisplayName("BHWorks")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void bHWorks() {
+    try {
+      FutureTask<?> task = new FutureTask<>(() -> {
+        Thread.sleep(0);
+        return "";
+      });
+
+      Schedulers.parallel()
+                .schedule(task);
+
+      task.get(10,TimeUnit.SECONDS);
+      Assertions.fail("should fail");
+    } catch (ExecutionException | InterruptedException | TimeoutException e) {
+      assertTrue(e.getCause() instanceof BlockingOperationError,"detected");
+    }
+  }
+
+
+  @Test
+  @DisplayName("SaveAll")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void saveAll() {
+    utils.personStandard_save_check(servRawDriverStandard);
+    List<PersonStandard> persons =
+         Stream.generate(() -> personWithIdAndNameStandard().create())
+               .limit(3)
+               .collect(toList());
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+         .header("Content-type",CONT_JSON)
+         .queryParam("chunkSize",2)
+         .queryParam("ordered",false)
+
+         .body(persons)
+
+         .when()
+         .post(STD_REQ_MAP + STD_RAW + STD_BULK)
+
+         .then()
+         .statusCode(CREATED.value())
+         .contentType(CONT_JSON)
+         .log()
+         .headers()
+         .and()
+         .log()
+
+         .body()
+         .body("size()",is(3))
+         .body("id",hasItem(persons.get(0).getId()))
+         .body("name",hasItem(persons.get(2).getName()))
+         .body(matchesJsonSchemaInClasspath("contracts/person/adminList.json"))
+    ;
+
+    utils.countPersonInDb(servRawDriverStandard.findAll(),4L);
+  }
+
+
+  @Test
+  @DisplayName("FindPage")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  void findPage() {
+    PersonStandard localPerson = utils.personStandard_save_check(servRawDriverStandard);
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+         .header("Content-type",CONT_JSON)
+         .queryParam("limit",1)
+         .queryParam("sort","name")
+
+         .when()
+         .get(STD_REQ_MAP + STD_RAW + STD_PAGE)
+
+         .then()
+         .statusCode(OK.value())
+         .log()
+         .headers()
+         .and()
+         .log()
+
+         .body()
+         .body("content[0].id",containsString(localPerson.getId()))
+         .body("content[0].name",containsString(localPerson.getName()))
+         .body("$",hasKey("next"))
+    ;
+  }
+
+
+  @Test
+  @DisplayName("FindAllStream")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  void findAllStream() {
+    PersonStandard localPerson = utils.personStandard_save_check(servRawDriverStandard);
+
+    // ndjson: one document per line, decoded as it arrives
+    StepVerifier
+         .create(mockedWebClient
+                      .get()
+                      .uri(STD_REQ_MAP + STD_RAW + STD_STREAM)
+                      .accept(APPLICATION_NDJSON)
+                      .exchange()
+                      .expectStatus()
+                      .isOk()
+                      .expectHeader()
+                      .contentTypeCompatibleWith(APPLICATION_NDJSON)
+                      .returnResult(PersonStandard.class)
+                      .getResponseBody())
+         .expectSubscription()
+         .expectNextMatches(item -> localPerson.getId()
+                                               .equals(item.getId()))
+         .verifyComplete();
+  }
+
+
+  @Test
+  @DisplayName("FindAllById")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  void findAllById() {
+    PersonStandard first = utils.personStandard_save_check(servRawDriverStandard);
+    PersonStandard second = utils.personStandard_save_check(servRawDriverStandard);
+
+    // repeated and unknown ids: each person once, no 404
+    StepVerifier
+         .create(mockedWebClient
+                      .get()
+                      .uri(uri -> uri.path(STD_REQ_MAP + STD_RAW + STD_IDS)
+                                     .queryParam("id",first.getId(),second.getId(),first.getId(),"unknown")
+                                     .build())
+                      .accept(APPLICATION_NDJSON)
+                      .exchange()
+                      .expectStatus()
+                      .isOk()
+                      .returnResult(PersonStandard.class)
+                      .getResponseBody()
+                      .map(PersonStandard::getId)
+                      .sort())
+         .expectSubscription()
+         .expectNext(Stream.of(first.getId(),second.getId())
+                           .sorted()
+                           .toArray(String[]::new))
+         .verifyComplete();
+
+    // cap: more than MAX_IDS ids -> 400
+    mockedWebClient
+         .get()
+         .uri(uri -> uri.path(STD_REQ_MAP + STD_RAW + STD_IDS)
+                        .queryParam("id",Stream.iterate(0,i -> i + 1)
+                                               .limit(MAX_IDS + 1)
+                                               .map(String::valueOf)
+                                               .toArray())
+                        .build())
+         .accept(APPLICATION_NDJSON)
+         .exchange()
+         .expectStatus()
+         .isBadRequest();
+  }
+}
@@ -17,20 +17,28 @@ import org.testcontainers.containers.DockerComposeContainer;
 import org.testcontainers.junit.jupiter.Container;
 import reactor.blockhound.BlockingOperationError;
 import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.List;
+import java.util.stream.Stream;
 
+import static com.tdd.parallel.core.multiget.MultiGet.MAX_IDS;
 import static com.tdd.parallel.core.routes.RoutesStandard.*;
 import static testsconfig.utils.TestUtils.*;
+import static testsconfig.databuilder.PersonStandardBuilder.personWithIdAndNameStandard;
 import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static java.util.stream.Collectors.toList;
 
 @DisplayName("ResTemplStd")
 @Import({ServTemplStandard.class})
@@ -244,4 +252,176 @@ public class ResTemplStd {
       assertTrue(e.getCause() instanceof BlockingOperationError,"detected");
     }
   }
-}
\ No newline at end of file
+
+
+  @Test
+  @DisplayName("SaveAll")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void saveAll() {
+    utils.personStandard_save_check(servTemplStandard);
+    List<PersonStandard> persons =
+         Stream.generate(() -> personWithIdAndNameStandard().create())
+               .limit(3)
+               .collect(toList());
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+         .header("Content-type",CONT_JSON)
+         .queryParam("chunkSize",2)
+         .queryParam("ordered",false)
+
+         .body(persons)
+
+         .when()
+         .post(STD_REQ_MAP + STD_TEMPL + STD_BULK)
+
+         .then()
+         .statusCode(CREATED.value())
+         .contentType(CONT_JSON)
+         .log()
+         .headers()
+         .and()
+         .log()
+
+         .body()
+         .body("size()",is(3))
+         .body("id",hasItem(persons.get(0).getId()))
+         .body("name",hasItem(persons.get(2).getName()))
+         .body(matchesJsonSchemaInClasspath("contracts/person/adminList.json"))
+    ;
+
+    utils.countPersonInDb(servTemplStandard.findAll(),4L);
+  }
+
+
+  @Test
+  @DisplayName("FindPage")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  void findPage() {
+    PersonStandard localPerson = utils.personStandard_save_check(servTemplStandard);
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+         .header("Content-type",CONT_JSON)
+         .queryParam("limit",1)
+         .queryParam("sort","name")
+
+         .when()
+         .get(STD_REQ_MAP + STD_TEMPL + STD_PAGE)
+
+         .then()
+         .statusCode(OK.value())
+         .log()
+         .headers()
+         .and()
+         .log()
+
+         .body()
+         .body("content[0].id",containsString(localPerson.getId()))
+         .body("content[0].name",containsString(localPerson.getName()))
+         .body("$",hasKey("next"))
+    ;
+  }
+
+
+  @Test
+  @DisplayName("FindAllStream")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  void findAllStream() {
+    PersonStandard localPerson = utils.personStandard_save_check(servTemplStandard);
+
+    // ndjson: one document per line, decoded as it arrives
+    StepVerifier
+         .create(mockedWebClient
+                      .get()
+                      .uri(STD_REQ_MAP + STD_TEMPL + STD_STREAM)
+                      .accept(APPLICATION_NDJSON)
+                      .exchange()
+                      .expectStatus()
+                      .isOk()
+                      .expectHeader()
+                      .contentTypeCompatibleWith(APPLICATION_NDJSON)
+                      .returnResult(PersonStandard.class)
+                      .getResponseBody())
+         .expectSubscription()
+         .expectNextMatches(item -> localPerson.getId()
+                                               .equals(item.getId()))
+         .verifyComplete();
+  }
+
+
+  @Test
+  @DisplayName("MongoMetrics")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  void mongoMetrics() {
+    utils.personStandard_save_check(servTemplStandard);
+
+    RestAssuredWebTestClient
+         .given()
+         .webTestClient(mockedWebClient)
+         .header("Accept",CONT_ANY)
+
+         .when()
+         .get("/actuator/metrics/mongodb.driver.commands")
+
+         .then()
+         .statusCode(OK.value())
+         .log()
+         .headers()
+         .and()
+         .log()
+
+         .body()
+         .body("name",is("mongodb.driver.commands"))
+         .body("availableTags.tag",hasItem("command"))
+    ;
+  }
+
+
+  @Test
+  @DisplayName("FindAllById")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  void findAllById() {
+    PersonStandard first = utils.personStandard_save_check(servTemplStandard);
+    PersonStandard second = utils.personStandard_save_check(servTemplStandard);
+
+    // repeated and unknown ids: each person once, no 404
+    StepVerifier
+         .create(mockedWebClient
+                      .get()
+                      .uri(uri -> uri.path(STD_REQ_MAP + STD_TEMPL + STD_IDS)
+                                     .queryParam("id",first.getId(),second.getId(),first.getId(),"unknown")
+                                     .build())
+                      .accept(APPLICATION_NDJSON)
+                      .exchange()
+                      .expectStatus()
+                      .isOk()
+                      .returnResult(PersonStandard.class)
+                      .getResponseBody()
+                      .map(PersonStandard::getId)
+                      .sort())
+         .expectSubscription()
+         .expectNext(Stream.of(first.getId(),second.getId())
+                           .sorted()
+                           .toArray(String[]::new))
+         .verifyComplete();
+
+    // cap: more than MAX_IDS ids -> 400
+    mockedWebClient
+         .get()
+         .uri(uri -> uri.path(STD_REQ_MAP + STD_TEMPL + STD_IDS)
+                        .queryParam("id",Stream.iterate(0,i -> i + 1)
+                                               .limit(MAX_IDS + 1)
+                                               .map(String::valueOf)
+                                               .toArray())
+                        .build())
+         .accept(APPLICATION_NDJSON)
+         .exchange()
+         .expectStatus()
+         .isBadRequest();
+  }
+}
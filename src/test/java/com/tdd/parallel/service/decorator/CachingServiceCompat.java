@@ -0,0 +1,78 @@
+package com.tdd.parallel.service.decorator;
+
+import com.tdd.parallel.core.cache.ServiceCacheProperties;
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.entity.PersonStandard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testsconfig.utils.InMemoryService;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/*
+COMPATIBILITY: CachingService x the cache metrics (no Mongo: InMemoryService)
+ - cache.gets hit/miss and cache.size on the given registry, tagged with the service name
+ - a delete invalidates: the next read is a miss
+ */
+@DisplayName("CachingServiceCompat")
+public class CachingServiceCompat {
+
+  private static final String NAME = "servCompat";
+
+  private final InMemoryService<PersonStandard> stored =
+       new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final CachingService<PersonStandard> cached =
+       new CachingService<>(NAME,stored,new ServiceCacheProperties(),registry);
+
+
+  @Test
+  @DisplayName("HitsAndMissesOnRegistry")
+  public void hitsAndMissesOnRegistry() {
+    PersonStandard saved = cached.save(new PersonStandard(null,"cached"))
+                                 .block(Duration.ofSeconds(5));
+
+    cached.findById(saved.getId())
+          .block(Duration.ofSeconds(5));
+    cached.findById(saved.getId())
+          .block(Duration.ofSeconds(5));
+    cached.findById("unknown")
+          .block(Duration.ofSeconds(5));
+
+    assertEquals(2.0,gets("hit"));
+    assertEquals(1.0,gets("miss"));
+    assertEquals(1.0,registry.get("cache.size")
+                             .tag("cache",NAME)
+                             .gauge()
+                             .value());
+  }
+
+
+  @Test
+  @DisplayName("DeleteInvalidates")
+  public void deleteInvalidates() {
+    PersonStandard saved = cached.save(new PersonStandard(null,"deleted"))
+                                 .block(Duration.ofSeconds(5));
+
+    cached.deleteById(saved.getId())
+          .block(Duration.ofSeconds(5));
+
+    assertNull(cached.findById(saved.getId())
+                     .block(Duration.ofSeconds(5)));
+    assertEquals(0.0,gets("hit"));
+    assertEquals(1.0,gets("miss"));
+  }
+
+
+  private double gets(String result) {
+    return registry.get("cache.gets")
+                   .tag("cache",NAME)
+                   .tag("result",result)
+                   .functionCounter()
+                   .count();
+  }
+}
@@ -0,0 +1,101 @@
+package com.tdd.parallel.service.decorator;
+
+import com.tdd.parallel.core.codecs.PersonCodecs;
+import com.tdd.parallel.core.writes.WriteBehindProperties;
+import com.tdd.parallel.entity.PersonStandard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import testsconfig.utils.InMemoryService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.tdd.parallel.core.batching.MicroBatcher.BATCH_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+COMPATIBILITY: WriteBehindService x the delegate's calls (no Mongo: InMemoryService)
+ - new persons (no id): one saveAll per batch, each caller gets its own id
+ - an update (a person with an id): one save, never part of a batch
+ - the batch meters are on the registry given to the service
+ */
+@DisplayName("WriteBehindServiceCompat")
+public class WriteBehindServiceCompat {
+
+  private static final int BATCH = 4;
+
+  private final InMemoryService<PersonStandard> stored =
+       new InMemoryService<>(PersonCodecs.STANDARD,PersonStandard::setId);
+  private final List<Integer> batches = new CopyOnWriteArrayList<>();
+  private final AtomicInteger saves = new AtomicInteger();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final WriteBehindService<PersonStandard> writeBehind =
+       new WriteBehindService<>("compat",new ServiceDecorator<>(stored) {
+         @Override
+         public Mono<PersonStandard> save(PersonStandard person) {
+           saves.incrementAndGet();
+           return delegate.save(person);
+         }
+
+
+         @Override
+         public Flux<PersonStandard> saveAll(Flux<PersonStandard> persons,int chunkSize,boolean ordered) {
+           batches.add(chunkSize);
+           return delegate.saveAll(persons,chunkSize,ordered);
+         }
+       },properties(),registry);
+
+
+  @Test
+  @DisplayName("NewPersonsInOneBatch")
+  public void newPersonsInOneBatch() {
+    Set<String> ids = Flux.range(0,BATCH)
+                          .flatMap(i -> writeBehind.save(new PersonStandard(null,"new " + i)))
+                          .map(PersonStandard::getId)
+                          .collect(Collectors.toSet())
+                          .block(Duration.ofSeconds(5));
+
+    assertEquals(BATCH,ids.size());
+    assertEquals(List.of(BATCH),batches);
+    assertEquals(0,saves.get());
+    assertEquals(1,registry.get(BATCH_SIZE)
+                           .summary()
+                           .count());
+  }
+
+
+  @Test
+  @DisplayName("UpdateGoesStraightToDelegate")
+  public void updateGoesStraightToDelegate() {
+    PersonStandard created = writeBehind.save(new PersonStandard(null,"created"))
+                                        .block(Duration.ofSeconds(5));
+    batches.clear();
+
+    PersonStandard updated = writeBehind.save(new PersonStandard(created.getId(),"updated"))
+                                        .block(Duration.ofSeconds(5));
+
+    assertEquals(created.getId(),updated.getId());
+    assertEquals("updated",stored.findById(created.getId())
+                                 .block()
+                                 .getName());
+    assertEquals(1,saves.get());
+    assertTrue(batches.isEmpty());
+  }
+
+
+  // a full batch leaves at once; a lone save waits maxDelay
+  private static WriteBehindProperties properties() {
+    WriteBehindProperties properties = new WriteBehindProperties();
+    properties.setMaxBatch(BATCH);
+    properties.setMaxDelay(Duration.ofMillis(200));
+    return properties;
+  }
+}
@@ -24,6 +24,8 @@ import java.util.concurrent.TimeoutException;
 import static testsconfig.utils.TestUtils.*;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static com.tdd.parallel.core.views.Views.PersonViews.AdminResponseView;
+import static com.tdd.parallel.core.views.Views.PersonViews.UserResponseView;
 
 
 @DisplayName("ServCrudJview")
@@ -152,5 +154,33 @@ public class ServCrudJview {
                 })
                 .verifyComplete();
   }
+
+
+  @Test
+  @DisplayName("FindByIdUserView")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findByIdUserView() {
+    PersonJsonview localPerson = utils.personJsonview_save_check(servCrudJsonview);
+
+    // UserResponseView -> only "name" is fetched from Mongo
+    StepVerifier
+         .create(servCrudJsonview
+                      .findById(localPerson.getId(),UserResponseView.class)
+                      .log())
+         .expectSubscription()
+         .expectNextMatches(item -> item.getId() == null &&
+                                    localPerson.getName()
+                                               .equals(item.getName()))
+         .verifyComplete();
+
+    StepVerifier
+         .create(servCrudJsonview
+                      .findAll(AdminResponseView.class)
+                      .log())
+         .expectSubscription()
+         .expectNextMatches(item -> localPerson.getId()
+                                               .equals(item.getId()))
+         .verifyComplete();
+  }
 }
 
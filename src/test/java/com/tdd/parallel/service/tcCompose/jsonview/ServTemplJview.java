@@ -1,8 +1,12 @@
 package com.tdd.parallel.service.tcCompose.jsonview;
 
+import com.tdd.parallel.core.batching.BatchingProperties;
 import com.tdd.parallel.core.config.ServiceTemplateJsonviewCfg;
 import com.tdd.parallel.entity.PersonJsonview;
 import com.tdd.parallel.service.IService;
+import com.tdd.parallel.service.decorator.BatchingService;
+import com.tdd.parallel.service.decorator.ServiceDecorator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import testsconfig.annotations.MergedService;
 import testsconfig.tcCompose.TcComposeConfig;
 import testsconfig.utils.TestDbUtils;
@@ -13,17 +17,26 @@ import org.springframework.test.context.junit.jupiter.EnabledIf;
 import org.testcontainers.containers.DockerComposeContainer;
 import org.testcontainers.junit.jupiter.Container;
 import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static testsconfig.utils.TestUtils.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static com.tdd.parallel.core.views.Views.PersonViews.AdminResponseView;
+import static com.tdd.parallel.core.views.Views.PersonViews.UserResponseView;
 
 
 @DisplayName("ServTemplJview")
@@ -152,5 +165,65 @@ public class ServTemplJview {
                 })
                 .verifyComplete();
   }
-}
 
+
+  @Test
+  @DisplayName("FindByIdUserView")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findByIdUserView() {
+    PersonJsonview localPerson = utils.personJsonview_save_check(servTemplJsonview);
+
+    // UserResponseView -> only "name" is fetched from Mongo
+    StepVerifier
+         .create(servTemplJsonview
+                      .findById(localPerson.getId(),UserResponseView.class)
+                      .log())
+         .expectSubscription()
+         .expectNextMatches(item -> item.getId() == null &&
+                                    localPerson.getName()
+                                               .equals(item.getName()))
+         .verifyComplete();
+
+    StepVerifier
+         .create(servTemplJsonview
+                      .findAll(AdminResponseView.class)
+                      .log())
+         .expectSubscription()
+         .expectNextMatches(item -> localPerson.getId()
+                                               .equals(item.getId()))
+         .verifyComplete();
+  }
+
+
+  @Test
+  @DisplayName("FindByIdBatched")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findByIdBatched() {
+    AtomicInteger queries = new AtomicInteger();
+    IService<PersonJsonview> counted = new ServiceDecorator<>(servTemplJsonview) {
+      @Override
+      public Flux<PersonJsonview> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids)
+                       .doOnSubscribe(subscription -> queries.incrementAndGet());
+      }
+    };
+    BatchingProperties properties = new BatchingProperties();
+    properties.setMaxDelay(Duration.ofMillis(20));
+    BatchingService<PersonJsonview> batched =
+         new BatchingService<>("servTemplJsonview",counted,properties,new SimpleMeterRegistry());
+
+    PersonJsonview first = utils.personJsonview_save_check(servTemplJsonview);
+    PersonJsonview second = utils.personJsonview_save_check(servTemplJsonview);
+    List<String> ids = Arrays.asList(first.getId(),second.getId(),"missing-id",first.getId());
+
+    // 4 findById in one tick -> 1 "$in" query; each caller gets ITS person, missing id -> empty
+    StepVerifier
+         .create(Flux.fromIterable(ids)
+                     .flatMap(id -> batched.findById(id)
+                                           .filter(item -> id.equals(item.getId()))))
+         .expectSubscription()
+         .expectNextCount(3L)
+         .verifyComplete();
+    assertEquals(1,queries.get());
+  }
+}
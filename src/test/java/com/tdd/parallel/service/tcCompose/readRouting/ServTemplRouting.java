@@ -0,0 +1,142 @@
+package com.tdd.parallel.service.tcCompose.readRouting;
+
+import com.tdd.parallel.core.routing.CausalSessionFilter;
+import com.tdd.parallel.core.routing.ReadRoutingProperties;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.standard.ServTemplStandard;
+import testsconfig.annotations.MergedResource;
+import testsconfig.tcCompose.TcComposeReplicaSetConfig;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.EnabledIf;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.DockerComposeContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_REQ_MAP;
+import static com.tdd.parallel.core.routes.RoutesStandard.STD_TEMPL;
+import static testsconfig.tcCompose.TcComposeReplicaSetConfig.REPLICA_SET_URI;
+import static testsconfig.utils.TestUtils.*;
+import static testsconfig.databuilder.PersonStandardBuilder.personWithIdAndNameStandard;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/*
+READ ROUTING THROUGH THE APPLICATION (replica set)
+ - person.mongo.uri + person.read-routing.enabled: MongoConfig routes the template reads,
+   ReadRoutingConfig registers CausalSessionFilter
+ - read-your-writes over HTTP: the token header of a write sent back with the next read
+ */
+@DisplayName("ServTemplRouting")
+@Import({ServTemplStandard.class})
+@TestPropertySource(properties = {
+     "person.mongo.uri=" + REPLICA_SET_URI,
+     "person.read-routing.enabled=true"})
+@MergedResource
+public class ServTemplRouting {
+
+  @Container
+  private static final DockerComposeContainer<?> compose = new TcComposeReplicaSetConfig().getTcCompose();
+
+  final private String enabledTest = "true";
+
+  @Autowired
+  WebTestClient mockedWebClient;
+
+  @Autowired
+  private ReadRoutingProperties readRouting;
+
+  @Autowired
+  private ReactiveMongoTemplate reactiveMongoTemplate;
+
+  @Autowired
+  private ApplicationContext context;
+
+
+  @BeforeAll
+  public static void beforeAll(TestInfo testInfo) {
+    globalBeforeAll();
+    globalTestMessage(testInfo.getDisplayName(),"class-start");
+  }
+
+
+  @AfterAll
+  public static void afterAll(TestInfo testInfo) {
+    globalAfterAll();
+    globalTestMessage(testInfo.getDisplayName(),"class-end");
+  }
+
+
+  @BeforeEach
+  public void setUp(TestInfo testInfo) {
+    globalTestMessage(testInfo.getTestMethod()
+                              .toString(),"method-start");
+  }
+
+
+  @AfterEach
+  void tearDown(TestInfo testInfo) {
+    globalTestMessage(testInfo.getTestMethod()
+                              .toString(),"method-end");
+  }
+
+
+  @Test
+  @DisplayName("ReadPreference")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void readPreference() {
+    // set by MongoConfig, not by the test
+    assertEquals(readRouting.readPreference(),
+                 ReflectionTestUtils.getField(reactiveMongoTemplate,"readPreference"));
+    assertNotNull(context.getBean(CausalSessionFilter.class));
+  }
+
+
+  @Test
+  @DisplayName("ReadYourWrites")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void readYourWrites() {
+    PersonStandard person = personWithIdAndNameStandard().create();
+
+    String token = mockedWebClient.post()
+                                  .uri(STD_REQ_MAP + STD_TEMPL)
+                                  .bodyValue(person)
+                                  .exchange()
+                                  .expectStatus()
+                                  .isCreated()
+                                  .returnResult(PersonStandard.class)
+                                  .getResponseHeaders()
+                                  .getFirst(readRouting.getTokenHeader());
+    assertNotNull(token);
+
+    // another request (new session) carrying the token of the write: the secondary waits for it
+    mockedWebClient.get()
+                   .uri(STD_REQ_MAP + STD_TEMPL + "/" + person.getId())
+                   .header(readRouting.getTokenHeader(),token)
+                   .exchange()
+                   .expectStatus()
+                   .isOk()
+                   .expectHeader()
+                   .exists(readRouting.getTokenHeader())
+                   .expectBody(PersonStandard.class)
+                   .value(found -> assertEquals(person.getName(),found.getName()));
+  }
+
+
+  @Test
+  @DisplayName("InvalidToken")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void invalidToken() {
+    mockedWebClient.get()
+                   .uri(STD_REQ_MAP + STD_TEMPL)
+                   .header(readRouting.getTokenHeader(),"not-a-token")
+                   .exchange()
+                   .expectStatus()
+                   .isBadRequest();
+  }
+}
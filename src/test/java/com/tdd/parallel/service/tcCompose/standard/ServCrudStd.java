@@ -3,6 +3,8 @@ package com.tdd.parallel.service.tcCompose.standard;
 import com.tdd.parallel.entity.PersonStandard;
 import com.tdd.parallel.service.IService;
 import com.tdd.parallel.service.standard.ServCrudStandard;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
 import testsconfig.annotations.MergedService;
 import testsconfig.tcCompose.TcComposeConfig;
 import testsconfig.utils.TestDbUtils;
@@ -14,16 +16,26 @@ import org.testcontainers.containers.DockerComposeContainer;
 import org.testcontainers.junit.jupiter.Container;
 import reactor.blockhound.BlockingOperationError;
 import reactor.core.scheduler.Schedulers;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static testsconfig.utils.TestUtils.*;
+import static testsconfig.databuilder.PersonStandardBuilder.personWithIdAndNameStandard;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static com.tdd.parallel.core.writes.WriteTier.MAJORITY;
+import static com.tdd.parallel.core.writes.WriteTier.UNACKNOWLEDGED;
 
 
 @DisplayName("ServCrudStd")
@@ -152,5 +164,98 @@ public class ServCrudStd {
                 })
                 .verifyComplete();
   }
+
+
+  @Test
+  @DisplayName("SaveAll")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void saveAll() {
+    Flux<PersonStandard> persons =
+         Flux.range(0,5)
+             .map(item -> personWithIdAndNameStandard().create());
+
+    StepVerifier
+         .create(servCrudStandard.deleteAll())
+         .expectSubscription()
+         .verifyComplete();
+
+    StepVerifier
+         .create(servCrudStandard.saveAll(persons,2,true)
+                                 .log())
+         .expectSubscription()
+         .expectNextCount(5L)
+         .verifyComplete();
+
+    utils.countPersonInDb(servCrudStandard.findAll(),5L);
+  }
+
+
+  @Test
+  @DisplayName("FindPage")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findPage() {
+    StepVerifier
+         .create(servCrudStandard.deleteAll())
+         .expectSubscription()
+         .verifyComplete();
+
+    Flux<PersonStandard> persons =
+         Flux.range(0,5)
+             .map(item -> personWithIdAndNameStandard().create());
+
+    StepVerifier
+         .create(servCrudStandard.saveAll(persons))
+         .expectSubscription()
+         .expectNextCount(5L)
+         .verifyComplete();
+
+    List<Integer> pageSizes = new ArrayList<>();
+    Set<String> ids = new HashSet<>();
+    String after = null;
+    do {
+      KeysetPage<PersonStandard> page =
+           servCrudStandard
+                .findPage(KeysetRequest.of(2,after,"name","asc"))
+                .block();
+      pageSizes.add(page.getContent()
+                        .size());
+      page.getContent()
+          .forEach(person -> ids.add(person.getId()));
+      after = page.getNext();
+    } while (after != null);
+
+    assertEquals(Arrays.asList(2,2,1),pageSizes);
+    assertEquals(5,ids.size());
+  }
+
+
+  @Test
+  @DisplayName("SaveTiered")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void saveTiered() {
+    PersonStandard majority = personWithIdAndNameStandard().create();
+    PersonStandard unacknowledged = personWithIdAndNameStandard().create();
+
+    StepVerifier
+         .create(servCrudStandard.save(majority,MAJORITY))
+         .expectSubscription()
+         .expectNext(majority)
+         .verifyComplete();
+
+    // fire-and-forget: the person comes back without any confirmation
+    StepVerifier
+         .create(servCrudStandard.save(unacknowledged,UNACKNOWLEDGED))
+         .expectSubscription()
+         .expectNextMatches(item -> unacknowledged.getId()
+                                                  .equals(item.getId()))
+         .verifyComplete();
+
+    StepVerifier
+         .create(servCrudStandard.findById(majority.getId()))
+         .expectSubscription()
+         .expectNextMatches(item -> majority.getName()
+                                            .equals(item.getName()))
+         .verifyComplete();
+  }
 }
 
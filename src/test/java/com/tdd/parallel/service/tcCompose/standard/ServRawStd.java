@@ -0,0 +1,258 @@
+package com.tdd.parallel.service.tcCompose.standard;
+
+import com.tdd.parallel.core.config.ServiceRawDriverStandardCfg;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.entity.PersonStandard;
+import com.tdd.parallel.service.IService;
+import testsconfig.annotations.MergedService;
+import testsconfig.tcCompose.TcComposeConfig;
+import testsconfig.utils.TestDbUtils;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.EnabledIf;
+import org.testcontainers.containers.DockerComposeContainer;
+import org.testcontainers.junit.jupiter.Container;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.scheduler.Schedulers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static testsconfig.utils.TestUtils.*;
+import static testsconfig.databuilder.PersonStandardBuilder.personWithIdAndNameStandard;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static com.tdd.parallel.core.writes.WriteTier.MAJORITY;
+import static com.tdd.parallel.core.writes.WriteTier.UNACKNOWLEDGED;
+
+@DisplayName("ServRawStd")
+@Import({ServiceRawDriverStandardCfg.class})
+@MergedService
+public class ServRawStd {
+
+  //STATIC: one service for ALL tests -> SUPER FASTER
+  //NON-STATIC: one service for EACH test
+  @Container
+  private final DockerComposeContainer<?> compose = new TcComposeConfig().getTcCompose();
+
+  final private String enabledTest = "true";
+  final private int repet = 1;
+
+  private final TestDbUtils<PersonStandard> utils = new TestDbUtils<>();
+
+  @Autowired
+  private IService<PersonStandard> servRawDriverStandard;
+
+
+  @BeforeAll
+  public static void beforeAll(TestInfo testInfo) {
+    globalBeforeAll();
+    globalTestMessage(testInfo.getDisplayName(),"class-start");
+  }
+
+
+  @AfterAll
+  public static void afterAll(TestInfo testInfo) {
+    globalAfterAll();
+    globalTestMessage(testInfo.getDisplayName(),"class-end");
+  }
+
+
+  @BeforeEach
+  public void setUp(TestInfo testInfo) {
+    globalTestMessage(testInfo.getTestMethod()
+                              .toString(),"method-start");
+  }
+
+
+  @AfterEach
+  void tearDown(TestInfo testInfo) {
+    globalTestMessage(testInfo.getTestMethod()
+                              .toString(),"method-end");
+  }
+
+
+  @RepeatedTest(repet)
+  @DisplayName("Save")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void save() {
+    utils.personStandard_save_check(servRawDriverStandard);
+  }
+
+
+  @Test
+  @DisplayName("FindAll")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findAll() {
+    utils.personStandard_save_check(servRawDriverStandard);
+
+    StepVerifier.create(
+         servRawDriverStandard.findAll()
+                          .log())
+                .expectSubscription()
+                .expectNextCount(1L)
+                .verifyComplete();
+  }
+
+
+  @Test
+  @DisplayName("FindById")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findById() {
+    PersonStandard localPerson = utils.personStandard_save_check(servRawDriverStandard);
+
+    StepVerifier
+         .create(servRawDriverStandard.findById(localPerson.getId())
+                                  .log())
+         .expectSubscription()
+         .expectNextMatches(item -> localPerson.getId()
+                                               .equals(item.getId()))
+         .verifyComplete();
+  }
+
+
+  @Test
+  @DisplayName("DeleteById")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void deleteById() {
+    PersonStandard localPerson = utils.personStandard_save_check(servRawDriverStandard);
+
+    StepVerifier
+         .create(servRawDriverStandard.deleteById(localPerson.getId()))
+         .expectSubscription()
+         .verifyComplete();
+
+    StepVerifier
+         .create(servRawDriverStandard.findById(localPerson.getId()))
+         .expectSubscription()
+         .expectNextCount(0L)
+         .verifyComplete();
+  }
+
+
+  @Test
+  @DisplayName("BHWorks")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void bHWorks() {
+    try {
+      FutureTask<?> task = new FutureTask<>(() -> {
+        Thread.sleep(0);
+        return "";
+      });
+
+      Schedulers.parallel()
+                .schedule(task);
+
+      task.get(10,TimeUnit.SECONDS);
+      fail("should fail");
+    } catch (ExecutionException | InterruptedException | TimeoutException e) {
+      assertTrue(e.getCause() instanceof BlockingOperationError,"detected");
+    }
+  }
+
+
+  @Test
+  @DisplayName("SaveAll")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void saveAll() {
+    Flux<PersonStandard> persons =
+         Flux.range(0,5)
+             .map(item -> personWithIdAndNameStandard().create());
+
+    StepVerifier
+         .create(servRawDriverStandard.deleteAll())
+         .expectSubscription()
+         .verifyComplete();
+
+    StepVerifier
+         .create(servRawDriverStandard.saveAll(persons,2,false)
+                                  .log())
+         .expectSubscription()
+         .expectNextCount(5L)
+         .verifyComplete();
+
+    utils.countPersonInDb(servRawDriverStandard.findAll(),5L);
+  }
+
+
+  @Test
+  @DisplayName("FindPage")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findPage() {
+    StepVerifier
+         .create(servRawDriverStandard.deleteAll())
+         .expectSubscription()
+         .verifyComplete();
+
+    Flux<PersonStandard> persons =
+         Flux.range(0,5)
+             .map(item -> personWithIdAndNameStandard().create());
+
+    StepVerifier
+         .create(servRawDriverStandard.saveAll(persons))
+         .expectSubscription()
+         .expectNextCount(5L)
+         .verifyComplete();
+
+    List<Integer> pageSizes = new ArrayList<>();
+    Set<String> ids = new HashSet<>();
+    String after = null;
+    do {
+      KeysetPage<PersonStandard> page =
+           servRawDriverStandard
+                .findPage(KeysetRequest.of(2,after,"name","asc"))
+                .block();
+      pageSizes.add(page.getContent()
+                        .size());
+      page.getContent()
+          .forEach(person -> ids.add(person.getId()));
+      after = page.getNext();
+    } while (after != null);
+
+    assertEquals(Arrays.asList(2,2,1),pageSizes);
+    assertEquals(5,ids.size());
+  }
+
+
+  @Test
+  @DisplayName("SaveTiered")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void saveTiered() {
+    PersonStandard majority = personWithIdAndNameStandard().create();
+    PersonStandard unacknowledged = personWithIdAndNameStandard().create();
+
+    StepVerifier
+         .create(servRawDriverStandard.save(majority,MAJORITY))
+         .expectSubscription()
+         .expectNext(majority)
+         .verifyComplete();
+
+    // fire-and-forget: the person comes back without any confirmation
+    StepVerifier
+         .create(servRawDriverStandard.save(unacknowledged,UNACKNOWLEDGED))
+         .expectSubscription()
+         .expectNextMatches(item -> unacknowledged.getId()
+                                                  .equals(item.getId()))
+         .verifyComplete();
+
+    StepVerifier
+         .create(servRawDriverStandard.findById(majority.getId()))
+         .expectSubscription()
+         .expectNextMatches(item -> majority.getName()
+                                            .equals(item.getName()))
+         .verifyComplete();
+  }
+
+}
@@ -1,8 +1,18 @@
 package com.tdd.parallel.service.tcCompose.standard;
 
 import com.tdd.parallel.core.config.ServiceTemplateStandardCfg;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.cache.ServiceCacheProperties;
+import com.tdd.parallel.core.coalescing.CoalescingProperties;
+import com.tdd.parallel.core.writes.WriteBehindProperties;
 import com.tdd.parallel.entity.PersonStandard;
 import com.tdd.parallel.service.IService;
+import com.tdd.parallel.service.decorator.CachingService;
+import com.tdd.parallel.service.decorator.CoalescingService;
+import com.tdd.parallel.service.decorator.ServiceDecorator;
+import com.tdd.parallel.service.decorator.WriteBehindService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import testsconfig.annotations.MergedService;
 import testsconfig.tcCompose.TcComposeConfig;
 import testsconfig.utils.TestDbUtils;
@@ -14,16 +24,29 @@ import org.testcontainers.containers.DockerComposeContainer;
 import org.testcontainers.junit.jupiter.Container;
 import reactor.blockhound.BlockingOperationError;
 import reactor.core.scheduler.Schedulers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static testsconfig.utils.TestUtils.*;
+import static testsconfig.databuilder.PersonStandardBuilder.personWithIdAndNameStandard;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static com.tdd.parallel.core.writes.WriteTier.MAJORITY;
+import static com.tdd.parallel.core.writes.WriteTier.UNACKNOWLEDGED;
 
 @DisplayName("ServTemplStd")
 @Import({ServiceTemplateStandardCfg.class})
@@ -149,5 +172,225 @@ public class ServTemplStd {
       assertTrue(e.getCause() instanceof BlockingOperationError,"detected");
     }
   }
-}
 
+
+  @Test
+  @DisplayName("SaveAll")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void saveAll() {
+    Flux<PersonStandard> persons =
+         Flux.range(0,5)
+             .map(item -> personWithIdAndNameStandard().create());
+
+    StepVerifier
+         .create(servTemplStandard.deleteAll())
+         .expectSubscription()
+         .verifyComplete();
+
+    StepVerifier
+         .create(servTemplStandard.saveAll(persons,2,false)
+                                  .log())
+         .expectSubscription()
+         .expectNextCount(5L)
+         .verifyComplete();
+
+    utils.countPersonInDb(servTemplStandard.findAll(),5L);
+  }
+
+
+  @Test
+  @DisplayName("FindPage")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findPage() {
+    StepVerifier
+         .create(servTemplStandard.deleteAll())
+         .expectSubscription()
+         .verifyComplete();
+
+    Flux<PersonStandard> persons =
+         Flux.range(0,5)
+             .map(item -> personWithIdAndNameStandard().create());
+
+    StepVerifier
+         .create(servTemplStandard.saveAll(persons))
+         .expectSubscription()
+         .expectNextCount(5L)
+         .verifyComplete();
+
+    List<Integer> pageSizes = new ArrayList<>();
+    Set<String> ids = new HashSet<>();
+    String after = null;
+    do {
+      KeysetPage<PersonStandard> page =
+           servTemplStandard
+                .findPage(KeysetRequest.of(2,after,"name","asc"))
+                .block();
+      pageSizes.add(page.getContent()
+                        .size());
+      page.getContent()
+          .forEach(person -> ids.add(person.getId()));
+      after = page.getNext();
+    } while (after != null);
+
+    assertEquals(Arrays.asList(2,2,1),pageSizes);
+    assertEquals(5,ids.size());
+  }
+
+
+  @Test
+  @DisplayName("FindByIdCached")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void findByIdCached() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    CachingService<PersonStandard> cached =
+         new CachingService<>("servTemplStandard",servTemplStandard,new ServiceCacheProperties(),registry);
+
+    PersonStandard localPerson = utils.personStandard_save_check(cached);
+
+    // save puts the stored person: both reads are hits (no Mongo read)
+    StepVerifier
+         .create(cached.findById(localPerson.getId())
+                       .then(cached.findById(localPerson.getId())))
+         .expectSubscription()
+         .expectNextMatches(item -> localPerson.getId()
+                                               .equals(item.getId()))
+         .verifyComplete();
+
+    assertEquals(2.0,cacheGets(registry,"hit"));
+    assertEquals(0.0,cacheGets(registry,"miss"));
+
+    // delete invalidates: the cached person is not returned anymore
+    StepVerifier
+         .create(cached.deleteById(localPerson.getId())
+                       .then(cached.findById(localPerson.getId())))
+         .expectSubscription()
+         .verifyComplete();
+  }
+
+
+  @Test
+  @DisplayName("SaveTiered")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void saveTiered() {
+    PersonStandard majority = personWithIdAndNameStandard().create();
+    PersonStandard unacknowledged = personWithIdAndNameStandard().create();
+
+    StepVerifier
+         .create(servTemplStandard.save(majority,MAJORITY))
+         .expectSubscription()
+         .expectNext(majority)
+         .verifyComplete();
+
+    // fire-and-forget: the person comes back without any confirmation
+    StepVerifier
+         .create(servTemplStandard.save(unacknowledged,UNACKNOWLEDGED))
+         .expectSubscription()
+         .expectNextMatches(item -> unacknowledged.getId()
+                                                  .equals(item.getId()))
+         .verifyComplete();
+
+    StepVerifier
+         .create(servTemplStandard.findById(majority.getId()))
+         .expectSubscription()
+         .expectNextMatches(item -> majority.getName()
+                                            .equals(item.getName()))
+         .verifyComplete();
+  }
+
+
+  @Test
+  @DisplayName("WriteBehind")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void writeBehind() {
+    WriteBehindProperties properties = new WriteBehindProperties();
+    properties.setMaxBatch(3);
+    properties.setMaxDelay(Duration.ofMillis(20));
+    WriteBehindService<PersonStandard> batched =
+         new WriteBehindService<>("servTemplStandard",servTemplStandard,properties,new SimpleMeterRegistry());
+
+    List<PersonStandard> personList = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      PersonStandard person = personWithIdAndNameStandard().create();
+      person.setId(null);
+      personList.add(person);
+    }
+
+    // 5 concurrent saves of new persons -> 1 full batch (3) + 1 timed batch (2); each caller gets ITS person
+    List<PersonStandard> saved = Flux.fromIterable(personList)
+                                     .flatMap(batched::save)
+                                     .collectList()
+                                     .block(Duration.ofSeconds(10));
+    assertEquals(5,saved.stream()
+                        .map(PersonStandard::getId)
+                        .distinct()
+                        .count());
+    utils.countPersonInDb(servTemplStandard.findAll(),5L);
+
+    // an update (id set): saved in place by the delegate, not inserted again by a batch
+    PersonStandard update = new PersonStandard(saved.get(0)
+                                                    .getId(),"updated name");
+    StepVerifier
+         .create(batched.save(update))
+         .expectSubscription()
+         .expectNextMatches(item -> update.getId()
+                                          .equals(item.getId()))
+         .verifyComplete();
+    StepVerifier
+         .create(servTemplStandard.findById(update.getId()))
+         .expectSubscription()
+         .expectNextMatches(item -> "updated name".equals(item.getName()))
+         .verifyComplete();
+    utils.countPersonInDb(servTemplStandard.findAll(),5L);
+  }
+
+
+  @Test
+  @DisplayName("Coalescing")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void coalescing() {
+    AtomicInteger queries = new AtomicInteger();
+    IService<PersonStandard> counted = new ServiceDecorator<>(servTemplStandard) {
+      @Override
+      public Mono<PersonStandard> findById(String id) {
+        return delegate.findById(id)
+                       .doOnSubscribe(subscription -> queries.incrementAndGet());
+      }
+
+
+      @Override
+      public Flux<PersonStandard> findAll() {
+        return delegate.findAll()
+                       .doOnSubscribe(subscription -> queries.incrementAndGet());
+      }
+    };
+    CoalescingService<PersonStandard> coalesced = new CoalescingService<>(counted,new CoalescingProperties());
+
+    PersonStandard localPerson = utils.personStandard_save_check(servTemplStandard);
+
+    // 10 concurrent findById -> 1 query, every caller gets the person
+    StepVerifier
+         .create(Flux.range(1,10)
+                     .flatMap(i -> coalesced.findById(localPerson.getId())))
+         .expectSubscription()
+         .expectNextCount(10L)
+         .verifyComplete();
+    assertEquals(1,queries.getAndSet(0));
+
+    // 10 findAll within the window -> 1 cursor
+    StepVerifier
+         .create(Flux.range(1,10)
+                     .flatMap(i -> coalesced.findAll()))
+         .expectSubscription()
+         .expectNextCount(10L)
+         .verifyComplete();
+    assertEquals(1,queries.get());
+  }
+
+
+  private static double cacheGets(SimpleMeterRegistry registry,String result) {
+    return registry.get("cache.gets")
+                   .tag("result",result)
+                   .functionCounter()
+                   .count();
+  }
+}
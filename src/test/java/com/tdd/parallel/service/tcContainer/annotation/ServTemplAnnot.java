@@ -1,14 +1,17 @@
 package com.tdd.parallel.service.tcContainer.annotation;
 
 import com.tdd.parallel.core.config.ServiceTemplateStandardCfg;
+import com.tdd.parallel.core.changefeed.ChangeFeedProperties;
 import com.tdd.parallel.entity.PersonStandard;
 import com.tdd.parallel.service.IService;
+import com.tdd.parallel.service.changefeed.ServChangeFeed;
 import testsconfig.annotations.MergedTcContainer;
 import testsconfig.utils.TestDbUtils;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.EnabledIf;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import reactor.blockhound.BlockingOperationError;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
@@ -17,8 +20,10 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.time.Duration;
 
 import static testsconfig.utils.TestUtils.*;
+import static testsconfig.databuilder.PersonStandardBuilder.personWithIdAndNameStandard;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -40,6 +45,9 @@ public class ServTemplAnnot {
   @Autowired
   private IService<PersonStandard> serviceTemplateRepo;
 
+  @Autowired
+  private ReactiveMongoTemplate reactiveMongoTemplate;
+
 
   @BeforeAll
   public static void beforeAll(TestInfo testInfo) {
@@ -147,5 +155,29 @@ public class ServTemplAnnot {
       assertTrue(e.getCause() instanceof BlockingOperationError,"detected");
     }
   }
+
+
+  @Test
+  @DisplayName("ChangeFeed")
+  @EnabledIf(expression = enabledTest, loadContext = true)
+  public void changeFeed() {
+    ServChangeFeed servChangeFeed = new ServChangeFeed(reactiveMongoTemplate,new ChangeFeedProperties());
+    PersonStandard person = personWithIdAndNameStandard().create();
+
+    // the cursor opens on subscription: save only after it is running
+    StepVerifier
+         .create(servChangeFeed.standard(null)
+                               .take(1))
+         .expectSubscription()
+         .thenAwait(Duration.ofSeconds(1))
+         .then(() -> serviceTemplateRepo.save(person)
+                                        .subscribe())
+         .expectNextMatches(event -> "insert".equals(event.getOperation()) &&
+                                     person.getName()
+                                           .equals(event.getBody()
+                                                        .getName()))
+         .expectComplete()
+         .verify(Duration.ofSeconds(10));
+  }
 }
 
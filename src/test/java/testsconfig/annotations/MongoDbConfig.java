@@ -1,7 +1,9 @@
 package testsconfig.annotations;
 
+import com.tdd.parallel.core.writes.TieredWrites;
 import org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
 
 import java.lang.annotation.Retention;
@@ -24,5 +26,7 @@ b) USO ALTERNATIVO (DataMongoTest/SpringBootTest) - CONFLITAM ENTRE-SI:
 @Target(TYPE)
 @DataMongoTest(excludeAutoConfiguration = EmbeddedMongoAutoConfiguration.class)
 @DirtiesContext(classMode = BEFORE_EACH_TEST_METHOD)
+// not scanned by the slice: repository fragments (ITieredWritesImpl) and the Service*Cfg need it
+@Import(TieredWrites.class)
 public @interface MongoDbConfig {
 }
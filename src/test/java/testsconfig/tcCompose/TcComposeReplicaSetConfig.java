@@ -0,0 +1,38 @@
+package testsconfig.tcCompose;
+
+import org.testcontainers.containers.DockerComposeContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import java.io.File;
+import java.time.Duration;
+
+/*
+REPLICA SET (3 members) -> read routing tests
+ - the members run on the host network (ports 27017/27018/27019):
+   local compose, and no exposed-service ambassador
+ - ready when "rs-init" logs that primary + secondaries are up
+ */
+public class TcComposeReplicaSetConfig {
+
+  final static public int COMPOSE_STARTUP_TIMEOUT = 120;
+  final static public String COMPOSE_INIT_SERVICE = "rs-init";
+  final static public String REPLICA_SET_URI =
+       "mongodb://localhost:27017,localhost:27018,localhost:27019/test?replicaSet=rs0";
+  final static private String COMPOSE_PATH = "src/test/resources/tc-compose-rs.yml";
+
+
+  private final DockerComposeContainer<?> tcCompose =
+       new DockerComposeContainer<>(
+            new File(COMPOSE_PATH))
+            .withLocalCompose(true)
+            .waitingFor(
+                 COMPOSE_INIT_SERVICE,
+                 Wait.forLogMessage(".*replica set ready.*",1)
+                     .withStartupTimeout(Duration.ofSeconds(COMPOSE_STARTUP_TIMEOUT))
+                       );
+
+
+  public DockerComposeContainer<?> getTcCompose() {
+    return tcCompose;
+  }
+}
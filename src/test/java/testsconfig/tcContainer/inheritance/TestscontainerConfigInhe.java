@@ -1,8 +1,10 @@
 package testsconfig.tcContainer.inheritance;
 
+import com.tdd.parallel.core.writes.TieredWrites;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -15,6 +17,7 @@ import static org.springframework.test.annotation.DirtiesContext.ClassMode.BEFOR
 //@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @DataMongoTest(excludeAutoConfiguration = EmbeddedMongoAutoConfiguration.class)
 @DirtiesContext(classMode = BEFORE_EACH_TEST_METHOD)
+@Import(TieredWrites.class)
 @Slf4j
 @ActiveProfiles("test")
 //@TestPropertySource("classpath:application-test.properties")
@@ -0,0 +1,114 @@
+package testsconfig.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+
+/*
+OPT-IN BENCHMARKS (*Benchmark classes): mvn test -Dtest=<Class> -Dbenchmark=true
+ - in-process, no fork/isolation (not JMH): compare the candidates of one run, not absolute numbers
+ - ROUNDS rounds, the first WARMUP_ROUNDS warm up the JIT (logged, tagged "warm-up")
+ - results are logged, never asserted: the behaviour is asserted by the *Compat classes
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Benchmark {
+
+  // @EnabledIfSystemProperty(named = ENABLED, matches = "true")
+  public static final String ENABLED = "benchmark";
+
+  public static final int ROUNDS = 5;
+  public static final int WARMUP_ROUNDS = 3;
+
+  // results compared to it: the JIT cannot drop an operation whose result is "used"
+  private static final Object UNMATCHED = new Object();
+  private static volatile long consumed;
+
+
+  // every round logs "<title> round n: <result>"
+  public static void rounds(String title,Round round) throws Exception {
+    for (int i = 0; i < ROUNDS; i++) {
+      String result = round.run();
+      log.info("{} round {}{}: {}",title,i,i < WARMUP_ROUNDS ? " (warm-up)" : "",result);
+    }
+    log.debug("{} consumed {}",title,consumed);
+  }
+
+
+  // mean ns per operation, run back to back
+  public static long nanosPerOp(int operations,Operation operation) throws Exception {
+    long matched = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < operations; i++)
+      if (operation.run(i) == UNMATCHED) matched++;
+    long elapsed = System.nanoTime() - start;
+    consumed += matched;
+    return elapsed / operations;
+  }
+
+
+  // ns of every operation, run back to back; sorted (see mean, percentile)
+  public static long[] latencies(int operations,Operation operation) throws Exception {
+    long[] nanos = new long[operations];
+    long matched = 0;
+    for (int i = 0; i < operations; i++) {
+      long start = System.nanoTime();
+      if (operation.run(i) == UNMATCHED) matched++;
+      nanos[i] = System.nanoTime() - start;
+    }
+    consumed += matched;
+    Arrays.sort(nanos);
+    return nanos;
+  }
+
+
+  // operations per second of a block running "operations" operations (concurrency: up to the block)
+  public static long perSecond(long operations,Block block) throws Exception {
+    long start = System.nanoTime();
+    block.run();
+    return operations * 1_000_000_000L / Math.max(1L,System.nanoTime() - start);
+  }
+
+
+  public static long mean(long[] nanos) {
+    return (long) Arrays.stream(nanos)
+                        .average()
+                        .orElse(0);
+  }
+
+
+  public static long percentile(long[] sorted,int percentile) {
+    return sorted[Math.min(sorted.length - 1,sorted.length * percentile / 100)];
+  }
+
+
+  // "mean/p50/p99" of sorted latencies
+  public static String summary(long[] sorted) {
+    return mean(sorted) + "/" + percentile(sorted,50) + "/" + percentile(sorted,99);
+  }
+
+
+  @FunctionalInterface
+  public interface Round {
+
+    // one measurement of every candidate, formatted for the log
+    String run() throws Exception;
+  }
+
+
+  @FunctionalInterface
+  public interface Operation {
+
+    // i: index of the operation in its run; the result is consumed
+    Object run(int i) throws Exception;
+  }
+
+
+  @FunctionalInterface
+  public interface Block {
+
+    void run() throws Exception;
+  }
+}
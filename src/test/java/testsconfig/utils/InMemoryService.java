@@ -0,0 +1,126 @@
+package testsconfig.utils;
+
+import com.tdd.parallel.core.bulk.BulkRequestException;
+import com.tdd.parallel.core.codecs.PersonCodec;
+import com.tdd.parallel.core.pagination.KeysetPage;
+import com.tdd.parallel.core.pagination.KeysetRequest;
+import com.tdd.parallel.core.writes.WriteTier;
+import com.tdd.parallel.entity.IPerson;
+import com.tdd.parallel.service.IService;
+import org.bson.RawBsonDocument;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import static com.tdd.parallel.core.bulk.BulkDefaults.INVALID_CHUNK_SIZE;
+import static com.tdd.parallel.core.bulk.BulkDefaults.validChunkSize;
+
+// IService without Mongo (compat tests and benchmarks of the resource layers)
+// ids: 24 hex digits from a counter (two services fed alike give the same ids)
+// save: insert or replace by id (upsert), as the template save
+public class InMemoryService<E extends IPerson> implements IService<E> {
+
+  private final Map<String, E> persons = new TreeMap<>();
+  private final AtomicInteger counter = new AtomicInteger();
+  private final AtomicLong requested = new AtomicLong();
+  private final PersonCodec<E> codec;
+  private final BiConsumer<E, String> setId;
+
+
+  public InMemoryService(PersonCodec<E> codec,BiConsumer<E, String> setId) {
+    this.codec = codec;
+    this.setId = setId;
+  }
+
+
+  // demand received by findAll (all subscribers)
+  public long requested() {
+    return requested.get();
+  }
+
+
+  public String firstId() {
+    return persons.keySet()
+                  .iterator()
+                  .next();
+  }
+
+
+  @Override
+  public synchronized Mono<E> save(E person) {
+    if (person.getId() == null) setId.accept(person,String.format("%024x",counter.incrementAndGet()));
+    persons.put(person.getId(),person);
+    return Mono.just(person);
+  }
+
+
+  @Override
+  public Mono<E> save(E person,WriteTier tier) {
+    return save(person);
+  }
+
+
+  @Override
+  public Flux<E> saveAll(Flux<E> persons) {
+    return persons.concatMap(this::save);
+  }
+
+
+  // chunkSize: refused out of range, as the services
+  @Override
+  public Flux<E> saveAll(Flux<E> persons,int chunkSize,boolean ordered) {
+    if (!validChunkSize(chunkSize)) return Flux.error(new BulkRequestException(INVALID_CHUNK_SIZE));
+    return saveAll(persons);
+  }
+
+
+  @Override
+  public synchronized Flux<E> findAll() {
+    return Flux.fromIterable(new ArrayList<>(persons.values()))
+               .doOnRequest(demand -> requested.accumulateAndGet(demand,(total,more) -> {
+                 long sum = total + more;
+                 return sum < 0 ? Long.MAX_VALUE : sum;
+               }));
+  }
+
+
+  @Override
+  public Flux<RawBsonDocument> findAllRaw() {
+    return findAll().map(person -> new RawBsonDocument(person,codec));
+  }
+
+
+  // the first page only: enough for the envelope
+  @Override
+  public synchronized Mono<KeysetPage<E>> findPage(KeysetRequest request) {
+    List<E> fetched = new ArrayList<>(persons.values());
+    return Mono.just(KeysetPage.of(fetched.subList(0,Math.min(fetched.size(),request.getLimit() + 1)),request));
+  }
+
+
+  @Override
+  public synchronized Mono<Void> deleteById(String id) {
+    persons.remove(id);
+    return Mono.empty();
+  }
+
+
+  @Override
+  public synchronized Mono<Void> deleteAll() {
+    persons.clear();
+    return Mono.empty();
+  }
+
+
+  @Override
+  public synchronized Mono<E> findById(String id) {
+    return Mono.justOrEmpty(persons.get(id));
+  }
+}
@@ -0,0 +1,25 @@
+#!/bin/bash
+# initiates rs0 and waits for 1 primary + 2 secondaries
+
+for port in 27017 27018 27019; do
+  until mongo --port $port --quiet --eval 'db.adminCommand("ping")' > /dev/null; do sleep 1; done
+done
+
+mongo --port 27017 --quiet --eval '
+  rs.initiate({
+    _id: "rs0",
+    members: [
+      { _id: 0, host: "localhost:27017", priority: 2 },
+      { _id: 1, host: "localhost:27018" },
+      { _id: 2, host: "localhost:27019" }
+    ]
+  })'
+
+until mongo --port 27017 --quiet --eval '
+  const members = rs.status().members;
+  quit(members.filter(m => m.stateStr == "PRIMARY").length == 1 &&
+       members.filter(m => m.stateStr == "SECONDARY").length == 2 ? 0 : 1)'; do
+  sleep 1
+done
+
+echo "replica set ready"